@@ -53,3 +53,36 @@ resource "google_monitoring_alert_policy" "key_db_spanner_alert" {
     severity = "important"
   }
 }
+
+resource "google_logging_metric" "key_db_read_latency" {
+  project     = var.project_id
+  name        = "${var.environment}/key_db/spanner/read_latency"
+  description = "Latency of Key DB reads in milliseconds, by read policy."
+  filter      = "textPayload:\"key_db/spanner/read_latency\""
+
+  metric_descriptor {
+    metric_kind = "DELTA"
+    value_type  = "DISTRIBUTION"
+    unit        = "ms"
+
+    labels {
+      key         = "read_policy"
+      value_type  = "STRING"
+      description = "How the read picked its timestamp: default, active_keys or strong_retry."
+    }
+  }
+
+  label_extractors = {
+    "read_policy" = "REGEXP_EXTRACT(textPayload, \"\\\"readPolicy\\\":\\\"([a-z_]+)\\\"\")"
+  }
+
+  bucket_options {
+    exponential_buckets {
+      num_finite_buckets = 16
+      growth_factor      = 2
+      scale              = 1
+    }
+  }
+
+  value_extractor = "REGEXP_EXTRACT(textPayload, \"\\\"latencyMillis\\\":\\\"(\\\\d+)\\\"\")"
+}
@@ -75,4 +75,10 @@ public final class Annotations {
   @Target({FIELD, PARAMETER, METHOD})
   @Retention(RUNTIME)
   public @interface PopulateMigrationKeyData {}
+
+  /** Maximum number of keys generated concurrently by the key generation task. */
+  @BindingAnnotation
+  @Target({FIELD, PARAMETER, METHOD})
+  @Retention(RUNTIME)
+  public @interface KeyGenerationParallelism {}
 }
@@ -18,12 +18,16 @@ package com.google.scp.coordinator.keymanagement.keygeneration.app.common;
 
 import static com.google.scp.coordinator.keymanagement.keygeneration.app.common.Annotations.KeyStorageServiceBaseUrl;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Ints;
 import com.google.inject.Inject;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageOrBuilder;
 import com.google.protobuf.util.JsonFormat;
 import com.google.scp.coordinator.keymanagement.keygeneration.app.common.Annotations.CoordinatorBHttpClient;
 import com.google.scp.coordinator.keymanagement.keystorage.converters.EncryptionKeyConverter;
+import com.google.scp.coordinator.protos.keymanagement.keystorage.api.v1.BatchCreateKeysRequestProto.BatchCreateKeysRequest;
+import com.google.scp.coordinator.protos.keymanagement.keystorage.api.v1.BatchCreateKeysResponseProto.BatchCreateKeysResponse;
 import com.google.scp.coordinator.protos.keymanagement.keystorage.api.v1.CreateKeyRequestProto.CreateKeyRequest;
 import com.google.scp.coordinator.protos.keymanagement.keystorage.api.v1.KeySplitEncryptionTypeProto.KeySplitEncryptionType;
 import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.EncryptionKeyProto;
@@ -78,32 +82,60 @@ public final class HttpKeyStorageClient implements KeyStorageClient {
       String encryptedKeySplit,
       Optional<String> migrationEncryptedKeySplit)
       throws KeyStorageServiceException {
-    var apiKey = EncryptionKeyConverter.toApiEncryptionKey(encryptionKey);
+    return executeCreateKeyRequest(
+        toCreateKeyRequest(encryptionKey, encryptedKeySplit, migrationEncryptedKeySplit));
+  }
 
-    var createKeyRequest =
-        CreateKeyRequest.newBuilder()
-            .setKeyId(encryptionKey.getKeyId())
-            .setKey(apiKey)
-            .setKeySplitEncryptionType(KeySplitEncryptionType.DIRECT)
-            .setEncryptedKeySplit(encryptedKeySplit)
-            .setMigrationEncryptedKeySplit(migrationEncryptedKeySplit.orElse(""))
-            .build();
+  @Override
+  public ImmutableList<EncryptionKey> batchCreateKeys(ImmutableList<KeySplitRequest> requests)
+      throws KeyStorageServiceException {
+    var batchCreateKeysRequest = BatchCreateKeysRequest.newBuilder();
+    for (KeySplitRequest request : requests) {
+      batchCreateKeysRequest.addRequests(
+          toCreateKeyRequest(
+              request.encryptionKey(),
+              request.encryptedKeySplit(),
+              request.migrationEncryptedKeySplit()));
+    }
+    return executeBatchCreateKeysRequest(batchCreateKeysRequest.build());
+  }
 
-    return executeCreateKeyRequest(createKeyRequest);
+  private static CreateKeyRequest toCreateKeyRequest(
+      EncryptionKey encryptionKey,
+      String encryptedKeySplit,
+      Optional<String> migrationEncryptedKeySplit) {
+    var apiKey = EncryptionKeyConverter.toApiEncryptionKey(encryptionKey);
+
+    return CreateKeyRequest.newBuilder()
+        .setKeyId(encryptionKey.getKeyId())
+        .setKey(apiKey)
+        .setKeySplitEncryptionType(KeySplitEncryptionType.DIRECT)
+        .setEncryptedKeySplit(encryptedKeySplit)
+        .setMigrationEncryptedKeySplit(migrationEncryptedKeySplit.orElse(""))
+        .build();
   }
 
   private EncryptionKey executeCreateKeyRequest(CreateKeyRequest createKeyRequest)
       throws KeyStorageServiceException {
     var request = new HttpPost(getCreateUri());
 
-    var response = executeJsonRequest(request, serializeCreateKeyRequest(createKeyRequest));
+    var response = executeJsonRequest(request, serializeRequest(createKeyRequest));
     var responseBody = getSuccessResponseBody(response);
 
     return parseSuccessCreateKeyResponse(createKeyRequest.getKeyId(), responseBody);
   }
 
-  private String serializeCreateKeyRequest(CreateKeyRequest request)
-      throws KeyStorageServiceException {
+  private ImmutableList<EncryptionKey> executeBatchCreateKeysRequest(
+      BatchCreateKeysRequest batchCreateKeysRequest) throws KeyStorageServiceException {
+    var request = new HttpPost(getBatchCreateUri());
+
+    var response = executeJsonRequest(request, serializeRequest(batchCreateKeysRequest));
+    var responseBody = getSuccessResponseBody(response);
+
+    return parseSuccessBatchCreateKeysResponse(batchCreateKeysRequest, responseBody);
+  }
+
+  private String serializeRequest(MessageOrBuilder request) throws KeyStorageServiceException {
     try {
       return JsonFormat.printer().print(request);
     } catch (InvalidProtocolBufferException e) {
@@ -174,7 +206,40 @@ public final class HttpKeyStorageClient implements KeyStorageClient {
     }
   }
 
+  /**
+   * Attempts to read the body of a 200 response and convert it to one {@link EncryptionKey} per
+   * request, wrapping parsing errors in a {@link KeyStorageServiceException}
+   */
+  private ImmutableList<EncryptionKey> parseSuccessBatchCreateKeysResponse(
+      BatchCreateKeysRequest batchCreateKeysRequest, String responseBody)
+      throws KeyStorageServiceException {
+    BatchCreateKeysResponse.Builder builder = BatchCreateKeysResponse.newBuilder();
+    try {
+      JsonFormat.parser().merge(responseBody, builder);
+    } catch (InvalidProtocolBufferException e) {
+      var message = "Failed to parse success response as BatchCreateKeysResponse API model";
+      throw new KeyStorageServiceException(message, e);
+    }
+    if (builder.getKeysCount() != batchCreateKeysRequest.getRequestsCount()) {
+      throw new KeyStorageServiceException(
+          String.format(
+              "Expected %d keys in BatchCreateKeysResponse, got %d",
+              batchCreateKeysRequest.getRequestsCount(), builder.getKeysCount()));
+    }
+    ImmutableList.Builder<EncryptionKey> keys = ImmutableList.builder();
+    for (int i = 0; i < builder.getKeysCount(); i++) {
+      keys.add(
+          EncryptionKeyConverter.toStorageEncryptionKey(
+              batchCreateKeysRequest.getRequests(i).getKeyId(), builder.getKeys(i)));
+    }
+    return keys.build();
+  }
+
   private URI getCreateUri() {
     return URI.create(String.format("%s/encryptionKeys", createKeyBaseUrl));
   }
+
+  private URI getBatchCreateUri() {
+    return URI.create(String.format("%s/encryptionKeys:batchCreate", createKeyBaseUrl));
+  }
 }
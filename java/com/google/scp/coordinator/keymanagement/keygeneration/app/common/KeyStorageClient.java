@@ -16,6 +16,7 @@
 
 package com.google.scp.coordinator.keymanagement.keygeneration.app.common;
 
+import com.google.common.collect.ImmutableList;
 import com.google.scp.coordinator.protos.keymanagement.shared.backend.EncryptionKeyProto.EncryptionKey;
 import java.util.Optional;
 
@@ -42,6 +43,29 @@ public interface KeyStorageClient {
       Optional<String> migrationEncryptedKeySplit)
       throws KeyStorageServiceException;
 
+  /**
+   * Sends several keys to key storage service and returns the signed keys back as a response, in
+   * the order of the requests. Either all the keys are stored by the service or none of them.
+   */
+  default ImmutableList<EncryptionKey> batchCreateKeys(ImmutableList<KeySplitRequest> requests)
+      throws KeyStorageServiceException {
+    ImmutableList.Builder<EncryptionKey> keys = ImmutableList.builder();
+    for (KeySplitRequest request : requests) {
+      keys.add(
+          createKey(
+              request.encryptionKey(),
+              request.encryptedKeySplit(),
+              request.migrationEncryptedKeySplit()));
+    }
+    return keys.build();
+  }
+
+  /** The arguments of a single {@link #createKey} call. */
+  record KeySplitRequest(
+      EncryptionKey encryptionKey,
+      String encryptedKeySplit,
+      Optional<String> migrationEncryptedKeySplit) {}
+
   /**
    * Represents an exception thrown by the {@code KeyStorageClient} class, for service errors from
    * the key storage client.
@@ -74,6 +74,11 @@ public final class KeyGenerationArgs {
       description = "Number of days after creation before purging a key from the database.")
   private int ttlInDays = 365;
 
+  @Parameter(
+      names = "--key-generation-parallelism",
+      description = "Maximum number of keys generated concurrently.")
+  private int keyGenerationParallelism = 4;
+
   // TODO: b/483708292 - remove setting this parameter
   @Parameter(names = "--multiparty", description = "Set to true for multiparty key generation.")
   private boolean multiparty = false;
@@ -159,6 +164,10 @@ public final class KeyGenerationArgs {
     return ttlInDays;
   }
 
+  public int getKeyGenerationParallelism() {
+    return keyGenerationParallelism;
+  }
+
   public String getPeerCoordinatorKmsKeyBaseUri() {
     return peerCoordinatorKmsKeyBaseUri;
   }
@@ -34,6 +34,7 @@ import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import com.google.scp.coordinator.clients.configclient.gcp.GcpCoordinatorClientConfigModule;
 import com.google.scp.coordinator.keymanagement.keygeneration.app.common.Annotations.KeyGenerationCreateMaxDaysAhead;
+import com.google.scp.coordinator.keymanagement.keygeneration.app.common.Annotations.KeyGenerationParallelism;
 import com.google.scp.coordinator.keymanagement.keygeneration.app.common.Annotations.KeyStorageServiceBaseUrl;
 import com.google.scp.coordinator.keymanagement.keygeneration.app.common.Annotations.KmsKeyBaseUri;
 import com.google.scp.coordinator.keymanagement.keygeneration.app.common.Annotations.PeerCoordinatorKmsKeyBaseUriArg;
@@ -96,6 +97,13 @@ public final class KeyGenerationModule extends AbstractModule {
         .orElse(DEFAULT_CREATE_MAX_DAYS_AHEAD);
   }
 
+  @Provides
+  @Singleton
+  @KeyGenerationParallelism
+  Integer provideKeyGenerationParallelism() {
+    return args.getKeyGenerationParallelism();
+  }
+
   @Provides
   @Singleton
   SpannerKeyDbConfig providerSpannerKeyDbConfig(
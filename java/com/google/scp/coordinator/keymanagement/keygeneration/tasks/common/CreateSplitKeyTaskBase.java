@@ -23,8 +23,10 @@ import static com.google.scp.shared.util.KeysetHandleSerializerUtil.toJsonCleart
 import static java.time.temporal.ChronoUnit.DAYS;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.crypto.tink.Aead;
 import com.google.crypto.tink.KeyTemplate;
 import com.google.crypto.tink.KeyTemplates;
@@ -46,11 +48,19 @@ import com.google.scp.shared.util.PublicKeyConversionUtil;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,6 +76,7 @@ public abstract class CreateSplitKeyTaskBase implements CreateSplitKeyTask {
   protected final KeyDb keyDb;
   protected final KeyStorageClient keyStorageClient;
   protected final LogMetricHelper logMetricHelper;
+  private final ExecutorService executor;
 
   static {
     try {
@@ -78,9 +89,31 @@ public abstract class CreateSplitKeyTaskBase implements CreateSplitKeyTask {
 
   protected CreateSplitKeyTaskBase(
       KeyDb keyDb, KeyStorageClient keyStorageClient, LogMetricHelper logMetricHelper) {
+    this(keyDb, keyStorageClient, logMetricHelper, 1);
+  }
+
+  /**
+   * @param parallelism the number of threads generating keys, shared by all {@link
+   *     #createSplitKeyBase} calls of the task.
+   */
+  protected CreateSplitKeyTaskBase(
+      KeyDb keyDb,
+      KeyStorageClient keyStorageClient,
+      LogMetricHelper logMetricHelper,
+      int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Key generation parallelism must be at least 1.");
+    }
     this.keyDb = keyDb;
     this.keyStorageClient = keyStorageClient;
     this.logMetricHelper = logMetricHelper;
+    this.executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("split-key-generation-%d")
+                .build());
   }
 
   /**
@@ -304,6 +337,12 @@ public abstract class CreateSplitKeyTaskBase implements CreateSplitKeyTask {
    * and database persistence with signatures. Coordinator B encryption and key storage creation are
    * handled by abstract methods implemented in each cloud provider.
    *
+   * <p>Up to {@code parallelism} keys are generated concurrently, so the jitter and the KMS, key
+   * storage and database round-trips of one key overlap with those of the others. The signed keys
+   * are then stored in a single batched write. If any key fails, the generations that have not
+   * finished are cancelled, and the keys that were successfully signed are still stored before the
+   * first failure is rethrown.
+   *
    * @param activation the instant when the key should be active for encryption.
    */
   protected final void createSplitKeyBase(
@@ -317,22 +356,104 @@ public abstract class CreateSplitKeyTaskBase implements CreateSplitKeyTask {
       Boolean populateMigrationData)
       throws ServiceException {
     LOGGER.info("[{}] Trying to generate {} keys.", setName, count);
+    if (count <= 0) {
+      return;
+    }
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    ImmutableList.Builder<EncryptionKey> signedKeys = ImmutableList.builder();
+    List<Future<EncryptionKey>> futures = new ArrayList<>(count);
+    AtomicBoolean failed = new AtomicBoolean();
+    Throwable failure = null;
     for (int i = 0; i < count; i++) {
-      createSingleSplitKey(
-          setName,
-          tinkTemplate,
-          validityInDays,
-          ttlInDays,
-          backfillDays,
-          activation,
-          populateMigrationData,
-          0);
+      futures.add(
+          executor.submit(
+              () -> {
+                // Skip generations not started before another one failed, so they do not send
+                // key splits to Coordinator B that are never stored.
+                if (failed.get()) {
+                  return null;
+                }
+                try {
+                  return createSingleSplitKey(
+                      setName,
+                      tinkTemplate,
+                      validityInDays,
+                      ttlInDays,
+                      backfillDays,
+                      activation,
+                      populateMigrationData,
+                      0);
+                } catch (Exception e) {
+                  failed.set(true);
+                  throw e;
+                }
+              }));
+    }
+    try {
+      for (Future<EncryptionKey> future : futures) {
+        try {
+          EncryptionKey key = future.get();
+          if (key != null) {
+            signedKeys.add(key);
+          }
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+            futures.forEach(pending -> pending.cancel(true));
+          }
+        } catch (CancellationException e) {
+          // Cancelled after the first failure, which is rethrown below.
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      futures.forEach(pending -> pending.cancel(true));
+      failure = e;
+    }
+    long generationMillis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+
+    // Store all signed keys, including those of a batch that partially failed, in one write.
+    ImmutableList<EncryptionKey> keys = signedKeys.build();
+    if (!keys.isEmpty()) {
+      try {
+        keyDb.createKeys(keys);
+      } catch (ServiceException e) {
+        LOGGER.error(format(setName, e.getErrorReason()));
+        throw e;
+      }
+    }
+    LOGGER.info(
+        "[{}] Stored {} signed keys in {} ms after generating them in {} ms.",
+        setName,
+        keys.size(),
+        stopwatch.elapsed(TimeUnit.MILLISECONDS) - generationMillis,
+        generationMillis);
+    if (failure != null) {
+      throw toServiceException(failure);
     }
     LOGGER.info(
         "[{}] Successfully generated {} keys to be active on {}.", setName, count, activation);
   }
 
-  private void createSingleSplitKey(
+  /** Rethrows unchecked failures as is, and wraps checked ones in a {@link ServiceException}. */
+  private static ServiceException toServiceException(Throwable cause) {
+    if (cause instanceof ServiceException) {
+      return (ServiceException) cause;
+    }
+    if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return ServiceException.ofUnknownException(cause);
+  }
+
+  /**
+   * Generates a single key, reserves its ID and sends its split to Coordinator B. Returns the key
+   * signed by both coordinators, which is left to the caller to store.
+   */
+  private EncryptionKey createSingleSplitKey(
       String setName,
       String tinkTemplate,
       int validityInDays,
@@ -342,14 +463,17 @@ public abstract class CreateSplitKeyTaskBase implements CreateSplitKeyTask {
       Boolean populateMigrationData,
       int keyIdConflictRetryCount)
       throws ServiceException {
+    Stopwatch stopwatch = Stopwatch.createStarted();
     Instant creationTime = Instant.now();
     EncryptionKey unsignedCoordinatorAKey;
     EncryptionKey unsignedCoordinatorBKey;
     String encryptedKeySplitB;
     Optional<String> encryptedMigrationKeySplitB;
+    long keyGenerationMillis;
     try {
       var template = KeyTemplates.get(tinkTemplate);
       KeysetHandle privateKeysetHandle = generateKeysetHandleWithJitter(template);
+      keyGenerationMillis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
       Optional<KeysetHandle> publicKeysetHandle = getPublicKeysetHandle(privateKeysetHandle);
 
       ImmutableList<ByteString> keySplits = KeySplitUtil.xorSplit(privateKeysetHandle, 2);
@@ -400,6 +524,8 @@ public abstract class CreateSplitKeyTaskBase implements CreateSplitKeyTask {
       throw e;
     }
 
+    long encryptionMillis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+
     try {
       // Reserve the key ID with a placeholder key that's not valid yet. Will be made valid at a
       // later step once key-split is successfully delivered to coordinator B.
@@ -423,7 +549,7 @@ public abstract class CreateSplitKeyTaskBase implements CreateSplitKeyTask {
                 "Failed to insert placeholder key split with keyId %s, retry count: %d, error "
                     + "message: %s",
                 unsignedCoordinatorAKey.getKeyId(), keyIdConflictRetryCount, e.getErrorReason()));
-        createSingleSplitKey(
+        return createSingleSplitKey(
             setName,
             tinkTemplate,
             validityInDays,
@@ -432,17 +558,19 @@ public abstract class CreateSplitKeyTaskBase implements CreateSplitKeyTask {
             activation,
             populateMigrationData,
             keyIdConflictRetryCount + 1);
-        return;
       }
       LOGGER.error(format(setName, e.getErrorReason()));
       LOGGER.error("Failed to insert placeholder key due to database error");
       throw e;
     }
 
+    long reservationMillis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+
     // Send Coordinator B valid key split
     EncryptionKey partyBResponse =
         sendKeySplitToPeerCoordinator(
             unsignedCoordinatorBKey, encryptedKeySplitB, encryptedMigrationKeySplitB);
+    long peerCoordinatorMillis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
 
     // Accumulate signatures
     EncryptionKey.Builder signedCoordinatorAKeyBuilder = unsignedCoordinatorAKey.toBuilder();
@@ -472,14 +600,17 @@ public abstract class CreateSplitKeyTaskBase implements CreateSplitKeyTask {
       LOGGER.warn(logMessage, partyBResponse.getKeyId(), partyBResponse.getSetName());
     }
 
-    EncryptionKey signedCoordinatorAKey = signedCoordinatorAKeyBuilder.build();
-    // Note: We want to store the keys as they are generated and signed.
-    try {
-      keyDb.createKey(signedCoordinatorAKey, true);
-    } catch (ServiceException e) {
-      LOGGER.error(format(setName, e.getErrorReason()));
-      throw e;
-    }
+    LOGGER.info(
+        "[{}] Generated key {} in {} ms (keygen: {} ms, encrypt: {} ms, reserve: {} ms, peer"
+            + " coordinator: {} ms).",
+        setName,
+        unsignedCoordinatorAKey.getKeyId(),
+        peerCoordinatorMillis,
+        keyGenerationMillis,
+        encryptionMillis - keyGenerationMillis,
+        reservationMillis - encryptionMillis,
+        peerCoordinatorMillis - reservationMillis);
+    return signedCoordinatorAKeyBuilder.build();
   }
 
   private String format(String setName, String errorReason) {
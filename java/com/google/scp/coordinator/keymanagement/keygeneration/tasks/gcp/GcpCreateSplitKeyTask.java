@@ -22,6 +22,7 @@ import com.google.crypto.tink.KmsClient;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.protobuf.ByteString;
+import com.google.scp.coordinator.keymanagement.keygeneration.app.common.Annotations.KeyGenerationParallelism;
 import com.google.scp.coordinator.keymanagement.keygeneration.app.common.Annotations.PopulateMigrationKeyData;
 import com.google.scp.coordinator.keymanagement.keygeneration.app.common.KeyStorageClient;
 import com.google.scp.coordinator.keymanagement.keygeneration.app.common.KeyStorageClient.KeyStorageServiceException;
@@ -81,10 +82,11 @@ public final class GcpCreateSplitKeyTask extends CreateSplitKeyTaskBase {
       @PeerKmsAeadClient KmsClient peerKmsClient,
       @MigrationPeerKmsAeadClient KmsClient migrationPeerKmsClient,
       @PopulateMigrationKeyData Provider<Boolean> populateMigrationDataProvider,
+      @KeyGenerationParallelism Integer parallelism,
       KeyDb keyDb,
       KeyStorageClient keyStorageClient,
       LogMetricHelper logMetricHelper) {
-    super(keyDb, keyStorageClient, logMetricHelper);
+    super(keyDb, keyStorageClient, logMetricHelper, parallelism);
     this.logMetricHelper = logMetricHelper;
     this.keyEncryptionKeyBaseUri = keyEncryptionKeyBaseUri;
     this.migrationKeyEncryptionKeyBaseUri = migrationKeyEncryptionKeyBaseUri;
@@ -66,6 +66,15 @@ public final class Annotations {
   @Retention(RUNTIME)
   public @interface CacheRefreshInMinutes {}
 
+  /**
+   * Binds the maximum number of key database reads per minute started by cache misses of a single
+   * caller. Non-positive values disable the limit.
+   */
+  @BindingAnnotation
+  @Target({FIELD, PARAMETER, METHOD})
+  @Retention(RUNTIME)
+  public @interface KeyDbReadsPerCallerPerMinute {}
+
   /** Binds limit value that determines count of active keys returned from Key database */
   @BindingAnnotation
   @Target({FIELD, PARAMETER, METHOD})
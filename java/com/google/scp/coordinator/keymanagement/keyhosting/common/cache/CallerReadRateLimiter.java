@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.coordinator.keymanagement.keyhosting.common.cache;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+
+/**
+ * Limits the key database reads started on behalf of each caller, counted in fixed time windows. A
+ * non-positive limit disables limiting.
+ */
+final class CallerReadRateLimiter {
+
+  private static final int MAX_TRACKED_CALLERS = 10_000;
+
+  private final int maxReadsPerWindow;
+  private final long windowNanos;
+  private final Ticker ticker;
+  private final Cache<String, Window> windows;
+
+  CallerReadRateLimiter(int maxReadsPerWindow, Duration window, Ticker ticker) {
+    this.maxReadsPerWindow = maxReadsPerWindow;
+    this.windowNanos = window.toNanos();
+    this.ticker = ticker;
+    this.windows =
+        CacheBuilder.newBuilder()
+            .maximumSize(MAX_TRACKED_CALLERS)
+            .expireAfterAccess(window.multipliedBy(2))
+            .ticker(ticker)
+            .build();
+  }
+
+  /** Records a read for the caller, returning false if the caller is over its limit. */
+  boolean tryAcquire(String caller) {
+    if (maxReadsPerWindow <= 0) {
+      return true;
+    }
+    long bucket = ticker.read() / windowNanos;
+    Window window =
+        windows
+            .asMap()
+            .compute(
+                caller,
+                (unused, current) ->
+                    current == null || current.bucket() != bucket
+                        ? new Window(bucket, 1)
+                        : new Window(bucket, current.reads() + 1));
+    return window.reads() <= maxReadsPerWindow;
+  }
+
+  private record Window(long bucket, int reads) {}
+}
@@ -16,61 +16,197 @@
 
 package com.google.scp.coordinator.keymanagement.keyhosting.common.cache;
 
+import static com.google.scp.coordinator.keymanagement.shared.model.KeyManagementErrorReason.KEY_DB_READ_LIMIT_EXCEEDED;
 import static com.google.scp.coordinator.keymanagement.shared.model.KeyManagementErrorReason.MISSING_KEY;
 import static com.google.scp.shared.api.model.Code.NOT_FOUND;
+import static com.google.scp.shared.api.model.Code.RESOURCE_EXHAUSTED;
 import static com.google.scp.shared.api.model.Code.UNKNOWN;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.KeyDbReadsPerCallerPerMinute;
 import com.google.scp.coordinator.keymanagement.shared.dao.common.KeyDb;
+import com.google.scp.coordinator.keymanagement.shared.util.LogMetricHelper;
 import com.google.scp.coordinator.protos.keymanagement.shared.backend.EncryptionKeyProto.EncryptionKey;
 import com.google.scp.shared.api.exception.ServiceException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Cache of encrypted keys by key ID.
+ *
+ * <p>Concurrent lookups of the same uncached key ID share a single database read, whether it
+ * finds the key or fails. Keys that could not be found are remembered for two hours; unknown
+ * database errors are remembered for a few seconds, so retry storms for the same key ID do not
+ * each reach the database. Lookups made on behalf of a caller are additionally limited in the
+ * number of database reads they may start per minute.
+ */
 @Singleton
 public final class GetEncryptedKeyCache extends KeyDbCache<String, EncryptionKey> {
   private static final Logger logger = LoggerFactory.getLogger(GetEncryptedKeyCache.class);
+  private static final LogMetricHelper logMetricHelper =
+      new LogMetricHelper("key_service/get_encrypted_key_cache");
+  private static final Duration UNKNOWN_ERROR_EXPIRY = Duration.ofSeconds(2);
 
   private final KeyDb keyDb;
-  private final LoadingCache<String, Boolean> missingKeyCache;
+  private final Cache<String, Boolean> missingKeyCache;
+  private final Cache<String, ServiceException> unknownErrorCache;
+  private final CallerReadRateLimiter rateLimiter;
+  private final ConcurrentMap<String, InFlightRead> inFlightReads = new ConcurrentHashMap<>();
+  private final AtomicLong collapsedRequests = new AtomicLong();
 
   @Inject
-  public GetEncryptedKeyCache(KeyDb keyDb) {
+  public GetEncryptedKeyCache(
+      KeyDb keyDb, @KeyDbReadsPerCallerPerMinute Integer readsPerCallerPerMinute) {
+    this(keyDb, readsPerCallerPerMinute, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  GetEncryptedKeyCache(KeyDb keyDb, int readsPerCallerPerMinute, Ticker ticker) {
     super(CacheBuilder.newBuilder().maximumSize(2000));
     this.keyDb = keyDb;
     this.missingKeyCache =
         CacheBuilder.newBuilder()
             .maximumSize(1000)
             .expireAfterAccess(2, TimeUnit.HOURS)
-            .build(
-                // Never used
-                new CacheLoader<>() {
-                  public Boolean load(String key) {
-                    return true;
-                  }
-                });
+            .ticker(ticker)
+            .build();
+    this.unknownErrorCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(UNKNOWN_ERROR_EXPIRY)
+            .ticker(ticker)
+            .build();
+    this.rateLimiter =
+        new CallerReadRateLimiter(readsPerCallerPerMinute, Duration.ofMinutes(1), ticker);
   }
 
   @Override
-  EncryptionKey readDb(String key) throws ServiceException {
-    // Does not cause values to be loaded.
-    if (missingKeyCache.getIfPresent(key) != null) {
+  public EncryptionKey get(String key) throws ServiceException {
+    return getOrJoin(key);
+  }
+
+  /**
+   * Returns the key, charging a database read to the caller if the key is neither cached nor
+   * already being read.
+   *
+   * @throws ServiceException with {@code RESOURCE_EXHAUSTED} if the caller is over its limit.
+   */
+  public EncryptionKey get(String key, String callerEmail) throws ServiceException {
+    EncryptionKey cached = getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    throwIfKnownFailure(key);
+    InFlightRead inFlightRead = inFlightReads.get(key);
+    if (inFlightRead != null) {
+      return join(key, inFlightRead);
+    }
+    if (!rateLimiter.tryAcquire(callerEmail)) {
+      logger.warn(
+          logMetricHelper.format(
+              "rate_limited", ImmutableMap.of("keyId", key, "callerEmail", callerEmail)));
       throw new ServiceException(
-          NOT_FOUND, MISSING_KEY.name(), "Unable to find item with keyId " + key);
+          RESOURCE_EXHAUSTED,
+          KEY_DB_READ_LIMIT_EXCEEDED.name(),
+          "Too many key lookups for uncached keys by " + callerEmail);
     }
+    return getOrJoin(key);
+  }
+
+  /** Returns the number of lookups that were served by another lookup's database read. */
+  @VisibleForTesting
+  long collapsedRequestCount() {
+    return collapsedRequests.get();
+  }
+
+  @Override
+  EncryptionKey readDb(String key) throws ServiceException {
+    throwIfKnownFailure(key);
     try {
       return keyDb.getKey(key);
     } catch (ServiceException e) {
       logger.warn("Unable to find item with keyId {} with reason {}", key, e.getErrorCode());
-      if (e.getErrorCode() != UNKNOWN) {
+      if (e.getErrorCode() == UNKNOWN) {
+        unknownErrorCache.put(key, e);
+      } else {
         missingKeyCache.put(key, true);
       }
       throw e;
     }
   }
+
+  /** Throws without reading the database if the key recently failed to load. */
+  private void throwIfKnownFailure(String key) throws ServiceException {
+    // Does not cause values to be loaded.
+    if (missingKeyCache.getIfPresent(key) != null) {
+      throw new ServiceException(
+          NOT_FOUND, MISSING_KEY.name(), "Unable to find item with keyId " + key);
+    }
+    ServiceException unknownError = unknownErrorCache.getIfPresent(key);
+    if (unknownError != null) {
+      throw new ServiceException(
+          UNKNOWN, unknownError.getErrorReason(), unknownError.getMessage(), unknownError);
+    }
+  }
+
+  /** Loads the key, or waits for the result of a concurrent load of the same key. */
+  private EncryptionKey getOrJoin(String key) throws ServiceException {
+    InFlightRead read = new InFlightRead();
+    InFlightRead existing = inFlightReads.putIfAbsent(key, read);
+    if (existing != null) {
+      return join(key, existing);
+    }
+    try {
+      EncryptionKey value = super.get(key);
+      read.result.complete(value);
+      return value;
+    } catch (ServiceException | RuntimeException e) {
+      read.result.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlightReads.remove(key, read);
+      int followers = read.followers.get();
+      if (followers > 0) {
+        logger.info(
+            logMetricHelper.format(
+                "collapsed_requests",
+                ImmutableMap.of("keyId", key, "count", Integer.toString(followers))));
+      }
+    }
+  }
+
+  private EncryptionKey join(String key, InFlightRead read) throws ServiceException {
+    read.followers.incrementAndGet();
+    collapsedRequests.incrementAndGet();
+    try {
+      return read.result.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ServiceException) {
+        throw (ServiceException) e.getCause();
+      }
+      throw ServiceException.ofUnknownException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ServiceException.ofUnknownException(e);
+    }
+  }
+
+  private static final class InFlightRead {
+    private final CompletableFuture<EncryptionKey> result = new CompletableFuture<>();
+    private final AtomicInteger followers = new AtomicInteger();
+  }
 }
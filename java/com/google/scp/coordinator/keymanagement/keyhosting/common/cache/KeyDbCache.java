@@ -44,6 +44,11 @@ public abstract class KeyDbCache<K, V> {
     return readDb(key);
   }
 
+  /** Returns the cached value, without loading it. */
+  V getIfPresent(K key) {
+    return keyCache.getIfPresent(key);
+  }
+
   public V get(K key) throws ServiceException {
     try {
       return keyCache.get(key);
@@ -28,6 +28,7 @@ import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.Ca
 import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.CacheRefreshInMinutes;
 import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.EnableCache;
 import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.Environment;
+import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.KeyDbReadsPerCallerPerMinute;
 import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.KeyLimit;
 import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.ProjectId;
 import com.google.scp.coordinator.keymanagement.shared.dao.gcp.SpannerKeyDbConfig;
@@ -42,10 +43,17 @@ import java.util.Optional;
 public final class GcpKeyServiceModule extends AbstractModule {
 
   public static final String READ_STALENESS_SEC_ENV_VAR = "READ_STALENESS_SEC";
+  public static final String ACTIVE_KEYS_MAX_STALENESS_SEC_ENV_VAR =
+      "ACTIVE_KEYS_MAX_STALENESS_SEC";
+  private static final String SPANNER_MIN_SESSIONS_ENV_VAR = "SPANNER_MIN_SESSIONS";
+  private static final String SPANNER_MAX_SESSIONS_ENV_VAR = "SPANNER_MAX_SESSIONS";
+  private static final String SPANNER_WARM_UP_SESSIONS_ENV_VAR = "SPANNER_WARM_UP_SESSIONS";
   private static final String KEY_LIMIT_ENV_VAR = "KEY_LIMIT";
   private static final String CACHE_CONTROL_MAXIMUM_ENV_VAR = "CACHE_CONTROL_MAXIMUM";
   private static final String ENABLE_CACHE_ENV_VAR = "ENABLE_CACHE";
   private static final String CACHE_REFRESH_ENV_VAR = "CACHE_REFRESH_IN_MINUTES";
+  private static final String KEY_DB_READS_PER_CALLER_PER_MINUTE_ENV_VAR =
+      "KEY_DB_READS_PER_CALLER_PER_MINUTE";
 
   /** Returns KeyLimit as Integer from environment variables. Default value of 5 */
   private Integer getKeyLimit() {
@@ -59,6 +67,17 @@ public final class GcpKeyServiceModule extends AbstractModule {
     return Integer.valueOf(env.getOrDefault(READ_STALENESS_SEC_ENV_VAR, "0"));
   }
 
+  /** Returns the integer value of an environment variable, if set. */
+  private static Optional<Integer> getOptionalInteger(String envVar) {
+    return Optional.ofNullable(System.getenv(envVar)).map(Integer::valueOf);
+  }
+
+  /** Returns SPANNER_WARM_UP_SESSIONS value from environment variables. Default of false. */
+  private static Boolean getWarmUpSessions() {
+    Map<String, String> env = System.getenv();
+    return Boolean.valueOf(env.getOrDefault(SPANNER_WARM_UP_SESSIONS_ENV_VAR, "false"));
+  }
+
   /**
    * Returns CACHE_CONTROL_MAXIMUM as long from environment var. This value should reflect the
    * KeyRotationInterval time. Default value of 7 days in seconds.
@@ -80,6 +99,15 @@ public final class GcpKeyServiceModule extends AbstractModule {
     return Integer.valueOf(env.getOrDefault(CACHE_REFRESH_ENV_VAR, "90"));
   }
 
+  /**
+   * Returns KEY_DB_READS_PER_CALLER_PER_MINUTE value from environment variables. Default of 0,
+   * which disables the limit.
+   */
+  private static Integer getKeyDbReadsPerCallerPerMinute() {
+    Map<String, String> env = System.getenv();
+    return Integer.valueOf(env.getOrDefault(KEY_DB_READS_PER_CALLER_PER_MINUTE_ENV_VAR, "0"));
+  }
+
   @Provides
   @ProjectId
   String providesProjectId() {
@@ -109,6 +137,9 @@ public final class GcpKeyServiceModule extends AbstractModule {
     bind(Integer.class)
         .annotatedWith(CacheRefreshInMinutes.class)
         .toInstance(getCacheRefreshInMinutes());
+    bind(Integer.class)
+        .annotatedWith(KeyDbReadsPerCallerPerMinute.class)
+        .toInstance(getKeyDbReadsPerCallerPerMinute());
 
     // Data layer bindings
     SpannerKeyDbConfig config =
@@ -117,6 +148,11 @@ public final class GcpKeyServiceModule extends AbstractModule {
             .setSpannerInstanceId(spannerInstanceId)
             .setSpannerDbName(spannerDatabaseId)
             .setReadStalenessSeconds(getReadStalenessSeconds())
+            .setActiveKeysMaxStalenessSeconds(
+                getOptionalInteger(ACTIVE_KEYS_MAX_STALENESS_SEC_ENV_VAR))
+            .setMinSessions(getOptionalInteger(SPANNER_MIN_SESSIONS_ENV_VAR))
+            .setMaxSessions(getOptionalInteger(SPANNER_MAX_SESSIONS_ENV_VAR))
+            .setWarmUpSessions(getWarmUpSessions())
             .setEndpointUrl(Optional.ofNullable(spannerEndpoint))
             .build();
     bind(SpannerKeyDbConfig.class).toInstance(config);
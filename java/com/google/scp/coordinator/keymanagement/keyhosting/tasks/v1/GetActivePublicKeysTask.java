@@ -105,10 +105,10 @@ public class GetActivePublicKeysTask extends ApiTask {
   }
 
   @Override
-  protected final boolean tryService(
-      String basePath, RequestContext request, ResponseContext response) throws ServiceException {
+  protected final void service(Matcher matcher, RequestContext request, ResponseContext response)
+      throws ServiceException {
     try {
-      return super.tryService(basePath, request, response);
+      super.service(matcher, request, response);
     } catch (ServiceException e) {
       logger.error(
           logMetricHelper.format(
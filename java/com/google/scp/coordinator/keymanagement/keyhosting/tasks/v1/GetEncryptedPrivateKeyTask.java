@@ -95,7 +95,7 @@ public final class GetEncryptedPrivateKeyTask extends ApiTask {
 
   /** Returns an {@link EncryptionKey} for a provided key ID. */
   private EncryptionKey getKey(String id, String email) throws ServiceException {
-    var key = isCacheEnabled(email) ? cache.get(id) : keyDb.getKey(id);
+    var key = isCacheEnabled(email) ? cache.get(id, email) : keyDb.getKey(id);
     var nowMilli = Instant.now().toEpochMilli();
     var activationAgeInMillis = nowMilli - key.getActivationTime();
     var dayInMillis = TimeUnit.DAYS.toMillis(1);
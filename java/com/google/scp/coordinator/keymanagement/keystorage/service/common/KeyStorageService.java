@@ -18,9 +18,13 @@ package com.google.scp.coordinator.keymanagement.keystorage.service.common;
 
 import static com.google.scp.shared.api.model.Code.INVALID_ARGUMENT;
 
+import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
 import com.google.scp.coordinator.keymanagement.keystorage.converters.EncryptionKeyConverter;
 import com.google.scp.coordinator.keymanagement.keystorage.tasks.common.CreateKeyTask;
+import com.google.scp.coordinator.keymanagement.keystorage.tasks.common.CreateKeyTask.KeySplitRequest;
+import com.google.scp.coordinator.protos.keymanagement.keystorage.api.v1.BatchCreateKeysRequestProto.BatchCreateKeysRequest;
+import com.google.scp.coordinator.protos.keymanagement.keystorage.api.v1.BatchCreateKeysResponseProto.BatchCreateKeysResponse;
 import com.google.scp.coordinator.protos.keymanagement.keystorage.api.v1.CreateKeyRequestProto.CreateKeyRequest;
 import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.EncryptionKeyProto.EncryptionKey;
 import com.google.scp.shared.api.exception.ServiceException;
@@ -51,4 +55,30 @@ public final class KeyStorageService {
       throw new ServiceException(INVALID_ARGUMENT, INVALID_ARGUMENT.name(), ex.getMessage(), ex);
     }
   }
+
+  /**
+   * Handles a request to save several keys, returning the {@link EncryptionKey}s after populating
+   * their signature fields. Either all the keys are saved or none of them.
+   */
+  public BatchCreateKeysResponse batchCreateKeys(BatchCreateKeysRequest request)
+      throws ServiceException {
+    try {
+      ImmutableList.Builder<KeySplitRequest> keySplitRequests = ImmutableList.builder();
+      for (CreateKeyRequest createKeyRequest : request.getRequestsList()) {
+        keySplitRequests.add(
+            new KeySplitRequest(
+                EncryptionKeyConverter.toStorageEncryptionKey(
+                    createKeyRequest.getKeyId(), createKeyRequest.getKey()),
+                createKeyRequest.getEncryptedKeySplit(),
+                createKeyRequest.getMigrationEncryptedKeySplit()));
+      }
+      var response = BatchCreateKeysResponse.newBuilder();
+      for (var storedKey : createKeyTask.createKeys(keySplitRequests.build())) {
+        response.addKeys(EncryptionKeyConverter.toApiEncryptionKey(storedKey));
+      }
+      return response.build();
+    } catch (IllegalArgumentException ex) {
+      throw new ServiceException(INVALID_ARGUMENT, INVALID_ARGUMENT.name(), ex.getMessage(), ex);
+    }
+  }
 }
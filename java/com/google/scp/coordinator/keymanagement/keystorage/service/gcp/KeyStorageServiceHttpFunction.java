@@ -17,21 +17,28 @@
 package com.google.scp.coordinator.keymanagement.keystorage.service.gcp;
 
 import com.google.inject.Guice;
+import com.google.inject.Injector;
 
 /** Handles requests to KeyStorageService and returns HTTP Response. */
 public final class KeyStorageServiceHttpFunction extends KeyStorageServiceHttpFunctionBase {
   /**
    * Creates a new instance of the {@code KeyStorageServiceHttpFunction} class with the given {@link
-   * CreateKeyRequestHandler}.
+   * CreateKeyRequestHandler} and {@link BatchCreateKeysRequestHandler}.
    */
-  public KeyStorageServiceHttpFunction(CreateKeyRequestHandler createKeyRequestHandler) {
-    super(createKeyRequestHandler);
+  public KeyStorageServiceHttpFunction(
+      CreateKeyRequestHandler createKeyRequestHandler,
+      BatchCreateKeysRequestHandler batchCreateKeysRequestHandler) {
+    super(createKeyRequestHandler, batchCreateKeysRequestHandler);
   }
 
   /** Creates a new instance of the {@code KeyStorageServiceHttpFunction} class. */
   public KeyStorageServiceHttpFunction() {
+    this(Guice.createInjector(new GcpKeyStorageServiceModule()));
+  }
+
+  private KeyStorageServiceHttpFunction(Injector injector) {
     this(
-        Guice.createInjector(new GcpKeyStorageServiceModule())
-            .getInstance(CreateKeyRequestHandler.class));
+        injector.getInstance(CreateKeyRequestHandler.class),
+        injector.getInstance(BatchCreateKeysRequestHandler.class));
   }
 }
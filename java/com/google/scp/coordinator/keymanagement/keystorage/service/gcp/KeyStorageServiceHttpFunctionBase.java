@@ -29,20 +29,31 @@ public abstract class KeyStorageServiceHttpFunctionBase extends CloudFunctionSer
 
   private static final Pattern CREATE_KEY_URL_PATTERN =
       Pattern.compile("/v1alpha/encryptionKeys", Pattern.CASE_INSENSITIVE);
+  private static final Pattern BATCH_CREATE_KEYS_URL_PATTERN =
+      Pattern.compile("/v1alpha/encryptionKeys:batchCreate", Pattern.CASE_INSENSITIVE);
   private final CreateKeyRequestHandler createKeyRequestHandler;
+  private final BatchCreateKeysRequestHandler batchCreateKeysRequestHandler;
 
   /**
    * Creates a new instance of the {@code KeyStorageServiceHttpFunctionBase} class with the given
-   * {@link CreateKeyRequestHandler}.
+   * {@link CreateKeyRequestHandler} and {@link BatchCreateKeysRequestHandler}.
    */
-  public KeyStorageServiceHttpFunctionBase(CreateKeyRequestHandler createKeyRequestHandler) {
+  public KeyStorageServiceHttpFunctionBase(
+      CreateKeyRequestHandler createKeyRequestHandler,
+      BatchCreateKeysRequestHandler batchCreateKeysRequestHandler) {
     this.createKeyRequestHandler = createKeyRequestHandler;
+    this.batchCreateKeysRequestHandler = batchCreateKeysRequestHandler;
   }
 
   @Override
   protected ImmutableMap<HttpMethod, ImmutableMap<Pattern, CloudFunctionRequestHandler>>
       getRequestHandlerMap() {
     return ImmutableMap.of(
-        POST, ImmutableMap.of(CREATE_KEY_URL_PATTERN, this.createKeyRequestHandler));
+        POST,
+        ImmutableMap.of(
+            CREATE_KEY_URL_PATTERN,
+            this.createKeyRequestHandler,
+            BATCH_CREATE_KEYS_URL_PATTERN,
+            this.batchCreateKeysRequestHandler));
   }
 }
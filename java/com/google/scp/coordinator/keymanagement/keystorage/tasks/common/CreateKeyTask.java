@@ -16,6 +16,7 @@
 
 package com.google.scp.coordinator.keymanagement.keystorage.tasks.common;
 
+import com.google.common.collect.ImmutableList;
 import com.google.scp.coordinator.protos.keymanagement.shared.backend.EncryptionKeyProto.EncryptionKey;
 import com.google.scp.shared.api.exception.ServiceException;
 
@@ -33,4 +34,25 @@ public interface CreateKeyTask {
   EncryptionKey createKey(
       EncryptionKey encryptionKey, String encryptedKeySplit, String migrationEncryptedKeySplit)
       throws ServiceException;
+
+  /**
+   * Creates several keys in the database, returning the created and stored keys in the order of
+   * the requests. Implementations may validate all key splits before storing any key.
+   */
+  default ImmutableList<EncryptionKey> createKeys(ImmutableList<KeySplitRequest> requests)
+      throws ServiceException {
+    ImmutableList.Builder<EncryptionKey> keys = ImmutableList.builder();
+    for (KeySplitRequest request : requests) {
+      keys.add(
+          createKey(
+              request.encryptionKey(),
+              request.encryptedKeySplit(),
+              request.migrationEncryptedKeySplit()));
+    }
+    return keys.build();
+  }
+
+  /** The arguments of a single {@link #createKey} call. */
+  record KeySplitRequest(
+      EncryptionKey encryptionKey, String encryptedKeySplit, String migrationEncryptedKeySplit) {}
 }
@@ -16,13 +16,16 @@
 
 package com.google.scp.coordinator.keymanagement.keystorage.tasks.gcp;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.scp.coordinator.keymanagement.shared.model.KeyManagementErrorReason.SERVICE_ERROR;
 import static com.google.scp.shared.api.model.Code.INVALID_ARGUMENT;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.crypto.tink.Aead;
 import com.google.crypto.tink.KmsClient;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.google.scp.coordinator.keymanagement.keystorage.tasks.common.Annotations.KmsAeadClient;
 import com.google.scp.coordinator.keymanagement.keystorage.tasks.common.Annotations.KmsKeyEncryptionKeyBaseUri;
 import com.google.scp.coordinator.keymanagement.keystorage.tasks.common.Annotations.MigrationKmsAeadClient;
@@ -35,14 +38,28 @@ import com.google.scp.coordinator.protos.keymanagement.shared.backend.KeySplitDa
 import com.google.scp.shared.api.exception.ServiceException;
 import com.google.scp.shared.api.model.Code;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Creates a key in the database */
+/**
+ * Creates a key in the database
+ *
+ * <p>A singleton, so that the key splits of all batches are validated on one bounded thread pool
+ * held for the lifetime of the function instance.
+ */
+@Singleton
 public final class GcpCreateKeyTask implements CreateKeyTask {
   private static final Logger logger = LoggerFactory.getLogger(GcpCreateKeyTask.class);
+  // Upper bound on the key splits validated concurrently, each making KMS calls.
+  private static final int MAX_CONCURRENT_VALIDATIONS = 8;
 
   private final KeyDb keyDb;
   private final String kmsKeyEncryptionKeyBaseUri;
@@ -50,10 +67,19 @@ public final class GcpCreateKeyTask implements CreateKeyTask {
   private final KmsClient kmsClient;
   private final KmsClient migrationKmsClient;
   private final Boolean populateMigrationKeyData;
+  private final ExecutorService validationExecutor =
+      Executors.newFixedThreadPool(
+          MAX_CONCURRENT_VALIDATIONS,
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("key-split-validation-%d")
+              .build());
 
   private record ValidatedKeySplits(
       String reencryptedKeySplit, String reencryptedMigrationKeySplit) {}
 
+  private record ValidatedKey(EncryptionKey key, boolean activeMigration) {}
+
   @Inject
   public GcpCreateKeyTask(
       KeyDb keyDb,
@@ -75,6 +101,81 @@ public final class GcpCreateKeyTask implements CreateKeyTask {
   public EncryptionKey createKey(
       EncryptionKey encryptionKey, String encryptedKeySplit, String migrationEncryptedKeySplit)
       throws ServiceException {
+    ValidatedKey validatedKey =
+        validateKey(encryptionKey, encryptedKeySplit, migrationEncryptedKeySplit);
+    keyDb.createKey(validatedKey.key());
+    logCreatedKey(validatedKey);
+    return validatedKey.key();
+  }
+
+  /**
+   * Validates and re-encrypts the key splits concurrently, then creates all the keys in a single
+   * database write. No key is created if any key split fails validation.
+   */
+  @Override
+  public ImmutableList<EncryptionKey> createKeys(ImmutableList<KeySplitRequest> requests)
+      throws ServiceException {
+    if (requests.isEmpty()) {
+      return ImmutableList.of();
+    }
+    ImmutableList.Builder<ValidatedKey> validatedKeysBuilder = ImmutableList.builder();
+    List<Future<ValidatedKey>> futures = new ArrayList<>(requests.size());
+    for (KeySplitRequest request : requests) {
+      futures.add(
+          validationExecutor.submit(
+              () ->
+                  validateKey(
+                      request.encryptionKey(),
+                      request.encryptedKeySplit(),
+                      request.migrationEncryptedKeySplit())));
+    }
+    try {
+      for (Future<ValidatedKey> future : futures) {
+        validatedKeysBuilder.add(getValidatedKey(future));
+      }
+    } finally {
+      // The pool is shared, so only the validations of this batch left after a failure are stopped.
+      futures.forEach(future -> future.cancel(true));
+    }
+
+    ImmutableList<ValidatedKey> validatedKeys = validatedKeysBuilder.build();
+    ImmutableList<EncryptionKey> keys =
+        validatedKeys.stream().map(ValidatedKey::key).collect(toImmutableList());
+    keyDb.createKeys(keys);
+    validatedKeys.forEach(this::logCreatedKey);
+    return keys;
+  }
+
+  private static ValidatedKey getValidatedKey(Future<ValidatedKey> future)
+      throws ServiceException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ServiceException.ofUnknownException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ServiceException) {
+        throw (ServiceException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw ServiceException.ofUnknownException(e.getCause());
+    }
+  }
+
+  private void logCreatedKey(ValidatedKey validatedKey) {
+    String logMessage =
+        validatedKey.activeMigration()
+            ? "Created new key {} with migration data for set {}"
+            : "Created new key {} for set {}";
+    logger.info(logMessage, validatedKey.key().getKeyId(), validatedKey.key().getSetName());
+  }
+
+  /** Builds the key to store, with its key splits validated and re-encrypted. */
+  private ValidatedKey validateKey(
+      EncryptionKey encryptionKey, String encryptedKeySplit, String migrationEncryptedKeySplit)
+      throws ServiceException {
     if (encryptedKeySplit.isEmpty()) {
       throw new ServiceException(
           Code.INVALID_ARGUMENT, SERVICE_ERROR.name(), "Key payload is empty.");
@@ -143,14 +244,7 @@ public final class GcpCreateKeyTask implements CreateKeyTask {
       newEncryptionKeyBuilder.setJsonEncodedKeyset(validatedKeySplit);
     }
 
-    EncryptionKey newEncryptionKey = newEncryptionKeyBuilder.build();
-    keyDb.createKey(newEncryptionKey);
-    String logMessage =
-        activeMigration
-            ? "Created new key {} with migration data for set {}"
-            : "Created new key {} for set {}";
-    logger.info(logMessage, newEncryptionKey.getKeyId(), encryptionKey.getSetName());
-    return newEncryptionKey;
+    return new ValidatedKey(newEncryptionKeyBuilder.build(), activeMigration);
   }
 
   /**
@@ -88,6 +88,13 @@ public interface KeyDb {
   /** Create key with overwrite option */
   void createKey(EncryptionKey key, boolean overwrite) throws ServiceException;
 
+  /** Create the given keys, overwriting existing ones, in as few writes as the database allows. */
+  default void createKeys(ImmutableList<EncryptionKey> keys) throws ServiceException {
+    for (EncryptionKey key : keys) {
+      createKey(key, true);
+    }
+  }
+
   // TODO(b/439619571): Look into refactoring to live under keymigration/ since methods shouldn't be
   // used elsewhere.
   /** Used to update key data for an existing key */
@@ -33,18 +33,25 @@ import com.google.cloud.spanner.SpannerException;
 import com.google.cloud.spanner.Statement;
 import com.google.cloud.spanner.TimestampBound;
 import com.google.cloud.spanner.Value;
+import com.google.common.base.Ascii;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.inject.Inject;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.util.JsonFormat;
 import com.google.scp.coordinator.keymanagement.shared.dao.common.Annotations.KeyDbClient;
 import com.google.scp.coordinator.keymanagement.shared.dao.common.KeyDb;
+import com.google.scp.coordinator.keymanagement.shared.util.LogMetricHelper;
 import com.google.scp.coordinator.protos.keymanagement.shared.backend.EncryptionKeyProto;
 import com.google.scp.coordinator.protos.keymanagement.shared.backend.EncryptionKeyProto.EncryptionKey;
 import com.google.scp.coordinator.protos.keymanagement.shared.backend.KeySplitDataProto.KeySplitData;
 import com.google.scp.coordinator.protos.keymanagement.shared.backend.KeySplitDataProto.KeySplitDataList;
 import com.google.scp.shared.api.exception.ServiceException;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
@@ -77,9 +84,42 @@ public final class SpannerKeyDb implements KeyDb {
   private static final JsonFormat.Printer JSON_PRINTER = JsonFormat.printer();
   private static final JsonFormat.Parser JSON_PARSER = JsonFormat.parser();
   private static final Logger LOGGER = LoggerFactory.getLogger(SpannerKeyDb.class);
+  private static final LogMetricHelper LOG_METRIC_HELPER = new LogMetricHelper("key_db/spanner");
+  /**
+   * Strong retries of stale lookup misses allowed per second. Keys are rarely looked up within the
+   * staleness window of their creation, so misses beyond this are for keys that do not exist.
+   */
+  private static final double MAX_STRONG_RETRIES_PER_SECOND = 10;
+
+  /** How a read picks its timestamp. Each policy reports its own read latency distribution. */
+  private enum ReadPolicy {
+    /** The configured read staleness, used by lookups and full listings. */
+    DEFAULT,
+    /** Bounded staleness, used to list active keys. */
+    ACTIVE_KEYS,
+    /** Strong read, used to retry a lookup that missed at a stale timestamp. */
+    STRONG_RETRY
+  }
+
+  /**
+   * Read latency lines of each policy, up to the latency value. They feed the {@code
+   * key_db/spanner/read_latency} log-based distribution metric, labelled by read policy.
+   */
+  private static final ImmutableMap<ReadPolicy, String> READ_LATENCY_LOG_PREFIXES =
+      Arrays.stream(ReadPolicy.values())
+          .collect(
+              Maps.toImmutableEnumMap(
+                  policy -> policy,
+                  policy ->
+                      LOG_METRIC_HELPER.formatPrefix(
+                          "read_latency",
+                          ImmutableMap.of("readPolicy", Ascii.toLowerCase(policy.name())),
+                          "latencyMillis")));
 
   private final DatabaseClient dbClient;
   private final TimestampBound stalenessBound;
+  private final TimestampBound activeKeysStalenessBound;
+  private final RateLimiter strongRetryLimiter = RateLimiter.create(MAX_STRONG_RETRIES_PER_SECOND);
 
   @Inject
   public SpannerKeyDb(@KeyDbClient DatabaseClient dbClient, SpannerKeyDbConfig dbConfig) {
@@ -88,6 +128,12 @@ public final class SpannerKeyDb implements KeyDb {
         dbConfig.readStalenessSeconds() > 0
             ? TimestampBound.ofExactStaleness(dbConfig.readStalenessSeconds(), TimeUnit.SECONDS)
             : TimestampBound.strong();
+    this.activeKeysStalenessBound =
+        dbConfig
+            .activeKeysMaxStalenessSeconds()
+            .filter(seconds -> seconds > 0)
+            .map(seconds -> TimestampBound.ofMaxStaleness(seconds, TimeUnit.SECONDS))
+            .orElse(stalenessBound);
   }
 
   @Override
@@ -129,7 +175,7 @@ public final class SpannerKeyDb implements KeyDb {
             .bind("setName")
             .to(setName)
             .build();
-    return retrieveKeys(statement);
+    return retrieveKeys(statement, ReadPolicy.ACTIVE_KEYS);
   }
 
   @Override
@@ -162,17 +208,31 @@ public final class SpannerKeyDb implements KeyDb {
             .bind("setName")
             .to(setName)
             .build();
-    return retrieveKeys(statement);
+    return retrieveKeys(statement, ReadPolicy.ACTIVE_KEYS);
   }
 
-  private ImmutableList<EncryptionKey> retrieveKeys(Statement statement) throws ServiceException {
+  private ImmutableList<EncryptionKey> retrieveKeys(Statement statement, ReadPolicy policy)
+      throws ServiceException {
+    TimestampBound bound =
+        switch (policy) {
+          case DEFAULT -> stalenessBound;
+          case ACTIVE_KEYS -> activeKeysStalenessBound;
+          case STRONG_RETRY -> TimestampBound.strong();
+        };
+    Stopwatch stopwatch = Stopwatch.createStarted();
     ImmutableList.Builder<EncryptionKey> keysBuilder = ImmutableList.builder();
-    try (var readContext = dbClient.singleUse(stalenessBound)) {
+    try (var readContext = dbClient.singleUse(bound)) {
       var resultSet = readContext.executeQuery(statement);
       while (resultSet.next()) {
         keysBuilder.add(buildEncryptionKey(resultSet));
       }
     }
+    if (LOGGER.isInfoEnabled()) {
+      LOGGER.info(
+          READ_LATENCY_LOG_PREFIXES.get(policy)
+              + stopwatch.elapsed(TimeUnit.MILLISECONDS)
+              + LogMetricHelper.FORMAT_SUFFIX);
+    }
     return keysBuilder.build();
   }
 
@@ -191,9 +251,14 @@ public final class SpannerKeyDb implements KeyDb {
             .bind("setName")
             .to(setName)
             .build();
-    return retrieveKeys(statement);
+    return retrieveKeys(statement, ReadPolicy.DEFAULT);
   }
 
+  /**
+   * Looks up the key at the configured read staleness. A key created within the staleness window
+   * is not visible at that timestamp, so a stale miss is retried once with a strong read. Strong
+   * retries are rate limited, so floods of lookups for unknown keys do not double the reads.
+   */
   @Override
   public EncryptionKey getKey(String keyId) throws ServiceException {
     Statement statement =
@@ -201,14 +266,13 @@ public final class SpannerKeyDb implements KeyDb {
             .bind("KeyIdParam")
             .to(keyId)
             .build();
-    ImmutableList.Builder<EncryptionKey> keysBuilder = ImmutableList.builder();
-    try (var readContext = dbClient.singleUse(stalenessBound)) {
-      var resultSet = readContext.executeQuery(statement);
-      while (resultSet.next()) {
-        keysBuilder.add(buildEncryptionKey(resultSet));
-      }
+    ImmutableList<EncryptionKey> keys = retrieveKeys(statement, ReadPolicy.DEFAULT);
+    if (keys.isEmpty()
+        && !stalenessBound.equals(TimestampBound.strong())
+        && strongRetryLimiter.tryAcquire()) {
+      LOGGER.debug("Key {} not found at stale timestamp, retrying with a strong read.", keyId);
+      keys = retrieveKeys(statement, ReadPolicy.STRONG_RETRY);
     }
-    ImmutableList<EncryptionKey> keys = keysBuilder.build();
     if (keys.isEmpty()) {
       throw new ServiceException(
           NOT_FOUND, MISSING_KEY.name(), "Unable to find item with keyId " + keyId);
@@ -229,6 +293,12 @@ public final class SpannerKeyDb implements KeyDb {
     writeTransaction(mutations);
   }
 
+  /** Creates all the keys in a single transaction. */
+  @Override
+  public void createKeys(ImmutableList<EncryptionKey> keys) throws ServiceException {
+    writeTransaction(keys.stream().map(key -> toMutation(key, true)).collect(toImmutableList()));
+  }
+
   /**
    * Updates the stored <u>key material</u> fields for each KeyId to the associated EncryptionKey
    * fields provided. UpdatedAt will be set to the transaction timestamp. No other fields will be
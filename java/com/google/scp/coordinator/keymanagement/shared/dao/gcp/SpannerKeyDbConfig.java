@@ -25,7 +25,7 @@ import java.util.Optional;
 public abstract class SpannerKeyDbConfig {
 
   public static SpannerKeyDbConfig.Builder builder() {
-    return new AutoValue_SpannerKeyDbConfig.Builder();
+    return new AutoValue_SpannerKeyDbConfig.Builder().setWarmUpSessions(false);
   }
 
   /** Instance ID of the job key DB */
@@ -40,6 +40,21 @@ public abstract class SpannerKeyDbConfig {
   /** Acceptable read staleness in seconds. */
   public abstract int readStalenessSeconds();
 
+  /**
+   * Maximum read staleness in seconds for active key listings, read with bounded staleness. Falls
+   * back to {@link #readStalenessSeconds()} if absent.
+   */
+  public abstract Optional<Integer> activeKeysMaxStalenessSeconds();
+
+  /** Minimum number of sessions kept in the Spanner session pool. Client default if absent. */
+  public abstract Optional<Integer> minSessions();
+
+  /** Maximum number of sessions in the Spanner session pool. Client default if absent. */
+  public abstract Optional<Integer> maxSessions();
+
+  /** Whether to run a query when the database client is created, before serving any request. */
+  public abstract boolean warmUpSessions();
+
   /**
    * Overrides Spanner endpoint URL. Values that do not start with https:// are assumed to be
    * emulators for testing.
@@ -57,6 +72,15 @@ public abstract class SpannerKeyDbConfig {
 
     public abstract Builder setReadStalenessSeconds(int readStalenessSeconds);
 
+    public abstract Builder setActiveKeysMaxStalenessSeconds(
+        Optional<Integer> activeKeysMaxStalenessSeconds);
+
+    public abstract Builder setMinSessions(Optional<Integer> minSessions);
+
+    public abstract Builder setMaxSessions(Optional<Integer> maxSessions);
+
+    public abstract Builder setWarmUpSessions(boolean warmUpSessions);
+
     /**
      * Set the overriding Spanner endpoint URL. Values that do not start with https:// are assumed
      * to be emulators for testing.
@@ -23,19 +23,25 @@ import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.DatabaseId;
 import com.google.cloud.spanner.InstanceId;
 import com.google.cloud.spanner.LazySpannerInitializer;
+import com.google.cloud.spanner.SessionPoolOptions;
 import com.google.cloud.spanner.Spanner;
 import com.google.cloud.spanner.SpannerOptions;
+import com.google.cloud.spanner.Statement;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import com.google.scp.coordinator.keymanagement.shared.dao.common.Annotations.KeyDbClient;
 import com.google.scp.coordinator.keymanagement.shared.dao.common.KeyDb;
 import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** Module for spanner key db. */
 public final class SpannerKeyDbModule extends AbstractModule {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(SpannerKeyDbModule.class);
   private static final LazySpannerInitializer SPANNER_INITIALIZER = new LazySpannerInitializer();
+  private static LazySpannerInitializer sessionPoolSpannerInitializer;
 
   /** Caller is expected to bind {@link SpannerKeyDbConfig}. */
   public SpannerKeyDbModule() {}
@@ -44,18 +50,83 @@ public final class SpannerKeyDbModule extends AbstractModule {
   @Singleton
   @KeyDbClient
   public DatabaseClient getDatabaseClient(SpannerKeyDbConfig config) throws Exception {
+    DatabaseClient dbClient;
     if (config.endpointUrl().isPresent()) {
-      return getDatabaseClientByEndpointUrl(config);
+      dbClient = getDatabaseClientByEndpointUrl(config);
+    } else if (config.minSessions().isPresent() || config.maxSessions().isPresent()) {
+      dbClient = getDatabaseClientWithSessionPool(config);
+    } else {
+      DatabaseId dbId =
+          DatabaseId.of(config.gcpProjectId(), config.spannerInstanceId(), config.spannerDbName());
+      dbClient = SPANNER_INITIALIZER.get().getDatabaseClient(dbId);
+    }
+    if (config.warmUpSessions()) {
+      warmUp(dbClient);
+    }
+    return dbClient;
+  }
+
+  /**
+   * Runs a trivial query so that session creation and channel setup are paid before the first
+   * request is served rather than by it.
+   */
+  private static void warmUp(DatabaseClient dbClient) {
+    long start = System.nanoTime();
+    try (var resultSet = dbClient.singleUse().executeQuery(Statement.of("SELECT 1"))) {
+      while (resultSet.next()) {}
+    }
+    LOGGER.info(
+        "Warmed up Spanner sessions in {} ms.",
+        Duration.ofNanos(System.nanoTime() - start).toMillis());
+  }
+
+  private static DatabaseClient getDatabaseClientWithSessionPool(SpannerKeyDbConfig config)
+      throws Exception {
+    return getSessionPoolSpannerInitializer(config)
+        .get()
+        .getDatabaseClient(
+            DatabaseId.of(
+                config.gcpProjectId(), config.spannerInstanceId(), config.spannerDbName()));
+  }
+
+  /**
+   * Returns the initializer of the Spanner client with a configured session pool, shared like
+   * {@link #SPANNER_INITIALIZER} by all injectors of the process. The session pool is the one of
+   * the first config requested.
+   */
+  private static synchronized LazySpannerInitializer getSessionPoolSpannerInitializer(
+      SpannerKeyDbConfig config) {
+    if (sessionPoolSpannerInitializer == null) {
+      sessionPoolSpannerInitializer =
+          new LazySpannerInitializer() {
+            @Override
+            public Spanner initialize() {
+              SpannerOptions.Builder spannerOptions =
+                  SpannerOptions.newBuilder().setProjectId(config.gcpProjectId());
+              setSessionPoolOptions(spannerOptions, config);
+              return spannerOptions.build().getService();
+            }
+          };
+    }
+    return sessionPoolSpannerInitializer;
+  }
+
+  private static void setSessionPoolOptions(
+      SpannerOptions.Builder spannerOptions, SpannerKeyDbConfig config) {
+    if (config.minSessions().isEmpty() && config.maxSessions().isEmpty()) {
+      return;
     }
-    DatabaseId dbId =
-        DatabaseId.of(config.gcpProjectId(), config.spannerInstanceId(), config.spannerDbName());
-    return SPANNER_INITIALIZER.get().getDatabaseClient(dbId);
+    SessionPoolOptions.Builder sessionPoolOptions = SessionPoolOptions.newBuilder();
+    config.minSessions().ifPresent(sessionPoolOptions::setMinSessions);
+    config.maxSessions().ifPresent(sessionPoolOptions::setMaxSessions);
+    spannerOptions.setSessionPoolOption(sessionPoolOptions.build());
   }
 
   private static DatabaseClient getDatabaseClientByEndpointUrl(SpannerKeyDbConfig config) {
     String endpointUrl = config.endpointUrl().get();
     SpannerOptions.Builder spannerOptions =
         SpannerOptions.newBuilder().setProjectId(config.gcpProjectId());
+    setSessionPoolOptions(spannerOptions, config);
     if (isEmulatorEndpoint(endpointUrl)) {
       spannerOptions.setEmulatorHost(endpointUrl).setCredentials(NoCredentials.getInstance());
     } else {
@@ -26,13 +26,13 @@ import com.google.scp.coordinator.protos.keymanagement.shared.backend.Encryption
 import com.google.scp.shared.api.exception.ServiceException;
 import com.google.scp.shared.api.model.Code;
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** In memory implementation of KeyDb for testing */
 public final class InMemoryKeyDb implements KeyDb {
 
-  private final Map<String, EncryptionKey> keys = new HashMap<>();
+  private final Map<String, EncryptionKey> keys = new ConcurrentHashMap<>();
   private ServiceException serviceException;
 
   @Override
@@ -77,9 +77,12 @@ public final class InMemoryKeyDb implements KeyDb {
       throw serviceException;
     }
 
-    if (!overwrite && keys.containsKey(key.getKeyId())) {
-      throw new ServiceException(
-          Code.ALREADY_EXISTS, DATASTORE_ERROR.name(), "KeyId already exists in the database");
+    if (!overwrite) {
+      if (keys.putIfAbsent(key.getKeyId(), key) != null) {
+        throw new ServiceException(
+            Code.ALREADY_EXISTS, DATASTORE_ERROR.name(), "KeyId already exists in the database");
+      }
+      return;
     }
     keys.put(key.getKeyId(), key);
   }
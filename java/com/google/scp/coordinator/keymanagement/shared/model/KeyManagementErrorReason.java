@@ -35,5 +35,7 @@ public enum KeyManagementErrorReason {
   /** Error when request contains invalid arguments */
   INVALID_ARGUMENT,
   /** Error from DataStore. E.g. DynamoDB or Spanner */
-  DATASTORE_ERROR
+  DATASTORE_ERROR,
+  /** Error when a caller exceeds its limit of key database reads */
+  KEY_DB_READ_LIMIT_EXCEEDED
 }
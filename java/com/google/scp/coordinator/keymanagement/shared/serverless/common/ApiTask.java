@@ -37,6 +37,8 @@ public abstract class ApiTask {
   private final String methodId;
   private final String apiVersion;
   private final LogMetricHelper logMetricHelper;
+  // Pre-rendered "count" log line up to the caller email, which is the only per-request label.
+  private final String countLogPrefix;
 
   protected ApiTask(
       String method, Pattern path, String methodId, String apiVersion, LogMetricHelper logHelper) {
@@ -45,6 +47,19 @@ public abstract class ApiTask {
     this.methodId = methodId;
     this.apiVersion = apiVersion;
     this.logMetricHelper = logHelper;
+    this.countLogPrefix =
+        logHelper.formatPrefix(
+            "count", ImmutableMap.of("apiVersion", apiVersion, "methodId", methodId), "callerEmail");
+  }
+
+  /** Returns the HTTP method serviced by the task. */
+  String getMethod() {
+    return method;
+  }
+
+  /** Returns the pattern matched against the request path, relative to the base path. */
+  Pattern getPath() {
+    return path;
   }
 
   /** Executes the task for the matched request. */
@@ -61,30 +76,41 @@ public abstract class ApiTask {
     if (!Objects.equals(request.getMethod(), method) || !request.getPath().startsWith(basePath)) {
       return false;
     }
-    String subPath = request.getPath().substring(basePath.length());
-    Matcher matcher = path.matcher(subPath);
+    Matcher matcher = matcher(request.getPath(), basePath.length());
     if (!matcher.matches()) {
       return false;
     }
+    service(matcher, request, response);
+    return true;
+  }
+
+  /**
+   * Returns a matcher of the path pattern over the request path following the base path. The
+   * region avoids copying the sub path for every candidate task.
+   */
+  Matcher matcher(String requestPath, int basePathLength) {
+    return path.matcher(requestPath).region(basePathLength, requestPath.length());
+  }
 
+  /** Services a request already matched against the task's method and path. */
+  protected void service(Matcher matcher, RequestContext request, ResponseContext response)
+      throws ServiceException {
     String email = getCallerEmail(request).orElse("unknown");
-    logger.info(
-        logMetricHelper.format(
-            "count",
-            ImmutableMap.of("apiVersion", apiVersion, "methodId", methodId, "callerEmail", email)));
+    if (logger.isInfoEnabled()) {
+      logger.info(countLogPrefix + email + LogMetricHelper.FORMAT_SUFFIX);
+    }
     try {
       execute(matcher, request, response);
     } catch (RuntimeException e) {
-      logError(e.getMessage(), getCallerEmail(request).orElse("unknown"));
+      logError(e.getMessage(), email);
       throw e;
     } catch (ServiceException e) {
       // Don't log MISSING_KEY exceptions since already handled by GetEncryptedPrivateKeyTask
       if (!e.getErrorReason().equals(MISSING_KEY.name())) {
-        logError(e.getErrorReason(), getCallerEmail(request).orElse("unknown"));
+        logError(e.getErrorReason(), email);
       }
       throw e;
     }
-    return true;
   }
 
   private void logError(String errorReason, String email) {
@@ -19,6 +19,7 @@ package com.google.scp.coordinator.keymanagement.shared.serverless.common;
 import static com.google.scp.shared.api.util.ErrorUtil.toErrorResponse;
 
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
 import com.google.protobuf.MessageOrBuilder;
 import com.google.protobuf.util.JsonFormat;
 import com.google.scp.shared.api.exception.ServiceException;
@@ -27,31 +28,61 @@ import java.io.UncheckedIOException;
 /** Represents the HTTP response being returned to the client. */
 public abstract class ResponseContext {
 
+  /** Content type of protobuf wire format bodies, served to clients accepting it. */
+  public static final String PROTOBUF_CONTENT_TYPE = "application/x-protobuf";
+
   private static final JsonFormat.Printer jsonPrinter =
       JsonFormat.printer().omittingInsignificantWhitespace().alwaysPrintFieldsWithNoPresence();
 
   /* Sets the response body. */
   public abstract void setBody(String body);
 
+  /* Sets the binary response body. */
+  public abstract void setBody(byte[] body);
+
   /* Adds header to the response. */
   public abstract void addHeader(String name, String value);
 
   /* Sets the response status code. */
   public abstract void setStatusCode(int i);
 
-  /* Sets the response body with the JSON representation of the protobuf message. */
+  /**
+   * Returns whether the client accepts protobuf wire format bodies, which are served instead of
+   * JSON if so.
+   */
+  protected boolean acceptsProtobuf() {
+    return false;
+  }
+
+  /*
+   * Sets the response body with the protobuf message, in the wire format if the client accepts it
+   * and in its JSON representation otherwise.
+   */
   public void setBody(MessageOrBuilder message) {
-    addHeader("Content-Type", "application/json");
-    try {
-      setBody(jsonPrinter.print(message));
-    } catch (InvalidProtocolBufferException e) {
-      throw new UncheckedIOException(e);
+    if (acceptsProtobuf()) {
+      addHeader("Content-Type", PROTOBUF_CONTENT_TYPE);
+      setBody(
+          message instanceof Message.Builder
+              ? ((Message.Builder) message).buildPartial().toByteArray()
+              : ((Message) message).toByteArray());
+      return;
     }
+    setJsonBody(message);
   }
 
   /* Sets the response error code and body based on the exception. */
   public void setError(ServiceException exception) {
     setStatusCode(exception.getErrorCode().getHttpStatusCode());
-    setBody(toErrorResponse(exception));
+    // Errors are always JSON, which clients parse regardless of the format they accept.
+    setJsonBody(toErrorResponse(exception));
+  }
+
+  private void setJsonBody(MessageOrBuilder message) {
+    addHeader("Content-Type", "application/json");
+    try {
+      setBody(jsonPrinter.print(message));
+    } catch (InvalidProtocolBufferException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.coordinator.keymanagement.shared.serverless.common;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static java.util.Comparator.comparingInt;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.scp.shared.api.exception.ServiceException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Routing index over the {@link ApiTask}s of a serverless function.
+ *
+ * <p>Tasks are grouped by HTTP method and by the literal path prefix of their pattern (base path
+ * included), so a request is only matched against the patterns whose prefix it starts with.
+ * Prefixes are tried longest first; tasks sharing a prefix are tried in registration order.
+ */
+final class RoutingTable {
+
+  private static final String REGEX_META_CHARACTERS = "\\[](){}.*+?^$|";
+  private static final String REGEX_QUANTIFIERS = "?*+{";
+
+  private final ImmutableMap<String, ImmutableList<Bucket>> bucketsByMethod;
+
+  private RoutingTable(ImmutableMap<String, ImmutableList<Bucket>> bucketsByMethod) {
+    this.bucketsByMethod = bucketsByMethod;
+  }
+
+  /** Builds the routing table for tasks keyed by their base path. */
+  static RoutingTable create(Map<String, List<ApiTask>> tasks) {
+    Map<String, Map<String, ImmutableList.Builder<Route>>> routes = new LinkedHashMap<>();
+    for (Map.Entry<String, List<ApiTask>> entry : tasks.entrySet()) {
+      String basePath = entry.getKey();
+      for (ApiTask task : entry.getValue()) {
+        String prefix = basePath + literalPrefix(task.getPath());
+        routes
+            .computeIfAbsent(task.getMethod(), unused -> new LinkedHashMap<>())
+            .computeIfAbsent(prefix, unused -> ImmutableList.builder())
+            .add(new Route(task, basePath.length()));
+      }
+    }
+    return new RoutingTable(
+        routes.entrySet().stream()
+            .collect(
+                toImmutableMap(
+                    Map.Entry::getKey,
+                    byPrefix ->
+                        byPrefix.getValue().entrySet().stream()
+                            .map(e -> new Bucket(e.getKey(), e.getValue().build()))
+                            // Stable sort, so equal length prefixes keep registration order.
+                            .sorted(comparingInt((Bucket b) -> b.prefix.length()).reversed())
+                            .collect(toImmutableList()))));
+  }
+
+  /**
+   * Services the request with the first matching task.
+   *
+   * @return false if no task matches the request.
+   */
+  boolean dispatch(RequestContext request, ResponseContext response) throws ServiceException {
+    Optional<Match> match = find(request.getMethod(), request.getPath());
+    if (match.isEmpty()) {
+      return false;
+    }
+    match.get().task.service(match.get().matcher, request, response);
+    return true;
+  }
+
+  /** Returns the first task, with its path matcher, that matches the method and path. */
+  @VisibleForTesting
+  Optional<Match> find(String method, String path) {
+    ImmutableList<Bucket> buckets = bucketsByMethod.get(method);
+    if (buckets == null) {
+      return Optional.empty();
+    }
+    for (Bucket bucket : buckets) {
+      if (!path.startsWith(bucket.prefix)) {
+        continue;
+      }
+      for (Route route : bucket.routes) {
+        Matcher matcher = route.task.matcher(path, route.basePathLength);
+        if (matcher.matches()) {
+          return Optional.of(new Match(route.task, matcher));
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the literal prefix every path matched by the pattern starts with. Patterns compiled
+   * with flags (e.g. case insensitivity) and patterns with top-level alternatives are given an
+   * empty prefix.
+   */
+  @VisibleForTesting
+  static String literalPrefix(Pattern pattern) {
+    String regex = pattern.pattern();
+    if (pattern.flags() != 0 || hasTopLevelAlternation(regex)) {
+      return "";
+    }
+    int end = 0;
+    while (end < regex.length() && REGEX_META_CHARACTERS.indexOf(regex.charAt(end)) < 0) {
+      end++;
+    }
+    // A quantifier makes the preceding character optional or repeated.
+    if (end > 0 && end < regex.length() && REGEX_QUANTIFIERS.indexOf(regex.charAt(end)) >= 0) {
+      end--;
+    }
+    return regex.substring(0, end);
+  }
+
+  /** Returns whether the regex has a {@code |} outside of groups, classes and quotes. */
+  private static boolean hasTopLevelAlternation(String regex) {
+    int groupDepth = 0;
+    int classDepth = 0;
+    for (int i = 0; i < regex.length(); i++) {
+      char c = regex.charAt(i);
+      if (c == '\\') {
+        if (regex.startsWith("Q", i + 1)) {
+          int quoteEnd = regex.indexOf("\\E", i + 2);
+          if (quoteEnd < 0) {
+            return false;
+          }
+          i = quoteEnd + 1;
+        } else {
+          i++;
+        }
+      } else if (c == '[') {
+        classDepth++;
+      } else if (c == ']' && classDepth > 0) {
+        classDepth--;
+      } else if (classDepth == 0) {
+        if (c == '(') {
+          groupDepth++;
+        } else if (c == ')') {
+          groupDepth--;
+        } else if (c == '|' && groupDepth == 0) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /** A task matched to a request. */
+  static final class Match {
+    final ApiTask task;
+    final Matcher matcher;
+
+    private Match(ApiTask task, Matcher matcher) {
+      this.task = task;
+      this.matcher = matcher;
+    }
+  }
+
+  private static final class Route {
+    private final ApiTask task;
+    private final int basePathLength;
+
+    private Route(ApiTask task, int basePathLength) {
+      this.task = task;
+      this.basePathLength = basePathLength;
+    }
+  }
+
+  private static final class Bucket {
+    private final String prefix;
+    private final ImmutableList<Route> routes;
+
+    private Bucket(String prefix, ImmutableList<Route> routes) {
+      this.prefix = prefix;
+      this.routes = routes;
+    }
+  }
+}
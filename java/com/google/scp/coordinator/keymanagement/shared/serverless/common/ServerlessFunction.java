@@ -34,12 +34,12 @@ import java.util.Map;
 public abstract class ServerlessFunction extends AbstractModule {
 
   private static Injector INJECTOR;
+  private static RoutingTable ROUTING_TABLE;
 
   /** Locates the {@link ApiTask} that can service the request. */
   protected void invoke(RequestContext request, ResponseContext response) {
-    Map<String, List<ApiTask>> tasks = injector().getInstance(Key.get(new TypeLiteral<>() {}));
     try {
-      dispatch(tasks, request, response);
+      dispatch(routingTable(), request, response);
     } catch (ServiceException exception) {
       response.setError(exception);
     }
@@ -48,6 +48,16 @@ public abstract class ServerlessFunction extends AbstractModule {
   @VisibleForTesting
   static void clearInjector() {
     INJECTOR = null;
+    ROUTING_TABLE = null;
+  }
+
+  /** Returns the routing table, built once for the lifetime of the injector. */
+  private RoutingTable routingTable() {
+    if (ROUTING_TABLE == null) {
+      Map<String, List<ApiTask>> tasks = injector().getInstance(Key.get(new TypeLiteral<>() {}));
+      ROUTING_TABLE = RoutingTable.create(tasks);
+    }
+    return ROUTING_TABLE;
   }
 
   private Injector injector() {
@@ -68,15 +78,10 @@ public abstract class ServerlessFunction extends AbstractModule {
   }
 
   private static void dispatch(
-      Map<String, List<ApiTask>> tasks, RequestContext request, ResponseContext response)
+      RoutingTable routingTable, RequestContext request, ResponseContext response)
       throws ServiceException {
-    // Try to find the first task that can handle the request.
-    for (String basePath : tasks.keySet()) {
-      for (ApiTask task : tasks.get(basePath)) {
-        if (task.tryService(basePath, request, response)) {
-          return;
-        }
-      }
+    if (routingTable.dispatch(request, response)) {
+      return;
     }
     throw new ServiceException(
         NOT_FOUND, INVALID_URL_PATH_OR_VARIABLE.name(), "Resource not found.");
@@ -16,18 +16,29 @@
 
 package com.google.scp.coordinator.keymanagement.shared.serverless.gcp;
 
+import com.google.cloud.functions.HttpRequest;
 import com.google.cloud.functions.HttpResponse;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.MessageOrBuilder;
 import com.google.scp.coordinator.keymanagement.shared.serverless.common.ResponseContext;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
 
-/** {@link ResponseContext} implementation for GCP Cloud Functions. */
+/**
+ * {@link ResponseContext} implementation for GCP Cloud Functions. Protobuf messages are served in
+ * the wire format to clients preferring {@code application/x-protobuf} in their Accept header.
+ */
 public class GcpResponseContext extends ResponseContext {
 
   private final HttpResponse response;
+  private final boolean acceptsProtobuf;
 
-  public GcpResponseContext(HttpResponse response) {
+  public GcpResponseContext(HttpRequest request, HttpResponse response) {
     this.response = response;
+    this.acceptsProtobuf =
+        prefersProtobuf(request.getHeaders().getOrDefault("Accept", List.of()));
   }
 
   public void setBody(String body) {
@@ -38,6 +49,32 @@ public class GcpResponseContext extends ResponseContext {
     }
   }
 
+  @Override
+  public void setBody(byte[] body) {
+    try {
+      response.getOutputStream().write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The format is negotiated from the Accept header, so the response is marked as varying with
+   * it for caches, e.g. of public keys served with Cache-Control.
+   */
+  @Override
+  public void setBody(MessageOrBuilder message) {
+    addHeader("Vary", "Accept");
+    super.setBody(message);
+  }
+
+  @Override
+  protected boolean acceptsProtobuf() {
+    return acceptsProtobuf;
+  }
+
   @Override
   public void addHeader(String name, String value) {
     response.appendHeader(name, value);
@@ -47,4 +84,41 @@ public class GcpResponseContext extends ResponseContext {
   public void setStatusCode(int i) {
     response.setStatusCode(i);
   }
+
+  /**
+   * Returns whether the Accept header values rank the protobuf wire format at least as high as
+   * JSON. Media ranges are matched exactly, so wildcards keep the JSON default.
+   */
+  @VisibleForTesting
+  static boolean prefersProtobuf(List<String> acceptHeaders) {
+    double protobufQuality = 0;
+    double jsonQuality = 0;
+    for (String acceptHeader : acceptHeaders) {
+      for (String mediaRange : acceptHeader.split(",")) {
+        String[] parameters = mediaRange.split(";");
+        String mediaType = parameters[0].trim().toLowerCase(Locale.ROOT);
+        if (mediaType.equals(PROTOBUF_CONTENT_TYPE)) {
+          protobufQuality = Math.max(protobufQuality, quality(parameters));
+        } else if (mediaType.equals("application/json")) {
+          jsonQuality = Math.max(jsonQuality, quality(parameters));
+        }
+      }
+    }
+    return protobufQuality > 0 && protobufQuality >= jsonQuality;
+  }
+
+  /** Returns the quality value of a media range, 1 if absent and 0 if malformed. */
+  private static double quality(String[] parameters) {
+    for (int i = 1; i < parameters.length; i++) {
+      String parameter = parameters[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
 }
@@ -25,6 +25,6 @@ import com.google.scp.coordinator.keymanagement.shared.serverless.common.Serverl
 public abstract class GcpServerlessFunction extends ServerlessFunction implements HttpFunction {
 
   public void service(HttpRequest request, HttpResponse response) throws Exception {
-    invoke(new GcpRequestContext(request), new GcpResponseContext(response));
+    invoke(new GcpRequestContext(request), new GcpResponseContext(request, response));
   }
 }
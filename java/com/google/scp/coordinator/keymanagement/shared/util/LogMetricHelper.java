@@ -36,13 +36,28 @@ public final class LogMetricHelper {
     }
   }
 
+  /** Closes a line started with {@link #formatPrefix} after the trailing label's value. */
+  public static final String FORMAT_SUFFIX = "\"}";
+
   public String format(String metricName, ImmutableMap<String, String> labels) {
+    return "{" + formatLabels(metricName, labels) + "}";
+  }
+
+  /**
+   * Returns the line {@link #format} renders for the labels followed by the trailing label, up to
+   * the trailing label's value. Appending the value and {@link #FORMAT_SUFFIX} completes the line,
+   * so lines differing only in that value need not be rendered from scratch.
+   */
+  public String formatPrefix(
+      String metricName, ImmutableMap<String, String> labels, String trailingLabel) {
+    return String.format("{%s,\"%s\":\"", formatLabels(metricName, labels), trailingLabel);
+  }
+
+  private String formatLabels(String metricName, ImmutableMap<String, String> labels) {
     var metricNameLabel = ImmutableMap.of("metricName", getFullMetricName(metricName));
-    return "{"
-        + Stream.concat(metricNameLabel.entrySet().stream(), labels.entrySet().stream())
-            .map(entry -> String.format("\"%s\":\"%s\"", entry.getKey(), entry.getValue()))
-            .collect(Collectors.joining(","))
-        + "}";
+    return Stream.concat(metricNameLabel.entrySet().stream(), labels.entrySet().stream())
+        .map(entry -> String.format("\"%s\":\"%s\"", entry.getKey(), entry.getValue()))
+        .collect(Collectors.joining(","));
   }
 
   private String getFullMetricName(String metricName) {
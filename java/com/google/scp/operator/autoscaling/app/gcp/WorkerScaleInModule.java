@@ -18,16 +18,24 @@ package com.google.scp.operator.autoscaling.app.gcp;
 
 import com.google.cloud.compute.v1.RegionAutoscalersClient;
 import com.google.cloud.compute.v1.RegionInstanceGroupManagersClient;
+import com.google.cloud.monitoring.v3.MetricServiceClient;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import com.google.scp.operator.autoscaling.tasks.gcp.Annotations.JobQueueSubscriptionId;
+import com.google.scp.operator.autoscaling.tasks.gcp.Annotations.JobsInFlightMetricType;
+import com.google.scp.operator.autoscaling.tasks.gcp.Annotations.QueueDepthScalingEnabled;
 import com.google.scp.operator.autoscaling.tasks.gcp.Annotations.TerminationWaitTimeout;
 import com.google.scp.operator.autoscaling.tasks.gcp.Annotations.WorkgroupFeatureEnabled;
 import com.google.scp.operator.autoscaling.tasks.gcp.GcpInstanceManagementConfig;
+import com.google.scp.operator.autoscaling.tasks.gcp.QueueDepthScalingConfig;
+import com.google.scp.operator.cpio.metricclient.MetricClient;
+import com.google.scp.operator.cpio.metricclient.gcp.GcpGlobalMetricClient;
 import com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerAsgInstancesDao.AsgInstancesDbSpannerTtlDays;
 import com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerMetadataDbConfig;
 import com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerMetadataDbModule;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.Map;
 
 /**
@@ -36,6 +44,7 @@ import java.util.Map;
  */
 public final class WorkerScaleInModule extends AbstractModule {
   private static final String PROJECT_ID_ENV_VAR = "PROJECT_ID";
+  private static final String ENVIRONMENT_ENV_VAR = "ENVIRONMENT";
   private static final String SPANNER_INSTANCE_ID_ENV_VAR = "SPANNER_INSTANCE_ID";
   private static final String SPANNER_DB_ID_ENV_VAR = "SPANNER_DATABASE_ID";
   private static final String MANAGED_INSTANCE_GROUP_NAME = "MANAGED_INSTANCE_GROUP_NAME";
@@ -43,6 +52,14 @@ public final class WorkerScaleInModule extends AbstractModule {
   private static final String TERMINATION_WAIT_TIMEOUT = "TERMINATION_WAIT_TIMEOUT";
   private static final String ASG_INSTANCES_TTL_ENV_VAR = "ASG_INSTANCES_TTL";
   private static final String WORKGROUP_FEATURE_ENABLED = "WORKGROUP_FEATURE_ENABLED";
+  private static final String QUEUE_DEPTH_SCALING_ENABLED = "QUEUE_DEPTH_SCALING_ENABLED";
+  private static final String JOB_QUEUE_SUBSCRIPTION_ID = "JOB_QUEUE_SUBSCRIPTION_ID";
+  private static final String JOBS_IN_FLIGHT_METRIC_TYPE = "JOBS_IN_FLIGHT_METRIC_TYPE";
+  private static final String JOBS_PER_INSTANCE = "JOBS_PER_INSTANCE";
+  private static final String ESTIMATED_JOB_DURATION_SEC = "ESTIMATED_JOB_DURATION_SEC";
+  private static final String TARGET_BACKLOG_DRAIN_SEC = "TARGET_BACKLOG_DRAIN_SEC";
+  private static final String MIN_WORKER_INSTANCES = "MIN_WORKER_INSTANCES";
+  private static final String MAX_WORKER_INSTANCES = "MAX_WORKER_INSTANCES";
 
   Map<String, String> env = System.getenv();
 
@@ -86,6 +103,60 @@ public final class WorkerScaleInModule extends AbstractModule {
     return Integer.parseInt(env.getOrDefault(ASG_INSTANCES_TTL_ENV_VAR, "365"));
   }
 
+  /**
+   * Client to read the Pub/Sub metrics of the job queue and publish the job backlog. Only created
+   * when queue depth scaling is enabled, since the job backlog and metric clients are provided
+   * lazily.
+   */
+  @Provides
+  @Singleton
+  public MetricServiceClient getMetricServiceClient() throws Exception {
+    return MetricServiceClient.create();
+  }
+
+  /** Client to publish the job backlog gauges. */
+  @Provides
+  @Singleton
+  public MetricClient getMetricClient(MetricServiceClient metricServiceClient) {
+    return new GcpGlobalMetricClient(
+        metricServiceClient, getProjectId(), env.getOrDefault(ENVIRONMENT_ENV_VAR, ""));
+  }
+
+  /** Whether the instance group is scaled by the depth of the job queue. */
+  @Provides
+  @QueueDepthScalingEnabled
+  public Boolean getQueueDepthScalingEnabled() {
+    return Boolean.parseBoolean(env.getOrDefault(QUEUE_DEPTH_SCALING_ENABLED, "false"));
+  }
+
+  /** The ID of the job queue subscription the workers pull jobs from. */
+  @Provides
+  @JobQueueSubscriptionId
+  public String getJobQueueSubscriptionId() {
+    return env.getOrDefault(JOB_QUEUE_SUBSCRIPTION_ID, "");
+  }
+
+  /** The metric type of the gauge of the jobs each worker is processing. */
+  @Provides
+  @JobsInFlightMetricType
+  public String getJobsInFlightMetricType() {
+    return env.getOrDefault(JOBS_IN_FLIGHT_METRIC_TYPE, "");
+  }
+
+  /** Configuration of the queue depth scaling policy. */
+  @Provides
+  public QueueDepthScalingConfig getQueueDepthScalingConfig() {
+    return QueueDepthScalingConfig.builder()
+        .setJobsPerInstance(Integer.parseInt(env.getOrDefault(JOBS_PER_INSTANCE, "1")))
+        .setEstimatedJobDuration(
+            Duration.ofSeconds(Long.parseLong(env.getOrDefault(ESTIMATED_JOB_DURATION_SEC, "600"))))
+        .setTargetDrainTime(
+            Duration.ofSeconds(Long.parseLong(env.getOrDefault(TARGET_BACKLOG_DRAIN_SEC, "600"))))
+        .setMinInstances(Integer.parseInt(env.getOrDefault(MIN_WORKER_INSTANCES, "1")))
+        .setMaxInstances(Integer.parseInt(env.getOrDefault(MAX_WORKER_INSTANCES, "20")))
+        .build();
+  }
+
   /** Provides an instance of the {@code Clock} class. */
   @Provides
   @Singleton
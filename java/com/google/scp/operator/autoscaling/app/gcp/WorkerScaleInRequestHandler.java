@@ -23,12 +23,14 @@ import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.scp.operator.autoscaling.tasks.gcp.GcpComputeInstance;
 import com.google.scp.operator.autoscaling.tasks.gcp.ManageTerminatingWaitInstancesTask;
+import com.google.scp.operator.autoscaling.tasks.gcp.QueueDepthScalingTask;
 import com.google.scp.operator.autoscaling.tasks.gcp.RequestScaleInTask;
 import com.google.scp.operator.autoscaling.tasks.gcp.RequestUpdateTask;
 import com.google.scp.shared.api.exception.ServiceException;
 import com.google.scp.shared.gcp.util.CloudFunctionRequestHandlerBase;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /** Handles requests to WorkerScaleIn Http Cloud Function and returns HTTP Response. */
 public class WorkerScaleInRequestHandler extends CloudFunctionRequestHandlerBase<String, String> {
@@ -36,6 +38,7 @@ public class WorkerScaleInRequestHandler extends CloudFunctionRequestHandlerBase
   private final ManageTerminatingWaitInstancesTask manageTerminatingWaitInstancesTask;
   private final RequestScaleInTask requestScaleInTask;
   private final RequestUpdateTask requestUpdateTask;
+  private final Optional<QueueDepthScalingTask> queueDepthScalingTask;
 
   /** Creates a new instance of the {@code WorkerScaleInHandler} class. */
   @Inject
@@ -45,6 +48,7 @@ public class WorkerScaleInRequestHandler extends CloudFunctionRequestHandlerBase
         injector.getInstance(ManageTerminatingWaitInstancesTask.class);
     this.requestScaleInTask = injector.getInstance(RequestScaleInTask.class);
     this.requestUpdateTask = injector.getInstance(RequestUpdateTask.class);
+    this.queueDepthScalingTask = Optional.of(injector.getInstance(QueueDepthScalingTask.class));
   }
 
   /** Constructor for testing. */
@@ -52,9 +56,19 @@ public class WorkerScaleInRequestHandler extends CloudFunctionRequestHandlerBase
       ManageTerminatingWaitInstancesTask manageTerminatedInstanceTask,
       RequestScaleInTask requestScaleInTask,
       RequestUpdateTask requestUpdateTask) {
+    this(manageTerminatedInstanceTask, requestScaleInTask, requestUpdateTask, Optional.empty());
+  }
+
+  /** Constructor for testing with queue depth scaling. */
+  public WorkerScaleInRequestHandler(
+      ManageTerminatingWaitInstancesTask manageTerminatedInstanceTask,
+      RequestScaleInTask requestScaleInTask,
+      RequestUpdateTask requestUpdateTask,
+      Optional<QueueDepthScalingTask> queueDepthScalingTask) {
     this.manageTerminatingWaitInstancesTask = manageTerminatedInstanceTask;
     this.requestScaleInTask = requestScaleInTask;
     this.requestUpdateTask = requestUpdateTask;
+    this.queueDepthScalingTask = queueDepthScalingTask;
   }
 
   @Override
@@ -67,7 +81,11 @@ public class WorkerScaleInRequestHandler extends CloudFunctionRequestHandlerBase
     Map<String, List<GcpComputeInstance>> remainingInstances =
         manageTerminatingWaitInstancesTask.manageInstances();
     remainingInstances = requestUpdateTask.requestUpdate(remainingInstances);
-    requestScaleInTask.requestScaleIn(remainingInstances);
+    Optional<Integer> backlogDesiredNumInstances = Optional.empty();
+    if (queueDepthScalingTask.isPresent()) {
+      backlogDesiredNumInstances = queueDepthScalingTask.get().requestScaling(remainingInstances);
+    }
+    requestScaleInTask.requestScaleIn(remainingInstances, backlogDesiredNumInstances);
     return "";
   }
 
@@ -38,4 +38,22 @@ public final class Annotations {
   @Target({FIELD, PARAMETER, METHOD})
   @Retention(RUNTIME)
   public @interface WorkgroupFeatureEnabled {}
+
+  /** Whether the instance group is scaled by the depth of the job queue. */
+  @BindingAnnotation
+  @Target({FIELD, PARAMETER, METHOD})
+  @Retention(RUNTIME)
+  public @interface QueueDepthScalingEnabled {}
+
+  /** The ID of the job queue subscription the workers pull jobs from. */
+  @BindingAnnotation
+  @Target({FIELD, PARAMETER, METHOD})
+  @Retention(RUNTIME)
+  public @interface JobQueueSubscriptionId {}
+
+  /** The metric type of the gauge of the jobs each worker is processing. */
+  @BindingAnnotation
+  @Target({FIELD, PARAMETER, METHOD})
+  @Retention(RUNTIME)
+  public @interface JobsInFlightMetricType {}
 }
@@ -123,6 +123,20 @@ public class GcpInstanceManagementClient {
     return Optional.empty();
   }
 
+  /**
+   * Sets the minimum number of replicas of the autoscaler. The autoscaler only scales up, so
+   * raising the minimum above the current size grows the instance group right away.
+   */
+  public void setAutoscalerMinReplicas(Autoscaler autoscaler, int minReplicas)
+      throws InterruptedException, ExecutionException {
+    Autoscaler patchedAutoscaler =
+        autoscaler.toBuilder()
+            .setAutoscalingPolicy(
+                autoscaler.getAutoscalingPolicy().toBuilder().setMinNumReplicas(minReplicas))
+            .build();
+    autoscalerClient.patchAsync(projectId, region, patchedAutoscaler).get();
+  }
+
   /** Returns the current instance template for the managed instance group. */
   public String getCurrentInstanceTemplate() {
     GetRegionInstanceGroupManagerRequest getManagedInstanceRequest =
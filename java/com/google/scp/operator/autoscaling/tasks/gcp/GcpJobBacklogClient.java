@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.autoscaling.tasks.gcp;
+
+import com.google.cloud.monitoring.v3.MetricServiceClient;
+import com.google.inject.Inject;
+import com.google.monitoring.v3.ListTimeSeriesRequest;
+import com.google.monitoring.v3.ListTimeSeriesRequest.TimeSeriesView;
+import com.google.monitoring.v3.ProjectName;
+import com.google.monitoring.v3.TimeInterval;
+import com.google.monitoring.v3.TimeSeries;
+import com.google.protobuf.util.Timestamps;
+import com.google.scp.operator.autoscaling.tasks.gcp.Annotations.JobQueueSubscriptionId;
+import com.google.scp.operator.autoscaling.tasks.gcp.Annotations.JobsInFlightMetricType;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Reads the backlog of the job queue from the Pub/Sub metrics of its subscription, and the jobs in
+ * flight from the gauge each worker reports.
+ */
+public class GcpJobBacklogClient {
+
+  private static final String UNDELIVERED_MESSAGES_METRIC =
+      "pubsub.googleapis.com/subscription/num_undelivered_messages";
+  private static final String OLDEST_UNACKED_MESSAGE_AGE_METRIC =
+      "pubsub.googleapis.com/subscription/oldest_unacked_message_age";
+  // Pub/Sub metrics are sampled every minute and visible with a delay of a few minutes. Workers
+  // report their jobs in flight every minute while busy, and 0 once idle.
+  private static final Duration LOOKBACK = Duration.ofMinutes(5);
+
+  private final MetricServiceClient metricServiceClient;
+  private final String projectId;
+  private final String subscriptionId;
+  private final String jobsInFlightMetricType;
+  private final Clock clock;
+
+  /** Creates a new instance of the {@code GcpJobBacklogClient} class. */
+  @Inject
+  public GcpJobBacklogClient(
+      MetricServiceClient metricServiceClient,
+      GcpInstanceManagementConfig instanceManagementConfig,
+      @JobQueueSubscriptionId String subscriptionId,
+      @JobsInFlightMetricType String jobsInFlightMetricType,
+      Clock clock) {
+    this.metricServiceClient = metricServiceClient;
+    this.projectId = instanceManagementConfig.projectId();
+    this.subscriptionId = subscriptionId;
+    this.jobsInFlightMetricType = jobsInFlightMetricType;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the current backlog of the job queue. The jobs in flight are the sum of the latest
+   * value each worker reported within the lookback, so workers that stopped reporting count as
+   * idle.
+   */
+  public JobBacklog getJobBacklog() {
+    long inFlightJobs = 0;
+    for (TimeSeries timeSeries :
+        listTimeSeries(
+            String.format(
+                "metric.type = \"%s\" AND resource.type = \"gce_instance\"",
+                jobsInFlightMetricType))) {
+      // Points are returned newest first.
+      if (timeSeries.getPointsCount() > 0) {
+        inFlightJobs += Math.round(timeSeries.getPoints(0).getValue().getDoubleValue());
+      }
+    }
+    return JobBacklog.builder()
+        .setUndeliveredMessages(readLatestSubscriptionValue(UNDELIVERED_MESSAGES_METRIC))
+        .setOldestUnackedMessageAge(
+            Duration.ofSeconds(readLatestSubscriptionValue(OLDEST_UNACKED_MESSAGE_AGE_METRIC)))
+        .setInFlightJobs(inFlightJobs)
+        .build();
+  }
+
+  /** Returns the latest value of the subscription metric, or 0 if there is none. */
+  private long readLatestSubscriptionValue(String metricType) {
+    for (TimeSeries timeSeries :
+        listTimeSeries(
+            String.format(
+                "metric.type = \"%s\" AND resource.labels.subscription_id = \"%s\"",
+                metricType, subscriptionId))) {
+      if (timeSeries.getPointsCount() > 0) {
+        return timeSeries.getPoints(0).getValue().getInt64Value();
+      }
+    }
+    return 0;
+  }
+
+  private Iterable<TimeSeries> listTimeSeries(String filter) {
+    Instant now = clock.instant();
+    ListTimeSeriesRequest request =
+        ListTimeSeriesRequest.newBuilder()
+            .setName(ProjectName.of(projectId).toString())
+            .setFilter(filter)
+            .setInterval(
+                TimeInterval.newBuilder()
+                    .setStartTime(Timestamps.fromMillis(now.minus(LOOKBACK).toEpochMilli()))
+                    .setEndTime(Timestamps.fromMillis(now.toEpochMilli())))
+            .setView(TimeSeriesView.FULL)
+            .build();
+    return metricServiceClient.listTimeSeries(request).iterateAll();
+  }
+}
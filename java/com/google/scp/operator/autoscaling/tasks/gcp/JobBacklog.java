@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.autoscaling.tasks.gcp;
+
+import com.google.auto.value.AutoValue;
+import java.time.Duration;
+
+/** Snapshot of the jobs waiting in and being processed from the job queue. */
+@AutoValue
+public abstract class JobBacklog {
+
+  /** Returns a new instance of the {@code JobBacklog.Builder} class. */
+  public static Builder builder() {
+    return new AutoValue_JobBacklog.Builder().setOldestUnackedMessageAge(Duration.ZERO);
+  }
+
+  /** Returns the number of messages in the job queue that have not been acknowledged. */
+  public abstract long undeliveredMessages();
+
+  /**
+   * Returns the age of the oldest message in the job queue that has not been acknowledged. Workers
+   * only acknowledge a job once it is processed, so this includes the time running jobs took.
+   */
+  public abstract Duration oldestUnackedMessageAge();
+
+  /** Returns the number of jobs being processed by workers, as reported by the workers. */
+  public abstract long inFlightJobs();
+
+  /**
+   * Returns the number of jobs waiting for a worker. Workers only acknowledge the message of a job
+   * once it is processed, so in-flight jobs are part of the undelivered messages.
+   */
+  public long queuedJobs() {
+    return Math.max(0, undeliveredMessages() - inFlightJobs());
+  }
+
+  /** Builder class for the {@code JobBacklog} class. */
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    /** Set the number of messages in the job queue that have not been acknowledged. */
+    public abstract Builder setUndeliveredMessages(long undeliveredMessages);
+
+    /** Set the age of the oldest message in the job queue that has not been acknowledged. */
+    public abstract Builder setOldestUnackedMessageAge(Duration oldestUnackedMessageAge);
+
+    /** Set the number of jobs being processed by workers. */
+    public abstract Builder setInFlightJobs(long inFlightJobs);
+
+    /** Returns a new instance of the {@code JobBacklog} class from the builder. */
+    public abstract JobBacklog build();
+  }
+}
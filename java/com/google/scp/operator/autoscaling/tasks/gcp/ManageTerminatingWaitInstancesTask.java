@@ -122,13 +122,18 @@ public class ManageTerminatingWaitInstancesTask {
                           || !activeInstanceNames.contains(instance.getInstanceName()))
               .collect(Collectors.toList());
       logger.info("Completing termination requests in db: " + asgInstancesThatCompleted);
-      for (AsgInstance asgWaitInstance : asgInstancesThatCompleted) {
-        AsgInstance updatedTerminatedInstance =
-            asgWaitInstance.toBuilder()
-                .setStatus(InstanceStatus.TERMINATED)
-                .setTerminationTime(ProtoUtil.toProtoTimestamp(Instant.now()))
-                .build();
-        asgInstancesDao.updateAsgInstance(updatedTerminatedInstance);
+      Instant terminationTime = Instant.now();
+      List<AsgInstance> updatedTerminatedInstances =
+          asgInstancesThatCompleted.stream()
+              .map(
+                  asgWaitInstance ->
+                      asgWaitInstance.toBuilder()
+                          .setStatus(InstanceStatus.TERMINATED)
+                          .setTerminationTime(ProtoUtil.toProtoTimestamp(terminationTime))
+                          .build())
+              .collect(Collectors.toList());
+      if (!updatedTerminatedInstances.isEmpty()) {
+        asgInstancesDao.updateAsgInstances(updatedTerminatedInstances);
       }
       logger.info("Done completing termination request in db");
 
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.autoscaling.tasks.gcp;
+
+import com.google.auto.value.AutoValue;
+import java.time.Duration;
+
+/** Configurations for {@code QueueDepthScalingPolicy}. */
+@AutoValue
+public abstract class QueueDepthScalingConfig {
+
+  /** Returns a new instance of the builder for this class. */
+  public static QueueDepthScalingConfig.Builder builder() {
+    return new AutoValue_QueueDepthScalingConfig.Builder();
+  }
+
+  /** Returns a builder initialized with the values of this config. */
+  public abstract Builder toBuilder();
+
+  /** Number of jobs a worker instance processes at the same time. */
+  public abstract int jobsPerInstance();
+
+  /** Estimated time a worker takes to process a job. */
+  public abstract Duration estimatedJobDuration();
+
+  /** Time within which queued jobs should all have been picked up by a worker. */
+  public abstract Duration targetDrainTime();
+
+  /** Minimum number of instances in the worker managed instance group. */
+  public abstract int minInstances();
+
+  /** Maximum number of instances in the worker managed instance group. */
+  public abstract int maxInstances();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    /** Set the number of jobs a worker instance processes at the same time. */
+    public abstract Builder setJobsPerInstance(int jobsPerInstance);
+
+    /** Set the estimated time a worker takes to process a job. */
+    public abstract Builder setEstimatedJobDuration(Duration estimatedJobDuration);
+
+    /** Set the time within which queued jobs should all have been picked up by a worker. */
+    public abstract Builder setTargetDrainTime(Duration targetDrainTime);
+
+    /** Set the minimum number of instances in the worker managed instance group. */
+    public abstract Builder setMinInstances(int minInstances);
+
+    /** Set the maximum number of instances in the worker managed instance group. */
+    public abstract Builder setMaxInstances(int maxInstances);
+
+    /** Return a new instance of the {@code QueueDepthScalingConfig} class from the builder. */
+    public abstract QueueDepthScalingConfig build();
+  }
+}
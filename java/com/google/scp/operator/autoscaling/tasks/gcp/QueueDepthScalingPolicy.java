@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.autoscaling.tasks.gcp;
+
+import com.google.inject.Inject;
+
+/**
+ * Computes the number of worker instances needed for the job backlog.
+ *
+ * <p>Instances are needed for the jobs in flight, plus enough instances to pick up all queued jobs
+ * within the target drain time given the estimated job duration. The result is bounded by the
+ * minimum and maximum size of the instance group.
+ */
+public final class QueueDepthScalingPolicy {
+
+  private final QueueDepthScalingConfig config;
+
+  /** Creates a new instance of the {@code QueueDepthScalingPolicy} class. */
+  @Inject
+  public QueueDepthScalingPolicy(QueueDepthScalingConfig config) {
+    this.config = config;
+  }
+
+  /** Returns the number of instances needed for the backlog. */
+  public int desiredInstances(JobBacklog backlog) {
+    int jobsPerInstance = Math.max(1, config.jobsPerInstance());
+    // Jobs run one after the other on an instance within the drain time, at least one round.
+    long rounds =
+        Math.max(
+            1,
+            config.targetDrainTime().toMillis()
+                / Math.max(1, config.estimatedJobDuration().toMillis()));
+    long desired =
+        divideRoundingUp(backlog.inFlightJobs(), jobsPerInstance)
+            + divideRoundingUp(backlog.queuedJobs(), rounds * jobsPerInstance);
+    return (int) Math.min(config.maxInstances(), Math.max(config.minInstances(), desired));
+  }
+
+  private static long divideRoundingUp(long dividend, long divisor) {
+    return (dividend + divisor - 1) / divisor;
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.autoscaling.tasks.gcp;
+
+import com.google.cloud.compute.v1.Autoscaler;
+import com.google.cloud.compute.v1.AutoscalingPolicy;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.scp.operator.autoscaling.tasks.gcp.Annotations.QueueDepthScalingEnabled;
+import com.google.scp.operator.cpio.metricclient.MetricClient;
+import com.google.scp.operator.cpio.metricclient.MetricClient.MetricClientException;
+import com.google.scp.operator.cpio.metricclient.model.CustomMetric;
+import com.google.scp.operator.cpio.metricclient.model.MetricType;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scales the instance group by the depth of the job queue, ahead of the autoscaler recommended
+ * size, which follows the backlog with a delay. The job backlog is also published as gauges.
+ */
+public class QueueDepthScalingTask {
+
+  /** Namespace of the job backlog gauges. */
+  static final String METRIC_NAMESPACE = "scp/workerscalein";
+
+  private final GcpInstanceManagementClient instanceManagementClient;
+  private final Provider<GcpJobBacklogClient> jobBacklogClientProvider;
+  private final Provider<MetricClient> metricClientProvider;
+  private final QueueDepthScalingPolicy scalingPolicy;
+  private final boolean enabled;
+
+  private final Logger logger = LoggerFactory.getLogger(QueueDepthScalingTask.class);
+
+  /**
+   * Creates a new instance of the {@code QueueDepthScalingTask} class. The job backlog and metric
+   * clients, and so their monitoring client, are only created if queue depth scaling is enabled.
+   */
+  @Inject
+  public QueueDepthScalingTask(
+      GcpInstanceManagementClient instanceManagementClient,
+      Provider<GcpJobBacklogClient> jobBacklogClientProvider,
+      Provider<MetricClient> metricClientProvider,
+      QueueDepthScalingPolicy scalingPolicy,
+      @QueueDepthScalingEnabled Boolean enabled) {
+    this.instanceManagementClient = instanceManagementClient;
+    this.jobBacklogClientProvider = jobBacklogClientProvider;
+    this.metricClientProvider = metricClientProvider;
+    this.scalingPolicy = scalingPolicy;
+    this.enabled = enabled;
+  }
+
+  /**
+   * Returns the number of instances needed for the job backlog, if queue depth scaling is enabled
+   * and the backlog could be read. The autoscaler minimum is set to that number, so the instance
+   * group grows with the backlog right away, and shrinks again once scale-in removes instances.
+   */
+  public Optional<Integer> requestScaling(
+      Map<String, List<GcpComputeInstance>> zoneToRemainingInstances) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    int numInstances = zoneToRemainingInstances.values().stream().mapToInt(List::size).sum();
+    JobBacklog backlog;
+    int desiredNumInstances;
+    try {
+      backlog = jobBacklogClientProvider.get().getJobBacklog();
+      desiredNumInstances = scalingPolicy.desiredInstances(backlog);
+      logger.info(
+          String.format(
+              "Current instances: %d Job backlog: %s Desired size: %d",
+              numInstances, backlog, desiredNumInstances));
+    } catch (RuntimeException e) {
+      logger.warn("Failed to read the job backlog, using the autoscaler recommended size.", e);
+      return Optional.empty();
+    }
+    recordJobBacklog(backlog);
+    setAutoscalerMinReplicas(desiredNumInstances);
+    return Optional.of(desiredNumInstances);
+  }
+
+  /**
+   * Sets the autoscaler minimum to the desired number of instances, capped at the autoscaler
+   * maximum. Failures are only logged, since scale-in still keeps the instances the backlog needs.
+   */
+  private void setAutoscalerMinReplicas(int desiredNumInstances) {
+    Optional<Autoscaler> autoscaler = instanceManagementClient.getAutoscaler();
+    if (autoscaler.isEmpty()) {
+      return;
+    }
+    AutoscalingPolicy policy = autoscaler.get().getAutoscalingPolicy();
+    int minReplicas =
+        policy.hasMaxNumReplicas()
+            ? Math.min(desiredNumInstances, policy.getMaxNumReplicas())
+            : desiredNumInstances;
+    if (policy.getMinNumReplicas() == minReplicas) {
+      return;
+    }
+    try {
+      instanceManagementClient.setAutoscalerMinReplicas(autoscaler.get(), minReplicas);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Interrupted while setting the autoscaler minimum size.", e);
+    } catch (ExecutionException | RuntimeException e) {
+      logger.warn("Failed to set the autoscaler minimum size to " + minReplicas, e);
+    }
+  }
+
+  /** Publishes the job backlog as gauges. Failures are only logged. */
+  private void recordJobBacklog(JobBacklog backlog) {
+    try {
+      MetricClient metricClient = metricClientProvider.get();
+      recordGauge(metricClient, "UndeliveredJobs", backlog.undeliveredMessages(), "Count");
+      recordGauge(metricClient, "InFlightJobs", backlog.inFlightJobs(), "Count");
+      recordGauge(
+          metricClient,
+          "OldestUnackedJobAge",
+          backlog.oldestUnackedMessageAge().toSeconds(),
+          "Seconds");
+    } catch (MetricClientException | RuntimeException e) {
+      logger.warn("Failed to record the job backlog.", e);
+    }
+  }
+
+  private static void recordGauge(MetricClient metricClient, String name, double value, String unit)
+      throws MetricClientException {
+    metricClient.recordMetric(
+        CustomMetric.builder()
+            .setNameSpace(METRIC_NAMESPACE)
+            .setName(name)
+            .setValue(value)
+            .setUnit(unit)
+            .setMetricType(MetricType.DOUBLE_GAUGE)
+            .build());
+  }
+}
@@ -26,24 +26,38 @@ import com.google.scp.operator.shared.dao.asginstancesdb.common.AsgInstancesDao.
 import com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerAsgInstancesDao.AsgInstancesDbSpannerTtlDays;
 import com.google.scp.shared.proto.ProtoUtil;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Requests instance termination if the number of instances in the instance group is greater than
- * the autoscaler recommended size.
+ * the autoscaler recommended size, and than the size needed for the job backlog if known. Idle
+ * instances are terminated before instances that report being in the middle of a job.
  */
 public class RequestScaleInTask {
 
+  /**
+   * Instances whose last job heartbeat is older than this are considered idle. Workers send a
+   * heartbeat every minute while processing a job.
+   */
+  static final Duration JOB_HEARTBEAT_TIMEOUT = Duration.ofMinutes(3);
+
+  /** Prefix of the log line of the wasted job minutes avoided metric. */
+  static final String WASTED_JOB_MINUTES_AVOIDED_LOG_PREFIX =
+      "scale-in-wasted-job-minutes-avoided:";
+
   private final GcpInstanceManagementClient instanceManagementClient;
   private final AsgInstancesDao asgInstancesDao;
   private final Clock clock;
@@ -70,6 +84,16 @@ public class RequestScaleInTask {
    * balance the number of instances per zone.
    */
   public void requestScaleIn(Map<String, List<GcpComputeInstance>> zoneToRemainingInstances) {
+    requestScaleIn(zoneToRemainingInstances, Optional.empty());
+  }
+
+  /**
+   * Creates termination requests like {@link #requestScaleIn(Map)}, keeping at least the number of
+   * instances needed for the job backlog.
+   */
+  public void requestScaleIn(
+      Map<String, List<GcpComputeInstance>> zoneToRemainingInstances,
+      Optional<Integer> backlogDesiredNumInstances) {
     logger.info("Remaining instances map: " + zoneToRemainingInstances);
     Optional<Autoscaler> autoscaler = instanceManagementClient.getAutoscaler();
     if (autoscaler.isPresent() && autoscaler.get().hasRecommendedSize()) {
@@ -78,51 +102,161 @@ public class RequestScaleInTask {
               .collect(
                   Collectors.toMap(key -> key, key -> zoneToRemainingInstances.get(key).size()));
       Integer numInstances = zoneToInstanceCount.values().stream().reduce(0, Integer::sum);
-      Integer desiredNumInstances = autoscaler.get().getRecommendedSize();
+      Integer desiredNumInstances =
+          Math.max(autoscaler.get().getRecommendedSize(), backlogDesiredNumInstances.orElse(0));
       Integer numOfInstancesToDelete = Math.max(0, numInstances - desiredNumInstances);
       logger.info(
           String.format(
-              "Current instances: %d Recommended size: %d Number of instances to delete: %d",
-              numInstances, autoscaler.get().getRecommendedSize(), numOfInstancesToDelete));
+              "Current instances: %d Recommended size: %d Desired size: %d Number of instances to"
+                  + " delete: %d",
+              numInstances,
+              autoscaler.get().getRecommendedSize(),
+              desiredNumInstances,
+              numOfInstancesToDelete));
       if (numOfInstancesToDelete == 0) {
         return;
       }
 
-      // Create an alternating list of instances based on zone.
-      Integer maxNumZoneInstances = Collections.max(zoneToInstanceCount.values());
-      List<GcpComputeInstance> orderedZoneInstances = new ArrayList<>();
-      for (int i = 0; i < maxNumZoneInstances; i++) {
-        Collection<List<GcpComputeInstance>> zoneInstancesList = zoneToRemainingInstances.values();
-        for (List<GcpComputeInstance> zoneInstances : zoneInstancesList) {
-          if (i < zoneInstances.size()) {
-            orderedZoneInstances.add(zoneInstances.get(i));
-          }
+      // Create termination requests for number of instances over recommended capacity, sparing
+      // instances in the middle of a job where possible.
+      Map<String, Instant> busyInstanceJobStartTimes = getBusyInstanceJobStartTimes();
+      List<GcpComputeInstance> instancesToDelete =
+          selectInstancesToDelete(
+              zoneToRemainingInstances, numOfInstancesToDelete, busyInstanceJobStartTimes.keySet());
+      recordWastedJobMinutesAvoided(
+          zoneToRemainingInstances,
+          numOfInstancesToDelete,
+          instancesToDelete,
+          busyInstanceJobStartTimes);
+      Instant now = Instant.now();
+      String instanceGroupName = instanceManagementClient.getManagedInstanceGroupName();
+      List<AsgInstance> instancesToTerminate = new ArrayList<>();
+      for (GcpComputeInstance instance : instancesToDelete) {
+        instancesToTerminate.add(
+            AsgInstance.newBuilder()
+                .setInstanceName(instance.getInstanceId())
+                .setStatus(InstanceStatus.TERMINATING_WAIT)
+                .setRequestTime(ProtoUtil.toProtoTimestamp(now))
+                .setTtl(now.plus(ttlDays, ChronoUnit.DAYS).getEpochSecond())
+                .setTerminationReason(InstanceTerminationReason.SCALE_IN)
+                .setInstanceGroupName(instanceGroupName)
+                .build());
+        logger.info("Adding instance " + instance + " for termination due to a scale-in.");
+      }
+      try {
+        asgInstancesDao.upsertAsgInstances(instancesToTerminate);
+      } catch (AsgInstanceDaoException e) {
+        logger.info("Failed to mark instances for termination: " + instancesToDelete, e);
+      }
+    }
+  }
+
+  /**
+   * Returns the job start times of the instances that reported a job heartbeat within {@link
+   * #JOB_HEARTBEAT_TIMEOUT}, by instance ID. If the heartbeats cannot be read, all instances are
+   * considered idle.
+   */
+  private Map<String, Instant> getBusyInstanceJobStartTimes() {
+    Instant heartbeatCutoff = clock.instant().minus(JOB_HEARTBEAT_TIMEOUT);
+    Map<String, Instant> busyInstanceJobStartTimes = new HashMap<>();
+    try {
+      for (AsgInstance activeInstance :
+          asgInstancesDao.listAsgInstances(InstanceStatus.ACTIVE.toString())) {
+        if (activeInstance.hasJobHeartbeatTime()
+            && ProtoUtil.toJavaInstant(activeInstance.getJobHeartbeatTime())
+                .isAfter(heartbeatCutoff)) {
+          busyInstanceJobStartTimes.put(
+              activeInstance.getInstanceName(),
+              ProtoUtil.toJavaInstant(activeInstance.getJobStartTime()));
         }
       }
+    } catch (AsgInstanceDaoException e) {
+      logger.warn("Failed to read job heartbeats, choosing instances by zone only.", e);
+    }
+    return busyInstanceJobStartTimes;
+  }
 
-      // Create termination requests for number of instances over recommended capacity.
-      List<GcpComputeInstance> instancesToDelete =
-          orderedZoneInstances.subList(
-              Math.max(orderedZoneInstances.size() - numOfInstancesToDelete, 0),
-              orderedZoneInstances.size());
-      for (GcpComputeInstance instance : instancesToDelete) {
-        try {
-          Instant now = Instant.now();
-          AsgInstance instanceToTerminate =
-              AsgInstance.newBuilder()
-                  .setInstanceName(instance.getInstanceId())
-                  .setStatus(InstanceStatus.TERMINATING_WAIT)
-                  .setRequestTime(ProtoUtil.toProtoTimestamp(Instant.now()))
-                  .setTtl(now.plus(ttlDays, ChronoUnit.DAYS).getEpochSecond())
-                  .setTerminationReason(InstanceTerminationReason.SCALE_IN)
-                  .setInstanceGroupName(instanceManagementClient.getManagedInstanceGroupName())
-                  .build();
-          logger.info("Adding instance " + instance + " for termination due to a scale-in.");
-          asgInstancesDao.upsertAsgInstance(instanceToTerminate);
-        } catch (AsgInstanceDaoException e) {
-          logger.info("Failed to mark instance for termination: " + instance, e);
+  /**
+   * Chooses the instances to terminate, idle instances before busy ones. Each instance is taken
+   * from the end of the zone with the most remaining instances among the zones with candidates,
+   * so that the zones stay balanced.
+   */
+  private static List<GcpComputeInstance> selectInstancesToDelete(
+      Map<String, List<GcpComputeInstance>> zoneToRemainingInstances,
+      int numOfInstancesToDelete,
+      Set<String> busyInstanceIds) {
+    Map<String, List<GcpComputeInstance>> zoneToCandidates = new LinkedHashMap<>();
+    zoneToRemainingInstances.forEach(
+        (zone, instances) -> zoneToCandidates.put(zone, new ArrayList<>(instances)));
+    long numIdleInstances =
+        zoneToCandidates.values().stream()
+            .flatMap(List::stream)
+            .filter(instance -> !busyInstanceIds.contains(instance.getInstanceId()))
+            .count();
+
+    List<GcpComputeInstance> instancesToDelete = new ArrayList<>();
+    while (instancesToDelete.size() < numOfInstancesToDelete) {
+      boolean idleOnly = instancesToDelete.size() < numIdleInstances;
+      List<GcpComputeInstance> selectedZone = null;
+      int selectedIndex = -1;
+      for (List<GcpComputeInstance> candidates : zoneToCandidates.values()) {
+        int index = candidates.size() - 1;
+        while (idleOnly
+            && index >= 0
+            && busyInstanceIds.contains(candidates.get(index).getInstanceId())) {
+          index--;
         }
+        // On ties, the zone iterated last is chosen.
+        if (index >= 0 && (selectedZone == null || candidates.size() >= selectedZone.size())) {
+          selectedZone = candidates;
+          selectedIndex = index;
+        }
+      }
+      if (selectedZone == null) {
+        break;
       }
+      instancesToDelete.add(selectedZone.remove(selectedIndex));
+    }
+    return instancesToDelete;
+  }
+
+  /**
+   * Logs the job minutes that terminating instances by zone only would have thrown away, and that
+   * were spared by choosing idle instances instead. The log line feeds a log-based metric.
+   */
+  private void recordWastedJobMinutesAvoided(
+      Map<String, List<GcpComputeInstance>> zoneToRemainingInstances,
+      int numOfInstancesToDelete,
+      List<GcpComputeInstance> instancesToDelete,
+      Map<String, Instant> busyInstanceJobStartTimes) {
+    if (busyInstanceJobStartTimes.isEmpty()) {
+      return;
     }
+    Set<String> selectedInstanceIds =
+        instancesToDelete.stream()
+            .map(GcpComputeInstance::getInstanceId)
+            .collect(Collectors.toSet());
+    Instant now = clock.instant();
+    long wastedJobMinutesAvoided =
+        selectInstancesToDelete(
+                zoneToRemainingInstances, numOfInstancesToDelete, Collections.emptySet())
+            .stream()
+            .map(GcpComputeInstance::getInstanceId)
+            .filter(
+                instanceId ->
+                    busyInstanceJobStartTimes.containsKey(instanceId)
+                        && !selectedInstanceIds.contains(instanceId))
+            .mapToLong(
+                instanceId ->
+                    Duration.between(busyInstanceJobStartTimes.get(instanceId), now).toMinutes())
+            .sum();
+    long busyInstancesTerminated =
+        selectedInstanceIds.stream().filter(busyInstanceJobStartTimes::containsKey).count();
+    logger.info(
+        String.format(
+            "%s%d Busy instances terminated: %d",
+            WASTED_JOB_MINUTES_AVOIDED_LOG_PREFIX,
+            wastedJobMinutesAvoided,
+            busyInstancesTerminated));
   }
 }
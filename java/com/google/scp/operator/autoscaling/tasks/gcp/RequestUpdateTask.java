@@ -97,23 +97,25 @@ public class RequestUpdateTask {
         });
 
     // Create termination requests for instances needing an update.
+    Instant now = Instant.now();
+    String instanceGroupName = instanceManagementClient.getManagedInstanceGroupName();
+    List<AsgInstance> instancesToTerminate = new ArrayList<>();
     for (String instance : instancesToUpdate) {
-      try {
-        Instant now = Instant.now();
-        AsgInstance instanceToTerminate =
-            AsgInstance.newBuilder()
-                .setInstanceName(instance)
-                .setStatus(InstanceStatus.TERMINATING_WAIT)
-                .setRequestTime(ProtoUtil.toProtoTimestamp(Instant.now()))
-                .setTtl(now.plus(ttlDays, ChronoUnit.DAYS).getEpochSecond())
-                .setTerminationReason(InstanceTerminationReason.UPDATE)
-                .setInstanceGroupName(instanceManagementClient.getManagedInstanceGroupName())
-                .build();
-        logger.info("Adding instance " + instance + " for termination due to an update.");
-        asgInstancesDao.upsertAsgInstance(instanceToTerminate);
-      } catch (AsgInstanceDaoException e) {
-        logger.info("Failed to mark instance for termination: " + instance, e);
-      }
+      instancesToTerminate.add(
+          AsgInstance.newBuilder()
+              .setInstanceName(instance)
+              .setStatus(InstanceStatus.TERMINATING_WAIT)
+              .setRequestTime(ProtoUtil.toProtoTimestamp(now))
+              .setTtl(now.plus(ttlDays, ChronoUnit.DAYS).getEpochSecond())
+              .setTerminationReason(InstanceTerminationReason.UPDATE)
+              .setInstanceGroupName(instanceGroupName)
+              .build());
+      logger.info("Adding instance " + instance + " for termination due to an update.");
+    }
+    try {
+      asgInstancesDao.upsertAsgInstances(instancesToTerminate);
+    } catch (AsgInstanceDaoException e) {
+      logger.info("Failed to mark instances for termination: " + instancesToUpdate, e);
     }
     return filteredZoneToRemainingInstances;
   }
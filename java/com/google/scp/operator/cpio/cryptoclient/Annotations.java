@@ -56,4 +56,10 @@ public final class Annotations {
   @Target({FIELD, PARAMETER, METHOD})
   @Retention(RUNTIME)
   public @interface CoordinatorBEncryptionKeyServiceBaseUrl {}
+
+  /** Bounded executor running the blocking KMS decryptions of private keys. */
+  @BindingAnnotation
+  @Target({FIELD, PARAMETER, METHOD})
+  @Retention(RUNTIME)
+  public @interface KmsDecryptionExecutor {}
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.cpio.cryptoclient;
+
+import com.google.common.base.Stopwatch;
+import com.google.crypto.tink.Aead;
+import com.google.scp.operator.cpio.cryptoclient.model.MetricUtils;
+import com.google.scp.operator.cpio.metricclient.MetricClient;
+import com.google.scp.operator.cpio.metricclient.MetricClient.MetricClientException;
+import com.google.scp.shared.crypto.tink.CloudAeadSelector;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link CloudAeadSelector} of a coordinator that creates the {@link Aead} of each key encryption
+ * key once and reuses it for all later decryptions. Aeads are thread safe, so concurrent
+ * decryptions with different keys share the KMS client the Aeads were created with.
+ *
+ * <p>The latency of every decryption is logged and, if enabled, recorded as a remote metric
+ * labelled with the coordinator.
+ */
+public final class CachingCloudAeadSelector implements CloudAeadSelector {
+
+  private static final Logger logger = LoggerFactory.getLogger(CachingCloudAeadSelector.class);
+
+  private final String coordinator;
+  private final CloudAeadSelector aeadFactory;
+  private final MetricClient metricClient;
+  private final boolean enableRemoteMetricAggregation;
+  private final ConcurrentMap<String, Aead> aeads = new ConcurrentHashMap<>();
+
+  /**
+   * @param coordinator name of the coordinator owning the keys, used as metric label.
+   * @param aeadFactory creates the Aead of a key encryption key, on its first use.
+   */
+  public CachingCloudAeadSelector(
+      String coordinator,
+      CloudAeadSelector aeadFactory,
+      MetricClient metricClient,
+      boolean enableRemoteMetricAggregation) {
+    this.coordinator = coordinator;
+    this.aeadFactory = aeadFactory;
+    this.metricClient = metricClient;
+    this.enableRemoteMetricAggregation = enableRemoteMetricAggregation;
+  }
+
+  @Override
+  public Aead getAead(String kmsKeyUri) throws GeneralSecurityException {
+    Aead aead = aeads.get(kmsKeyUri);
+    if (aead != null) {
+      return aead;
+    }
+    // A concurrent first use may create a second Aead, of which only one is kept.
+    Aead created = new TimedAead(aeadFactory.getAead(kmsKeyUri));
+    aead = aeads.putIfAbsent(kmsKeyUri, created);
+    return aead != null ? aead : created;
+  }
+
+  private void recordDecryptLatency(long latencyMillis) {
+    logger.debug("KMS decryption for coordinator {} took {} ms", coordinator, latencyMillis);
+    if (!enableRemoteMetricAggregation) {
+      return;
+    }
+    try {
+      metricClient.recordMetric(
+          MetricUtils.ConstructKmsDecryptLatencyMetric(coordinator, latencyMillis));
+    } catch (MetricClientException e) {
+      logger.warn("Failed to record KMS decryption latency for coordinator " + coordinator, e);
+    }
+  }
+
+  private final class TimedAead implements Aead {
+    private final Aead delegate;
+
+    private TimedAead(Aead delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public byte[] encrypt(byte[] plaintext, byte[] associatedData)
+        throws GeneralSecurityException {
+      return delegate.encrypt(plaintext, associatedData);
+    }
+
+    @Override
+    public byte[] decrypt(byte[] ciphertext, byte[] associatedData)
+        throws GeneralSecurityException {
+      Stopwatch stopwatch = Stopwatch.createStarted();
+      try {
+        return delegate.decrypt(ciphertext, associatedData);
+      } finally {
+        recordDecryptLatency(stopwatch.elapsed(TimeUnit.MILLISECONDS));
+      }
+    }
+  }
+}
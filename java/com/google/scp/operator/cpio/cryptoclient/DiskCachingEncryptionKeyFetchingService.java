@@ -0,0 +1,233 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.cpio.cryptoclient;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.EncryptionKeyProto.EncryptionKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link EncryptionKeyFetchingService} that keeps fetched keys in a local directory, so they
+ * survive worker restarts and need not be fetched from the coordinator again.
+ *
+ * <p>The cached keys are the responses of the key service, whose key material is still encrypted
+ * with the coordinator's KMS key; decrypting them keeps requiring KMS. Files are readable by the
+ * owner only. Keys are served for at most the TTL after they were fetched and never after their
+ * expiration time. Once the directory exceeds its size limit, the least recently fetched keys are
+ * removed.
+ *
+ * <p>The cache is best effort: failures to read or write it are logged and fall back to the
+ * wrapped service.
+ */
+public final class DiskCachingEncryptionKeyFetchingService implements EncryptionKeyFetchingService {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(DiskCachingEncryptionKeyFetchingService.class);
+
+  private static final String FILE_SUFFIX = ".pb";
+
+  private final EncryptionKeyFetchingService delegate;
+  private final Path directory;
+  private final long maxSizeBytes;
+  private final Duration ttl;
+  private final Clock clock;
+
+  /**
+   * @param delegate fetches the keys missing from the cache.
+   * @param directory directory of the cached keys, created if missing. It should not be shared
+   *     with other caches.
+   * @param maxSizeBytes size limit of the cached keys.
+   * @param ttl how long keys are served from the cache after being fetched.
+   */
+  public DiskCachingEncryptionKeyFetchingService(
+      EncryptionKeyFetchingService delegate, Path directory, long maxSizeBytes, Duration ttl) {
+    this(delegate, directory, maxSizeBytes, ttl, Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  DiskCachingEncryptionKeyFetchingService(
+      EncryptionKeyFetchingService delegate,
+      Path directory,
+      long maxSizeBytes,
+      Duration ttl,
+      Clock clock) {
+    this.delegate = delegate;
+    this.directory = directory;
+    this.maxSizeBytes = maxSizeBytes;
+    this.ttl = ttl;
+    this.clock = clock;
+  }
+
+  @Override
+  public EncryptionKey fetchEncryptionKey(String keyId)
+      throws EncryptionKeyFetchingServiceException {
+    Optional<EncryptionKey> cachedKey = read(keyId);
+    if (cachedKey.isPresent()) {
+      return cachedKey.get();
+    }
+    EncryptionKey key = delegate.fetchEncryptionKey(keyId);
+    write(keyId, key);
+    return key;
+  }
+
+  @Override
+  public CompletableFuture<EncryptionKey> fetchEncryptionKeyAsync(String keyId) {
+    Optional<EncryptionKey> cachedKey = read(keyId);
+    if (cachedKey.isPresent()) {
+      return CompletableFuture.completedFuture(cachedKey.get());
+    }
+    return delegate
+        .fetchEncryptionKeyAsync(keyId)
+        .thenApply(
+            key -> {
+              write(keyId, key);
+              return key;
+            });
+  }
+
+  /** Returns the cached key, removing it if it is no longer valid or unreadable. */
+  private Optional<EncryptionKey> read(String keyId) {
+    Path file = file(keyId);
+    try {
+      Instant fetchTime = Files.getLastModifiedTime(file).toInstant();
+      if (!isStale(fetchTime)) {
+        EncryptionKey key;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+          key = EncryptionKey.parseFrom(inputStream);
+        }
+        if (!isExpired(key)) {
+          logger.debug("Read key {} from the disk cache", keyId);
+          return Optional.of(key);
+        }
+      }
+      Files.deleteIfExists(file);
+    } catch (NoSuchFileException e) {
+      // Not cached.
+    } catch (IOException e) {
+      logger.warn("Failed to read key {} from the disk cache", keyId, e);
+      deleteQuietly(file);
+    }
+    return Optional.empty();
+  }
+
+  /** Caches the key, replacing the cached file atomically so readers never see partial keys. */
+  private synchronized void write(String keyId, EncryptionKey key) {
+    if (isExpired(key)) {
+      return;
+    }
+    Path tempFile = null;
+    try {
+      createDirectory();
+      // Temporary files are only accessible by their owner.
+      tempFile = Files.createTempFile(directory, "key", ".tmp");
+      Files.write(tempFile, key.toByteArray());
+      Files.setLastModifiedTime(tempFile, FileTime.from(clock.instant()));
+      Files.move(
+          tempFile,
+          file(keyId),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      evict();
+    } catch (IOException | UnsupportedOperationException e) {
+      logger.warn("Failed to write key {} to the disk cache", keyId, e);
+      if (tempFile != null) {
+        deleteQuietly(tempFile);
+      }
+    }
+  }
+
+  private void createDirectory() throws IOException {
+    if (Files.isDirectory(directory)) {
+      return;
+    }
+    if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      Files.createDirectories(
+          directory,
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+    } else {
+      Files.createDirectories(directory);
+    }
+  }
+
+  /** Removes expired keys, then the least recently fetched keys until the size limit is met. */
+  private void evict() throws IOException {
+    List<CachedFile> files = new ArrayList<>();
+    long totalSize = 0;
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+      for (Path file : stream) {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Instant fetchTime = attributes.lastModifiedTime().toInstant();
+        if (isStale(fetchTime)) {
+          Files.deleteIfExists(file);
+          continue;
+        }
+        files.add(new CachedFile(file, fetchTime, attributes.size()));
+        totalSize += attributes.size();
+      }
+    }
+    files.sort(Comparator.comparing(CachedFile::fetchTime));
+    for (int i = 0; totalSize > maxSizeBytes && i < files.size(); i++) {
+      Files.deleteIfExists(files.get(i).file());
+      totalSize -= files.get(i).size();
+    }
+  }
+
+  private boolean isStale(Instant fetchTime) {
+    return !clock.instant().isBefore(fetchTime.plus(ttl));
+  }
+
+  private boolean isExpired(EncryptionKey key) {
+    return key.hasExpirationTime() && key.getExpirationTime() <= clock.millis();
+  }
+
+  /** Returns the file of the key, named by a hash of its ID so any ID is a valid file name. */
+  private Path file(String keyId) {
+    return directory.resolve(Hashing.sha256().hashString(keyId, UTF_8) + FILE_SUFFIX);
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      logger.warn("Failed to delete {} from the disk cache", file, e);
+    }
+  }
+
+  private record CachedFile(Path file, Instant fetchTime, long size) {}
+}
@@ -17,6 +17,7 @@
 package com.google.scp.operator.cpio.cryptoclient;
 
 import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.EncryptionKeyProto.EncryptionKey;
+import java.util.concurrent.CompletableFuture;
 
 /** Interface responsible for fetching encrypted key splits from the Key Handling Service. */
 public interface EncryptionKeyFetchingService {
@@ -24,6 +25,19 @@ public interface EncryptionKeyFetchingService {
   /** Returns the encryption key for the given key ID. */
   EncryptionKey fetchEncryptionKey(String keyId) throws EncryptionKeyFetchingServiceException;
 
+  /**
+   * Returns a future of the encryption key for the given key ID, failed with an {@link
+   * EncryptionKeyFetchingServiceException} on errors. Implementations should not block the calling
+   * thread; by default the key is fetched synchronously.
+   */
+  default CompletableFuture<EncryptionKey> fetchEncryptionKeyAsync(String keyId) {
+    try {
+      return CompletableFuture.completedFuture(fetchEncryptionKey(keyId));
+    } catch (EncryptionKeyFetchingServiceException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   /** Represents an exception thrown by the {@code EncryptionKeyFetchingService} class. */
   final class EncryptionKeyFetchingServiceException extends Exception {
     /** Creates a new instance from a {@code Throwable}. */
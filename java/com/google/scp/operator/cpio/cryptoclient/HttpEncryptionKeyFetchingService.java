@@ -19,14 +19,14 @@ package com.google.scp.operator.cpio.cryptoclient;
 import com.google.common.primitives.Ints;
 import com.google.inject.Inject;
 import com.google.protobuf.InvalidProtocolBufferException;
-import com.google.protobuf.util.JsonFormat;
-import com.google.scp.coordinator.protos.keymanagement.keyhosting.api.v1.GetEncryptedPrivateKeyResponseProto.GetEncryptedPrivateKeyResponse;
 import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.EncryptionKeyProto.EncryptionKey;
 import com.google.scp.shared.api.util.ErrorUtil;
+import com.google.scp.shared.api.util.HttpClientResponse;
 import com.google.scp.shared.api.util.HttpClientWrapper;
 import java.io.IOException;
 import java.net.URI;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
 import org.slf4j.Logger;
@@ -59,8 +59,43 @@ public final class HttpEncryptionKeyFetchingService implements EncryptionKeyFetc
   @Override
   public EncryptionKey fetchEncryptionKey(String keyId)
       throws EncryptionKeyFetchingServiceException {
-    var fetchUri = createUri(encryptionKeyServiceBaseUrl, keyId);
-    var request = new HttpGet(fetchUri);
+    var request = createRequest(keyId);
+    EncryptionKey.Builder encryptionKey = EncryptionKey.newBuilder();
+    try {
+      var response = httpClient.execute(request, encryptionKey);
+      return toEncryptionKey(keyId, request, response, encryptionKey);
+    } catch (IOException e) {
+      throw toFetchingException(e);
+    }
+  }
+
+  /**
+   * Makes the same request as {@link #fetchEncryptionKey(String)} without blocking the calling
+   * thread, including while waiting to retry.
+   */
+  @Override
+  public CompletableFuture<EncryptionKey> fetchEncryptionKeyAsync(String keyId) {
+    var request = createRequest(keyId);
+    EncryptionKey.Builder encryptionKey = EncryptionKey.newBuilder();
+    CompletableFuture<EncryptionKey> result = new CompletableFuture<>();
+    httpClient
+        .executeAsync(request, encryptionKey)
+        .whenComplete(
+            (response, throwable) -> {
+              try {
+                if (throwable != null) {
+                  throw toFetchingException(throwable);
+                }
+                result.complete(toEncryptionKey(keyId, request, response, encryptionKey));
+              } catch (EncryptionKeyFetchingServiceException | RuntimeException e) {
+                result.completeExceptionally(e);
+              }
+            });
+    return result;
+  }
+
+  private HttpGet createRequest(String keyId) {
+    var request = new HttpGet(createUri(encryptionKeyServiceBaseUrl, keyId));
 
     final RequestConfig requestConfig =
         RequestConfig.custom()
@@ -72,50 +107,38 @@ public final class HttpEncryptionKeyFetchingService implements EncryptionKeyFetc
             .setSocketTimeout(REQUEST_TIMEOUT_DURATION)
             .build();
     request.setConfig(requestConfig);
+    return request;
+  }
 
-    try {
-      var response = httpClient.execute(request);
-      var responseBody = response.responseBody();
-
-      if (response.statusCode() != 200) {
-        var errorResponse = ErrorUtil.parseErrorResponse(responseBody);
-        var exception = ErrorUtil.toServiceException(errorResponse);
-
-        var message = "Received error from private key vending service";
-        logger.error(message, exception);
-        throw new EncryptionKeyFetchingServiceException(message, exception);
-      } else {
-        logger.info(
-            "Successfully fetched encrypted key-split for keyId: "
-                + keyId
-                + " using Uri: "
-                + fetchUri);
-      }
+  private EncryptionKey toEncryptionKey(
+      String keyId,
+      HttpGet request,
+      HttpClientResponse response,
+      EncryptionKey.Builder encryptionKey)
+      throws EncryptionKeyFetchingServiceException {
+    if (response.statusCode() != 200) {
+      var errorResponse = ErrorUtil.parseErrorResponse(response.responseBody());
+      var exception = ErrorUtil.toServiceException(errorResponse);
 
-      return parseSuccessResponse(responseBody);
-    } catch (IOException e) {
-      var message = "Error fetching private key ciphertext";
-      logger.error(message, e);
-      throw new EncryptionKeyFetchingServiceException(message, e);
+      var message = "Received error from private key vending service";
+      logger.error(message, exception);
+      throw new EncryptionKeyFetchingServiceException(message, exception);
     }
+    logger.info(
+        "Successfully fetched encrypted key-split for keyId: "
+            + keyId
+            + " using Uri: "
+            + request.getURI());
+    return encryptionKey.build();
   }
 
-  /**
-   * Attempts to read the body of a 200 response and convert it to a {@link
-   * GetEncryptedPrivateKeyResponse}, wrapping parsing errors in a {@link
-   * EncryptionKeyFetchingServiceException}
-   */
-  private EncryptionKey parseSuccessResponse(String responseBody)
-      throws EncryptionKeyFetchingServiceException {
-    try {
-      EncryptionKey.Builder builder = EncryptionKey.newBuilder();
-      JsonFormat.parser().ignoringUnknownFields().merge(responseBody, builder);
-      return builder.build();
-    } catch (InvalidProtocolBufferException e) {
-      var message = "Failed to parse success response as EncryptedPrivateKey";
-      logger.error(message, e);
-      throw new EncryptionKeyFetchingServiceException(message, e);
-    }
+  private EncryptionKeyFetchingServiceException toFetchingException(Throwable e) {
+    var message =
+        e.getCause() instanceof InvalidProtocolBufferException
+            ? "Failed to parse success response as EncryptedPrivateKey"
+            : "Error fetching private key ciphertext";
+    logger.error(message, e);
+    return new EncryptionKeyFetchingServiceException(message, e);
   }
 
   private URI createUri(String endpoint, String keyId) {
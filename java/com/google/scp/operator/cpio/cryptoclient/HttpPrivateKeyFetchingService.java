@@ -25,15 +25,16 @@ import com.google.common.primitives.Ints;
 import com.google.inject.BindingAnnotation;
 import com.google.inject.Inject;
 import com.google.protobuf.InvalidProtocolBufferException;
-import com.google.protobuf.util.JsonFormat;
 import com.google.scp.coordinator.protos.keymanagement.keyhosting.api.v1.GetEncryptedPrivateKeyResponseProto.GetEncryptedPrivateKeyResponse;
 import com.google.scp.shared.api.util.ErrorUtil;
+import com.google.scp.shared.api.util.HttpClientResponse;
 import com.google.scp.shared.api.util.HttpClientWrapper;
 import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 import java.net.URI;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
 import org.slf4j.Logger;
@@ -64,61 +65,86 @@ public final class HttpPrivateKeyFetchingService implements PrivateKeyFetchingSe
 
   @Override
   public String fetchKeyCiphertext(String keyId) throws PrivateKeyFetchingServiceException {
+    GetEncryptedPrivateKeyResponse.Builder encryptedPrivateKey =
+        GetEncryptedPrivateKeyResponse.newBuilder();
     try {
-      var request = new HttpGet(getFetchUri(keyId));
+      var response = httpClient.execute(createRequest(keyId), encryptedPrivateKey);
+      return toKeyCiphertext(response, encryptedPrivateKey);
+    } catch (IOException | IllegalArgumentException e) {
+      throw toFetchingException(e);
+    }
+  }
 
-      final RequestConfig requestConfig =
-          RequestConfig.custom()
-              // Timeout for requesting a connection from internal connection manager
-              .setConnectionRequestTimeout(REQUEST_TIMEOUT_DURATION)
-              // Timeout for establishing a request to host
-              .setConnectTimeout(REQUEST_TIMEOUT_DURATION)
-              // Timeout between data packets received
-              .setSocketTimeout(REQUEST_TIMEOUT_DURATION)
-              .build();
-      request.setConfig(requestConfig);
+  /**
+   * Makes the same request as {@link #fetchKeyCiphertext(String)} without blocking the calling
+   * thread, including while waiting to retry.
+   */
+  @Override
+  public CompletableFuture<String> fetchKeyCiphertextAsync(String keyId) {
+    GetEncryptedPrivateKeyResponse.Builder encryptedPrivateKey =
+        GetEncryptedPrivateKeyResponse.newBuilder();
+    CompletableFuture<String> result = new CompletableFuture<>();
+    try {
+      httpClient
+          .executeAsync(createRequest(keyId), encryptedPrivateKey)
+          .whenComplete(
+              (response, throwable) -> {
+                try {
+                  if (throwable != null) {
+                    throw toFetchingException(throwable);
+                  }
+                  result.complete(toKeyCiphertext(response, encryptedPrivateKey));
+                } catch (PrivateKeyFetchingServiceException | RuntimeException e) {
+                  result.completeExceptionally(e);
+                }
+              });
+    } catch (IllegalArgumentException e) {
+      result.completeExceptionally(toFetchingException(e));
+    }
+    return result;
+  }
 
-      var response = httpClient.execute(request);
-      var responseBody = response.responseBody();
+  private HttpGet createRequest(String keyId) {
+    var request = new HttpGet(getFetchUri(keyId));
 
-      if (response.statusCode() != 200) {
-        var errorResponse = ErrorUtil.parseErrorResponse(responseBody);
-        var exception = ErrorUtil.toServiceException(errorResponse);
+    final RequestConfig requestConfig =
+        RequestConfig.custom()
+            // Timeout for requesting a connection from internal connection manager
+            .setConnectionRequestTimeout(REQUEST_TIMEOUT_DURATION)
+            // Timeout for establishing a request to host
+            .setConnectTimeout(REQUEST_TIMEOUT_DURATION)
+            // Timeout between data packets received
+            .setSocketTimeout(REQUEST_TIMEOUT_DURATION)
+            .build();
+    request.setConfig(requestConfig);
+    return request;
+  }
 
-        var message = "Received error from private key vending service";
-        logger.error(message, exception);
-        throw new PrivateKeyFetchingServiceException(message, exception);
-      }
+  private String toKeyCiphertext(
+      HttpClientResponse response, GetEncryptedPrivateKeyResponse.Builder encryptedPrivateKey)
+      throws PrivateKeyFetchingServiceException {
+    if (response.statusCode() != 200) {
+      var errorResponse = ErrorUtil.parseErrorResponse(response.responseBody());
+      var exception = ErrorUtil.toServiceException(errorResponse);
 
-      var encryptedPrivateKey = parseSuccessResponse(responseBody);
-      return encryptedPrivateKey.getJsonEncodedKeyset();
-    } catch (IOException | IllegalArgumentException e) {
-      var message = "Error fetching private key ciphertext";
-      logger.error(message, e);
-      throw new PrivateKeyFetchingServiceException(message, e);
+      var message = "Received error from private key vending service";
+      logger.error(message, exception);
+      throw new PrivateKeyFetchingServiceException(message, exception);
     }
+    return encryptedPrivateKey.getJsonEncodedKeyset();
   }
 
-  private URI getFetchUri(String keyId) {
-    return URI.create(String.format("%s/privateKeys/%s", privateKeyServiceBaseUrl, keyId));
+  private PrivateKeyFetchingServiceException toFetchingException(Throwable e) {
+    var message =
+        e.getCause() instanceof InvalidProtocolBufferException
+            ? "Failed to parse success response as EncryptedPrivateKey"
+            : "Error fetching private key ciphertext";
+    logger.error(message, e);
+    return new PrivateKeyFetchingServiceException(message, e);
   }
 
-  /**
-   * Attempts to read the body of a 200 response and convert it to a {@link
-   * GetEncryptedPrivateKeyResponse}, wrapping parsing errors in a {@link
-   * PrivateKeyFetchingServiceException}
-   */
-  private GetEncryptedPrivateKeyResponse parseSuccessResponse(String responseBody)
-      throws PrivateKeyFetchingServiceException {
-    try {
-      GetEncryptedPrivateKeyResponse.Builder builder = GetEncryptedPrivateKeyResponse.newBuilder();
-      JsonFormat.parser().ignoringUnknownFields().merge(responseBody, builder);
-      return builder.build();
-    } catch (InvalidProtocolBufferException e) {
-      var message = "Failed to parse success response as EncryptedPrivateKey";
-      logger.error(message, e);
-      throw new PrivateKeyFetchingServiceException(message, e);
-    }
+  private URI getFetchUri(String keyId) {
+    return URI.create(String.format("%s/privateKeys/%s", privateKeyServiceBaseUrl, keyId));
   }
 
   /** Base URL (e.g. `https://foo.com/v1`) where the private key vending service is located. */
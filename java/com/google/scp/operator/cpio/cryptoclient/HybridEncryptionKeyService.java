@@ -19,6 +19,7 @@ package com.google.scp.operator.cpio.cryptoclient;
 import com.google.crypto.tink.HybridDecrypt;
 import com.google.crypto.tink.HybridEncrypt;
 import com.google.scp.operator.cpio.cryptoclient.model.ErrorReason;
+import java.util.concurrent.CompletableFuture;
 
 /** Interface responsible for retrieving and decrypting keys from the KMS */
 public interface HybridEncryptionKeyService {
@@ -32,6 +33,19 @@ public interface HybridEncryptionKeyService {
    */
   HybridDecrypt getDecrypter(String keyId) throws KeyFetchException;
 
+  /**
+   * Returns a future of the {@link HybridDecrypt} primitive for the key identifier, failed with a
+   * {@link KeyFetchException} on errors. Implementations should not block the calling thread; by
+   * default the primitive is retrieved synchronously.
+   */
+  default CompletableFuture<HybridDecrypt> getDecrypterAsync(String keyId) {
+    try {
+      return CompletableFuture.completedFuture(getDecrypter(keyId));
+    } catch (KeyFetchException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   /** Retrieve a {@link HybridEncrypt} primitive from the KMS using the key identifier. */
   HybridEncrypt getEncrypter(String keyId) throws KeyFetchException;
 
@@ -29,6 +29,7 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.crypto.tink.HybridDecrypt;
 import com.google.crypto.tink.HybridEncrypt;
@@ -41,6 +42,7 @@ import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.EncryptionK
 import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.KeyDataProto.KeyData;
 import com.google.scp.operator.cpio.cryptoclient.Annotations.CoordinatorAAead;
 import com.google.scp.operator.cpio.cryptoclient.Annotations.CoordinatorBAead;
+import com.google.scp.operator.cpio.cryptoclient.Annotations.KmsDecryptionExecutor;
 import com.google.scp.operator.cpio.cryptoclient.EncryptionKeyFetchingService.EncryptionKeyFetchingServiceException;
 import com.google.scp.operator.cpio.cryptoclient.HybridEncryptionKeyService.KeyFetchException;
 import com.google.scp.operator.cpio.cryptoclient.model.ErrorReason;
@@ -62,14 +64,25 @@ import java.security.GeneralSecurityException;
 import java.time.Duration;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Implementation for retrieving and decrypting keys from the KMS. This version uses the encryption
  * key API which also supports multi-party keys.
+ *
+ * <p>Decrypters are created asynchronously: the key split of coordinator A is decrypted with KMS
+ * while the key split of coordinator B is being fetched, and both decryptions run concurrently.
  */
 public final class MultiPartyHybridEncryptionKeyServiceImpl implements HybridEncryptionKeyService {
 
@@ -90,12 +103,31 @@ public final class MultiPartyHybridEncryptionKeyServiceImpl implements HybridEnc
   private static final int MAX_CACHE_SIZE = 100;
   private static final long CACHE_ENTRY_TTL_SEC = 3600;
   private static final int CONCURRENCY_LEVEL = Runtime.getRuntime().availableProcessors();
+
+  /** Threads of the default KMS executor, and so the maximum of concurrent KMS decryptions. */
+  private static final int DEFAULT_KMS_DECRYPTION_THREADS = 16;
+
+  /** Schedules split key decryption retries, without blocking a thread while waiting. */
+  private static final ScheduledExecutorService DECRYPTION_RETRY_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("kms-decrypt-retry-%d")
+              .build());
   private final CloudAeadSelector coordinatorAAeadService;
   private final CloudAeadSelector coordinatorBAeadService;
   private final EncryptionKeyFetchingService coordinatorAEncryptionKeyFetchingService;
   private final EncryptionKeyFetchingService coordinatorBEncryptionKeyFetchingService;
   private final MetricClient metricClient;
   private final Boolean enableRemoteMetricAggregation;
+
+  /** Runs the blocking KMS calls, so that they do not hold the threads completing key fetches. */
+  private final ExecutorService kmsExecutor;
+
+  /** Loads in progress, shared by synchronous and asynchronous lookups of the same key. */
+  private final ConcurrentMap<String, CompletableFuture<KeysetHandle>> pendingLoads =
+      new ConcurrentHashMap<>();
+
   private final LoadingCache<String, KeysetHandle> keysetHandleCache =
       CacheBuilder.newBuilder()
           .maximumSize(MAX_CACHE_SIZE)
@@ -146,13 +178,22 @@ public final class MultiPartyHybridEncryptionKeyServiceImpl implements HybridEnc
       @CoordinatorAAead CloudAeadSelector coordinatorAAeadService,
       @CoordinatorBAead CloudAeadSelector coordinatorBAeadService,
       MetricClient metricClient,
-      @EnableRemoteMetricAggregation Boolean enableRemoteMetricAggregation) {
+      @EnableRemoteMetricAggregation Boolean enableRemoteMetricAggregation,
+      @KmsDecryptionExecutor ExecutorService kmsExecutor) {
     this.coordinatorAEncryptionKeyFetchingService = coordinatorAEncryptionKeyFetchingService;
     this.coordinatorBEncryptionKeyFetchingService = coordinatorBEncryptionKeyFetchingService;
     this.coordinatorAAeadService = coordinatorAAeadService;
     this.coordinatorBAeadService = coordinatorBAeadService;
     this.metricClient = metricClient;
     this.enableRemoteMetricAggregation = enableRemoteMetricAggregation;
+    this.kmsExecutor = kmsExecutor;
+  }
+
+  /** Returns a bounded executor for the KMS decryptions of a service. */
+  public static ExecutorService newKmsExecutor() {
+    return Executors.newFixedThreadPool(
+        DEFAULT_KMS_DECRYPTION_THREADS,
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("kms-decrypt-%d").build());
   }
 
   private MultiPartyHybridEncryptionKeyServiceImpl(
@@ -163,7 +204,8 @@ public final class MultiPartyHybridEncryptionKeyServiceImpl implements HybridEnc
       MetricClient metricClient,
       Boolean enableRemoteMetricAggregation,
       Boolean enablePrivateKeyDecryptionRetries,
-      Optional<RetryConfig> privateKeyDecryptionRetryConfig) {
+      Optional<RetryConfig> privateKeyDecryptionRetryConfig,
+      ExecutorService kmsExecutor) {
 
     this(
         coordinatorAEncryptionKeyFetchingService,
@@ -171,7 +213,8 @@ public final class MultiPartyHybridEncryptionKeyServiceImpl implements HybridEnc
         coordinatorAAeadService,
         coordinatorBAeadService,
         metricClient,
-        enableRemoteMetricAggregation);
+        enableRemoteMetricAggregation,
+        kmsExecutor);
 
     if (enablePrivateKeyDecryptionRetries) {
       if (privateKeyDecryptionRetryConfig.isPresent()) {
@@ -221,7 +264,8 @@ public final class MultiPartyHybridEncryptionKeyServiceImpl implements HybridEnc
         params.metricClient(),
         params.enableRemoteMetricAggregation().orElse(false),
         params.enablePrivateKeyDecryptionRetries().orElse(false),
-        params.privateKeyDecryptionRetryConfig());
+        params.privateKeyDecryptionRetryConfig(),
+        params.kmsExecutor().orElseGet(MultiPartyHybridEncryptionKeyServiceImpl::newKmsExecutor));
   }
 
   /** Returns the decrypter for the provided key. */
@@ -238,6 +282,38 @@ public final class MultiPartyHybridEncryptionKeyServiceImpl implements HybridEnc
     }
   }
 
+  /**
+   * Returns a future of the decrypter for the provided key, failed with a {@link
+   * KeyFetchException} on errors. Neither the key fetches nor the KMS decryptions block the
+   * calling thread. Concurrent lookups of a key that is not cached share a single load.
+   */
+  @Override
+  public CompletableFuture<HybridDecrypt> getDecrypterAsync(String keyId) {
+    KeysetHandle cachedKeysetHandle = keysetHandleCache.getIfPresent(keyId);
+    CompletableFuture<KeysetHandle> keysetHandle =
+        cachedKeysetHandle != null
+            ? CompletableFuture.completedFuture(cachedKeysetHandle)
+            : loadKeysetHandle(keyId);
+    CompletableFuture<HybridDecrypt> result = new CompletableFuture<>();
+    keysetHandle.whenComplete(
+        (handle, throwable) -> {
+          try {
+            if (throwable != null) {
+              throw unwrap(throwable);
+            }
+            result.complete(handle.getPrimitive(HybridDecrypt.class));
+          } catch (Throwable t) {
+            ErrorReason reason =
+                t instanceof KeyFetchException
+                    ? ((KeyFetchException) t).getReason()
+                    : ErrorReason.UNKNOWN_ERROR;
+            result.completeExceptionally(
+                new KeyFetchException("Failed to get key with id: " + keyId, reason, t));
+          }
+        });
+    return result;
+  }
+
   /** Returns the encrypter for the provided key ID. */
   @Override
   public HybridEncrypt getEncrypter(String keyId) throws KeyFetchException {
@@ -264,54 +340,135 @@ public final class MultiPartyHybridEncryptionKeyServiceImpl implements HybridEnc
   @Retention(RUNTIME)
   public @interface CoordinatorBEncryptionKeyFetchingService {}
 
+  /**
+   * Returns the pending load of the key, starting one if there is none. Successfully loaded keys
+   * are added to the cache.
+   */
+  private CompletableFuture<KeysetHandle> loadKeysetHandle(String keyId) {
+    CompletableFuture<KeysetHandle> load = new CompletableFuture<>();
+    CompletableFuture<KeysetHandle> pendingLoad = pendingLoads.putIfAbsent(keyId, load);
+    if (pendingLoad != null) {
+      return pendingLoad;
+    }
+    createDecrypterAsync(keyId)
+        .whenComplete(
+            (handle, throwable) -> {
+              if (throwable == null) {
+                keysetHandleCache.put(keyId, handle);
+              }
+              pendingLoads.remove(keyId, load);
+              if (throwable == null) {
+                load.complete(handle);
+              } else {
+                load.completeExceptionally(throwable);
+              }
+            });
+    return load;
+  }
+
   private KeysetHandle createDecrypter(String keyId)
       throws KeyFetchException, MetricClientException {
     try {
-      var primaryEncryptionKey = coordinatorAEncryptionKeyFetchingService.fetchEncryptionKey(keyId);
-
-      switch (primaryEncryptionKey.getEncryptionKeyType()) {
-        case SINGLE_PARTY_HYBRID_KEY:
-          return createDecrypterSingleKey(primaryEncryptionKey);
-        case MULTI_PARTY_HYBRID_EVEN_KEYSPLIT:
-          var secondaryEncryptionKey =
-              coordinatorBEncryptionKeyFetchingService.fetchEncryptionKey(keyId);
-          if (splitKeyDecryptionRetry.isPresent()) {
-            logger.info(String.format(SPLIT_KEY_AEAD_DECRYPT_LOG_TEMPLATE, "CALL"));
-            return createDecrypterSplitKeyWithRetries(primaryEncryptionKey, secondaryEncryptionKey);
-          }
-          return createDecrypterSplitKey(primaryEncryptionKey, secondaryEncryptionKey);
-        default:
-          throw new KeyFetchException(
-              "Unsupported encryption key type.", ErrorReason.UNKNOWN_ERROR);
-      }
-
-    } catch (EncryptionKeyFetchingServiceException e) {
-      KeyFetchException exception = KeyFetchExceptionUtils.parseServiceException(e);
-      if (enableRemoteMetricAggregation) {
-        CustomMetric errorMetric =
-            MetricUtils.ConstructEncryptionKeyFetchingErrorRateMetric(exception);
-        metricClient.recordMetric(errorMetric);
+      return loadKeysetHandle(keyId).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof KeyFetchException) {
+        throw (KeyFetchException) e.getCause();
       }
-      throw exception;
-    } catch (GeneralSecurityException e) {
-      KeyFetchException exception = KeyFetchExceptionUtils.parseGrpcException(e);
-      if (enableRemoteMetricAggregation) {
-        CustomMetric errorMetric =
-            MetricUtils.ConstructEncryptionKeyFetchingErrorRateMetric(exception);
-        metricClient.recordMetric(errorMetric);
+      if (e.getCause() instanceof MetricClientException) {
+        throw (MetricClientException) e.getCause();
       }
-      throw exception;
-    } catch (IOException e) {
-      KeyFetchException exception =
+      throw new KeyFetchException(
+          "Failed to fetch key ID: " + keyId + ".", ErrorReason.UNKNOWN_ERROR, e.getCause());
+    }
+  }
+
+  /**
+   * Fetches and decrypts the key, failing with a {@link KeyFetchException}, or with a {@link
+   * MetricClientException} if the failure could not be recorded.
+   */
+  private CompletableFuture<KeysetHandle> createDecrypterAsync(String keyId) {
+    CompletableFuture<KeysetHandle> result = new CompletableFuture<>();
+    coordinatorAEncryptionKeyFetchingService
+        .fetchEncryptionKeyAsync(keyId)
+        .thenCompose(
+            primaryEncryptionKey -> {
+              switch (primaryEncryptionKey.getEncryptionKeyType()) {
+                case SINGLE_PARTY_HYBRID_KEY:
+                  return CompletableFuture.supplyAsync(
+                      () -> {
+                        try {
+                          return createDecrypterSingleKey(primaryEncryptionKey);
+                        } catch (GeneralSecurityException | IOException e) {
+                          throw new CompletionException(e);
+                        }
+                      },
+                      kmsExecutor);
+                case MULTI_PARTY_HYBRID_EVEN_KEYSPLIT:
+                  if (splitKeyDecryptionRetry.isPresent()) {
+                    logger.info(String.format(SPLIT_KEY_AEAD_DECRYPT_LOG_TEMPLATE, "CALL"));
+                  }
+                  // Split A is decrypted while split B is fetched.
+                  CompletableFuture<byte[]> splitA =
+                      decryptSplitAsync(coordinatorAAeadService, primaryEncryptionKey);
+                  CompletableFuture<byte[]> splitB =
+                      coordinatorBEncryptionKeyFetchingService
+                          .fetchEncryptionKeyAsync(keyId)
+                          .thenCompose(
+                              secondaryEncryptionKey ->
+                                  decryptSplitAsync(
+                                      coordinatorBAeadService, secondaryEncryptionKey));
+                  return splitA.thenCombine(splitB, this::reconstructSplitKey);
+                default:
+                  return CompletableFuture.failedFuture(
+                      new KeyFetchException(
+                          "Unsupported encryption key type.", ErrorReason.UNKNOWN_ERROR));
+              }
+            })
+        .whenComplete(
+            (keysetHandle, throwable) -> {
+              if (throwable == null) {
+                result.complete(keysetHandle);
+              } else {
+                result.completeExceptionally(toKeyFetchFailure(keyId, unwrap(throwable)));
+              }
+            });
+    return result;
+  }
+
+  /**
+   * Converts a failure to fetch or decrypt the key to a {@link KeyFetchException}, recording it as
+   * error metric.
+   */
+  private Exception toKeyFetchFailure(String keyId, Throwable t) {
+    KeyFetchException exception;
+    if (t instanceof KeyFetchException) {
+      return (KeyFetchException) t;
+    } else if (t instanceof EncryptionKeyFetchingServiceException) {
+      exception = KeyFetchExceptionUtils.parseServiceException(t);
+    } else if (t instanceof GeneralSecurityException) {
+      exception = KeyFetchExceptionUtils.parseGrpcException(t);
+    } else {
+      exception =
           new KeyFetchException(
-              "Failed to fetch key ID: " + keyId + ".", ErrorReason.UNKNOWN_ERROR, e);
-      if (enableRemoteMetricAggregation) {
-        CustomMetric errorMetric =
-            MetricUtils.ConstructEncryptionKeyFetchingErrorRateMetric(exception);
+              "Failed to fetch key ID: " + keyId + ".", ErrorReason.UNKNOWN_ERROR, t);
+    }
+    if (enableRemoteMetricAggregation) {
+      CustomMetric errorMetric =
+          MetricUtils.ConstructEncryptionKeyFetchingErrorRateMetric(exception);
+      try {
         metricClient.recordMetric(errorMetric);
+      } catch (MetricClientException e) {
+        return e;
       }
-      throw exception;
     }
+    return exception;
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    while (throwable instanceof CompletionException && throwable.getCause() != null) {
+      throwable = throwable.getCause();
+    }
+    return throwable;
   }
 
   private KeysetHandle createDecrypterSingleKey(EncryptionKey encryptionKey)
@@ -323,47 +480,46 @@ public final class MultiPartyHybridEncryptionKeyServiceImpl implements HybridEnc
     return keysetHandle;
   }
 
-  private KeysetHandle createDecrypterSplitKey(
-      EncryptionKey encryptionKeyA, EncryptionKey encryptionKeyB)
-      throws GeneralSecurityException, IOException {
-    // Split A.
-    var encryptionKeyAData = getOwnerKeyData(encryptionKeyA);
-    var aeadA = coordinatorAAeadService.getAead(encryptionKeyAData.getKeyEncryptionKeyUri());
-    var splitA =
-        aeadA.decrypt(Base64.getDecoder().decode(encryptionKeyAData.getKeyMaterial()), new byte[0]);
-
-    // Split B.
-    var encryptionKeyBData = getOwnerKeyData(encryptionKeyB);
-    var aeadB = coordinatorBAeadService.getAead(encryptionKeyBData.getKeyEncryptionKeyUri());
-    var splitB =
-        aeadB.decrypt(Base64.getDecoder().decode(encryptionKeyBData.getKeyMaterial()), new byte[0]);
-
-    // Reconstruct.
-    var keySetHandle =
-        KeySplitUtil.reconstructXorKeysetHandle(
-            ImmutableList.of(ByteString.copyFrom(splitA), ByteString.copyFrom(splitB)));
-    return keySetHandle;
-  }
-
   /**
-   * Runs the KMS decryption call with retries. It does not check for the existence of the Retry
-   * object, so this method should only be called after validating the retry object exists.
+   * Decrypts the key split of a coordinator on the KMS executor. If enabled, failed decryptions are
+   * retried after a backoff.
    */
-  private KeysetHandle createDecrypterSplitKeyWithRetries(
-      EncryptionKey encryptionKeyA, EncryptionKey encryptionKeyB)
-      throws GeneralSecurityException, IOException {
+  private CompletableFuture<byte[]> decryptSplitAsync(
+      CloudAeadSelector aeadService, EncryptionKey encryptionKey) {
+    Supplier<CompletableFuture<byte[]>> decryption =
+        () ->
+            CompletableFuture.supplyAsync(
+                () -> {
+                  try {
+                    return decryptSplit(aeadService, encryptionKey);
+                  } catch (GeneralSecurityException e) {
+                    throw new CompletionException(e);
+                  }
+                },
+                kmsExecutor);
+    if (splitKeyDecryptionRetry.isEmpty()) {
+      return decryption.get();
+    }
+    return splitKeyDecryptionRetry
+        .get()
+        .executeCompletionStage(DECRYPTION_RETRY_SCHEDULER, () -> decryption.get())
+        .toCompletableFuture();
+  }
+
+  private byte[] decryptSplit(CloudAeadSelector aeadService, EncryptionKey encryptionKey)
+      throws GeneralSecurityException {
+    var encryptionKeyData = getOwnerKeyData(encryptionKey);
+    var aead = aeadService.getAead(encryptionKeyData.getKeyEncryptionKeyUri());
+    return aead.decrypt(
+        Base64.getDecoder().decode(encryptionKeyData.getKeyMaterial()), new byte[0]);
+  }
+
+  private KeysetHandle reconstructSplitKey(byte[] splitA, byte[] splitB) {
     try {
-      return Retry.decorateCheckedSupplier(
-              splitKeyDecryptionRetry.get(),
-              () -> {
-                return createDecrypterSplitKey(encryptionKeyA, encryptionKeyB);
-              })
-          .apply();
+      return KeySplitUtil.reconstructXorKeysetHandle(
+          ImmutableList.of(ByteString.copyFrom(splitA), ByteString.copyFrom(splitB)));
     } catch (GeneralSecurityException | IOException e) {
-      throw e;
-    } catch (Throwable t) {
-      logger.error("Unexpected exception while creating split-key decrypter", t);
-      throw new IOException(t);
+      throw new CompletionException(e);
     }
   }
 
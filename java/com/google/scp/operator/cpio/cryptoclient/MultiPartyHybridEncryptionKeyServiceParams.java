@@ -21,6 +21,7 @@ import com.google.scp.operator.cpio.metricclient.MetricClient;
 import com.google.scp.shared.crypto.tink.CloudAeadSelector;
 import io.github.resilience4j.retry.RetryConfig;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 // Parameters to construct a MultiPartyHybridEncryptionKeyService class
 @AutoValue
@@ -55,6 +56,9 @@ public abstract class MultiPartyHybridEncryptionKeyServiceParams {
   /** If present will overwrite the default retry config. */
   public abstract Optional<RetryConfig> privateKeyDecryptionRetryConfig();
 
+  /** Executor running the KMS decryptions, a bounded pool of the service's own if not present. */
+  public abstract Optional<ExecutorService> kmsExecutor();
+
   /** Builder for {@link MultiPartyHybridEncryptionKeyServiceParams}. */
   @AutoValue.Builder
   public abstract static class Builder {
@@ -85,5 +89,7 @@ public abstract class MultiPartyHybridEncryptionKeyServiceParams {
 
     public abstract Builder setPrivateKeyDecryptionRetryConfig(
         RetryConfig privateKeyDecryptionRetryConfig);
+
+    public abstract Builder setKmsExecutor(ExecutorService kmsExecutor);
   }
 }
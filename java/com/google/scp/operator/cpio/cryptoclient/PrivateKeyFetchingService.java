@@ -16,6 +16,8 @@
 
 package com.google.scp.operator.cpio.cryptoclient;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface responsible for fetching encrypted private keys from the Key Handling Service.
  *
@@ -27,6 +29,19 @@ public interface PrivateKeyFetchingService {
   /** Returns the json-encoded key ciphertext for a given key ID. */
   String fetchKeyCiphertext(String keyId) throws PrivateKeyFetchingServiceException;
 
+  /**
+   * Returns a future of the json-encoded key ciphertext for a given key ID, failed with a {@link
+   * PrivateKeyFetchingServiceException} on errors. Implementations should not block the calling
+   * thread; by default the key is fetched synchronously.
+   */
+  default CompletableFuture<String> fetchKeyCiphertextAsync(String keyId) {
+    try {
+      return CompletableFuture.completedFuture(fetchKeyCiphertext(keyId));
+    } catch (PrivateKeyFetchingServiceException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   /** Represents an exception thrown by the {@code PrivateKeyFetchingService} class. */
   final class PrivateKeyFetchingServiceException extends Exception {
 
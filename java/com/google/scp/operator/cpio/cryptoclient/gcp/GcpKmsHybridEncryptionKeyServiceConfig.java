@@ -23,6 +23,7 @@ import com.google.protobuf.ByteString;
 import com.google.scp.shared.util.KeysetHandleSerializerUtil;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Optional;
 
@@ -34,7 +35,10 @@ public abstract class GcpKmsHybridEncryptionKeyServiceConfig {
   public static Builder builder() {
     return new AutoValue_GcpKmsHybridEncryptionKeyServiceConfig.Builder()
         .setCoordinatorBKmsKeyUri(Optional.empty())
-        .setCoordinatorCloudfunctionUrl(Optional.empty());
+        .setCoordinatorCloudfunctionUrl(Optional.empty())
+        .setEncryptionKeyCacheDirectory(Optional.empty())
+        .setEncryptionKeyCacheMaxSizeBytes(64L * 1024 * 1024)
+        .setEncryptionKeyCacheTtl(Duration.ofHours(24));
   }
 
   /** Key URI of the coordinatorA gcloud KMS key. */
@@ -46,6 +50,18 @@ public abstract class GcpKmsHybridEncryptionKeyServiceConfig {
   /** Key URI of the coordinatorB gcloud KMS key. */
   public abstract Optional<String> coordinatorBKmsKeyUri();
 
+  /**
+   * Local directory caching the fetched, still KMS-encrypted, keys across worker restarts. Keys
+   * are only cached in memory if absent.
+   */
+  public abstract Optional<String> encryptionKeyCacheDirectory();
+
+  /** Size limit of the keys cached per coordinator in the encryption key cache directory. */
+  public abstract long encryptionKeyCacheMaxSizeBytes();
+
+  /** How long keys are served from the encryption key cache directory after being fetched. */
+  public abstract Duration encryptionKeyCacheTtl();
+
   /**
    * Encoded string for the coordinatorA KeysetHandle. This is a stopgap solution and will be
    * removed eventually once it's no longer needed.
@@ -117,6 +133,16 @@ public abstract class GcpKmsHybridEncryptionKeyServiceConfig {
     /** Set the key URI of coordinatorB gcloud KMS key. */
     public abstract Builder setCoordinatorBKmsKeyUri(Optional<String> coordinatorBKmsKeyUri);
 
+    /** Set the local directory caching the fetched keys across worker restarts. */
+    public abstract Builder setEncryptionKeyCacheDirectory(
+        Optional<String> encryptionKeyCacheDirectory);
+
+    /** Set the size limit of the keys cached per coordinator on disk. */
+    public abstract Builder setEncryptionKeyCacheMaxSizeBytes(long encryptionKeyCacheMaxSizeBytes);
+
+    /** Set how long keys are served from the disk cache after being fetched. */
+    public abstract Builder setEncryptionKeyCacheTtl(Duration encryptionKeyCacheTtl);
+
     /**
      * Encoded string for the coordinatorA KeysetHandle. If this is present, will be used instead of
      * coordinatorAKmsKeyUri. This is a stopgap solution and will be removed eventually once it's no
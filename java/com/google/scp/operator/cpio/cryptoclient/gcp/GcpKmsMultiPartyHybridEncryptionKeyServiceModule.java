@@ -28,6 +28,9 @@ import com.google.scp.operator.cpio.cryptoclient.Annotations.CoordinatorAAead;
 import com.google.scp.operator.cpio.cryptoclient.Annotations.CoordinatorAEncryptionKeyServiceBaseUrl;
 import com.google.scp.operator.cpio.cryptoclient.Annotations.CoordinatorBAead;
 import com.google.scp.operator.cpio.cryptoclient.Annotations.CoordinatorBEncryptionKeyServiceBaseUrl;
+import com.google.scp.operator.cpio.cryptoclient.Annotations.KmsDecryptionExecutor;
+import com.google.scp.operator.cpio.cryptoclient.CachingCloudAeadSelector;
+import com.google.scp.operator.cpio.cryptoclient.DiskCachingEncryptionKeyFetchingService;
 import com.google.scp.operator.cpio.cryptoclient.EncryptionKeyFetchingService;
 import com.google.scp.operator.cpio.cryptoclient.HttpEncryptionKeyFetchingService;
 import com.google.scp.operator.cpio.cryptoclient.HybridEncryptionKeyService;
@@ -36,9 +39,13 @@ import com.google.scp.operator.cpio.cryptoclient.MultiPartyHybridEncryptionKeySe
 import com.google.scp.operator.cpio.cryptoclient.MultiPartyHybridEncryptionKeyServiceImpl.CoordinatorAEncryptionKeyFetchingService;
 import com.google.scp.operator.cpio.cryptoclient.MultiPartyHybridEncryptionKeyServiceImpl.CoordinatorBEncryptionKeyFetchingService;
 import com.google.scp.operator.cpio.cryptoclient.model.KeyFetchExceptionUtils;
+import com.google.scp.operator.cpio.metricclient.MetricClient;
+import com.google.scp.operator.cpio.metricclient.model.Annotations.EnableRemoteMetricAggregation;
 import com.google.scp.shared.api.util.HttpClientWrapper;
 import com.google.scp.shared.crypto.tink.CloudAeadSelector;
+import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Guice module for implementation of {@link HybridEncryptionKeyService} which fetches private key
@@ -60,9 +67,12 @@ public final class GcpKmsMultiPartyHybridEncryptionKeyServiceModule
   @Singleton
   public EncryptionKeyFetchingService provideCoordinatorAEncryptionKeyFetchingService(
       @CoordinatorAHttpClient HttpClientWrapper httpClient,
-      @CoordinatorAEncryptionKeyServiceBaseUrl String coordinatorAEncryptionKeyServiceBaseUrl) {
-    return new HttpEncryptionKeyFetchingService(
-        httpClient, coordinatorAEncryptionKeyServiceBaseUrl);
+      @CoordinatorAEncryptionKeyServiceBaseUrl String coordinatorAEncryptionKeyServiceBaseUrl,
+      GcpKmsHybridEncryptionKeyServiceConfig gcpKmsHybridEncryptionKeyServiceConfig) {
+    return withDiskCache(
+        "coordinator-a",
+        new HttpEncryptionKeyFetchingService(httpClient, coordinatorAEncryptionKeyServiceBaseUrl),
+        gcpKmsHybridEncryptionKeyServiceConfig);
   }
 
   @Provides
@@ -70,9 +80,40 @@ public final class GcpKmsMultiPartyHybridEncryptionKeyServiceModule
   @Singleton
   public EncryptionKeyFetchingService provideCoordinatorBEncryptionKeyFetchingService(
       @CoordinatorBHttpClient HttpClientWrapper httpClient,
-      @CoordinatorBEncryptionKeyServiceBaseUrl String coordinatorBEncryptionKeyServiceBaseUrl) {
-    return new HttpEncryptionKeyFetchingService(
-        httpClient, coordinatorBEncryptionKeyServiceBaseUrl);
+      @CoordinatorBEncryptionKeyServiceBaseUrl String coordinatorBEncryptionKeyServiceBaseUrl,
+      GcpKmsHybridEncryptionKeyServiceConfig gcpKmsHybridEncryptionKeyServiceConfig) {
+    return withDiskCache(
+        "coordinator-b",
+        new HttpEncryptionKeyFetchingService(httpClient, coordinatorBEncryptionKeyServiceBaseUrl),
+        gcpKmsHybridEncryptionKeyServiceConfig);
+  }
+
+  /**
+   * Caches the fetched keys of the coordinator in its own subdirectory of the configured encryption
+   * key cache directory, if any.
+   */
+  private static EncryptionKeyFetchingService withDiskCache(
+      String coordinatorDirectory,
+      EncryptionKeyFetchingService fetchingService,
+      GcpKmsHybridEncryptionKeyServiceConfig config) {
+    return config
+        .encryptionKeyCacheDirectory()
+        .<EncryptionKeyFetchingService>map(
+            directory ->
+                new DiskCachingEncryptionKeyFetchingService(
+                    fetchingService,
+                    Paths.get(directory, coordinatorDirectory),
+                    config.encryptionKeyCacheMaxSizeBytes(),
+                    config.encryptionKeyCacheTtl()))
+        .orElse(fetchingService);
+  }
+
+  /** Provides the bounded executor running the KMS decryptions of private key splits. */
+  @Provides
+  @Singleton
+  @KmsDecryptionExecutor
+  ExecutorService provideKmsDecryptionExecutor() {
+    return MultiPartyHybridEncryptionKeyServiceImpl.newKmsExecutor();
   }
 
   /** Provides a {@code KmsClient} for coordinator A. */
@@ -81,19 +122,13 @@ public final class GcpKmsMultiPartyHybridEncryptionKeyServiceModule
   @CoordinatorAAead
   CloudAeadSelector provideCoordinatorAKmsClient(
       @CoordinatorACredentials GoogleCredentials credentials,
-      GcpKmsHybridEncryptionKeyServiceConfig gcpKmsHybridEncryptionKeyServiceConfig) {
+      GcpKmsHybridEncryptionKeyServiceConfig gcpKmsHybridEncryptionKeyServiceConfig,
+      MetricClient metricClient,
+      @EnableRemoteMetricAggregation Boolean enableRemoteMetricAggregation) {
     if (gcpKmsHybridEncryptionKeyServiceConfig.coordinatorAAead().isPresent()) {
       return (unused) -> gcpKmsHybridEncryptionKeyServiceConfig.coordinatorAAead().get();
     }
-    return (kmsKeyArn) -> {
-      GcpKmsClient client = new GcpKmsClient();
-      try {
-        client.withCredentials(credentials);
-        return client.getAead(kmsKeyArn);
-      } catch (GeneralSecurityException e) {
-        throw new RuntimeException(KeyFetchExceptionUtils.parseGrpcException(e));
-      }
-    };
+    return createKmsAeadSelector("A", credentials, metricClient, enableRemoteMetricAggregation);
   }
 
   /** Provides a {@code KmsClient} for coordinator B. */
@@ -102,18 +137,31 @@ public final class GcpKmsMultiPartyHybridEncryptionKeyServiceModule
   @CoordinatorBAead
   CloudAeadSelector provideCoordinatorBKmsClient(
       @CoordinatorBCredentials GoogleCredentials credentials,
-      GcpKmsHybridEncryptionKeyServiceConfig gcpKmsHybridEncryptionKeyServiceConfig) {
+      GcpKmsHybridEncryptionKeyServiceConfig gcpKmsHybridEncryptionKeyServiceConfig,
+      MetricClient metricClient,
+      @EnableRemoteMetricAggregation Boolean enableRemoteMetricAggregation) {
     if (gcpKmsHybridEncryptionKeyServiceConfig.coordinatorBAead().isPresent()) {
       return (unused) -> gcpKmsHybridEncryptionKeyServiceConfig.coordinatorBAead().get();
     }
-    return (kmsKeyArn) -> {
-      GcpKmsClient client = new GcpKmsClient();
-      try {
-        client.withCredentials(credentials);
-        return client.getAead(kmsKeyArn);
-      } catch (GeneralSecurityException e) {
-        throw new RuntimeException(KeyFetchExceptionUtils.parseGrpcException(e));
-      }
-    };
+    return createKmsAeadSelector("B", credentials, metricClient, enableRemoteMetricAggregation);
+  }
+
+  /**
+   * Returns a selector whose Aeads all use a single KMS client, so the client and its connections
+   * are reused across decryptions instead of being set up for each key.
+   */
+  private static CloudAeadSelector createKmsAeadSelector(
+      String coordinator,
+      GoogleCredentials credentials,
+      MetricClient metricClient,
+      boolean enableRemoteMetricAggregation) {
+    GcpKmsClient client = new GcpKmsClient();
+    try {
+      client.withCredentials(credentials);
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException(KeyFetchExceptionUtils.parseGrpcException(e));
+    }
+    return new CachingCloudAeadSelector(
+        coordinator, client::getAead, metricClient, enableRemoteMetricAggregation);
   }
 }
@@ -24,6 +24,7 @@ public class MetricUtils {
   public static final String METRIC_NAMESPACE = "scp/cryptoclient/metrics";
   public static final String ENCRYPTION_KEY_FETCHING_ERROR_RATE_METRIC_NAME =
       "EncryptionKeyFetchingErrorRate";
+  public static final String KMS_DECRYPT_LATENCY_METRIC_NAME = "KmsDecryptLatency";
 
   public static CustomMetric ConstructEncryptionKeyFetchingErrorRateMetric(
       KeyFetchException exception) {
@@ -36,4 +37,16 @@ public class MetricUtils {
         .addLabel("ErrorReason", exception.getReason().toString())
         .build();
   }
+
+  public static CustomMetric ConstructKmsDecryptLatencyMetric(
+      String coordinator, long latencyMillis) {
+    return CustomMetric.builder()
+        .setNameSpace(METRIC_NAMESPACE)
+        .setName(KMS_DECRYPT_LATENCY_METRIC_NAME)
+        .setValue(latencyMillis)
+        .setUnit("Milliseconds")
+        .setMetricType(MetricType.HISTOGRAM)
+        .addLabel("Coordinator", coordinator)
+        .build();
+  }
 }
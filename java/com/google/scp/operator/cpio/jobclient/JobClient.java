@@ -64,6 +64,18 @@ public interface JobClient {
   @Deprecated
   void appendJobErrorMessage(JobKey jobKey, String error) throws JobClientException;
 
+  /**
+   * Records the location of the latest progress checkpoint of a job being processed, so that a
+   * retry of the job can resume from it. The location is passed back in {@link
+   * Job#checkpointLocation()} when the job is pulled again.
+   *
+   * @param jobKey JobKey of the Job the checkpoint belongs to
+   * @param checkpointLocation location of the checkpoint, e.g. a blob storage URI
+   * @throws JobClientException When the Job's metadata cannot be accessed, if the Job is not
+   *     IN_PROGRESS, or if the location cannot be saved
+   */
+  void recordCheckpoint(JobKey jobKey, String checkpointLocation) throws JobClientException;
+
   /** Represents an exception thrown by the {@code JobClient} class. */
   class JobClientException extends Exception {
 
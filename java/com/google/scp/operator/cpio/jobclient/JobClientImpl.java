@@ -67,6 +67,7 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
@@ -281,6 +282,13 @@ public final class JobClientImpl implements JobClient {
         return Optional.empty();
       }
 
+      if (lifecycleClient.handleScaleInLifecycleActionBeforeJobStart()) {
+        // Release the job to other workers, since this instance is about to terminate.
+        jobQueue.modifyJobProcessingTime(queueItem.get(), Duration.ZERO);
+        Thread.sleep(5000L);
+        return Optional.empty();
+      }
+
       Timestamp processingStartTime = ProtoUtil.toProtoTimestamp(Instant.now(clock));
       JobMetadata.Builder jobMetadataBuilder =
           metadata.get().toBuilder()
@@ -296,6 +304,7 @@ public final class JobClientImpl implements JobClient {
       cache.put(
           toJobKeyString(metadata.get().getJobKey()),
           queueItem.get().toBuilder().setJobProcessingStartTime(processingStartTime).build());
+      reportJobHeartbeat();
 
       logger.info(
           String.format(
@@ -395,6 +404,7 @@ public final class JobClientImpl implements JobClient {
 
       // Remove cache entry for the job so it does not continue to be extended.
       cache.remove(toJobKeyString(jobRetryRequest.getJobKey()));
+      reportJobHeartbeat();
 
       logger.info(
           String.format(
@@ -459,6 +469,7 @@ public final class JobClientImpl implements JobClient {
 
       // Remove cache entry for the job once it is successfully marked as completed.
       cache.remove(jobKey);
+      reportJobHeartbeat();
 
       logger.info(String.format("Successfully marked job %s as completed.", jobKey));
     } catch (JobQueueException | JobMetadataDbException | JobMetadataConflictException e) {
@@ -591,6 +602,46 @@ public final class JobClientImpl implements JobClient {
     }
   }
 
+  @Override
+  public void recordCheckpoint(JobKey jobKey, String checkpointLocation)
+      throws JobClientException {
+    try {
+      Optional<JobMetadata> currentMetadata = metadataDb.getJobMetadata(jobKey.getJobRequestId());
+
+      if (currentMetadata.isEmpty()) {
+        recordJobClientError(ErrorReason.JOB_METADATA_NOT_FOUND);
+        throw new JobClientException(
+            String.format(
+                "Metadata entry for job '%s' was not found, cannot record checkpoint.",
+                toJobKeyString(jobKey)),
+            ErrorReason.JOB_METADATA_NOT_FOUND);
+      }
+
+      if (currentMetadata.get().getJobStatus() != JobStatus.IN_PROGRESS) {
+        throw new JobClientException(
+            String.format(
+                "Metadata entry for job '%s' indicates job is in status %s, "
+                    + "but expected to be IN_PROGRESS.",
+                toJobKeyString(jobKey), currentMetadata.get().getJobStatus()),
+            ErrorReason.WRONG_JOB_STATUS);
+      }
+
+      metadataDb.updateJobMetadata(
+          currentMetadata.get().toBuilder().setCheckpointLocation(checkpointLocation).build());
+
+      logger.info(
+          String.format(
+              "Recorded checkpoint '%s' for job '%s'", checkpointLocation, toJobKeyString(jobKey)));
+    } catch (JobMetadataDbException | JobMetadataConflictException e) {
+      logger.log(
+          Level.SEVERE,
+          String.format("Failed to record checkpoint for job '%s'", toJobKeyString(jobKey)),
+          e);
+      recordJobClientError(ErrorReason.JOB_CHECKPOINT_UPDATE_FAILED);
+      throw new JobClientException(e, ErrorReason.JOB_CHECKPOINT_UPDATE_FAILED);
+    }
+  }
+
   /**
    * Performs initial checks on the job.
    *
@@ -686,6 +737,10 @@ public final class JobClientImpl implements JobClient {
     if (jobMetadata.hasTargetWorkgroup()) {
       resBuilder.setTargetWorkgroup(jobMetadata.getTargetWorkgroup());
     }
+
+    if (jobMetadata.hasCheckpointLocation()) {
+      resBuilder.setCheckpointLocation(jobMetadata.getCheckpointLocation());
+    }
     return resBuilder.build();
   }
 
@@ -743,10 +798,48 @@ public final class JobClientImpl implements JobClient {
 
   private void startJobProcessingExtender() {
     JobProcessingExtenderService jobProcessingExtenderService =
-        new JobProcessingExtenderService(jobQueue, cache);
+        new JobProcessingExtenderService(jobQueue, cache, this::reportJobHeartbeat);
     jobProcessingExtenderService.startAsync();
   }
 
+  /**
+   * Reports the processing start time of the oldest job in progress, or that the worker is idle, so
+   * that scale-in can spare this worker while it is busy, and records the number of jobs in
+   * progress. Failures are only logged.
+   */
+  private void reportJobHeartbeat() {
+    Optional<Instant> jobStartTime =
+        cache.values().stream()
+            .map(queueItem -> ProtoUtil.toJavaInstant(queueItem.getJobProcessingStartTime()))
+            .min(Comparator.naturalOrder());
+    try {
+      lifecycleClient.reportJobHeartbeat(jobStartTime);
+    } catch (LifecycleClientException e) {
+      logger.warning(String.format("Could not report job heartbeat.\n%s", e));
+    }
+    recordJobsInFlight(cache.size());
+  }
+
+  /**
+   * Records the number of jobs this worker is processing as a gauge. The worker scale-in function
+   * sums the latest value of each worker to scale the instance group by the job backlog, so the
+   * gauge is written straight to Cloud Monitoring through the legacy metric client.
+   */
+  private void recordJobsInFlight(int jobsInFlight) {
+    try {
+      legacyMetricClient.recordMetric(
+          CustomMetric.builder()
+              .setNameSpace(METRIC_NAMESPACE)
+              .setName("JobsInFlight")
+              .setValue(jobsInFlight)
+              .setUnit("Count")
+              .setMetricType(MetricType.DOUBLE_GAUGE)
+              .build());
+    } catch (MetricClientException e) {
+      logger.warning(String.format("Could not record jobs in flight.\n%s", e));
+    }
+  }
+
   /** Checks if a job is already being processed and within the job processing timeout. */
   @VisibleForTesting
   boolean isDuplicateJob(Optional<Job> job) {
@@ -35,6 +35,7 @@ public class JobProcessingExtenderService extends AbstractExecutionThreadService
   private boolean shouldRun;
   private ConcurrentHashMap<String, JobQueueItem> jobs;
   private final Duration defaultExtensionDuration = Duration.ofMinutes(5);
+  private final Runnable jobHeartbeat;
 
   /**
    * Periodically goes through the JobClient job cache and extends the job processing timeout for
@@ -42,9 +43,19 @@ public class JobProcessingExtenderService extends AbstractExecutionThreadService
    */
   public JobProcessingExtenderService(
       JobQueue jobQueue, ConcurrentHashMap<String, JobQueueItem> jobs) {
+    this(jobQueue, jobs, () -> {});
+  }
+
+  /**
+   * Extends the job processing timeouts like {@link #JobProcessingExtenderService(JobQueue,
+   * ConcurrentHashMap)}, also running the job heartbeat on each pass while there are jobs.
+   */
+  public JobProcessingExtenderService(
+      JobQueue jobQueue, ConcurrentHashMap<String, JobQueueItem> jobs, Runnable jobHeartbeat) {
     this.jobQueue = jobQueue;
     this.shouldRun = true;
     this.jobs = jobs;
+    this.jobHeartbeat = jobHeartbeat;
   }
 
   @Override
@@ -76,6 +87,9 @@ public class JobProcessingExtenderService extends AbstractExecutionThreadService
                     jobQueueItem.getJobKeyString(), e));
           }
         }
+        if (!jobs.isEmpty()) {
+          jobHeartbeat.run();
+        }
         logger.info("Sleeping the job processing extender service.");
         Thread.sleep(60 * 1000);
       } catch (Exception e) {
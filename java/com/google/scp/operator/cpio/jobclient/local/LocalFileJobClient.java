@@ -147,4 +147,10 @@ final class LocalFileJobClient implements JobClient {
   public void appendJobErrorMessage(JobKey jobKey, String error) throws JobClientException {
     // Requires access to Job Metadata DB to save the error message from Result Info
   }
+
+  @Override
+  public void recordCheckpoint(JobKey jobKey, String checkpointLocation)
+      throws JobClientException {
+    // Local jobs are not retried, so there is nothing to resume from the checkpoint
+  }
 }
@@ -33,6 +33,8 @@ public enum ErrorReason {
   JOB_MARK_COMPLETION_FAILED,
   // Could not update ErrorSummary by appending an error message.
   JOB_ERROR_SUMMARY_UPDATE_FAILED,
+  // Could not record the location of the job's progress checkpoint.
+  JOB_CHECKPOINT_UPDATE_FAILED,
   // The delay was out of range
   JOB_DELAY_OUT_OF_RANGE,
   // The job result has topic id but the enable_job_completion_notifications or
@@ -79,6 +79,10 @@ public abstract class Job {
   @JsonProperty("target_workgroup")
   public abstract Optional<String> targetWorkgroup();
 
+  /** The location of the latest progress checkpoint of a previous attempt of the job. */
+  @JsonProperty("checkpoint_location")
+  public abstract Optional<String> checkpointLocation();
+
   /** Returns a new builder instance from a {@code Job} instance. */
   public abstract Builder toBuilder();
 
@@ -119,6 +123,9 @@ public abstract class Job {
     /** Set the target workgroup for the job. */
     public abstract Builder setTargetWorkgroup(String targetWorkgroup);
 
+    /** Set the location of the latest progress checkpoint of the job. */
+    public abstract Builder setCheckpointLocation(String checkpointLocation);
+
     /** Creates a new instance of the {@code Job} class from the builder. */
     public abstract Job build();
   }
@@ -43,10 +43,13 @@ public class ConstantJobClient implements JobClient {
 
   private JobResult lastJobResultCompleted;
 
+  private Optional<String> lastCheckpointLocation = Optional.empty();
+
   private void reset() {
     returnEmpty = true;
     constantToReturn = null;
     lastJobResultCompleted = null;
+    lastCheckpointLocation = Optional.empty();
     shouldThrowOnGetJob = false;
     shouldThrowOnMarkJobCompleted = false;
     shouldThrowOnAppendJobErrorMessage = false;
@@ -97,6 +100,12 @@ public class ConstantJobClient implements JobClient {
     }
   }
 
+  @Override
+  public void recordCheckpoint(JobKey jobKey, String checkpointLocation)
+      throws JobClientException {
+    lastCheckpointLocation = Optional.of(checkpointLocation);
+  }
+
   /** Set true to return an empty {@code Optional<Job>} from the {@code getJob} method. */
   public void setReturnEmpty() {
     returnEmpty = true;
@@ -113,6 +122,11 @@ public class ConstantJobClient implements JobClient {
     return lastJobResultCompleted;
   }
 
+  /** Returns the location of the last checkpoint that was recorded. */
+  public Optional<String> getLastCheckpointLocation() {
+    return lastCheckpointLocation;
+  }
+
   /** Set true to throw an exception in the {@code getJob} method. */
   public void setShouldThrowOnGetJob(boolean shouldThrowOnGetJob) {
     this.shouldThrowOnGetJob = shouldThrowOnGetJob;
@@ -16,6 +16,7 @@
 
 package com.google.scp.operator.cpio.lifecycleclient;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /** Interface for handling lifecycle of the cloud instance. */
@@ -37,6 +38,26 @@ public interface LifecycleClient {
    */
   boolean handleScaleInLifecycleAction() throws LifecycleClientException;
 
+  /**
+   * Handle scale-in lifecycle action of this cloud instance right before a pulled job is started.
+   * Implementations that cache the lifecycle state should read it again here, so that an instance
+   * marked for termination doesn't start the job.
+   *
+   * @return boolean: True for successful scale-in. False, if there was no scale-in action
+   */
+  default boolean handleScaleInLifecycleActionBeforeJobStart() throws LifecycleClientException {
+    return handleScaleInLifecycleAction();
+  }
+
+  /**
+   * Reports whether this cloud instance is processing a job, so that scale-in can spare busy
+   * instances. Does nothing unless the implementation supports it.
+   *
+   * @param jobStartTime processing start time of the job, or empty if the instance is idle
+   */
+  default void reportJobHeartbeat(Optional<Instant> jobStartTime)
+      throws LifecycleClientException {}
+
   /** Represents an exception thrown by the {@code LifecycleClient} class. */
   final class LifecycleClientException extends Exception {
 
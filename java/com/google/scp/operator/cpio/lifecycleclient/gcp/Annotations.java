@@ -35,6 +35,12 @@ public final class Annotations {
   @Retention(RUNTIME)
   public @interface WorkerManagedInstanceGroupName {}
 
+  /** How long the lifecycle state of the worker instance is reused before it is read again. */
+  @BindingAnnotation
+  @Target({FIELD, PARAMETER, METHOD})
+  @Retention(RUNTIME)
+  public @interface LifecycleStatePollInterval {}
+
   /** The URL of the worker instance. */
   @BindingAnnotation
   @Target({FIELD, PARAMETER, METHOD})
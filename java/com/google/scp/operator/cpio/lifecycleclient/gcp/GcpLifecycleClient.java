@@ -18,44 +18,83 @@ package com.google.scp.operator.cpio.lifecycleclient.gcp;
 
 import static com.google.scp.operator.protos.shared.backend.asginstance.InstanceStatusProto.InstanceStatus.TERMINATING_WAIT;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import com.google.scp.operator.cpio.lifecycleclient.LifecycleClient;
 import com.google.scp.operator.cpio.lifecycleclient.gcp.Annotations.GcpInstanceUrl;
+import com.google.scp.operator.cpio.lifecycleclient.gcp.Annotations.LifecycleStatePollInterval;
 import com.google.scp.operator.protos.shared.backend.asginstance.AsgInstanceProto.AsgInstance;
 import com.google.scp.operator.shared.dao.asginstancesdb.common.AsgInstancesDao;
 import com.google.scp.operator.shared.dao.asginstancesdb.common.AsgInstancesDao.AsgInstanceDaoException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** GCP implementation of {@code LifecycleClient}. */
+/**
+ * GCP implementation of {@code LifecycleClient}.
+ *
+ * <p>The AsgInstances table is read at most once per poll interval, so the scale-in check before
+ * every job pull doesn't add a Spanner read to each pull. The table is read again when the last
+ * read says the instance is marked for termination, and before a pulled job is started, so an
+ * instance marked for termination never starts another job.
+ */
 public final class GcpLifecycleClient implements LifecycleClient {
   private static final Logger logger = LoggerFactory.getLogger(GcpLifecycleClient.class);
 
-  private AsgInstancesDao asgInstancesDao;
-  private GcpInstanceGroupClient instanceGroupClient;
-  private String instanceUrl;
+  private final AsgInstancesDao asgInstancesDao;
+  private final GcpInstanceGroupClient instanceGroupClient;
+  private final String instanceUrl;
+  private final Duration pollInterval;
+  private final Clock clock;
+
+  private Optional<AsgInstance> cachedAsgInstance = Optional.empty();
+  private Instant cachedAsgInstanceReadTime = Instant.MIN;
 
   @Inject
   GcpLifecycleClient(
       AsgInstancesDao asgInstancesDao,
       GcpInstanceGroupClient instanceGroupClient,
-      @GcpInstanceUrl String instanceUrl) {
+      @GcpInstanceUrl String instanceUrl,
+      @LifecycleStatePollInterval Duration pollInterval) {
+    this(asgInstancesDao, instanceGroupClient, instanceUrl, pollInterval, Clock.systemUTC());
+  }
+
+  /** Creates a client reading the lifecycle state on every call. */
+  @VisibleForTesting
+  GcpLifecycleClient(
+      AsgInstancesDao asgInstancesDao,
+      GcpInstanceGroupClient instanceGroupClient,
+      String instanceUrl) {
+    this(asgInstancesDao, instanceGroupClient, instanceUrl, Duration.ZERO, Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  GcpLifecycleClient(
+      AsgInstancesDao asgInstancesDao,
+      GcpInstanceGroupClient instanceGroupClient,
+      String instanceUrl,
+      Duration pollInterval,
+      Clock clock) {
     this.asgInstancesDao = asgInstancesDao;
     this.instanceGroupClient = instanceGroupClient;
     this.instanceUrl = instanceUrl;
+    this.pollInterval = pollInterval;
+    this.clock = clock;
   }
 
   /**
-   * Returns the lifecycle status of the current instance from the AsgInstances table. If no record
-   * is found, then an empty Optional is returned.
+   * Returns the lifecycle status of the current instance from the AsgInstances table, reusing the
+   * last read within the poll interval. If no record is found, then an empty Optional is returned.
    */
   @Override
   public Optional<String> getLifecycleState() throws LifecycleClientException {
     Optional<AsgInstance> asgInstance;
     try {
-      asgInstance = asgInstancesDao.getAsgInstance(instanceUrl);
+      asgInstance = getAsgInstance();
     } catch (AsgInstanceDaoException e) {
       throw new LifecycleClientException(e);
     }
@@ -65,22 +104,77 @@ public final class GcpLifecycleClient implements LifecycleClient {
   }
 
   /**
-   * Checks the AsgInstances table to see if the current instance is a candidate for termination. If
-   * the instance is a candidate for termination, then the delete instance API is called. Otherwise
-   * return false.
+   * Checks the AsgInstances table to see if the current instance is a candidate for termination,
+   * reusing the last read within the poll interval. A cached termination state is confirmed by
+   * reading the table again. If the instance is a candidate for termination, then the delete
+   * instance API is called. Otherwise return false.
    */
   @Override
   public boolean handleScaleInLifecycleAction() throws LifecycleClientException {
     try {
-      Optional<AsgInstance> asgInstance = asgInstancesDao.getAsgInstance(instanceUrl);
-      if (asgInstance.isPresent() && TERMINATING_WAIT.equals(asgInstance.get().getStatus())) {
-        logger.info("Deleting instance: " + asgInstance);
-        instanceGroupClient.deleteInstance();
-        return true;
+      if (!isTerminationCandidate(getAsgInstance())) {
+        return false;
       }
+      return deleteIfTerminationCandidate(readAsgInstance());
+    } catch (AsgInstanceDaoException e) {
+      throw new LifecycleClientException(e);
+    }
+  }
+
+  /**
+   * Reads the AsgInstances table to see if the current instance is a candidate for termination
+   * before a pulled job is started. If it is, then the delete instance API is called.
+   */
+  @Override
+  public boolean handleScaleInLifecycleActionBeforeJobStart() throws LifecycleClientException {
+    try {
+      return deleteIfTerminationCandidate(readAsgInstance());
+    } catch (AsgInstanceDaoException e) {
+      throw new LifecycleClientException(e);
+    }
+  }
+
+  /** Writes the job heartbeat of the instance to the AsgInstances table. */
+  @Override
+  public void reportJobHeartbeat(Optional<Instant> jobStartTime) throws LifecycleClientException {
+    try {
+      asgInstancesDao.updateJobHeartbeat(instanceUrl, jobStartTime, clock.instant());
+    } catch (AsgInstanceDaoException e) {
+      throw new LifecycleClientException(e);
+    }
+  }
+
+  private boolean deleteIfTerminationCandidate(Optional<AsgInstance> asgInstance)
+      throws LifecycleClientException {
+    if (!isTerminationCandidate(asgInstance)) {
       return false;
-    } catch (InterruptedException | ExecutionException | AsgInstanceDaoException e) {
+    }
+    logger.info("Deleting instance: " + asgInstance);
+    try {
+      instanceGroupClient.deleteInstance();
+    } catch (InterruptedException | ExecutionException e) {
       throw new LifecycleClientException(e);
     }
+    return true;
+  }
+
+  private static boolean isTerminationCandidate(Optional<AsgInstance> asgInstance) {
+    return asgInstance.isPresent() && TERMINATING_WAIT.equals(asgInstance.get().getStatus());
+  }
+
+  /** Returns the record of the instance, read again if the last read is older than the interval. */
+  private synchronized Optional<AsgInstance> getAsgInstance() throws AsgInstanceDaoException {
+    Instant now = clock.instant();
+    if (now.isBefore(cachedAsgInstanceReadTime.plus(pollInterval))) {
+      return cachedAsgInstance;
+    }
+    return readAsgInstance();
+  }
+
+  private synchronized Optional<AsgInstance> readAsgInstance() throws AsgInstanceDaoException {
+    Instant now = clock.instant();
+    cachedAsgInstance = asgInstancesDao.getAsgInstance(instanceUrl);
+    cachedAsgInstanceReadTime = now;
+    return cachedAsgInstance;
   }
 }
@@ -16,6 +16,7 @@
 
 package com.google.scp.operator.cpio.lifecycleclient.gcp;
 
+import static com.google.scp.shared.clients.configclient.model.WorkerParameter.LIFECYCLE_STATE_POLL_INTERVAL_SECONDS;
 import static com.google.scp.shared.clients.configclient.model.WorkerParameter.WORKER_MANAGED_INSTANCE_GROUP_NAME;
 
 import com.google.cloud.compute.v1.RegionInstanceGroupManagersClient;
@@ -24,13 +25,17 @@ import com.google.inject.Singleton;
 import com.google.scp.operator.cpio.lifecycleclient.LifecycleClient;
 import com.google.scp.operator.cpio.lifecycleclient.LifecycleModule;
 import com.google.scp.operator.cpio.lifecycleclient.gcp.Annotations.GcpInstanceUrl;
+import com.google.scp.operator.cpio.lifecycleclient.gcp.Annotations.LifecycleStatePollInterval;
 import com.google.scp.operator.cpio.lifecycleclient.gcp.Annotations.WorkerManagedInstanceGroupName;
 import com.google.scp.shared.clients.configclient.ParameterClient;
 import com.google.scp.shared.clients.configclient.ParameterClient.ParameterClientException;
 import com.google.scp.shared.clients.configclient.gcp.Annotations.GcpInstanceName;
 import com.google.scp.shared.clients.configclient.gcp.Annotations.GcpProjectId;
 import com.google.scp.shared.clients.configclient.gcp.Annotations.GcpZone;
+import com.google.scp.shared.clients.configclient.model.ErrorReason;
 import com.google.scp.shared.clients.configclient.model.GetParameterRequest;
+import java.time.Duration;
+import java.util.Optional;
 
 /** Defines dependencies to be used in the GCP Lifecycle Client. */
 public final class GcpLifecycleModule extends LifecycleModule {
@@ -68,6 +73,48 @@ public final class GcpLifecycleModule extends LifecycleModule {
         .orElse("");
   }
 
+  /**
+   * Provides how long the lifecycle state of the instance is reused by {@code getLifecycleState}
+   * before it is read again from the AsgInstances table, 30 seconds unless set by parameter.
+   *
+   * @throws ParameterClientException if the parameter is not a non-negative number of seconds
+   */
+  @Provides
+  @LifecycleStatePollInterval
+  public Duration provideLifecycleStatePollInterval(ParameterClient parameterClient)
+      throws ParameterClientException {
+    Optional<String> seconds =
+        parameterClient.getParameter(
+            GetParameterRequest.builder()
+                .setParamName(LIFECYCLE_STATE_POLL_INTERVAL_SECONDS.name())
+                .setParamPrefix(GetParameterRequest.SCP_PARAM_PREFIX)
+                .setIncludeEnvironmentPrefix(true)
+                .setIncludeWorkgroupPrefix(true)
+                .build());
+    if (seconds.isEmpty()) {
+      return Duration.ofSeconds(30);
+    }
+    long pollIntervalSeconds;
+    try {
+      pollIntervalSeconds = Long.parseLong(seconds.get().trim());
+    } catch (NumberFormatException e) {
+      throw new ParameterClientException(
+          String.format(
+              "%s must be a number of seconds, got '%s'.",
+              LIFECYCLE_STATE_POLL_INTERVAL_SECONDS.name(), seconds.get()),
+          ErrorReason.INVALID_PARAMETER_VALUE,
+          e);
+    }
+    if (pollIntervalSeconds < 0) {
+      throw new ParameterClientException(
+          String.format(
+              "%s must not be negative, got %d.",
+              LIFECYCLE_STATE_POLL_INTERVAL_SECONDS.name(), pollIntervalSeconds),
+          ErrorReason.INVALID_PARAMETER_VALUE);
+    }
+    return Duration.ofSeconds(pollIntervalSeconds);
+  }
+
   /** Provides the GCP Instance URL. */
   @Provides
   @GcpInstanceUrl
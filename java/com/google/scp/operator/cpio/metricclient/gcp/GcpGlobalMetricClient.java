@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.scp.operator.cpio.metricclient.gcp;
+
+import com.google.api.Metric;
+import com.google.api.MetricDescriptor.MetricKind;
+import com.google.api.MetricDescriptor.ValueType;
+import com.google.api.MonitoredResource;
+import com.google.api.gax.rpc.ApiException;
+import com.google.cloud.monitoring.v3.MetricServiceClient;
+import com.google.monitoring.v3.CreateTimeSeriesRequest;
+import com.google.monitoring.v3.Point;
+import com.google.monitoring.v3.ProjectName;
+import com.google.monitoring.v3.TimeInterval;
+import com.google.monitoring.v3.TimeSeries;
+import com.google.monitoring.v3.TypedValue;
+import com.google.protobuf.util.Timestamps;
+import com.google.scp.operator.cpio.metricclient.MetricClient;
+import com.google.scp.operator.cpio.metricclient.model.CustomMetric;
+import com.google.scp.operator.cpio.metricclient.model.MetricType;
+import io.grpc.StatusRuntimeException;
+
+/**
+ * {@code MetricClient} implementation for GCP services that do not run on a Compute Engine
+ * instance, such as cloud functions. Gauges are written to the global monitored resource of the
+ * project, under the same metric types as {@link GcpMetricClient}.
+ */
+public final class GcpGlobalMetricClient implements MetricClient {
+
+  private final MetricServiceClient msClient;
+  private final String projectId;
+  private final String environment;
+
+  /** Creates a new instance of the {@code GcpGlobalMetricClient} class. */
+  public GcpGlobalMetricClient(
+      MetricServiceClient msClient, String projectId, String environment) {
+    this.msClient = msClient;
+    this.projectId = projectId;
+    this.environment = environment;
+  }
+
+  @Override
+  public void recordMetric(CustomMetric metric) throws MetricClientException {
+    if (metric.metricType() != MetricType.DOUBLE_GAUGE) {
+      throw new MetricClientException(
+          "Metric type " + metric.metricType().toString() + " not supported.");
+    }
+    String metricType =
+        String.format(
+            "custom.googleapis.com/%s/%s/%s",
+            metric.nameSpace(), environment, metric.name().replace(' ', '_').toLowerCase());
+    TimeSeries timeSeries =
+        TimeSeries.newBuilder()
+            .setMetric(Metric.newBuilder().setType(metricType).putAllLabels(metric.labels()))
+            .setResource(
+                MonitoredResource.newBuilder().setType("global").putLabels("project_id", projectId))
+            .addPoints(
+                Point.newBuilder()
+                    .setInterval(
+                        TimeInterval.newBuilder()
+                            .setEndTime(Timestamps.fromMillis(System.currentTimeMillis())))
+                    .setValue(TypedValue.newBuilder().setDoubleValue(metric.value())))
+            .setValueType(ValueType.DOUBLE)
+            .setMetricKind(MetricKind.GAUGE)
+            .build();
+    try {
+      msClient.createTimeSeries(
+          CreateTimeSeriesRequest.newBuilder()
+              .setName(ProjectName.of(projectId).toString())
+              .addTimeSeries(timeSeries)
+              .build());
+    } catch (ApiException | StatusRuntimeException e) {
+      throw new MetricClientException(e);
+    }
+  }
+}
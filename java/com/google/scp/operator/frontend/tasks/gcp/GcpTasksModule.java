@@ -26,6 +26,7 @@ import com.google.scp.operator.frontend.tasks.PutJobTask;
 import com.google.scp.operator.frontend.tasks.validation.JobRequestIdCharactersValidator;
 import com.google.scp.operator.frontend.tasks.validation.JobRequestIdLengthValidator;
 import com.google.scp.operator.frontend.tasks.validation.RequestInfoValidator;
+import com.google.scp.operator.frontend.tasks.validation.ResultFileParametersValidator;
 import java.time.Clock;
 
 /** Defines dependencies for GCP implementation of FrontendService Tasks. */
@@ -53,5 +54,6 @@ public final class GcpTasksModule extends AbstractModule {
 
     requestInfoValidatorMultibinder.addBinding().to(JobRequestIdCharactersValidator.class);
     requestInfoValidatorMultibinder.addBinding().to(JobRequestIdLengthValidator.class);
+    requestInfoValidatorMultibinder.addBinding().to(ResultFileParametersValidator.class);
   }
 }
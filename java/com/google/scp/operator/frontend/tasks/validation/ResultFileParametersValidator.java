@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.frontend.tasks.validation;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.collect.ImmutableList;
+import com.google.scp.operator.protos.shared.backend.RequestInfoProto.RequestInfo;
+import com.google.scp.protocol.avro.AvroWriterOptions.Codec;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Validates the job parameters selecting the codec and block size of Avro result files, so that a
+ * job that the worker could not write results for is rejected when it is created.
+ */
+public final class ResultFileParametersValidator implements RequestInfoValidator {
+
+  /** Job parameter naming the codec of the result file, read by the worker's result writer. */
+  static final String CODEC_JOB_PARAMETER = "outputAvroCodec";
+
+  /** Job parameter with the block size of the result file, read by the worker's result writer. */
+  static final String SYNC_INTERVAL_JOB_PARAMETER = "outputAvroSyncInterval";
+
+  // Block size limits of the Avro library.
+  private static final int MIN_SYNC_INTERVAL = 32;
+  private static final int MAX_SYNC_INTERVAL = 1 << 30;
+
+  private static final ImmutableList<String> CODEC_NAMES =
+      Arrays.stream(Codec.values())
+          .map(codec -> codec.name().toLowerCase(Locale.ROOT))
+          .collect(toImmutableList());
+
+  @Override
+  public Optional<String> validate(RequestInfo requestInfo) {
+    String codec = requestInfo.getJobParametersOrDefault(CODEC_JOB_PARAMETER, null);
+    if (codec != null && !CODEC_NAMES.contains(codec.toLowerCase(Locale.ROOT))) {
+      return Optional.of(
+          String.format(
+              "%s '%s' is not supported. Supported codecs are %s",
+              CODEC_JOB_PARAMETER, codec, CODEC_NAMES));
+    }
+
+    String syncInterval = requestInfo.getJobParametersOrDefault(SYNC_INTERVAL_JOB_PARAMETER, null);
+    if (syncInterval != null && !isValidSyncInterval(syncInterval)) {
+      return Optional.of(
+          String.format(
+              "%s must be a number of bytes between %d and %d, value provided was '%s'",
+              SYNC_INTERVAL_JOB_PARAMETER, MIN_SYNC_INTERVAL, MAX_SYNC_INTERVAL, syncInterval));
+    }
+    return Optional.empty();
+  }
+
+  private static boolean isValidSyncInterval(String syncInterval) {
+    try {
+      int bytes = Integer.parseInt(syncInterval);
+      return bytes >= MIN_SYNC_INTERVAL && bytes <= MAX_SYNC_INTERVAL;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+}
@@ -17,6 +17,7 @@
 package com.google.scp.operator.shared.dao.asginstancesdb.common;
 
 import com.google.scp.operator.protos.shared.backend.asginstance.AsgInstanceProto.AsgInstance;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -67,6 +68,42 @@ public interface AsgInstancesDao {
    */
   void updateAsgInstance(AsgInstance asgInstance) throws AsgInstanceDaoException;
 
+  /**
+   * Inserts or updates the instance entries, like {@link #upsertAsgInstance} but with as few
+   * writes as the implementation allows.
+   *
+   * @throws AsgInstanceDaoException for failures to write; entries may have been partially written
+   */
+  default void upsertAsgInstances(List<AsgInstance> asgInstances) throws AsgInstanceDaoException {
+    for (AsgInstance asgInstance : asgInstances) {
+      upsertAsgInstance(asgInstance);
+    }
+  }
+
+  /**
+   * Updates the existing instance entries, like {@link #updateAsgInstance} but with as few
+   * transactions as the implementation allows.
+   *
+   * @throws AsgInstanceDaoException for failures to write, including records that don't exist;
+   *     entries may have been partially updated
+   */
+  default void updateAsgInstances(List<AsgInstance> asgInstances) throws AsgInstanceDaoException {
+    for (AsgInstance asgInstance : asgInstances) {
+      updateAsgInstance(asgInstance);
+    }
+  }
+
+  /**
+   * Records the start time of the job the instance is processing, with the heartbeat time, or that
+   * the instance is idle if the job start time is empty. Instances without a record get an {@code
+   * ACTIVE} record; the status of existing records is left unchanged.
+   *
+   * @throws AsgInstanceDaoException for failures to write
+   */
+  void updateJobHeartbeat(
+      String instanceName, Optional<Instant> jobStartTime, Instant heartbeatTime)
+      throws AsgInstanceDaoException;
+
   /** Represents an exception thrown by the {@code AsgInstanceDao} class. */
   public class AsgInstanceDaoException extends Exception {
     /** Creates a new instance of the {@code AsgInstanceDaoException} class. */
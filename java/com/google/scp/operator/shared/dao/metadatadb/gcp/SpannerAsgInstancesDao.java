@@ -18,6 +18,8 @@ package com.google.scp.operator.shared.dao.metadatadb.gcp;
 
 import static com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerAsgInstancesDao.SpannerAsgInstancesTableColumn.INSTANCE_GROUP_NAME;
 import static com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerAsgInstancesDao.SpannerAsgInstancesTableColumn.INSTANCE_NAME;
+import static com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerAsgInstancesDao.SpannerAsgInstancesTableColumn.JOB_HEARTBEAT_TIME;
+import static com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerAsgInstancesDao.SpannerAsgInstancesTableColumn.JOB_START_TIME;
 import static com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerAsgInstancesDao.SpannerAsgInstancesTableColumn.REQUEST_TIME;
 import static com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerAsgInstancesDao.SpannerAsgInstancesTableColumn.STATUS;
 import static com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerAsgInstancesDao.SpannerAsgInstancesTableColumn.TERMINATION_REASON;
@@ -29,11 +31,14 @@ import static java.lang.annotation.ElementType.PARAMETER;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.ResultSet;
 import com.google.cloud.spanner.SpannerException;
 import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.inject.BindingAnnotation;
 import com.google.inject.Inject;
 import com.google.protobuf.Timestamp;
@@ -44,10 +49,13 @@ import com.google.scp.operator.shared.dao.asginstancesdb.common.AsgInstancesDao;
 import com.google.scp.operator.shared.dao.metadatadb.common.JobMetadataDb.JobMetadataDbClient;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +66,15 @@ public class SpannerAsgInstancesDao implements AsgInstancesDao {
   /** Table name for the autoscaling group instances DB. */
   public static final String TABLE_NAME = "AsgInstances";
 
+  /**
+   * Maximum number of instances written per commit. Each instance takes 7 of the 80,000 mutations
+   * Spanner allows per commit.
+   */
+  static final int MAX_INSTANCES_PER_TRANSACTION = 1000;
+
+  /** Time after their last job heartbeat at which records of active instances are deleted. */
+  static final Duration ACTIVE_INSTANCE_TTL = Duration.ofDays(7);
+
   private final DatabaseClient dbClient;
 
   /** Creates a new instance of the {@code SpannerAsgInstancesDao} class. */
@@ -167,38 +184,7 @@ public class SpannerAsgInstancesDao implements AsgInstancesDao {
   @Override
   public void upsertAsgInstance(AsgInstance asgInstance) throws AsgInstanceDaoException {
     try {
-      com.google.cloud.Timestamp ttl =
-          com.google.cloud.Timestamp.ofTimeSecondsAndNanos(
-              TimeUnit.SECONDS.convert(asgInstance.getTtl(), TimeUnit.SECONDS), 0);
-
-      ImmutableList<Mutation> inserts =
-          ImmutableList.of(
-              Mutation.newInsertOrUpdateBuilder(TABLE_NAME)
-                  .set(INSTANCE_NAME.label)
-                  .to(asgInstance.getInstanceName())
-                  .set(STATUS.label)
-                  .to(asgInstance.getStatus().toString())
-                  .set(REQUEST_TIME.label)
-                  .to(com.google.cloud.Timestamp.fromProto(asgInstance.getRequestTime()))
-                  .set(TERMINATION_TIME.label)
-                  .to(
-                      asgInstance.hasTerminationTime()
-                          ? com.google.cloud.Timestamp.fromProto(asgInstance.getTerminationTime())
-                          : null)
-                  .set(TTL.label)
-                  .to(ttl)
-                  .set(TERMINATION_REASON.label)
-                  .to(
-                      asgInstance.hasTerminationReason()
-                          ? asgInstance.getTerminationReason().toString()
-                          : null)
-                  .set(INSTANCE_GROUP_NAME.label)
-                  .to(
-                      asgInstance.hasInstanceGroupName()
-                          ? asgInstance.getInstanceGroupName()
-                          : null)
-                  .build());
-      dbClient.write(inserts);
+      dbClient.write(ImmutableList.of(toInsertOrUpdateMutation(asgInstance)));
       logger.info(
           String.format(
               "Wrote instance '%s' to autoscaling group instances db.",
@@ -208,49 +194,113 @@ public class SpannerAsgInstancesDao implements AsgInstancesDao {
     }
   }
 
+  /**
+   * Writes the instances in one commit per {@value #MAX_INSTANCES_PER_TRANSACTION} instances,
+   * keeping each commit well below the Spanner mutation limit.
+   */
+  @Override
+  public void upsertAsgInstances(List<AsgInstance> asgInstances) throws AsgInstanceDaoException {
+    try {
+      for (List<AsgInstance> batch : Lists.partition(asgInstances, MAX_INSTANCES_PER_TRANSACTION)) {
+        dbClient.write(
+            batch.stream()
+                .map(SpannerAsgInstancesDao::toInsertOrUpdateMutation)
+                .collect(ImmutableList.toImmutableList()));
+        logger.info(
+            String.format(
+                "Wrote %d instances to autoscaling group instances db: %s",
+                batch.size(), instanceNames(batch)));
+      }
+    } catch (SpannerException e) {
+      throw new AsgInstanceDaoException(e);
+    }
+  }
+
   /**
    * Updates an AsgInstance record. Spanner API will throw an exception if the instance record does
    * not exist.
    */
   @Override
   public void updateAsgInstance(AsgInstance asgInstance) throws AsgInstanceDaoException {
+    updateAsgInstances(ImmutableList.of(asgInstance));
+  }
+
+  /**
+   * Updates the AsgInstance records in one transaction per {@value
+   * #MAX_INSTANCES_PER_TRANSACTION} instances. Spanner API will throw an exception, failing the
+   * transaction, if any of its instance records does not exist.
+   */
+  @Override
+  public void updateAsgInstances(List<AsgInstance> asgInstances) throws AsgInstanceDaoException {
+    try {
+      for (List<AsgInstance> batch : Lists.partition(asgInstances, MAX_INSTANCES_PER_TRANSACTION)) {
+        ImmutableList<Mutation> updates =
+            batch.stream()
+                .map(SpannerAsgInstancesDao::toUpdateMutation)
+                .collect(ImmutableList.toImmutableList());
+        dbClient
+            .readWriteTransaction()
+            .run(
+                transaction -> {
+                  logger.debug("Buffering spanner updates: " + updates);
+                  transaction.buffer(updates);
+                  return null;
+                });
+        logger.info(
+            String.format(
+                "Updated %d instances in spanner autoscaling group instances db: %s",
+                batch.size(), instanceNames(batch)));
+      }
+    } catch (SpannerException e) {
+      throw new AsgInstanceDaoException(e);
+    }
+  }
+
+  /**
+   * Writes the job heartbeat columns of the instance record, inserting an {@code ACTIVE} record
+   * with the heartbeat time as request time if there is none. Records of active instances expire
+   * {@link #ACTIVE_INSTANCE_TTL} after their last heartbeat.
+   */
+  @Override
+  public void updateJobHeartbeat(
+      String instanceName, Optional<Instant> jobStartTime, Instant heartbeatTime)
+      throws AsgInstanceDaoException {
     try {
       dbClient
           .readWriteTransaction()
           .run(
               transaction -> {
-                ImmutableList<Mutation> updates =
-                    ImmutableList.of(
-                        Mutation.newUpdateBuilder(TABLE_NAME)
-                            .set(INSTANCE_NAME.label)
-                            .to(asgInstance.getInstanceName())
-                            .set(STATUS.label)
-                            .to(asgInstance.getStatus().toString())
-                            .set(REQUEST_TIME.label)
-                            .to(com.google.cloud.Timestamp.fromProto(asgInstance.getRequestTime()))
-                            .set(TERMINATION_TIME.label)
-                            .to(
-                                asgInstance.hasTerminationTime()
-                                    ? com.google.cloud.Timestamp.fromProto(
-                                        asgInstance.getTerminationTime())
-                                    : null)
-                            .set(TERMINATION_REASON.label)
-                            .to(
-                                asgInstance.hasTerminationReason()
-                                    ? asgInstance.getTerminationReason().toString()
-                                    : null)
-                            .set(INSTANCE_GROUP_NAME.label)
-                            .to(
-                                asgInstance.hasInstanceGroupName()
-                                    ? asgInstance.getInstanceGroupName()
-                                    : null)
-                            .build());
-                logger.debug("Buffering spanner updates: " + updates);
-                transaction.buffer(updates);
-                logger.info(
-                    String.format(
-                        "Updated instance '%s' in spanner autoscaling group instances db.",
-                        asgInstance.getInstanceName()));
+                Struct row =
+                    transaction.readRow(
+                        TABLE_NAME, Key.of(instanceName), ImmutableList.of(STATUS.label));
+                if (row == null && jobStartTime.isEmpty()) {
+                  return null;
+                }
+                Mutation.WriteBuilder mutation;
+                if (row == null) {
+                  mutation =
+                      Mutation.newInsertBuilder(TABLE_NAME)
+                          .set(STATUS.label)
+                          .to(InstanceStatus.ACTIVE.toString())
+                          .set(REQUEST_TIME.label)
+                          .to(toSpannerTimestamp(heartbeatTime));
+                } else {
+                  mutation = Mutation.newUpdateBuilder(TABLE_NAME);
+                }
+                mutation
+                    .set(INSTANCE_NAME.label)
+                    .to(instanceName)
+                    .set(JOB_START_TIME.label)
+                    .to(jobStartTime.map(SpannerAsgInstancesDao::toSpannerTimestamp).orElse(null))
+                    .set(JOB_HEARTBEAT_TIME.label)
+                    .to(jobStartTime.isPresent() ? toSpannerTimestamp(heartbeatTime) : null);
+                if (row == null
+                    || InstanceStatus.ACTIVE.toString().equals(row.getString(STATUS.label))) {
+                  mutation
+                      .set(TTL.label)
+                      .to(toSpannerTimestamp(heartbeatTime.plus(ACTIVE_INSTANCE_TTL)));
+                }
+                transaction.buffer(mutation.build());
                 return null;
               });
     } catch (SpannerException e) {
@@ -258,6 +308,66 @@ public class SpannerAsgInstancesDao implements AsgInstancesDao {
     }
   }
 
+  private static com.google.cloud.Timestamp toSpannerTimestamp(Instant instant) {
+    return com.google.cloud.Timestamp.ofTimeSecondsAndNanos(
+        instant.getEpochSecond(), instant.getNano());
+  }
+
+  private static Mutation toInsertOrUpdateMutation(AsgInstance asgInstance) {
+    com.google.cloud.Timestamp ttl =
+        com.google.cloud.Timestamp.ofTimeSecondsAndNanos(
+            TimeUnit.SECONDS.convert(asgInstance.getTtl(), TimeUnit.SECONDS), 0);
+    return Mutation.newInsertOrUpdateBuilder(TABLE_NAME)
+        .set(INSTANCE_NAME.label)
+        .to(asgInstance.getInstanceName())
+        .set(STATUS.label)
+        .to(asgInstance.getStatus().toString())
+        .set(REQUEST_TIME.label)
+        .to(com.google.cloud.Timestamp.fromProto(asgInstance.getRequestTime()))
+        .set(TERMINATION_TIME.label)
+        .to(
+            asgInstance.hasTerminationTime()
+                ? com.google.cloud.Timestamp.fromProto(asgInstance.getTerminationTime())
+                : null)
+        .set(TTL.label)
+        .to(ttl)
+        .set(TERMINATION_REASON.label)
+        .to(
+            asgInstance.hasTerminationReason()
+                ? asgInstance.getTerminationReason().toString()
+                : null)
+        .set(INSTANCE_GROUP_NAME.label)
+        .to(asgInstance.hasInstanceGroupName() ? asgInstance.getInstanceGroupName() : null)
+        .build();
+  }
+
+  private static Mutation toUpdateMutation(AsgInstance asgInstance) {
+    return Mutation.newUpdateBuilder(TABLE_NAME)
+        .set(INSTANCE_NAME.label)
+        .to(asgInstance.getInstanceName())
+        .set(STATUS.label)
+        .to(asgInstance.getStatus().toString())
+        .set(REQUEST_TIME.label)
+        .to(com.google.cloud.Timestamp.fromProto(asgInstance.getRequestTime()))
+        .set(TERMINATION_TIME.label)
+        .to(
+            asgInstance.hasTerminationTime()
+                ? com.google.cloud.Timestamp.fromProto(asgInstance.getTerminationTime())
+                : null)
+        .set(TERMINATION_REASON.label)
+        .to(
+            asgInstance.hasTerminationReason()
+                ? asgInstance.getTerminationReason().toString()
+                : null)
+        .set(INSTANCE_GROUP_NAME.label)
+        .to(asgInstance.hasInstanceGroupName() ? asgInstance.getInstanceGroupName() : null)
+        .build();
+  }
+
+  private static List<String> instanceNames(List<AsgInstance> asgInstances) {
+    return asgInstances.stream().map(AsgInstance::getInstanceName).collect(Collectors.toList());
+  }
+
   private AsgInstance convertResultSetToAsgInstance(ResultSet resultSet) {
     String computeInstanceId = resultSet.getString(INSTANCE_NAME.label);
     String status = resultSet.getString(STATUS.label);
@@ -285,9 +395,28 @@ public class SpannerAsgInstancesDao implements AsgInstancesDao {
       asgInstanceBuilder.setInstanceGroupName(resultSet.getString(INSTANCE_GROUP_NAME.label));
     }
 
+    if (hasValue(resultSet, JOB_START_TIME.label)) {
+      asgInstanceBuilder.setJobStartTime(resultSet.getTimestamp(JOB_START_TIME.label).toProto());
+    }
+
+    if (hasValue(resultSet, JOB_HEARTBEAT_TIME.label)) {
+      asgInstanceBuilder.setJobHeartbeatTime(
+          resultSet.getTimestamp(JOB_HEARTBEAT_TIME.label).toProto());
+    }
+
     return asgInstanceBuilder.build();
   }
 
+  /**
+   * Returns whether the column is in the result and not null. Tables created before a column was
+   * added don't have it until the schema is updated.
+   */
+  private static boolean hasValue(ResultSet resultSet, String column) {
+    return resultSet.getType().getStructFields().stream()
+            .anyMatch(field -> field.getName().equals(column))
+        && !resultSet.isNull(column);
+  }
+
   /** Column names for the Spanner autoscaling group instances table. */
   enum SpannerAsgInstancesTableColumn {
     INSTANCE_NAME("InstanceName"),
@@ -296,7 +425,9 @@ public class SpannerAsgInstancesDao implements AsgInstancesDao {
     TERMINATION_TIME("TerminationTime"),
     TTL("Ttl"),
     TERMINATION_REASON("TerminationReason"),
-    INSTANCE_GROUP_NAME("InstanceGroupName");
+    INSTANCE_GROUP_NAME("InstanceGroupName"),
+    JOB_START_TIME("JobStartTime"),
+    JOB_HEARTBEAT_TIME("JobHeartbeatTime");
 
     /** Value of a {@code SpannerAsgInstancesTableColumn} constant. */
     public final String label;
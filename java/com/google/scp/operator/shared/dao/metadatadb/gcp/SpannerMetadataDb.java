@@ -16,6 +16,7 @@
 
 package com.google.scp.operator.shared.dao.metadatadb.gcp;
 
+import static com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerMetadataDb.SpannerJobMetadataTableColumn.CHECKPOINT_LOCATION_COLUMN;
 import static com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerMetadataDb.SpannerJobMetadataTableColumn.JOB_KEY_COLUMN;
 import static com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerMetadataDb.SpannerJobMetadataTableColumn.JOB_STATUS_COLUMN;
 import static com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerMetadataDb.SpannerJobMetadataTableColumn.NUM_ATTEMPTS_COLUMN;
@@ -162,6 +163,10 @@ public final class SpannerMetadataDb implements JobMetadataDb {
         insertBuilder.set(TARGET_WORKGROUP_COLUMN.label).to(jobMetadata.getTargetWorkgroup());
       }
 
+      if (jobMetadata.hasCheckpointLocation()) {
+        insertBuilder.set(CHECKPOINT_LOCATION_COLUMN.label).to(jobMetadata.getCheckpointLocation());
+      }
+
       ImmutableList<Mutation> inserts = ImmutableList.of(insertBuilder.build());
       logger.debug("executing spanner inserts: " + inserts);
       dbClient.write(inserts);
@@ -248,6 +253,12 @@ public final class SpannerMetadataDb implements JobMetadataDb {
                         .to(jobMetadata.getTargetWorkgroup());
                   }
 
+                  if (jobMetadata.hasCheckpointLocation()) {
+                    updateBuilder
+                        .set(CHECKPOINT_LOCATION_COLUMN.label)
+                        .to(jobMetadata.getCheckpointLocation());
+                  }
+
                   ImmutableList<Mutation> updates = ImmutableList.of(updateBuilder.build());
                   logger.debug("Buffering spanner updates: " + updates);
                   transaction.buffer(updates);
@@ -315,6 +326,11 @@ public final class SpannerMetadataDb implements JobMetadataDb {
       String targetWorkgroup = resultSet.getString(TARGET_WORKGROUP_COLUMN.label);
       jobMetadataBuilder.setTargetWorkgroup(targetWorkgroup);
     }
+
+    if (!resultSet.isNull(CHECKPOINT_LOCATION_COLUMN.label)) {
+      String checkpointLocation = resultSet.getString(CHECKPOINT_LOCATION_COLUMN.label);
+      jobMetadataBuilder.setCheckpointLocation(checkpointLocation);
+    }
     return jobMetadataBuilder.build();
   }
 
@@ -330,7 +346,8 @@ public final class SpannerMetadataDb implements JobMetadataDb {
     REQUEST_UPDATED_AT_COLUMN("RequestUpdatedAt"),
     TTL("Ttl"),
     REQUEST_PROCESSING_STARTED_AT("RequestProcessingStartedAt"),
-    TARGET_WORKGROUP_COLUMN("TargetWorkgroup");
+    TARGET_WORKGROUP_COLUMN("TargetWorkgroup"),
+    CHECKPOINT_LOCATION_COLUMN("CheckpointLocation");
 
     /** Value of a {@code SpannerJobMetadataTableColumn} constant. */
     public final String label;
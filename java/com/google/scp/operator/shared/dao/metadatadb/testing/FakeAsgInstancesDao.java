@@ -17,7 +17,10 @@
 package com.google.scp.operator.shared.dao.metadatadb.testing;
 
 import com.google.scp.operator.protos.shared.backend.asginstance.AsgInstanceProto.AsgInstance;
+import com.google.scp.operator.protos.shared.backend.asginstance.InstanceStatusProto.InstanceStatus;
 import com.google.scp.operator.shared.dao.asginstancesdb.common.AsgInstancesDao;
+import com.google.scp.shared.proto.ProtoUtil;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -30,9 +33,13 @@ public class FakeAsgInstancesDao implements AsgInstancesDao {
   private Optional<AsgInstance> asgInstanceToReturn;
   private Optional<AsgInstance> asgInstanceToReturnWithInstanceGroupName;
   private String lastInstanceNameLookedUp;
+  private int lookupCount;
   private AsgInstance lastInstanceInserted;
   private AsgInstance lastInstanceUpdated;
   private Map<String, Integer> zoneToInstanceCountMap;
+  private Map<String, AsgInstance> activeInstances;
+  private int upsertBatchCount;
+  private int updateBatchCount;
 
   private boolean shouldThrowAsgInstancesDaoException;
 
@@ -47,6 +54,7 @@ public class FakeAsgInstancesDao implements AsgInstancesDao {
           new IllegalStateException("Was set to throw (shouldThrowAsgInstancesDaoException)"));
     }
     lastInstanceNameLookedUp = instanceName;
+    lookupCount++;
     return asgInstanceToReturn;
   }
 
@@ -56,6 +64,9 @@ public class FakeAsgInstancesDao implements AsgInstancesDao {
       throw new AsgInstanceDaoException(
           new IllegalStateException("Was set to throw (shouldThrowAsgInstancesDaoException)"));
     }
+    if (InstanceStatus.ACTIVE.toString().equals(status)) {
+      return new ArrayList<>(activeInstances.values());
+    }
 
     List<AsgInstance> asgInstanceList = new ArrayList<>();
     if (asgInstanceToReturn.isPresent()) {
@@ -111,6 +122,47 @@ public class FakeAsgInstancesDao implements AsgInstancesDao {
     lastInstanceUpdated = asgInstance;
   }
 
+  @Override
+  public void upsertAsgInstances(List<AsgInstance> asgInstances) throws AsgInstanceDaoException {
+    upsertBatchCount++;
+    AsgInstancesDao.super.upsertAsgInstances(asgInstances);
+  }
+
+  @Override
+  public void updateAsgInstances(List<AsgInstance> asgInstances) throws AsgInstanceDaoException {
+    updateBatchCount++;
+    AsgInstancesDao.super.updateAsgInstances(asgInstances);
+  }
+
+  @Override
+  public void updateJobHeartbeat(
+      String instanceName, Optional<Instant> jobStartTime, Instant heartbeatTime)
+      throws AsgInstanceDaoException {
+    if (shouldThrowAsgInstancesDaoException) {
+      throw new AsgInstanceDaoException(
+          new IllegalStateException("Was set to throw (shouldThrowAsgInstancesDaoException)"));
+    }
+    AsgInstance.Builder activeInstance =
+        AsgInstance.newBuilder()
+            .setInstanceName(instanceName)
+            .setStatus(InstanceStatus.ACTIVE)
+            .setRequestTime(ProtoUtil.toProtoTimestamp(heartbeatTime));
+    if (jobStartTime.isPresent()) {
+      activeInstance
+          .setJobStartTime(ProtoUtil.toProtoTimestamp(jobStartTime.get()))
+          .setJobHeartbeatTime(ProtoUtil.toProtoTimestamp(heartbeatTime));
+    }
+    activeInstances.put(instanceName, activeInstance.build());
+  }
+
+  /**
+   * Get the {@code ACTIVE} instance records written by the {@code updateJobHeartbeat} method, by
+   * instance name.
+   */
+  public Map<String, AsgInstance> getActiveInstances() {
+    return activeInstances;
+  }
+
   /** Set the asg instance to be returned from the {@code getAsgInstances} method. */
   public void setAsgInstanceToReturn(Optional<AsgInstance> asgInstanceToReturn) {
     this.asgInstanceToReturn = asgInstanceToReturn;
@@ -131,6 +183,21 @@ public class FakeAsgInstancesDao implements AsgInstancesDao {
     return lastInstanceUpdated;
   }
 
+  /** Get the number of calls to the {@code getAsgInstance} method. */
+  public int getLookupCount() {
+    return lookupCount;
+  }
+
+  /** Get the number of calls to the {@code upsertAsgInstances} method. */
+  public int getUpsertBatchCount() {
+    return upsertBatchCount;
+  }
+
+  /** Get the number of calls to the {@code updateAsgInstances} method. */
+  public int getUpdateBatchCount() {
+    return updateBatchCount;
+  }
+
   /** Get the zone to instance count map. */
   public Map<String, Integer> getZoneToInstanceCountMap() {
     return zoneToInstanceCountMap;
@@ -149,9 +216,13 @@ public class FakeAsgInstancesDao implements AsgInstancesDao {
     asgInstanceToReturn = Optional.empty();
     asgInstanceToReturnWithInstanceGroupName = Optional.empty();
     lastInstanceNameLookedUp = null;
+    lookupCount = 0;
     lastInstanceInserted = null;
     lastInstanceUpdated = null;
     shouldThrowAsgInstancesDaoException = false;
     zoneToInstanceCountMap = new HashMap<>();
+    activeInstances = new HashMap<>();
+    upsertBatchCount = 0;
+    updateBatchCount = 0;
   }
 }
@@ -48,5 +48,23 @@ public final class Annotations {
   @Retention(RUNTIME)
   public @interface BenchmarkMode {}
 
+  /**
+   * Annotation for the number of bytes reports may take up between the read, decrypt and write
+   * stages of a job, or 0 to process reports on a single thread without a budget.
+   */
+  @BindingAnnotation
+  @Target({FIELD, PARAMETER, METHOD})
+  @Retention(RUNTIME)
+  public @interface JobMemoryBudgetBytes {}
+
+  /**
+   * Annotation for the number of reports a job processes between progress checkpoints, or 0 to
+   * process jobs without checkpoints.
+   */
+  @BindingAnnotation
+  @Target({FIELD, PARAMETER, METHOD})
+  @Retention(RUNTIME)
+  public @interface JobCheckpointIntervalReports {}
+
   private Annotations() {}
 }
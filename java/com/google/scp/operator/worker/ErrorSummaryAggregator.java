@@ -25,6 +25,8 @@ import com.google.scp.operator.protos.shared.backend.ErrorCountProto.ErrorCount;
 import com.google.scp.operator.protos.shared.backend.ErrorSummaryProto.ErrorSummary;
 import com.google.scp.operator.worker.model.DecryptionResult;
 import com.google.scp.operator.worker.model.ErrorMessage;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Aggregates {@code DecryptionResults} that have errors present so they can be summarized and
@@ -55,6 +57,11 @@ public final class ErrorSummaryAggregator {
               .build();
     }
 
+    return createErrorSummary(errorCounts);
+  }
+
+  /** Creates an {@code ErrorSummary} from error counts by category. */
+  public static ErrorSummary createErrorSummary(Map<String, Long> errorCounts) {
     return ErrorSummary.newBuilder()
         .addAllErrorCounts(
             errorCounts.entrySet().stream()
@@ -67,4 +74,61 @@ public final class ErrorSummaryAggregator {
                 .collect(toImmutableList()))
         .build();
   }
+
+  /**
+   * Adds the error counts of an {@code ErrorSummary} to error counts by category, e.g. to sum up
+   * the errors of several parts of a job.
+   */
+  public static ImmutableMap<String, Long> addErrorCounts(
+      Map<String, Long> errorCounts, ErrorSummary errorSummary) {
+    Map<String, Long> sum = new LinkedHashMap<>(errorCounts);
+    for (ErrorCount errorCount : errorSummary.getErrorCountsList()) {
+      sum.merge(errorCount.getCategory(), errorCount.getCount(), Math::addExact);
+    }
+    return ImmutableMap.copyOf(sum);
+  }
+
+  /**
+   * Counts the errors of {@code DecryptionResults} as they are produced, for up to a maximum number
+   * of failed reports. Only the counts are kept, so that failed reports do not hold on to their
+   * error messages for the rest of the job.
+   */
+  public static final class ErrorCounter {
+
+    private final int maxFailedReports;
+    private final Map<String, Long> errorCounts = new LinkedHashMap<>();
+    private int failedReports = 0;
+    private long reportsWithErrors = 0;
+
+    public ErrorCounter(int maxFailedReports) {
+      this.maxFailedReports = maxFailedReports;
+    }
+
+    /** Counts the errors of the result if its report failed. */
+    public void add(DecryptionResult decryptionResult) {
+      if (decryptionResult.facts().isPresent() || failedReports >= maxFailedReports) {
+        return;
+      }
+      failedReports++;
+      if (decryptionResult.errorMessages().isEmpty()) {
+        return;
+      }
+      reportsWithErrors++;
+      for (ErrorMessage errorMessage : decryptionResult.errorMessages()) {
+        errorCounts.merge(errorMessage.category(), 1L, Math::addExact);
+      }
+    }
+
+    /**
+     * Returns the summary of the counted errors, the same as {@link
+     * #createErrorSummary(ImmutableList)} of the counted results.
+     */
+    public ErrorSummary toErrorSummary() {
+      Map<String, Long> summaryCounts = new LinkedHashMap<>(errorCounts);
+      if (reportsWithErrors > 0) {
+        summaryCounts.put("NUM_REPORTS_WITH_ERRORS", reportsWithErrors);
+      }
+      return createErrorSummary(summaryCounts);
+    }
+  }
 }
@@ -18,42 +18,80 @@ package com.google.scp.operator.worker;
 
 import static com.google.scp.operator.protos.shared.backend.JobErrorCategoryProto.JobErrorCategory.DECRYPTION_ERROR;
 
+import com.google.common.collect.ImmutableList;
+import com.google.scp.operator.protos.shared.backend.JobErrorCategoryProto.JobErrorCategory;
 import com.google.scp.operator.worker.decryption.RecordDecrypter;
 import com.google.scp.operator.worker.decryption.RecordDecrypter.DecryptionException;
+import com.google.scp.operator.worker.decryption.RecordValidator;
 import com.google.scp.operator.worker.model.DecryptionResult;
 import com.google.scp.operator.worker.model.EncryptedReport;
 import com.google.scp.operator.worker.model.ErrorMessage;
-import com.google.scp.operator.worker.model.Report;
+import com.google.scp.operator.worker.model.Fact;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Decrypts and Deserializes reports for aggregation. */
+/**
+ * Decrypts and Deserializes reports for aggregation.
+ *
+ * <p>Reports are validated first, and reports the {@code RecordValidator} rejects are not
+ * decrypted. Rejections and decryption failures are logged at most once per {@link #LOG_INTERVAL}
+ * each, as bad inputs may otherwise spend more time logging than processing.
+ */
 public final class ReportDecrypter {
 
+  private static final Duration LOG_INTERVAL = Duration.ofSeconds(10);
+
   private final RecordDecrypter recordDecrypter;
+  private final RecordValidator recordValidator;
+  private final LogRateLimiter rejectionLogLimiter = new LogRateLimiter();
+  private final LogRateLimiter failureLogLimiter = new LogRateLimiter();
 
   private static final Logger logger = LoggerFactory.getLogger(ReportDecrypter.class);
 
   @Inject
-  public ReportDecrypter(RecordDecrypter recordDecrypter) {
+  public ReportDecrypter(RecordDecrypter recordDecrypter, RecordValidator recordValidator) {
     this.recordDecrypter = recordDecrypter;
+    this.recordValidator = recordValidator;
   }
 
   /**
-   * Decrypts and deserializes a report.
+   * Decrypts a report and deserializes its facts.
    *
    * <p>Performs decryption and deserialization. The result is a DecryptionResult which contains
-   * either the decrypted report or errors that came up in decryption which can be summarized and
-   * provided to requesters as debug information.
+   * either the facts of the decrypted report or errors that came up in decryption which can be
+   * summarized and provided to requesters as debug information.
    */
   public DecryptionResult decrypt(EncryptedReport encryptedReport) {
+    Optional<JobErrorCategory> rejection = recordValidator.validate(encryptedReport);
+    if (rejection.isPresent()) {
+      long suppressed = rejectionLogLimiter.tryAcquire();
+      if (suppressed >= 0) {
+        logger.warn(
+            "Report rejected before decryption: {} ({} more rejections not logged)",
+            rejection.get(),
+            suppressed);
+      }
+      return DecryptionResult.builder()
+          .addErrorMessage(
+              ErrorMessage.builder()
+                  .setCategory(rejection.get().name())
+                  .setDetailedErrorMessage("Report rejected before decryption")
+                  .build())
+          .build();
+    }
     try {
       // Decrypt the report
-      Report report = recordDecrypter.decryptSingleReport(encryptedReport);
-      return DecryptionResult.builder().setReport(report).build();
+      ImmutableList<Fact> facts = recordDecrypter.decryptFacts(encryptedReport);
+      return DecryptionResult.builder().setFacts(facts).build();
     } catch (DecryptionException e) {
-      logger.error("Report Decryption Failure", e);
+      long suppressed = failureLogLimiter.tryAcquire();
+      if (suppressed >= 0) {
+        logger.error("Report Decryption Failure ({} more failures not logged)", suppressed, e);
+      }
       String detailedErrorMessage = String.format("Report Decryption Failure, cause: %s", e);
       return DecryptionResult.builder()
           .addErrorMessage(
@@ -64,4 +102,24 @@ public final class ReportDecrypter {
           .build();
     }
   }
+
+  /** Allows one log line per {@link #LOG_INTERVAL}, counting the ones it suppresses. */
+  private static final class LogRateLimiter {
+    private final AtomicLong nextLogNanos = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressed = new AtomicLong();
+
+    /**
+     * Returns the number of log lines suppressed since the last allowed one if a line may be logged
+     * now, or -1 if it is suppressed.
+     */
+    long tryAcquire() {
+      long now = System.nanoTime();
+      long next = nextLogNanos.get();
+      if (now - next >= 0 && nextLogNanos.compareAndSet(next, now + LOG_INTERVAL.toNanos())) {
+        return suppressed.getAndSet(0);
+      }
+      suppressed.incrementAndGet();
+      return -1;
+    }
+  }
 }
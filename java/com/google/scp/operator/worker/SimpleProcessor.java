@@ -20,11 +20,18 @@ import static com.google.scp.operator.protos.shared.backend.ReturnCodeProto.Retu
 import static com.google.scp.operator.protos.shared.backend.ReturnCodeProto.ReturnCode.INTERNAL_ERROR;
 import static com.google.scp.operator.protos.shared.backend.ReturnCodeProto.ReturnCode.OUTPUT_DATAWRITE_FAILED;
 import static com.google.scp.operator.protos.shared.backend.ReturnCodeProto.ReturnCode.SUCCESS;
+import static com.google.scp.operator.shared.model.BackendModelUtil.toJobKeyString;
 
 import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.scp.operator.cpio.blobstorageclient.BlobStorageClient;
 import com.google.scp.operator.cpio.blobstorageclient.model.DataLocation;
+import com.google.scp.operator.cpio.jobclient.JobClient;
+import com.google.scp.operator.cpio.jobclient.JobClient.JobClientException;
 import com.google.scp.operator.cpio.jobclient.model.Job;
 import com.google.scp.operator.cpio.jobclient.model.JobResult;
 import com.google.scp.operator.cpio.metricclient.MetricClient;
@@ -34,21 +41,36 @@ import com.google.scp.operator.cpio.metricclient.model.CustomMetric;
 import com.google.scp.operator.cpio.metricclient.model.MetricType;
 import com.google.scp.operator.protos.shared.backend.ErrorSummaryProto.ErrorSummary;
 import com.google.scp.operator.protos.shared.backend.ResultInfoProto.ResultInfo;
+import com.google.scp.operator.worker.Annotations.JobCheckpointIntervalReports;
+import com.google.scp.operator.worker.Annotations.JobMemoryBudgetBytes;
+import com.google.scp.operator.worker.ErrorSummaryAggregator.ErrorCounter;
+import com.google.scp.operator.worker.checkpoint.JobCheckpoint;
+import com.google.scp.operator.worker.checkpoint.JobCheckpoint.OutputPart;
+import com.google.scp.operator.worker.checkpoint.JobCheckpointStore;
+import com.google.scp.operator.worker.checkpoint.JobCheckpointStore.CheckpointException;
 import com.google.scp.operator.worker.logger.ResultLogger;
 import com.google.scp.operator.worker.logger.ResultLogger.ResultLogException;
 import com.google.scp.operator.worker.model.DecryptionResult;
 import com.google.scp.operator.worker.model.EncryptedReport;
 import com.google.scp.operator.worker.model.Fact;
-import com.google.scp.operator.worker.reader.RecordReader;
+import com.google.scp.operator.worker.perf.JobProfiler;
+import com.google.scp.operator.worker.perf.JobProfiler.Count;
+import com.google.scp.operator.worker.perf.JobProfiler.Stage;
+import com.google.scp.operator.worker.pipeline.BudgetedPipeline;
 import com.google.scp.operator.worker.reader.RecordReader.RecordReadException;
 import com.google.scp.operator.worker.reader.RecordReaderFactory;
+import com.google.scp.operator.worker.reader.ShardedRecordReader;
+import com.google.scp.operator.worker.reader.ShardedRecordReader.Position;
 import com.google.scp.shared.clients.configclient.ParameterClient;
 import com.google.scp.shared.clients.configclient.ParameterClient.ParameterClientException;
 import com.google.scp.shared.proto.ProtoUtil;
 import java.time.Clock;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 import javax.inject.Inject;
 import org.slf4j.Logger;
@@ -60,6 +82,10 @@ public class SimpleProcessor implements JobProcessor {
   public static final String RESULT_SUCCESS_MESSAGE = "Aggregation job successfully processed";
   public static final String METRIC_NAMESPACE = "scp/simpleprocessor";
   private static final Logger logger = LoggerFactory.getLogger(SimpleProcessor.class);
+  // Rough per-object overhead of reports, facts and their fields on the heap.
+  private static final long OBJECT_OVERHEAD_BYTES = 64;
+  // Failed reports whose errors are summarized, per job or per checkpointed segment.
+  private static final int MAX_SUMMARIZED_FAILED_REPORTS = 1001;
 
   private final RecordReaderFactory recordReaderFactory;
   private final ReportDecrypter reportDecrypter;
@@ -68,6 +94,14 @@ public class SimpleProcessor implements JobProcessor {
   private final MetricClient metricClient;
   private final ParameterClient parameterClient;
   private final boolean enableRemoteAggregationMetrics;
+  private final long jobMemoryBudgetBytes;
+  private final JobCheckpointStore checkpointStore;
+  private final JobClient jobClient;
+  private final int jobCheckpointIntervalReports;
+  private final JobProfiler jobProfiler;
+  private final ExecutorService pipelineExecutor =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("job-pipeline-%d").build());
 
   @Inject
   SimpleProcessor(
@@ -77,7 +111,12 @@ public class SimpleProcessor implements JobProcessor {
       Clock clock,
       MetricClient metricClient,
       ParameterClient parameterClient,
-      @EnableRemoteMetricAggregation boolean enableRemoteMetricAggregation)
+      @EnableRemoteMetricAggregation boolean enableRemoteMetricAggregation,
+      @JobMemoryBudgetBytes long jobMemoryBudgetBytes,
+      JobCheckpointStore checkpointStore,
+      JobClient jobClient,
+      @JobCheckpointIntervalReports int jobCheckpointIntervalReports,
+      JobProfiler jobProfiler)
       throws ParameterClientException {
     this.recordReaderFactory = recordReaderFactory;
     this.reportDecrypter = reportDecrypter;
@@ -86,6 +125,11 @@ public class SimpleProcessor implements JobProcessor {
     this.metricClient = metricClient;
     this.parameterClient = parameterClient;
     this.enableRemoteAggregationMetrics = enableRemoteMetricAggregation;
+    this.jobMemoryBudgetBytes = jobMemoryBudgetBytes;
+    this.checkpointStore = checkpointStore;
+    this.jobClient = jobClient;
+    this.jobCheckpointIntervalReports = jobCheckpointIntervalReports;
+    this.jobProfiler = jobProfiler;
   }
 
   @Override
@@ -95,7 +139,7 @@ public class SimpleProcessor implements JobProcessor {
     DataLocation inputDataLocation =
         BlobStorageClient.getDataLocation(
             job.requestInfo().getInputDataBucketName(), job.requestInfo().getInputDataBlobPrefix());
-    try (RecordReader recordReader = recordReaderFactory.of(inputDataLocation)) {
+    try {
       if (enableRemoteAggregationMetrics) {
         CustomMetric metric =
             CustomMetric.builder()
@@ -107,28 +151,12 @@ public class SimpleProcessor implements JobProcessor {
                 .build();
         metricClient.recordMetric(metric);
       }
-      Stream<EncryptedReport> encryptedReports =
-          recordReader.readEncryptedReports(inputDataLocation);
+      ImmutableList<DataLocation> inputShards = recordReaderFactory.listShards(inputDataLocation);
 
-      // Decrypt encrypted reports
-      Stream<DecryptionResult> decryptionResults = encryptedReports.map(reportDecrypter::decrypt);
-
-      // Add results with errors to list to create error summary and aggregate present reports.
-      ArrayList<DecryptionResult> resultsWithErrors = new ArrayList<>();
-      var validatedReports =
-          decryptionResults
-              .peek(result -> addToErrors(result, resultsWithErrors))
-              .map(DecryptionResult::report)
-              .filter(Optional::isPresent)
-              .map(Optional::get);
-
-      // Map facts
-      Stream<Fact> facts = validatedReports.flatMap(report -> report.facts().stream());
-      resultLogger.logResults(facts, job);
-
-      // Create error summary from the list of errors from decryption/validation
       ErrorSummary errorSummary =
-          ErrorSummaryAggregator.createErrorSummary(ImmutableList.copyOf(resultsWithErrors));
+          jobCheckpointIntervalReports > 0
+              ? processWithCheckpoints(inputShards, job)
+              : processReports(inputShards, job);
 
       return jobResultBuilder
           .setResultInfo(
@@ -177,18 +205,251 @@ public class SimpleProcessor implements JobProcessor {
     }
   }
 
+  /** Decrypts the reports, logs their facts and returns the summary of the errors. */
+  private ErrorSummary processReports(ImmutableList<DataLocation> inputShards, Job job)
+      throws RecordReadException, ResultLogException {
+    // Count the errors of failed reports to create error summary and aggregate present reports.
+    ErrorCounter errorCounter = new ErrorCounter(MAX_SUMMARIZED_FAILED_REPORTS);
+
+    // Decrypt encrypted reports
+    try (ShardedRecordReader recordReader =
+            new ShardedRecordReader(recordReaderFactory, inputShards, Position.initial());
+        Stream<DecryptionResult> decryptionResults =
+            decryptReports(profileReads(recordReader.readEncryptedReports()))) {
+      // Map facts of the validated reports
+      Stream<Fact> facts =
+          decryptionResults
+              .peek(result -> addToErrors(result, errorCounter))
+              .map(DecryptionResult::facts)
+              .filter(Optional::isPresent)
+              .flatMap(reportFacts -> reportFacts.get().stream());
+      resultLogger.logResults(facts, job);
+    }
+
+    // Create error summary from the errors from decryption/validation
+    return errorCounter.toErrorSummary();
+  }
+
   /**
-   * Add reports with errors to {@param resultsWithErrors}.
+   * Processes the reports in segments of the checkpoint interval. The facts of each segment are
+   * logged as a separate output part, after which the progress is checkpointed along with the
+   * input position of the next report. If a previous attempt of the job left a checkpoint, reading
+   * resumes at that position, so the input shards it covers are not opened and the covered reports
+   * of the current shard are not decoded, and processing resumes with the next part. Once all
+   * reports are processed, a manifest listing the parts is written. Errors are limited per segment
+   * rather than per job.
+   */
+  private ErrorSummary processWithCheckpoints(ImmutableList<DataLocation> inputShards, Job job)
+      throws RecordReadException, ResultLogException {
+    JobCheckpoint checkpoint = readCheckpoint(job);
+    try (ShardedRecordReader recordReader =
+        new ShardedRecordReader(
+            recordReaderFactory,
+            inputShards,
+            Position.create(checkpoint.inputShardIndex(), checkpoint.shardReportsProcessed()))) {
+      Iterator<EncryptedReport> remainingReports =
+          profileReads(recordReader.readEncryptedReports()).iterator();
+      long resumedReportsProcessed = checkpoint.reportsProcessed();
+      Optional<String> recordedCheckpointLocation = job.checkpointLocation();
+
+      // At least one part is written, so that jobs without results have an output too.
+      while (checkpoint.outputParts().isEmpty() || remainingReports.hasNext()) {
+        AtomicLong segmentReports = new AtomicLong();
+        AtomicLong segmentFacts = new AtomicLong();
+        ErrorCounter errorCounter = new ErrorCounter(MAX_SUMMARIZED_FAILED_REPORTS);
+        Stream<EncryptedReport> segment =
+            Streams.stream(Iterators.limit(remainingReports, jobCheckpointIntervalReports))
+                .peek(report -> segmentReports.incrementAndGet());
+
+        DataLocation partLocation;
+        try (Stream<DecryptionResult> decryptionResults = decryptReports(segment)) {
+          Stream<Fact> facts =
+              decryptionResults
+                  .peek(result -> addToErrors(result, errorCounter))
+                  .map(DecryptionResult::facts)
+                  .filter(Optional::isPresent)
+                  .flatMap(reportFacts -> reportFacts.get().stream())
+                  .peek(fact -> segmentFacts.incrementAndGet());
+          partLocation =
+              resultLogger.logResults(
+                  facts, withOutputPrefix(job, partBlobPrefix(job, checkpoint)));
+        }
+
+        long reportsProcessed = checkpoint.reportsProcessed() + segmentReports.get();
+        Position nextReport =
+            recordReader.positionAfter(reportsProcessed - resumedReportsProcessed);
+        checkpoint =
+            checkpoint.toBuilder()
+                .setReportsProcessed(reportsProcessed)
+                .setInputShardIndex(nextReport.shardIndex())
+                .setShardReportsProcessed(nextReport.shardRecords())
+                .setOutputParts(
+                    ImmutableList.<OutputPart>builder()
+                        .addAll(checkpoint.outputParts())
+                        .add(
+                            OutputPart.create(
+                                partLocation.blobStoreDataLocation().key(), segmentFacts.get()))
+                        .build())
+                .setErrorCounts(
+                    ErrorSummaryAggregator.addErrorCounts(
+                        checkpoint.errorCounts(), errorCounter.toErrorSummary()))
+                .build();
+        recordedCheckpointLocation = writeCheckpoint(job, checkpoint, recordedCheckpointLocation);
+      }
+
+      try {
+        checkpointStore.writeManifest(job, checkpoint);
+      } catch (CheckpointException e) {
+        throw new ResultLogException(e);
+      }
+      try {
+        checkpointStore.delete(job);
+      } catch (CheckpointException e) {
+        logger.warn("Failed to delete checkpoint of job {}.", toJobKeyString(job.jobKey()), e);
+      }
+      return ErrorSummaryAggregator.createErrorSummary(checkpoint.errorCounts());
+    }
+  }
+
+  /** Returns the checkpoint to resume the job from, or the initial one if there is none. */
+  private JobCheckpoint readCheckpoint(Job job) {
+    try {
+      Optional<JobCheckpoint> checkpoint = checkpointStore.read(job);
+      checkpoint.ifPresent(
+          value ->
+              logger.info(
+                  "Resuming job {} after {} processed reports in {} output parts, at report {}"
+                      + " of input shard {}.",
+                  toJobKeyString(job.jobKey()),
+                  value.reportsProcessed(),
+                  value.outputParts().size(),
+                  value.shardReportsProcessed(),
+                  value.inputShardIndex()));
+      return checkpoint.orElse(JobCheckpoint.initial());
+    } catch (CheckpointException e) {
+      logger.warn(
+          "Failed to read checkpoint of job {}, processing it from the start.",
+          toJobKeyString(job.jobKey()),
+          e);
+      return JobCheckpoint.initial();
+    }
+  }
+
+  /**
+   * Writes the checkpoint and records its location with the job, unless it is already recorded.
+   * Failures are only logged, as they merely cause a retry of the job to redo more work.
    *
-   * <p>Limit number of errors to 1000.
+   * @return the checkpoint location recorded with the job.
+   */
+  private Optional<String> writeCheckpoint(
+      Job job, JobCheckpoint checkpoint, Optional<String> recordedCheckpointLocation) {
+    try {
+      String checkpointLocation = checkpointStore.write(job, checkpoint);
+      if (!recordedCheckpointLocation.equals(Optional.of(checkpointLocation))) {
+        jobClient.recordCheckpoint(job.jobKey(), checkpointLocation);
+      }
+      return Optional.of(checkpointLocation);
+    } catch (CheckpointException | JobClientException e) {
+      logger.warn("Failed to checkpoint job {}.", toJobKeyString(job.jobKey()), e);
+      return recordedCheckpointLocation;
+    }
+  }
+
+  private static String partBlobPrefix(Job job, JobCheckpoint checkpoint) {
+    return JobCheckpointStore.partBlobPrefix(job, checkpoint.outputParts().size());
+  }
+
+  private static Job withOutputPrefix(Job job, String outputDataBlobPrefix) {
+    return job.toBuilder()
+        .setRequestInfo(
+            job.requestInfo().toBuilder().setOutputDataBlobPrefix(outputDataBlobPrefix).build())
+        .build();
+  }
+
+  /**
+   * Decrypts the reports on the calling thread, or if the job has a memory budget, reads and
+   * decrypts them on separate threads through queues bounded by the budget. The budget only covers
+   * reports between the stages; result loggers that materialize all results are not bounded by it.
    */
-  private void addToErrors(
-      DecryptionResult decryptionResult, ArrayList<DecryptionResult> resultsWithErrors) {
-    if (resultsWithErrors.size() > 1000) {
-      return;
+  private Stream<DecryptionResult> decryptReports(Stream<EncryptedReport> encryptedReports) {
+    if (jobMemoryBudgetBytes <= 0) {
+      return encryptedReports.map(reportDecrypter::decrypt);
     }
-    if (decryptionResult.report().isEmpty()) {
-      resultsWithErrors.add(decryptionResult);
+    BudgetedPipeline<EncryptedReport, DecryptionResult> pipeline =
+        new BudgetedPipeline<>(jobMemoryBudgetBytes);
+    return pipeline
+        .run(
+            encryptedReports,
+            SimpleProcessor::estimateBytes,
+            reportDecrypter::decrypt,
+            SimpleProcessor::estimateBytes,
+            pipelineExecutor)
+        .onClose(
+            () ->
+                logger.info(
+                    "Job pipeline held at most {} of {} budgeted bytes, reader throttled for {}"
+                        + " ms.",
+                    pipeline.peakUsedBytes(),
+                    jobMemoryBudgetBytes,
+                    pipeline.readerThrottledMillis()));
+  }
+
+  /** Times reading the reports in the job profile, and counts them with their payload bytes. */
+  private Stream<EncryptedReport> profileReads(Stream<EncryptedReport> encryptedReports) {
+    Iterator<EncryptedReport> iterator = encryptedReports.iterator();
+    return Streams.stream(
+            new AbstractIterator<EncryptedReport>() {
+              @Override
+              protected EncryptedReport computeNext() {
+                long readStart = jobProfiler.startTimer();
+                try {
+                  if (!iterator.hasNext()) {
+                    return endOfData();
+                  }
+                  EncryptedReport encryptedReport = iterator.next();
+                  jobProfiler.add(Count.REPORTS, 1);
+                  jobProfiler.add(
+                      Count.INPUT_BYTES, encryptedReport.payload().sizeIfKnown().or(0L));
+                  return encryptedReport;
+                } finally {
+                  jobProfiler.stopTimer(Stage.READ, readStart);
+                }
+              }
+            })
+        .onClose(encryptedReports::close);
+  }
+
+  private static long estimateBytes(EncryptedReport encryptedReport) {
+    return encryptedReport.payload().sizeIfKnown().or(0L)
+        + encryptedReport.decryptionKeyId().map(String::length).orElse(0) * 2L
+        + OBJECT_OVERHEAD_BYTES;
+  }
+
+  private static long estimateBytes(DecryptionResult decryptionResult) {
+    long factBytes =
+        decryptionResult.facts().stream()
+            .flatMap(ImmutableList::stream)
+            .mapToLong(fact -> fact.key().length() * 2L + OBJECT_OVERHEAD_BYTES)
+            .sum();
+    long errorBytes =
+        decryptionResult.errorMessages().stream()
+            .mapToLong(
+                error ->
+                    (error.category().length() + error.detailedErrorMessage().length()) * 2L
+                        + OBJECT_OVERHEAD_BYTES)
+            .sum();
+    return factBytes + errorBytes + OBJECT_OVERHEAD_BYTES;
+  }
+
+  /**
+   * Add errors of failed reports to {@param errorCounter}.
+   *
+   * <p>Limit number of errors to 1000.
+   */
+  private void addToErrors(DecryptionResult decryptionResult, ErrorCounter errorCounter) {
+    if (decryptionResult.facts().isEmpty()) {
+      jobProfiler.add(Count.FAILED_REPORTS, 1);
     }
+    errorCounter.add(decryptionResult);
   }
 }
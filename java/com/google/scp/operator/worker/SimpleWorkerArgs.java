@@ -28,6 +28,7 @@ import com.google.scp.operator.worker.selector.NotificationClientSelector;
 import com.google.scp.operator.worker.selector.ParameterClientSelector;
 import com.google.scp.operator.worker.selector.ResultLoggerModuleSelector;
 import com.google.scp.operator.worker.selector.StopwatchExporterSelector;
+import java.time.Duration;
 import java.util.Optional;
 
 /** Provides CLI arguments with which to run the SimpleWorker using {@link SimpleWorkerModule} */
@@ -199,6 +200,23 @@ public final class SimpleWorkerArgs {
   private String coodinatorBKmsKey =
       ""; // "gcp-kms://projects/adhcloud-tp1/locations/us/keyRings/keyring1/cryptoKeys/kek1";
 
+  @Parameter(
+      names = "--encryption_key_cache_directory",
+      description =
+          "Optional local directory caching the fetched, still KMS-encrypted, keys across worker"
+              + " restarts, if multi-party keys are used. Empty value disables the cache.")
+  private String encryptionKeyCacheDirectory = "";
+
+  @Parameter(
+      names = "--encryption_key_cache_max_size_mb",
+      description = "Size limit in MB of the keys cached per coordinator on disk.")
+  private long encryptionKeyCacheMaxSizeMb = 64;
+
+  @Parameter(
+      names = "--encryption_key_cache_ttl_minutes",
+      description = "How long keys are served from the disk cache after being fetched.")
+  private long encryptionKeyCacheTtlMinutes = 1440;
+
   @Parameter(
       names = "--max_job_num_attempts",
       description =
@@ -220,6 +238,27 @@ public final class SimpleWorkerArgs {
               + " results before uploading to s3")
   private String resultWorkingDirectoryPath = "";
 
+  @Parameter(
+      names = "--result_shard_max_records",
+      description =
+          "Number of results after which a result shard is finished, if the LOCAL_TO_CLOUD_SHARDED"
+              + " result logger is used.")
+  private long resultShardMaxRecords = 10_000_000;
+
+  @Parameter(
+      names = "--result_shard_max_mb",
+      description =
+          "Size in MB after which a result shard is finished, if the LOCAL_TO_CLOUD_SHARDED result"
+              + " logger is used.")
+  private long resultShardMaxMb = 256;
+
+  @Parameter(
+      names = "--result_shard_upload_threads",
+      description =
+          "Number of result shards uploaded concurrently, if the LOCAL_TO_CLOUD_SHARDED result"
+              + " logger is used.")
+  private int resultShardUploadThreads = 4;
+
   @Parameter(
       names = "--simulation_inputs",
       description =
@@ -273,6 +312,23 @@ public final class SimpleWorkerArgs {
   @Parameter(names = "--benchmark", description = "Set to true to run in benchmark mode.")
   private boolean benchmark = false;
 
+  @Parameter(
+      names = "--job_memory_budget_mb",
+      description =
+          "Size in MB that reports of a job may take up between the read, decrypt and write"
+              + " stages, which then run on separate threads. The reader is throttled when the"
+              + " budget is used up. 0 processes reports on a single thread without a budget.")
+  private long jobMemoryBudgetMb = 0;
+
+  @Parameter(
+      names = "--job_checkpoint_interval_reports",
+      description =
+          "Number of input reports after which a job writes its results so far as an output part"
+              + " and checkpoints its progress, so that a retry of the job resumes after the last"
+              + " checkpoint. The output is then a manifest listing the parts. 0 processes jobs"
+              + " without checkpoints.")
+  private int jobCheckpointIntervalReports = 0;
+
   ClientConfigSelector getClientConfigSelector() {
     return clientConfigSelector;
   }
@@ -377,6 +433,18 @@ public final class SimpleWorkerArgs {
     return coodinatorBKmsKey;
   }
 
+  Optional<String> getEncryptionKeyCacheDirectory() {
+    return Optional.ofNullable(encryptionKeyCacheDirectory).filter(s -> !s.isEmpty());
+  }
+
+  long getEncryptionKeyCacheMaxSizeBytes() {
+    return encryptionKeyCacheMaxSizeMb * 1024 * 1024;
+  }
+
+  Duration getEncryptionKeyCacheTtl() {
+    return Duration.ofMinutes(encryptionKeyCacheTtlMinutes);
+  }
+
   public HybridEncryptionKeyServiceSelector getHybridEncryptionKeyServiceSelector() {
     return hybridEncryptionKeyServiceSelector;
   }
@@ -411,6 +479,18 @@ public final class SimpleWorkerArgs {
     return resultWorkingDirectoryPath;
   }
 
+  long getResultShardMaxRecords() {
+    return resultShardMaxRecords;
+  }
+
+  long getResultShardMaxBytes() {
+    return resultShardMaxMb * 1024 * 1024;
+  }
+
+  int getResultShardUploadThreads() {
+    return resultShardUploadThreads;
+  }
+
   public boolean isSimulationInputs() {
     return simulationInputs;
   }
@@ -453,6 +533,14 @@ public final class SimpleWorkerArgs {
     return stopwatchKeyName;
   }
 
+  long getJobMemoryBudgetBytes() {
+    return jobMemoryBudgetMb * 1024 * 1024;
+  }
+
+  int getJobCheckpointIntervalReports() {
+    return jobCheckpointIntervalReports;
+  }
+
   public boolean getBenchmarkMode() {
     return benchmark;
   }
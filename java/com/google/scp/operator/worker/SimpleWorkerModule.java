@@ -34,10 +34,15 @@ import com.google.scp.operator.cpio.jobclient.local.LocalFileJobHandlerModule.Lo
 import com.google.scp.operator.cpio.jobclient.local.LocalFileJobHandlerModule.LocalFileJobHandlerResultPath;
 import com.google.scp.operator.cpio.jobclient.local.LocalFileJobHandlerModule.LocalFileJobParameters;
 import com.google.scp.operator.worker.Annotations.BenchmarkMode;
+import com.google.scp.operator.worker.Annotations.JobCheckpointIntervalReports;
+import com.google.scp.operator.worker.Annotations.JobMemoryBudgetBytes;
 import com.google.scp.operator.worker.decryption.RecordDecrypter;
+import com.google.scp.operator.worker.decryption.RecordValidator;
 import com.google.scp.operator.worker.decryption.hybrid.HybridDecryptionModule;
 import com.google.scp.operator.worker.decryption.hybrid.HybridDeserializingReportDecrypter;
+import com.google.scp.operator.worker.decryption.hybrid.HybridReportValidator;
 import com.google.scp.operator.worker.logger.localtocloud.LocalFileToCloudStorageLogger.ResultWorkingDirectory;
+import com.google.scp.operator.worker.logger.localtocloud.ResultShardingConfig;
 import com.google.scp.operator.worker.model.serdes.ReportSerdes;
 import com.google.scp.operator.worker.model.serdes.proto.ProtoReportSerdes;
 import com.google.scp.operator.worker.perf.StopwatchExporter;
@@ -207,6 +212,7 @@ public final class SimpleWorkerModule extends AbstractModule {
     install(new HybridDecryptionModule());
     bind(ReportSerdes.class).to(ProtoReportSerdes.class);
     bind(RecordDecrypter.class).to(HybridDeserializingReportDecrypter.class);
+    bind(RecordValidator.class).to(HybridReportValidator.class);
 
     // determines how/where to read the decryption key.
     switch (args.getHybridEncryptionKeyServiceSelector()) {
@@ -229,7 +235,10 @@ public final class SimpleWorkerModule extends AbstractModule {
             GcpKmsHybridEncryptionKeyServiceConfig.builder()
                 .setCoordinatorAKmsKeyUri(args.getCoodinatorAKmsKey())
                 .setCoordinatorAEncodedKeysetHandle(args.getTestEncodedKeysetHandle())
-                .setCoordinatorBEncodedKeysetHandle(args.getTestCoordinatorBEncodedKeysetHandle());
+                .setCoordinatorBEncodedKeysetHandle(args.getTestCoordinatorBEncodedKeysetHandle())
+                .setEncryptionKeyCacheDirectory(args.getEncryptionKeyCacheDirectory())
+                .setEncryptionKeyCacheMaxSizeBytes(args.getEncryptionKeyCacheMaxSizeBytes())
+                .setEncryptionKeyCacheTtl(args.getEncryptionKeyCacheTtl());
         if (!args.getCoodinatorBKmsKey().isEmpty()) {
           configBuilder.setCoordinatorBKmsKeyUri(Optional.of(args.getCoodinatorBKmsKey()));
         }
@@ -242,6 +251,12 @@ public final class SimpleWorkerModule extends AbstractModule {
 
     // Benchmark Mode for perf tests
     bind(boolean.class).annotatedWith(BenchmarkMode.class).toInstance(args.getBenchmarkMode());
+    bind(long.class)
+        .annotatedWith(JobMemoryBudgetBytes.class)
+        .toInstance(args.getJobMemoryBudgetBytes());
+    bind(int.class)
+        .annotatedWith(JobCheckpointIntervalReports.class)
+        .toInstance(args.getJobCheckpointIntervalReports());
 
     // Stopwatch exporting
     bind(StopwatchExporter.class).to(args.getStopwatchExporterSelector().getExporterClass());
@@ -263,10 +278,20 @@ public final class SimpleWorkerModule extends AbstractModule {
 
     // result logger
     install(args.resultLoggerModuleSelector().getResultLoggerModule());
-    if (args.resultLoggerModuleSelector() == ResultLoggerModuleSelector.LOCAL_TO_CLOUD) {
+    if (args.resultLoggerModuleSelector() == ResultLoggerModuleSelector.LOCAL_TO_CLOUD
+        || args.resultLoggerModuleSelector() == ResultLoggerModuleSelector.LOCAL_TO_CLOUD_SHARDED) {
       bind(Path.class)
           .annotatedWith(ResultWorkingDirectory.class)
           .toInstance(Paths.get(args.getResultWorkingDirectoryPathString()));
     }
+    if (args.resultLoggerModuleSelector() == ResultLoggerModuleSelector.LOCAL_TO_CLOUD_SHARDED) {
+      bind(ResultShardingConfig.class)
+          .toInstance(
+              ResultShardingConfig.builder()
+                  .setMaxShardRecords(args.getResultShardMaxRecords())
+                  .setMaxShardBytes(args.getResultShardMaxBytes())
+                  .setUploadThreads(args.getResultShardUploadThreads())
+                  .build());
+    }
   }
 }
@@ -24,6 +24,7 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.scp.operator.worker.Annotations.PullWorkService;
 import com.google.scp.operator.worker.Annotations.WorkerServiceManager;
+import com.google.scp.operator.worker.perf.JobProfiler;
 import com.google.scp.operator.worker.perf.StopwatchRegistry;
 import java.time.Clock;
 import javax.inject.Singleton;
@@ -48,5 +49,6 @@ final class WorkerModule extends AbstractModule {
     bind(Service.class).annotatedWith(PullWorkService.class).to(WorkerPullWorkService.class);
 
     bind(StopwatchRegistry.class).in(Singleton.class);
+    bind(JobProfiler.class).in(Singleton.class);
   }
 }
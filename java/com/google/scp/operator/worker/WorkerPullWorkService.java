@@ -29,15 +29,22 @@ import com.google.scp.operator.cpio.jobclient.model.JobResult;
 import com.google.scp.operator.cpio.jobclient.model.JobRetryRequest;
 import com.google.scp.operator.cpio.jobclient.model.WorkgroupAllocationFuncResponse;
 import com.google.scp.operator.cpio.metricclient.MetricClient;
+import com.google.scp.operator.cpio.metricclient.MetricClient.MetricClientException;
 import com.google.scp.operator.cpio.metricclient.model.Annotations.EnableRemoteMetricAggregation;
 import com.google.scp.operator.cpio.metricclient.model.CustomMetric;
 import com.google.scp.operator.cpio.metricclient.model.MetricType;
+import com.google.scp.operator.protos.shared.backend.JobPerfProfileProto.JobPerfProfile;
 import com.google.scp.operator.worker.Annotations.BenchmarkMode;
+import com.google.scp.operator.worker.perf.JobProfiler;
 import com.google.scp.operator.worker.perf.StopwatchExporter;
 import com.google.scp.operator.worker.perf.StopwatchRegistry;
 import com.google.scp.shared.clients.configclient.ParameterClient;
 import com.google.scp.shared.clients.configclient.ParameterClient.ParameterClientException;
 import com.google.scp.shared.enums.JobType;
+import com.google.scp.shared.proto.ProtoUtil;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import javax.inject.Inject;
 import org.slf4j.Logger;
@@ -57,6 +64,8 @@ final class WorkerPullWorkService extends AbstractExecutionThreadService {
   private final StopwatchRegistry stopwatchRegistry;
   private final StopwatchExporter stopwatchExporter;
   private final boolean benchmarkMode;
+  private final JobProfiler jobProfiler;
+  private final Clock clock;
   private final ImmutableMap<String, String> jobTopicIdMap;
 
   // Tracks whether the service should be pulling more jobs. Once the shutdown of the service is
@@ -72,7 +81,9 @@ final class WorkerPullWorkService extends AbstractExecutionThreadService {
       StopwatchRegistry stopwatchRegistry,
       StopwatchExporter stopwatchExporter,
       @BenchmarkMode boolean benchmarkMode,
-      @EnableRemoteMetricAggregation boolean enableRemoteMetricAggregation)
+      @EnableRemoteMetricAggregation boolean enableRemoteMetricAggregation,
+      JobProfiler jobProfiler,
+      Clock clock)
       throws ParameterClientException {
     this.jobClient = jobClient;
     this.parameterClient = parameterClient;
@@ -82,6 +93,8 @@ final class WorkerPullWorkService extends AbstractExecutionThreadService {
     this.stopwatchRegistry = stopwatchRegistry;
     this.stopwatchExporter = stopwatchExporter;
     this.benchmarkMode = benchmarkMode;
+    this.jobProfiler = jobProfiler;
+    this.clock = clock;
     String firstCustomerTopicId =
         parameterClient.getParameter(CUSTOMER_TOPIC_ID_1.name()).orElse("");
     String secondCustomerTopicId =
@@ -139,6 +152,7 @@ final class WorkerPullWorkService extends AbstractExecutionThreadService {
         }
 
         logger.info("Item pulled");
+        jobProfiler.startJob(queueWait(job.get()));
 
         Stopwatch processingStopwatch = null;
         if (benchmarkMode) {
@@ -149,7 +163,7 @@ final class WorkerPullWorkService extends AbstractExecutionThreadService {
           processingStopwatch.start();
         }
 
-        JobResult jobResult = jobProcessor.process(job.get());
+        JobResult jobResult = withPerfProfile(jobProcessor.process(job.get()));
 
         String topicId = getTopicIdByJobType(job.get());
         if (topicId.isEmpty()) {
@@ -180,6 +194,73 @@ final class WorkerPullWorkService extends AbstractExecutionThreadService {
     }
   }
 
+  /** Returns the time from the job request being received to the job being pulled. */
+  private Duration queueWait(Job job) {
+    Duration queueWait =
+        Duration.between(job.createTime(), job.processingStartTime().orElse(Instant.now(clock)));
+    return queueWait.isNegative() ? Duration.ZERO : queueWait;
+  }
+
+  /** Attaches the profile of the processed job to its result, and records it as metrics. */
+  private JobResult withPerfProfile(JobResult jobResult) {
+    JobPerfProfile profile = jobProfiler.snapshot();
+    logger.info(
+        "Job {} processed {} reports in {} ms, {} reports per second.",
+        jobResult.jobKey().getJobRequestId(),
+        profile.getReportCount(),
+        ProtoUtil.toJavaDuration(profile.getProcessing()).toMillis(),
+        Math.round(profile.getReportsPerSecond()));
+    recordPerfProfile(profile);
+    return jobResult.toBuilder()
+        .setResultInfo(jobResult.resultInfo().toBuilder().setPerfProfile(profile).build())
+        .build();
+  }
+
+  /** Records the stage times, counts and throughput of a job profile as histograms. */
+  private void recordPerfProfile(JobPerfProfile profile) {
+    if (!enableRemoteAggregationMetrics) {
+      return;
+    }
+    ImmutableMap<String, com.google.protobuf.Duration> stageTimes =
+        ImmutableMap.<String, com.google.protobuf.Duration>builder()
+            .put("JobQueueWait", profile.getQueueWait())
+            .put("JobProcessing", profile.getProcessing())
+            .put("JobRead", profile.getRead())
+            .put("JobKeyFetch", profile.getKeyFetch())
+            .put("JobDecrypt", profile.getDecrypt())
+            .put("JobSerialize", profile.getSerialize())
+            .put("JobWrite", profile.getWrite())
+            .put("JobUpload", profile.getUpload())
+            .build();
+    try {
+      for (var stageTime : stageTimes.entrySet()) {
+        recordHistogram(
+            stageTime.getKey() + "Time",
+            ProtoUtil.toJavaDuration(stageTime.getValue()).toMillis(),
+            "Milliseconds");
+      }
+      recordHistogram("JobReportCount", profile.getReportCount(), "Count");
+      recordHistogram("JobFailedReportCount", profile.getFailedReportCount(), "Count");
+      recordHistogram("JobInputBytes", profile.getInputBytes(), "Bytes");
+      recordHistogram("JobOutputBytes", profile.getOutputBytes(), "Bytes");
+      recordHistogram("JobReportsPerSecond", profile.getReportsPerSecond(), "Count");
+    } catch (MetricClientException e) {
+      logger.warn("Failed to record the job perf profile.", e);
+    }
+  }
+
+  private void recordHistogram(String name, double value, String unit)
+      throws MetricClientException {
+    metricClient.recordMetric(
+        CustomMetric.builder()
+            .setNameSpace(METRIC_NAMESPACE)
+            .setName(name)
+            .setValue(value)
+            .setUnit(unit)
+            .setMetricType(MetricType.HISTOGRAM)
+            .build());
+  }
+
   private String getTopicIdByJobType(Job job) {
     String jobType = job.requestInfo().getJobParametersMap().get(JobType.class.getSimpleName());
     return jobTopicIdMap.getOrDefault(jobType, "");
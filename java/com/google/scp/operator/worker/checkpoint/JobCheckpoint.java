@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.checkpoint;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress of a job, from which a retry of the job resumes.
+ *
+ * <p>The input reports of a job are processed in order and in segments. The results of each
+ * segment are written as a separate output part, and a checkpoint is written once the part is
+ * complete, so the checkpoint only covers reports whose results are in the output. The position of
+ * the next report is kept as an input shard and a count of its reports, so that a retry opens
+ * that shard directly rather than reading through the processed reports.
+ */
+@AutoValue
+@JsonDeserialize(builder = JobCheckpoint.Builder.class)
+@JsonSerialize(as = JobCheckpoint.class)
+public abstract class JobCheckpoint {
+
+  /** Returns a checkpoint of a job that has not processed any reports yet. */
+  public static JobCheckpoint initial() {
+    return builder()
+        .setReportsProcessed(0)
+        .setInputShardIndex(0)
+        .setShardReportsProcessed(0)
+        .setOutputParts(ImmutableList.of())
+        .setErrorCounts(ImmutableMap.of())
+        .build();
+  }
+
+  /** Returns an instance of the {@code JobCheckpoint.Builder} class. */
+  public static Builder builder() {
+    return Builder.builder();
+  }
+
+  /** Returns a builder set with the same field values as the {@code JobCheckpoint}. */
+  public abstract Builder toBuilder();
+
+  /** Number of input reports, in input order, whose results are in the output parts. */
+  @JsonProperty("reports_processed")
+  public abstract long reportsProcessed();
+
+  /** Index of the input shard holding the next report to process, in the order of the shards. */
+  @JsonProperty("input_shard_index")
+  public abstract int inputShardIndex();
+
+  /** Number of reports of the current input shard whose results are in the output parts. */
+  @JsonProperty("shard_reports_processed")
+  public abstract long shardReportsProcessed();
+
+  /** The output parts written so far, in order. */
+  @JsonProperty("output_parts")
+  public abstract ImmutableList<OutputPart> outputParts();
+
+  /** Counts of the errors of the processed reports, by error category. */
+  @JsonProperty("error_counts")
+  public abstract ImmutableMap<String, Long> errorCounts();
+
+  /** Builder class for the {@code JobCheckpoint} class. */
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    /** Returns a new instance of the builder. */
+    @JsonCreator
+    public static Builder builder() {
+      return new AutoValue_JobCheckpoint.Builder();
+    }
+
+    /** Set the number of processed input reports. */
+    @JsonProperty("reports_processed")
+    public abstract Builder setReportsProcessed(long reportsProcessed);
+
+    /** Set the index of the input shard holding the next report. */
+    @JsonProperty("input_shard_index")
+    public abstract Builder setInputShardIndex(int inputShardIndex);
+
+    /** Set the number of processed reports of the current input shard. */
+    @JsonProperty("shard_reports_processed")
+    public abstract Builder setShardReportsProcessed(long shardReportsProcessed);
+
+    /** Set the output parts written so far. */
+    @JsonProperty("output_parts")
+    public abstract Builder setOutputParts(List<OutputPart> outputParts);
+
+    /** Set the error counts of the processed reports. */
+    @JsonProperty("error_counts")
+    public abstract Builder setErrorCounts(Map<String, Long> errorCounts);
+
+    /** Uses the builder to construct a new instance of the {@code JobCheckpoint} class. */
+    public abstract JobCheckpoint build();
+  }
+
+  /** An output part holding the results of a segment of the input reports. */
+  @AutoValue
+  @JsonDeserialize(builder = OutputPart.Builder.class)
+  @JsonSerialize(as = OutputPart.class)
+  public abstract static class OutputPart {
+
+    /** Returns a new output part. */
+    public static OutputPart create(String blobName, long recordCount) {
+      return Builder.builder().setBlobName(blobName).setRecordCount(recordCount).build();
+    }
+
+    /** Name of the blob of the part, in the output bucket of the job. */
+    @JsonProperty("blob_name")
+    public abstract String blobName();
+
+    /** Number of results in the part. */
+    @JsonProperty("record_count")
+    public abstract long recordCount();
+
+    /** Builder class for the {@code OutputPart} class. */
+    @AutoValue.Builder
+    public abstract static class Builder {
+
+      /** Returns a new instance of the builder. */
+      @JsonCreator
+      public static Builder builder() {
+        return new AutoValue_JobCheckpoint_OutputPart.Builder();
+      }
+
+      /** Set the name of the blob of the part. */
+      @JsonProperty("blob_name")
+      public abstract Builder setBlobName(String blobName);
+
+      /** Set the number of results in the part. */
+      @JsonProperty("record_count")
+      public abstract Builder setRecordCount(long recordCount);
+
+      /** Uses the builder to construct a new instance of the {@code OutputPart} class. */
+      public abstract OutputPart build();
+    }
+  }
+}
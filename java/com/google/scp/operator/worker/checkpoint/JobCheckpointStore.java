@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.checkpoint;
+
+import static com.google.scp.operator.cpio.blobstorageclient.BlobStorageClient.getDataLocation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+import com.google.scp.operator.cpio.blobstorageclient.BlobStorageClient;
+import com.google.scp.operator.cpio.blobstorageclient.BlobStorageClient.BlobStorageClientException;
+import com.google.scp.operator.cpio.blobstorageclient.model.DataLocation;
+import com.google.scp.operator.cpio.jobclient.model.Job;
+import com.google.scp.operator.worker.checkpoint.JobCheckpoint.OutputPart;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Stores job checkpoints as JSON blobs in the output bucket of the job, next to its output.
+ *
+ * <p>The output parts of a job are written with the blob prefixes {@code <prefix>-part-00000},
+ * {@code <prefix>-part-00001}, and so on, and its checkpoint as {@code <prefix>-checkpoint.json}.
+ * Once the job is complete, a manifest listing the parts in order with their record counts is
+ * written as {@code <prefix>-manifest.json}, and the checkpoint is deleted.
+ */
+public final class JobCheckpointStore {
+
+  static final String PART_NAME_FORMAT = "%s-part-%05d";
+  static final String CHECKPOINT_SUFFIX = "-checkpoint.json";
+  static final String MANIFEST_SUFFIX = "-manifest.json";
+
+  private final BlobStorageClient blobStorageClient;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Inject
+  JobCheckpointStore(BlobStorageClient blobStorageClient) {
+    this.blobStorageClient = blobStorageClient;
+  }
+
+  /** Returns the output blob prefix of the part with the index, in the output bucket of the job. */
+  public static String partBlobPrefix(Job job, int partIndex) {
+    return String.format(
+        PART_NAME_FORMAT, job.requestInfo().getOutputDataBlobPrefix(), partIndex);
+  }
+
+  /** Reads the checkpoint a previous attempt of the job recorded, if there is one. */
+  public Optional<JobCheckpoint> read(Job job) throws CheckpointException {
+    if (job.checkpointLocation().isEmpty()) {
+      return Optional.empty();
+    }
+    DataLocation location =
+        getDataLocation(
+            job.requestInfo().getOutputDataBucketName(), job.checkpointLocation().get());
+    try (InputStream checkpointStream = blobStorageClient.getBlob(location)) {
+      return Optional.of(objectMapper.readValue(checkpointStream, JobCheckpoint.class));
+    } catch (BlobStorageClientException | IOException e) {
+      throw new CheckpointException(e);
+    }
+  }
+
+  /**
+   * Writes the checkpoint of the job, replacing the previous one.
+   *
+   * @return the location of the checkpoint to record with the job, the name of its blob in the
+   *     output bucket of the job.
+   */
+  public String write(Job job, JobCheckpoint checkpoint) throws CheckpointException {
+    String blobName = job.requestInfo().getOutputDataBlobPrefix() + CHECKPOINT_SUFFIX;
+    putJson(getDataLocation(job.requestInfo().getOutputDataBucketName(), blobName), checkpoint);
+    return blobName;
+  }
+
+  /** Writes the manifest of the output parts of the completed job, returning its location. */
+  public DataLocation writeManifest(Job job, JobCheckpoint checkpoint) throws CheckpointException {
+    ImmutableList.Builder<ImmutableMap<String, Object>> manifestParts = ImmutableList.builder();
+    long totalRecords = 0;
+    for (OutputPart part : checkpoint.outputParts()) {
+      manifestParts.add(
+          ImmutableMap.of("blobName", part.blobName(), "recordCount", part.recordCount()));
+      totalRecords += part.recordCount();
+    }
+    DataLocation manifestLocation =
+        getDataLocation(
+            job.requestInfo().getOutputDataBucketName(),
+            job.requestInfo().getOutputDataBlobPrefix() + MANIFEST_SUFFIX);
+    putJson(
+        manifestLocation,
+        ImmutableMap.of("parts", manifestParts.build(), "recordCount", totalRecords));
+    return manifestLocation;
+  }
+
+  /** Deletes the checkpoint of the completed job. */
+  public void delete(Job job) throws CheckpointException {
+    try {
+      blobStorageClient.deleteBlob(
+          getDataLocation(
+              job.requestInfo().getOutputDataBucketName(),
+              job.requestInfo().getOutputDataBlobPrefix() + CHECKPOINT_SUFFIX));
+    } catch (BlobStorageClientException e) {
+      throw new CheckpointException(e);
+    }
+  }
+
+  private void putJson(DataLocation location, Object value) throws CheckpointException {
+    Path localFile = null;
+    try {
+      localFile = Files.createTempFile("job-checkpoint", ".json");
+      Files.write(localFile, objectMapper.writeValueAsBytes(value));
+      blobStorageClient.putBlob(location, localFile);
+    } catch (BlobStorageClientException | IOException e) {
+      throw new CheckpointException(e);
+    } finally {
+      if (localFile != null) {
+        localFile.toFile().delete();
+      }
+    }
+  }
+
+  /** Represents an exception reading or writing job checkpoints. */
+  public static final class CheckpointException extends Exception {
+
+    public CheckpointException(Throwable cause) {
+      super(cause);
+    }
+  }
+}
@@ -16,7 +16,9 @@
 
 package com.google.scp.operator.worker.decryption;
 
+import com.google.common.collect.ImmutableList;
 import com.google.scp.operator.worker.model.EncryptedReport;
+import com.google.scp.operator.worker.model.Fact;
 import com.google.scp.operator.worker.model.Report;
 
 /**
@@ -33,6 +35,15 @@ public interface RecordDecrypter {
    */
   Report decryptSingleReport(EncryptedReport encryptedReport) throws DecryptionException;
 
+  /**
+   * Decrypts a single report and deserializes only its facts. Implementations may override this to
+   * skip building the rest of the report.
+   */
+  default ImmutableList<Fact> decryptFacts(EncryptedReport encryptedReport)
+      throws DecryptionException {
+    return decryptSingleReport(encryptedReport).facts();
+  }
+
   class DecryptionException extends Exception {
 
     public DecryptionException(Throwable cause) {
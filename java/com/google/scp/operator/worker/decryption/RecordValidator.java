@@ -0,0 +1,33 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.decryption;
+
+import com.google.scp.operator.protos.shared.backend.JobErrorCategoryProto.JobErrorCategory;
+import com.google.scp.operator.worker.model.EncryptedReport;
+import java.util.Optional;
+
+/**
+ * Interface for cheap checks of encrypted reports before they are decrypted.
+ *
+ * <p>Reports that cannot possibly be decrypted are rejected up front, without reading their
+ * payloads or throwing exceptions, so bad inputs do not pay for failing decryption.
+ */
+public interface RecordValidator {
+
+  /** Returns the category of the reason the report is rejected for, or empty if it may be valid. */
+  Optional<JobErrorCategory> validate(EncryptedReport encryptedReport);
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.decryption.hybrid;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.scp.operator.cpio.cryptoclient.HybridEncryptionKeyService;
+import com.google.scp.operator.cpio.cryptoclient.HybridEncryptionKeyService.KeyFetchException;
+import com.google.scp.operator.cpio.cryptoclient.model.ErrorReason;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pool of decryption ciphers for decrypting reports on many threads.
+ *
+ * <p>Each thread gets its own cipher per key ID, with its own {@link
+ * com.google.crypto.tink.HybridDecrypt} primitive fetched once from the {@link
+ * HybridEncryptionKeyService}, and a ciphertext buffer reused across the thread's reports. Threads
+ * therefore neither contend on a shared primitive nor pay for creating a primitive per report, as
+ * key services building primitives from cached keysets do. A cipher is fetched again once it is
+ * older than the key cache TTL of the key services, so threads pick up keys the key service has
+ * since replaced or revoked no later than the key service itself does.
+ *
+ * <p>Key IDs the key service repeatedly reported as not found are remembered for a short while,
+ * shared by all threads, so reports with them can be rejected without fetching the key again. A
+ * single miss is not enough, as it may come from a transient inconsistency of the key service, and
+ * the rejections end shortly after the last miss so that a key published meanwhile is picked up.
+ */
+@Singleton
+public final class HybridDecrypterPool {
+
+  /** Ciphers a thread keeps, least recently used ones are dropped beyond that. */
+  private static final int MAX_CIPHERS_PER_THREAD = 64;
+  /** Matches the key cache TTL of the {@code HybridEncryptionKeyService} implementations. */
+  private static final Duration CIPHER_TTL = Duration.ofSeconds(3600);
+  private static final int MAX_NOT_FOUND_KEY_IDS = 1000;
+  /** Misses of a key ID, each within the expiry of the previous one, before it is rejected. */
+  private static final int NOT_FOUND_MISS_THRESHOLD = 3;
+  private static final Duration NOT_FOUND_KEY_ID_EXPIRY = Duration.ofMinutes(1);
+
+  private final HybridEncryptionKeyService hybridEncryptionKeyService;
+  private final Ticker ticker;
+  private final ThreadLocal<Map<String, PooledCipher>> threadCiphers =
+      ThreadLocal.withInitial(
+          () ->
+              new LinkedHashMap<>(16, 0.75f, /* accessOrder= */ true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PooledCipher> eldest) {
+                  return size() > MAX_CIPHERS_PER_THREAD;
+                }
+              });
+  /** Number of recent misses by key ID, each miss restarting the expiry. */
+  private final Cache<String, Integer> notFoundKeyIds;
+
+  @Inject
+  public HybridDecrypterPool(HybridEncryptionKeyService hybridEncryptionKeyService) {
+    this(hybridEncryptionKeyService, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  HybridDecrypterPool(HybridEncryptionKeyService hybridEncryptionKeyService, Ticker ticker) {
+    this.hybridEncryptionKeyService = hybridEncryptionKeyService;
+    this.ticker = ticker;
+    this.notFoundKeyIds =
+        CacheBuilder.newBuilder()
+            .maximumSize(MAX_NOT_FOUND_KEY_IDS)
+            .expireAfterWrite(NOT_FOUND_KEY_ID_EXPIRY)
+            .ticker(ticker)
+            .build();
+  }
+
+  /**
+   * Returns the calling thread's cipher for the key, fetching the key on the thread's first use of
+   * it, or once the thread's cipher expired. The cipher must only be used by the calling thread.
+   */
+  public HybridDecryptionCipher cipherFor(String keyId) throws KeyFetchException {
+    Map<String, PooledCipher> ciphers = threadCiphers.get();
+    PooledCipher pooled = ciphers.get(keyId);
+    long now = ticker.read();
+    if (pooled == null || now - pooled.fetchedNanos >= CIPHER_TTL.toNanos()) {
+      // Failed fetches leave no cipher, so the next report with the key tries again.
+      ciphers.remove(keyId);
+      HybridDecryptionCipher cipher;
+      try {
+        cipher =
+            HybridDecryptionCipher.withReusedBuffer(
+                hybridEncryptionKeyService.getDecrypter(keyId));
+      } catch (KeyFetchException e) {
+        if (e.getReason() == ErrorReason.KEY_NOT_FOUND) {
+          notFoundKeyIds.asMap().merge(keyId, 1, Integer::sum);
+        }
+        throw e;
+      }
+      notFoundKeyIds.invalidate(keyId);
+      pooled = new PooledCipher(cipher, now);
+      ciphers.put(keyId, pooled);
+    }
+    return pooled.cipher;
+  }
+
+  /** Returns whether the key service recently and repeatedly reported the key as not found. */
+  public boolean isKeyNotFound(String keyId) {
+    Integer misses = notFoundKeyIds.getIfPresent(keyId);
+    return misses != null && misses >= NOT_FOUND_MISS_THRESHOLD;
+  }
+
+  private static final class PooledCipher {
+    private final HybridDecryptionCipher cipher;
+    private final long fetchedNanos;
+
+    private PooledCipher(HybridDecryptionCipher cipher, long fetchedNanos) {
+      this.cipher = cipher;
+      this.fetchedNanos = fetchedNanos;
+    }
+  }
+}
@@ -17,9 +17,12 @@
 package com.google.scp.operator.worker.decryption.hybrid;
 
 import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
 import com.google.crypto.tink.HybridDecrypt;
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.GeneralSecurityException;
+import java.util.Optional;
 
 /**
  * Implementation of {@code DecryptionCipher} that uses a key provided by the aggregate KMS service.
@@ -27,27 +30,54 @@ import java.security.GeneralSecurityException;
 public final class HybridDecryptionCipher {
 
   private final HybridDecrypt hybridDecrypt;
+  private final boolean reuseCiphertextBuffer;
+  private byte[] ciphertextBuffer = new byte[0];
 
   // Empty byte array to indicate that there's no Associated Data
   // TODO(b/199187471) find out if this will be populated
   static final byte[] CONTEXT_INFO = new byte[] {};
 
   public static HybridDecryptionCipher of(HybridDecrypt hybridDecrypt) {
-    return new HybridDecryptionCipher(hybridDecrypt);
+    return new HybridDecryptionCipher(hybridDecrypt, false);
   }
 
-  private HybridDecryptionCipher(HybridDecrypt hybridDecrypt) {
+  /**
+   * Returns a cipher that reads payloads into a buffer it reuses across calls, instead of a new
+   * copy of each payload. The cipher must not be used by more than one thread at a time.
+   */
+  static HybridDecryptionCipher withReusedBuffer(HybridDecrypt hybridDecrypt) {
+    return new HybridDecryptionCipher(hybridDecrypt, true);
+  }
+
+  private HybridDecryptionCipher(HybridDecrypt hybridDecrypt, boolean reuseCiphertextBuffer) {
     this.hybridDecrypt = hybridDecrypt;
+    this.reuseCiphertextBuffer = reuseCiphertextBuffer;
   }
 
   public ByteSource decrypt(ByteSource encryptedPayload) throws PayloadDecryptionException {
     try {
-      return ByteSource.wrap(hybridDecrypt.decrypt(encryptedPayload.read(), CONTEXT_INFO));
+      return ByteSource.wrap(hybridDecrypt.decrypt(readCiphertext(encryptedPayload), CONTEXT_INFO));
     } catch (GeneralSecurityException | IOException e) {
       throw new PayloadDecryptionException(e);
     }
   }
 
+  private byte[] readCiphertext(ByteSource encryptedPayload) throws IOException {
+    Optional<Long> size = encryptedPayload.sizeIfKnown().toJavaUtil();
+    if (!reuseCiphertextBuffer || size.isEmpty()) {
+      return encryptedPayload.read();
+    }
+    // Tink only takes whole arrays, so the buffer is reused for payloads of its size. Reports of a
+    // job are usually all of the same size.
+    if (ciphertextBuffer.length != size.get()) {
+      ciphertextBuffer = new byte[Math.toIntExact(size.get())];
+    }
+    try (InputStream payloadStream = encryptedPayload.openStream()) {
+      ByteStreams.readFully(payloadStream, ciphertextBuffer);
+    }
+    return ciphertextBuffer;
+  }
+
   public static class PayloadDecryptionException extends Exception {
 
     public PayloadDecryptionException(Throwable cause) {
@@ -19,27 +19,26 @@ package com.google.scp.operator.worker.decryption.hybrid;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.inject.Inject;
-import com.google.scp.operator.cpio.cryptoclient.HybridEncryptionKeyService;
 import com.google.scp.operator.cpio.cryptoclient.HybridEncryptionKeyService.KeyFetchException;
 import com.google.scp.operator.worker.model.EncryptedReport;
 
 /**
  * Provides {@code HybridDecryptionCipher}s for the hybrid decryption scheme.
  *
- * <p>Inspects the provided {@code EncryptedReport} for the key used to decrypt, retrieves the key
- * it needs from the {@code HybridEncryptionKeyService}, and constructs a decryption cipher using
- * that key.
+ * <p>Inspects the provided {@code EncryptedReport} for the key used to decrypt, and returns the
+ * calling thread's decryption cipher for that key from the {@code HybridDecrypterPool}. The cipher
+ * must only be used on the calling thread.
  */
 public final class HybridDecryptionCipherFactory {
 
-  private final HybridEncryptionKeyService hybridEncryptionKeyService;
+  private final HybridDecrypterPool decrypterPool;
 
   @Inject
-  public HybridDecryptionCipherFactory(HybridEncryptionKeyService hybridEncryptionKeyService) {
-    this.hybridEncryptionKeyService = hybridEncryptionKeyService;
+  public HybridDecryptionCipherFactory(HybridDecrypterPool decrypterPool) {
+    this.decrypterPool = decrypterPool;
   }
 
-  /** Retrieves the key needed to decrypt the report and constucts a decryption cipher for it. */
+  /** Retrieves the decryption cipher for the key needed to decrypt the report. */
   public HybridDecryptionCipher decryptionCipherFor(EncryptedReport encryptedReport)
       throws CipherCreationException {
     checkArgument(
@@ -47,9 +46,7 @@ public final class HybridDecryptionCipherFactory {
         "encryptedReport must have a decryptionKeyId present to create DecryptionCipher");
 
     try {
-      var decryptionKey =
-          hybridEncryptionKeyService.getDecrypter(encryptedReport.decryptionKeyId().get());
-      return HybridDecryptionCipher.of(decryptionKey);
+      return decrypterPool.cipherFor(encryptedReport.decryptionKeyId().get());
     } catch (KeyFetchException e) {
       throw new CipherCreationException(e);
     }
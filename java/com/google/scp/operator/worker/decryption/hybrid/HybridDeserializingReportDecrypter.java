@@ -16,14 +16,18 @@
 
 package com.google.scp.operator.worker.decryption.hybrid;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteSource;
 import com.google.inject.Inject;
 import com.google.scp.operator.worker.decryption.RecordDecrypter;
 import com.google.scp.operator.worker.decryption.hybrid.HybridDecryptionCipher.PayloadDecryptionException;
 import com.google.scp.operator.worker.decryption.hybrid.HybridDecryptionCipherFactory.CipherCreationException;
 import com.google.scp.operator.worker.model.EncryptedReport;
+import com.google.scp.operator.worker.model.Fact;
 import com.google.scp.operator.worker.model.Report;
 import com.google.scp.operator.worker.model.serdes.ReportSerdes;
+import com.google.scp.operator.worker.perf.JobProfiler;
+import com.google.scp.operator.worker.perf.JobProfiler.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,20 +39,24 @@ public final class HybridDeserializingReportDecrypter implements RecordDecrypter
 
   private final HybridDecryptionCipherFactory decryptionCipherFactory;
   private final ReportSerdes reportSerdes;
+  private final JobProfiler jobProfiler;
   private final Logger logger = LoggerFactory.getLogger(HybridDeserializingReportDecrypter.class);
 
   @Inject
   public HybridDeserializingReportDecrypter(
-      HybridDecryptionCipherFactory decryptionCipherFactory, ReportSerdes reportSerdes) {
+      HybridDecryptionCipherFactory decryptionCipherFactory,
+      ReportSerdes reportSerdes,
+      JobProfiler jobProfiler) {
     this.decryptionCipherFactory = decryptionCipherFactory;
     this.reportSerdes = reportSerdes;
+    this.jobProfiler = jobProfiler;
   }
 
   @Override
   public Report decryptSingleReport(EncryptedReport encryptedReport) throws DecryptionException {
+    HybridDecryptionCipher decryptionCipher = decryptionCipherFor(encryptedReport);
+    long decryptStart = jobProfiler.startTimer();
     try {
-      HybridDecryptionCipher decryptionCipher =
-          decryptionCipherFactory.decryptionCipherFor(encryptedReport);
       ByteSource decryptedPayload = decryptionCipher.decrypt(encryptedReport.payload());
       return reportSerdes
           .convert(decryptedPayload)
@@ -56,8 +64,43 @@ public final class HybridDeserializingReportDecrypter implements RecordDecrypter
               () ->
                   new PayloadDecryptionException(
                       new IllegalArgumentException("Decrypted payload could not be deserialized")));
-    } catch (PayloadDecryptionException | CipherCreationException e) {
+    } catch (PayloadDecryptionException e) {
       throw new DecryptionException(e);
+    } finally {
+      jobProfiler.stopTimer(Stage.DECRYPT, decryptStart);
+    }
+  }
+
+  /** Reads the facts straight from the decrypted payload, without building the report. */
+  @Override
+  public ImmutableList<Fact> decryptFacts(EncryptedReport encryptedReport)
+      throws DecryptionException {
+    HybridDecryptionCipher decryptionCipher = decryptionCipherFor(encryptedReport);
+    long decryptStart = jobProfiler.startTimer();
+    try {
+      ByteSource decryptedPayload = decryptionCipher.decrypt(encryptedReport.payload());
+      ImmutableList.Builder<Fact> facts = ImmutableList.builder();
+      if (!reportSerdes.readFacts(decryptedPayload, facts::add)) {
+        throw new PayloadDecryptionException(
+            new IllegalArgumentException("Decrypted payload could not be deserialized"));
+      }
+      return facts.build();
+    } catch (PayloadDecryptionException e) {
+      throw new DecryptionException(e);
+    } finally {
+      jobProfiler.stopTimer(Stage.DECRYPT, decryptStart);
+    }
+  }
+
+  private HybridDecryptionCipher decryptionCipherFor(EncryptedReport encryptedReport)
+      throws DecryptionException {
+    long keyFetchStart = jobProfiler.startTimer();
+    try {
+      return decryptionCipherFactory.decryptionCipherFor(encryptedReport);
+    } catch (CipherCreationException e) {
+      throw new DecryptionException(e);
+    } finally {
+      jobProfiler.stopTimer(Stage.KEY_FETCH, keyFetchStart);
     }
   }
 }
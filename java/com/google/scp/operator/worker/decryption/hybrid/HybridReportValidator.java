@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.decryption.hybrid;
+
+import static com.google.scp.operator.protos.shared.backend.JobErrorCategoryProto.JobErrorCategory.HYBRID_KEY_ID_MISSING;
+import static com.google.scp.operator.protos.shared.backend.JobErrorCategoryProto.JobErrorCategory.INVALID_KEY_ID;
+import static com.google.scp.operator.protos.shared.backend.JobErrorCategoryProto.JobErrorCategory.INVALID_PAYLOAD_SIZE;
+import static com.google.scp.operator.protos.shared.backend.JobErrorCategoryProto.JobErrorCategory.UNKNOWN_KEY_ID;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.scp.operator.protos.shared.backend.JobErrorCategoryProto.JobErrorCategory;
+import com.google.scp.operator.worker.decryption.RecordValidator;
+import com.google.scp.operator.worker.model.EncryptedReport;
+import java.util.Optional;
+
+/**
+ * Rejects reports that cannot be decrypted with the hybrid decryption scheme: reports without a
+ * well-formed decryption key ID, with a key ID the key service repeatedly reported as not found, or
+ * with a payload shorter than any hybrid ciphertext.
+ */
+@Singleton
+public final class HybridReportValidator implements RecordValidator {
+
+  /** Key IDs are UUIDs, some room is left for other formats of the key service. */
+  private static final int MAX_KEY_ID_LENGTH = 128;
+
+  /**
+   * Ciphertext size of an empty plaintext with the default key template,
+   * DHKEM_X25519_HKDF_SHA256_HKDF_SHA256_CHACHA20_POLY1305_RAW: the 32 byte encapsulated X25519 key
+   * and the 16 byte Poly1305 tag. HPKE derives the nonce, so none is sent, and RAW keys add no
+   * output prefix.
+   */
+  private static final long HPKE_X25519_MIN_CIPHERTEXT_SIZE = 32 + 16;
+
+  /**
+   * Ciphertext size of an empty plaintext with ECIES_P256_COMPRESSED_HKDF_HMAC_SHA256_AES128_GCM:
+   * the 33 byte compressed P-256 point, the 12 byte AES-GCM IV and the 16 byte tag. Uncompressed
+   * points and non-RAW output prefixes only make ciphertexts longer.
+   */
+  private static final long ECIES_P256_MIN_CIPHERTEXT_SIZE = 33 + 12 + 16;
+
+  /** Size of the smallest ciphertext of any key template the keys may be generated with. */
+  private static final long MIN_PAYLOAD_SIZE =
+      Math.min(HPKE_X25519_MIN_CIPHERTEXT_SIZE, ECIES_P256_MIN_CIPHERTEXT_SIZE);
+
+  private final HybridDecrypterPool decrypterPool;
+
+  @Inject
+  public HybridReportValidator(HybridDecrypterPool decrypterPool) {
+    this.decrypterPool = decrypterPool;
+  }
+
+  @Override
+  public Optional<JobErrorCategory> validate(EncryptedReport encryptedReport) {
+    if (encryptedReport.decryptionKeyId().isEmpty()) {
+      return Optional.of(HYBRID_KEY_ID_MISSING);
+    }
+    String keyId = encryptedReport.decryptionKeyId().get();
+    if (!isWellFormedKeyId(keyId)) {
+      return Optional.of(INVALID_KEY_ID);
+    }
+    if (decrypterPool.isKeyNotFound(keyId)) {
+      return Optional.of(UNKNOWN_KEY_ID);
+    }
+    // Payloads of unknown size are not read here, decryption reads them anyway.
+    long payloadSize = encryptedReport.payload().sizeIfKnown().or(MIN_PAYLOAD_SIZE);
+    if (payloadSize < MIN_PAYLOAD_SIZE) {
+      return Optional.of(INVALID_PAYLOAD_SIZE);
+    }
+    return Optional.empty();
+  }
+
+  private static boolean isWellFormedKeyId(String keyId) {
+    if (keyId.isEmpty() || keyId.length() > MAX_KEY_ID_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < keyId.length(); i++) {
+      char c = keyId.charAt(i);
+      boolean allowed =
+          (c >= 'a' && c <= 'z')
+              || (c >= 'A' && c <= 'Z')
+              || (c >= '0' && c <= '9')
+              || c == '-'
+              || c == '_';
+      if (!allowed) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
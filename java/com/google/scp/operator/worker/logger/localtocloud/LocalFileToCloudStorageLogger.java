@@ -31,6 +31,8 @@ import com.google.scp.operator.cpio.jobclient.model.Job;
 import com.google.scp.operator.shared.model.BackendModelUtil;
 import com.google.scp.operator.worker.logger.ResultLogger;
 import com.google.scp.operator.worker.model.Fact;
+import com.google.scp.operator.worker.perf.JobProfiler;
+import com.google.scp.operator.worker.perf.JobProfiler.Stage;
 import com.google.scp.operator.worker.writer.LocalResultFileWriter;
 import com.google.scp.operator.worker.writer.LocalResultFileWriter.FileWriteException;
 import java.io.IOException;
@@ -51,15 +53,18 @@ public final class LocalFileToCloudStorageLogger implements ResultLogger {
   private final LocalResultFileWriter localResultFileWriter;
   private final BlobStorageClient blobStorageClient;
   private final Path workingDirectory;
+  private final JobProfiler jobProfiler;
 
   @Inject
   LocalFileToCloudStorageLogger(
       LocalResultFileWriter localResultFileWriter,
       BlobStorageClient blobStorageClient,
-      @ResultWorkingDirectory Path workingDirectory) {
+      @ResultWorkingDirectory Path workingDirectory,
+      JobProfiler jobProfiler) {
     this.localResultFileWriter = localResultFileWriter;
     this.blobStorageClient = blobStorageClient;
     this.workingDirectory = workingDirectory;
+    this.jobProfiler = jobProfiler;
   }
 
   /** Write the results to a local file then write that local file to cloud storage */
@@ -82,7 +87,8 @@ public final class LocalFileToCloudStorageLogger implements ResultLogger {
       Files.createDirectories(workingDirectory);
 
       // Write the results to a local file.
-      localResultFileWriter.writeLocalFile(results, localResultsFilePath);
+      localResultFileWriter.writeLocalFile(
+          results, localResultsFilePath, ctx.requestInfo().getJobParametersMap());
 
       // Write the local file to cloud storage
       DataLocation resultLocation =
@@ -90,6 +96,7 @@ public final class LocalFileToCloudStorageLogger implements ResultLogger {
               ctx.requestInfo().getOutputDataBucketName(),
               ctx.requestInfo().getOutputDataBlobPrefix());
 
+      long uploadStart = jobProfiler.startTimer();
       if (useJobAccountIdentity) {
         blobStorageClient.putBlob(
             resultLocation,
@@ -98,6 +105,7 @@ public final class LocalFileToCloudStorageLogger implements ResultLogger {
       } else {
         blobStorageClient.putBlob(resultLocation, localResultsFilePath);
       }
+      jobProfiler.stopTimer(Stage.UPLOAD, uploadStart);
 
       return resultLocation;
     } catch (IOException | FileWriteException | BlobStorageClientException e) {
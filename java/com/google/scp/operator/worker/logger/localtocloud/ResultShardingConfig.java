@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.logger.localtocloud;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * When the {@link ShardedLocalFileToCloudStorageLogger} finishes result shards, and how it uploads
+ * them.
+ */
+@AutoValue
+public abstract class ResultShardingConfig {
+
+  public static Builder builder() {
+    return new AutoValue_ResultShardingConfig.Builder();
+  }
+
+  /** Number of results after which a shard is finished. */
+  public abstract long maxShardRecords();
+
+  /**
+   * Size in bytes after which a shard is finished. Shards can exceed it by the data the file
+   * writer buffers, e.g. an Avro block.
+   */
+  public abstract long maxShardBytes();
+
+  /** Number of shards uploaded concurrently. */
+  public abstract int uploadThreads();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    public abstract Builder setMaxShardRecords(long maxShardRecords);
+
+    public abstract Builder setMaxShardBytes(long maxShardBytes);
+
+    public abstract Builder setUploadThreads(int uploadThreads);
+
+    public abstract ResultShardingConfig build();
+  }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.logger.localtocloud;
+
+import static com.google.scp.operator.cpio.blobstorageclient.BlobStorageClient.getDataLocation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.inject.Inject;
+import com.google.scp.operator.cpio.blobstorageclient.BlobStorageClient;
+import com.google.scp.operator.cpio.blobstorageclient.BlobStorageClient.BlobStorageClientException;
+import com.google.scp.operator.cpio.blobstorageclient.model.DataLocation;
+import com.google.scp.operator.cpio.jobclient.model.Job;
+import com.google.scp.operator.shared.model.BackendModelUtil;
+import com.google.scp.operator.worker.logger.ResultLogger;
+import com.google.scp.operator.worker.logger.localtocloud.LocalFileToCloudStorageLogger.ResultWorkingDirectory;
+import com.google.scp.operator.worker.model.Fact;
+import com.google.scp.operator.worker.perf.JobProfiler;
+import com.google.scp.operator.worker.perf.JobProfiler.Stage;
+import com.google.scp.operator.worker.writer.LocalResultFileWriter;
+import com.google.scp.operator.worker.writer.LocalResultFileWriter.FileWriteException;
+import com.google.scp.operator.worker.writer.LocalResultFileWriter.ResultFileAppender;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@code ResultLogger} that writes the results to a series of local shard files,
+ * each uploaded to cloud storage while the following shards are written.
+ *
+ * <p>Shards are uploaded next to the output blob as {@code <prefix>-shard-00000}, {@code
+ * <prefix>-shard-00001}, and so on. Once all shards are uploaded, a JSON manifest listing them in
+ * order with their record counts is uploaded as {@code <prefix>-manifest.json}, and its location
+ * is returned. Blob names depend only on the job and the shard index, so a retry of the job
+ * overwrites the blobs of earlier attempts. Shards beyond the ones the manifest lists may be left
+ * over from an earlier attempt.
+ */
+public final class ShardedLocalFileToCloudStorageLogger implements ResultLogger {
+
+  static final String SHARD_NAME_FORMAT = "%s-shard-%05d";
+  static final String MANIFEST_SUFFIX = "-manifest.json";
+
+  private final LocalResultFileWriter localResultFileWriter;
+  private final BlobStorageClient blobStorageClient;
+  private final Path workingDirectory;
+  private final ResultShardingConfig config;
+  private final JobProfiler jobProfiler;
+  private final ExecutorService uploadExecutor;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Inject
+  ShardedLocalFileToCloudStorageLogger(
+      LocalResultFileWriter localResultFileWriter,
+      BlobStorageClient blobStorageClient,
+      @ResultWorkingDirectory Path workingDirectory,
+      ResultShardingConfig config,
+      JobProfiler jobProfiler) {
+    this.localResultFileWriter = localResultFileWriter;
+    this.blobStorageClient = blobStorageClient;
+    this.workingDirectory = workingDirectory;
+    this.config = config;
+    this.jobProfiler = jobProfiler;
+    this.uploadExecutor =
+        Executors.newFixedThreadPool(
+            config.uploadThreads(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("result-shard-upload-%d")
+                .build());
+  }
+
+  /** Write the results to local shard files, uploading each finished shard to cloud storage. */
+  @Override
+  public DataLocation logResults(Stream<Fact> results, Job ctx) throws ResultLogException {
+    return logResults(results, ctx, false);
+  }
+
+  /** Write the results to local shard files, uploading each finished shard to cloud storage. */
+  @Override
+  public DataLocation logResults(Stream<Fact> results, Job ctx, boolean useJobAccountIdentity)
+      throws ResultLogException {
+    Optional<String> accountIdentity =
+        useJobAccountIdentity
+            ? Optional.of(ctx.requestInfo().getAccountIdentity())
+            : Optional.empty();
+    String bucket = ctx.requestInfo().getOutputDataBucketName();
+    String blobPrefix = ctx.requestInfo().getOutputDataBlobPrefix();
+    Map<String, String> jobParameters = ctx.requestInfo().getJobParametersMap();
+    // A random UUID prevents clobbering the files of a job processed twice by the same worker.
+    String localFilePrefix =
+        "job-" + BackendModelUtil.toJobKeyString(ctx.jobKey()) + "-" + UUID.randomUUID();
+
+    List<Path> localFiles = new ArrayList<>();
+    Deque<ShardUpload> pendingUploads = new ArrayDeque<>();
+    ImmutableList.Builder<ImmutableMap<String, Object>> manifestShards = ImmutableList.builder();
+    long totalRecords = 0;
+    Throwable failure = null;
+    try {
+      // Create the working directory if it doesn't exist
+      Files.createDirectories(workingDirectory);
+
+      Iterator<Fact> resultsIterator = results.iterator();
+      int shardIndex = 0;
+      // At least one shard is written, so that jobs without results have an output file too.
+      do {
+        Path localShardPath =
+            workingDirectory.resolve(
+                localFilePrefix
+                    + "-"
+                    + shardIndex
+                    + localResultFileWriter.getFileExtension());
+        localFiles.add(localShardPath);
+        long shardRecords = writeShard(resultsIterator, localShardPath, jobParameters);
+        totalRecords += shardRecords;
+
+        String shardBlobName = String.format(SHARD_NAME_FORMAT, blobPrefix, shardIndex);
+        manifestShards.add(ImmutableMap.of("blobName", shardBlobName, "recordCount", shardRecords));
+        pendingUploads.add(
+            new ShardUpload(
+                () -> {
+                  putBlob(getDataLocation(bucket, shardBlobName), localShardPath, accountIdentity);
+                  // Frees the disk space of the shard right away.
+                  Files.deleteIfExists(localShardPath);
+                }));
+        // Limits the finished shards waiting for upload on the local disk.
+        while (pendingUploads.size() > config.uploadThreads()) {
+          awaitUpload(pendingUploads.remove());
+        }
+        shardIndex++;
+      } while (resultsIterator.hasNext());
+
+      while (!pendingUploads.isEmpty()) {
+        awaitUpload(pendingUploads.remove());
+      }
+
+      Path localManifestPath = workingDirectory.resolve(localFilePrefix + MANIFEST_SUFFIX);
+      localFiles.add(localManifestPath);
+      Files.write(
+          localManifestPath,
+          objectMapper.writeValueAsBytes(
+              ImmutableMap.of("shards", manifestShards.build(), "recordCount", totalRecords)));
+      DataLocation manifestLocation = getDataLocation(bucket, blobPrefix + MANIFEST_SUFFIX);
+      putBlob(manifestLocation, localManifestPath, accountIdentity);
+      return manifestLocation;
+    } catch (IOException | FileWriteException | BlobStorageClientException e) {
+      ResultLogException resultLogException = new ResultLogException(e);
+      failure = resultLogException;
+      throw resultLogException;
+    } catch (ResultLogException | RuntimeException | Error e) {
+      failure = e;
+      throw e;
+    } finally {
+      // Uploads still reading their shard have to stop before the shard is deleted.
+      pendingUploads.forEach(ShardUpload::cancelAndAwait);
+      deleteLocalFiles(localFiles, failure);
+    }
+  }
+
+  /**
+   * Deletes the local files since they are no longer needed. Failures are added to the failure of
+   * the results logging if there is one, so that they do not hide it.
+   */
+  private static void deleteLocalFiles(List<Path> localFiles, Throwable failure)
+      throws ResultLogException {
+    IOException deleteFailure = null;
+    for (Path localFile : localFiles) {
+      try {
+        Files.deleteIfExists(localFile);
+      } catch (IOException e) {
+        if (deleteFailure == null) {
+          deleteFailure = e;
+        } else {
+          deleteFailure.addSuppressed(e);
+        }
+      }
+    }
+    if (deleteFailure == null) {
+      return;
+    }
+    if (failure != null) {
+      failure.addSuppressed(deleteFailure);
+      return;
+    }
+    throw new ResultLogException(deleteFailure);
+  }
+
+  /** Writes results to the shard until it is full or the results are exhausted. */
+  private long writeShard(
+      Iterator<Fact> resultsIterator, Path localShardPath, Map<String, String> jobParameters)
+      throws FileWriteException {
+    try (ResultFileAppender appender =
+        localResultFileWriter.openLocalFile(localShardPath, jobParameters)) {
+      while (resultsIterator.hasNext()
+          && appender.recordCount() < config.maxShardRecords()
+          && appender.byteCount() < config.maxShardBytes()) {
+        appender.append(resultsIterator.next());
+      }
+      return appender.recordCount();
+    }
+  }
+
+  private void putBlob(DataLocation location, Path filePath, Optional<String> accountIdentity)
+      throws BlobStorageClientException {
+    long uploadStart = jobProfiler.startTimer();
+    if (accountIdentity.isPresent()) {
+      blobStorageClient.putBlob(location, filePath, accountIdentity);
+    } else {
+      blobStorageClient.putBlob(location, filePath);
+    }
+    jobProfiler.stopTimer(Stage.UPLOAD, uploadStart);
+  }
+
+  private static void awaitUpload(ShardUpload upload)
+      throws BlobStorageClientException, IOException, ResultLogException {
+    try {
+      upload.future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof BlobStorageClientException) {
+        throw (BlobStorageClientException) e.getCause();
+      }
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new ResultLogException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      // The upload is no longer pending, so it has to stop before its shard is deleted.
+      upload.cancelAndAwait();
+      throw new ResultLogException(e);
+    }
+  }
+
+  /** Uploads the shard on a separate thread. */
+  private interface UploadAction {
+    void run() throws BlobStorageClientException, IOException;
+  }
+
+  /**
+   * Upload of a shard on the upload executor, which can be cancelled and then awaited until it no
+   * longer reads the shard file.
+   */
+  private final class ShardUpload {
+    // Set by the upload when it starts, or by cancelAndAwait if the upload has not started.
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final Future<?> future;
+
+    private ShardUpload(UploadAction action) {
+      future =
+          uploadExecutor.submit(
+              () -> {
+                if (!claimed.compareAndSet(false, true)) {
+                  return null;
+                }
+                try {
+                  action.run();
+                } finally {
+                  finished.countDown();
+                }
+                return null;
+              });
+    }
+
+    /** Cancels the upload and waits until it is done if it has started. */
+    private void cancelAndAwait() {
+      future.cancel(true);
+      if (!claimed.compareAndSet(false, true)) {
+        Uninterruptibles.awaitUninterruptibly(finished);
+      }
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.logger.localtocloud;
+
+import com.google.scp.operator.worker.logger.ResultLogger;
+import com.google.scp.operator.worker.logger.ResultLoggerModule;
+import com.google.scp.operator.worker.writer.LocalResultFileWriter;
+import com.google.scp.operator.worker.writer.avro.LocalAvroResultFileWriter;
+
+/**
+ * Module that uses the {@code ShardedLocalFileToCloudStorageLogger} with the {@code
+ * LocalAvroResultFileWriter}.
+ */
+public final class ShardedLocalToCloudLoggerModule extends ResultLoggerModule {
+
+  @Override
+  public Class<? extends ResultLogger> getResultLoggerImplementation() {
+    return ShardedLocalFileToCloudStorageLogger.class;
+  }
+
+  @Override
+  public void configureModule() {
+    bind(LocalResultFileWriter.class).to(LocalAvroResultFileWriter.class);
+  }
+}
@@ -25,8 +25,9 @@ import java.util.Optional;
 /**
  * Result from Record Decryption
  *
- * <p>Contains either a report that was decrypted successfully or a series of errors resulting from
- * decryption. Errors can later be aggregated and provided to requesters for diagnostic information.
+ * <p>Contains either the facts of a report that was decrypted successfully or a series of errors
+ * resulting from decryption. Errors can later be aggregated and provided to requesters for
+ * diagnostic information.
  */
 @AutoValue
 public abstract class DecryptionResult {
@@ -35,25 +36,25 @@ public abstract class DecryptionResult {
     return new AutoValue_DecryptionResult.Builder();
   }
 
-  public abstract Optional<Report> report();
+  public abstract Optional<ImmutableList<Fact>> facts();
 
   public abstract ImmutableList<ErrorMessage> errorMessages();
 
   /**
    * Validation helper
    *
-   * <p>Validates that either report or errors are present, but not both, and that one of them must
+   * <p>Validates that either facts or errors are present, but not both, and that one of them must
    * be set.
    */
   private boolean isValid() {
     boolean errorsPresent = !errorMessages().isEmpty();
-    return (report().isPresent() || errorsPresent) && !(report().isPresent() && errorsPresent);
+    return (facts().isPresent() || errorsPresent) && !(facts().isPresent() && errorsPresent);
   }
 
   @AutoValue.Builder
   public abstract static class Builder {
 
-    public abstract Builder setReport(Report report);
+    public abstract Builder setFacts(ImmutableList<Fact> facts);
 
     abstract ImmutableList.Builder<ErrorMessage> errorMessagesBuilder();
 
@@ -74,7 +75,7 @@ public abstract class DecryptionResult {
       DecryptionResult decryptionResult = autoBuild();
       checkState(
           decryptionResult.isValid(),
-          "Cannot have both Report and ErrorMessages present, must have either Report or"
+          "Cannot have both Facts and ErrorMessages present, must have either Facts or"
               + " ErrorMessages not both. DecryptionResult as created: "
               + decryptionResult);
       return decryptionResult;
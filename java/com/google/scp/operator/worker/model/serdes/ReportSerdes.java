@@ -18,8 +18,10 @@ package com.google.scp.operator.worker.model.serdes;
 
 import com.google.common.base.Converter;
 import com.google.common.io.ByteSource;
+import com.google.scp.operator.worker.model.Fact;
 import com.google.scp.operator.worker.model.Report;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Serializing and Deserialization of ByteSource to/from Report for encryption.
@@ -29,4 +31,18 @@ import java.util.Optional;
  *
  * <p>Optionals are used in lieu of checked exceptions.
  */
-public abstract class ReportSerdes extends Converter<ByteSource, Optional<Report>> {}
+public abstract class ReportSerdes extends Converter<ByteSource, Optional<Report>> {
+
+  /**
+   * Deserializes only the facts of a report, passing them to the sink in order.
+   *
+   * <p>Returns false, without passing any fact to the sink, if the report cannot be deserialized.
+   * Implementations may override this to skip the other fields of the report instead of building
+   * it. The worker deserializes decrypted reports with this, as it only aggregates their facts.
+   */
+  public boolean readFacts(ByteSource serializedReport, Consumer<Fact> sink) {
+    Optional<Report> report = convert(serializedReport);
+    report.ifPresent(r -> r.facts().forEach(sink));
+    return report.isPresent();
+  }
+}
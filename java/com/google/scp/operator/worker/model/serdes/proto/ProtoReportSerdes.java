@@ -20,6 +20,8 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 
 import com.google.common.base.Converter;
 import com.google.common.io.ByteSource;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
 import com.google.scp.operator.worker.model.Fact;
 import com.google.scp.operator.worker.model.Report;
 import com.google.scp.operator.worker.model.serdes.ReportSerdes;
@@ -28,6 +30,7 @@ import com.google.scp.simulation.ReportProto;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Serializes/Deserializes Reports to/from ByteSource by using an intermediate proto.
@@ -44,6 +47,91 @@ public final class ProtoReportSerdes extends ReportSerdes {
   private static final Converter<ByteSource, Optional<ReportProto.Report>>
       BYTE_SOURCE_TO_PROTO_CONVERTER = new BytesToProtoConverter();
 
+  private static final int RECORDS_TAG =
+      WireFormat.makeTag(
+          ReportProto.Report.RECORDS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+  private static final int PRIVACY_BUDGET_KEY_TAG =
+      WireFormat.makeTag(
+          ReportProto.Report.PRIVACY_BUDGET_KEY_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+  private static final int FACT_KEY_TAG =
+      WireFormat.makeTag(
+          ReportProto.Report.Fact.KEY_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+  private static final int FACT_VALUE_TAG =
+      WireFormat.makeTag(ReportProto.Report.Fact.VALUE_FIELD_NUMBER, WireFormat.WIRETYPE_VARINT);
+
+  /**
+   * Reads the facts straight from the wire format, without building the intermediate proto or the
+   * report. Fields other than the records are skipped without being decoded.
+   *
+   * <p>The payload is read twice: the first pass only checks that it is well formed, so no fact
+   * reaches the sink for a payload that {@link #convert} would reject, without buffering facts.
+   */
+  @Override
+  public boolean readFacts(ByteSource byteSource, Consumer<Fact> sink) {
+    try {
+      byte[] bytes = byteSource.read();
+      // An empty payload is rejected, as by conversion, instead of read as a report without facts.
+      if (bytes.length == 0 || !isWellFormed(CodedInputStream.newInstance(bytes))) {
+        return false;
+      }
+      decodeFacts(CodedInputStream.newInstance(bytes), sink);
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static boolean isWellFormed(CodedInputStream input) throws IOException {
+    for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+      if (tag == RECORDS_TAG || tag == PRIVACY_BUDGET_KEY_TAG) {
+        // Embedded messages are checked too, as parsing the proto would.
+        int oldLimit = input.pushLimit(input.readRawVarint32());
+        if (!skipFields(input)) {
+          return false;
+        }
+        input.popLimit(oldLimit);
+      } else if (!input.skipField(tag)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Skips all fields up to the current limit, returning false on an unexpected end group tag. */
+  private static boolean skipFields(CodedInputStream input) throws IOException {
+    for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+      if (!input.skipField(tag)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void decodeFacts(CodedInputStream input, Consumer<Fact> sink)
+      throws IOException {
+    for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+      if (tag != RECORDS_TAG) {
+        input.skipField(tag);
+        continue;
+      }
+      int oldLimit = input.pushLimit(input.readRawVarint32());
+      // Unset fields take the proto defaults.
+      String key = "";
+      long value = 0;
+      for (int factTag = input.readTag(); factTag != 0; factTag = input.readTag()) {
+        if (factTag == FACT_KEY_TAG) {
+          key = input.readString();
+        } else if (factTag == FACT_VALUE_TAG) {
+          value = input.readInt64();
+        } else {
+          input.skipField(factTag);
+        }
+      }
+      input.popLimit(oldLimit);
+      sink.accept(Fact.builder().setKey(key).setValue(value).build());
+    }
+  }
+
   @Override
   protected Optional<Report> doForward(ByteSource byteSource) {
     return BYTE_SOURCE_TO_PROTO_CONVERTER.andThen(PROTO_TO_REPORT_CONVERTER).convert(byteSource);
@@ -28,16 +28,21 @@ import java.util.concurrent.ConcurrentMap;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
-/** Registry for named stopwatches to measure performance. */
+/**
+ * Registry for named stopwatches to measure performance, along with named values such as byte
+ * counts and throughputs.
+ */
 public final class StopwatchRegistry {
 
   private final Provider<Ticker> tickerProvider;
   private final ConcurrentMap<String, Stopwatch> registry;
+  private final ConcurrentMap<String, Long> values;
 
   @Inject
   public StopwatchRegistry(Provider<Ticker> tickerProvider) {
     this.tickerProvider = tickerProvider;
     registry = new MapMaker().makeMap();
+    values = new MapMaker().makeMap();
   }
 
   /**
@@ -50,9 +55,15 @@ public final class StopwatchRegistry {
     return stopwatch;
   }
 
-  /** Empty the stopwatch registry. */
+  /** Records a named value. Overwrites the existing value if one already exists. */
+  public void recordValue(String valueName, long value) {
+    values.put(valueName, value);
+  }
+
+  /** Empty the stopwatch registry, including recorded values. */
   public void cleanupStopwatches() {
     registry.clear();
+    values.clear();
   }
 
   /** Snapshots the elapsed time of all stopwatches */
@@ -62,4 +73,9 @@ public final class StopwatchRegistry {
             toImmutableMap(
                 Map.Entry::getKey, stopwatchEntry -> stopwatchEntry.getValue().elapsed()));
   }
+
+  /** Snapshots all recorded values */
+  public ImmutableMap<String, Long> collectValues() {
+    return ImmutableMap.copyOf(values);
+  }
 }
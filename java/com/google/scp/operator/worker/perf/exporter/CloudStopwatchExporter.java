@@ -20,6 +20,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.stream.Stream;
 
 /**
  * Stopwatch exporter that exports to a plaintext file in a cloud storage bucket depending on the
@@ -45,13 +46,19 @@ public class CloudStopwatchExporter implements StopwatchExporter {
   @Override
   public void export(StopwatchRegistry stopwatches) throws StopwatchExportException {
     // Forms the file lines as just comma separated key/value pairs, key being the stopwatch name,
-    // and the value being the recorded millisecond duration.
+    // and the value being the recorded millisecond duration, followed by the recorded values.
     ImmutableList<String> fileLines =
-        stopwatches.collectStopwatchTimes().entrySet().stream()
-            .map(
-                stopwatchEntry ->
-                    String.format(
-                        "%s,%d", stopwatchEntry.getKey(), stopwatchEntry.getValue().toMillis()))
+        Stream.concat(
+                stopwatches.collectStopwatchTimes().entrySet().stream()
+                    .map(
+                        stopwatchEntry ->
+                            String.format(
+                                "%s,%d",
+                                stopwatchEntry.getKey(), stopwatchEntry.getValue().toMillis())),
+                stopwatches.collectValues().entrySet().stream()
+                    .map(
+                        valueEntry ->
+                            String.format("%s,%d", valueEntry.getKey(), valueEntry.getValue())))
             .collect(toImmutableList());
 
     try {
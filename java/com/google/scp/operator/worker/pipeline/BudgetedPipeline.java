@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.pipeline;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a stream and transforms its items on their own threads, passing the items between the
+ * stages and on to the consumer through queues bounded by a memory budget.
+ *
+ * <p>The budget is split evenly between the queue of read items and the queue of transformed
+ * items, so that each stage can always make progress. When the read queue is full the reader is
+ * throttled until the transformation catches up, and when the transformed queue is full the
+ * transformation waits for the consumer. Item sizes are estimated by the caller.
+ *
+ * <p>The returned stream must be closed, which stops the stages if the consumer did not read it
+ * to the end.
+ */
+public final class BudgetedPipeline<I, O> {
+
+  private final MemoryBudget readBudget;
+  private final MemoryBudget transformedBudget;
+
+  /** Creates a pipeline whose queues together hold at most the given number of bytes. */
+  public BudgetedPipeline(long budgetBytes) {
+    readBudget = new MemoryBudget(Math.max(budgetBytes / 2, 1));
+    transformedBudget = new MemoryBudget(Math.max(budgetBytes - budgetBytes / 2, 1));
+  }
+
+  /** Starts reading and transforming the input on the executor. */
+  public Stream<O> run(
+      Stream<I> input,
+      ToLongFunction<? super I> readBytes,
+      Function<? super I, ? extends O> transform,
+      ToLongFunction<? super O> transformedBytes,
+      ExecutorService executor) {
+    BudgetedQueue<I> readQueue = new BudgetedQueue<>(readBudget);
+    BudgetedQueue<O> transformedQueue = new BudgetedQueue<>(transformedBudget);
+
+    Future<?> reading =
+        executor.submit(
+            () ->
+                runStage(
+                    readQueue,
+                    () -> {
+                      Iterator<I> items = input.iterator();
+                      while (items.hasNext()) {
+                        I item = items.next();
+                        readQueue.put(item, readBytes.applyAsLong(item));
+                      }
+                    }));
+    Future<?> transforming =
+        executor.submit(
+            () ->
+                runStage(
+                    transformedQueue,
+                    () -> {
+                      for (Optional<I> item = readQueue.take();
+                          item.isPresent();
+                          item = readQueue.take()) {
+                        O transformed = transform.apply(item.get());
+                        transformedQueue.put(
+                            transformed, transformedBytes.applyAsLong(transformed));
+                      }
+                    }));
+
+    Spliterator<O> results =
+        new Spliterators.AbstractSpliterator<O>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+          @Override
+          public boolean tryAdvance(Consumer<? super O> action) {
+            Optional<O> item;
+            try {
+              item = transformedQueue.take();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new IllegalStateException("Interrupted while waiting for pipeline items.", e);
+            }
+            item.ifPresent(action);
+            return item.isPresent();
+          }
+        };
+    return StreamSupport.stream(results, /* parallel= */ false)
+        .onClose(
+            () -> {
+              reading.cancel(/* mayInterruptIfRunning= */ true);
+              transforming.cancel(/* mayInterruptIfRunning= */ true);
+            });
+  }
+
+  /**
+   * Returns the largest number of bytes held in the queues at the same time, as an upper bound
+   * summing the peaks of both queues.
+   */
+  public long peakUsedBytes() {
+    return readBudget.peakUsedBytes() + transformedBudget.peakUsedBytes();
+  }
+
+  /** Returns how long the reader was throttled by the budget, in milliseconds. */
+  public long readerThrottledMillis() {
+    return readBudget.throttledMillis();
+  }
+
+  /** Runs the stage, ending its output queue once it is done or failed. */
+  private static void runStage(BudgetedQueue<?> output, Stage stage) {
+    try {
+      stage.run();
+      output.finish();
+    } catch (InterruptedException e) {
+      // The pipeline was closed, nobody consumes the output anymore.
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      output.fail(e);
+    } catch (Error e) {
+      output.fail(new IllegalStateException(e));
+      throw e;
+    }
+  }
+
+  @FunctionalInterface
+  private interface Stage {
+    void run() throws InterruptedException;
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.pipeline;
+
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Queue between two pipeline stages, bounded by the bytes of its items rather than their number.
+ *
+ * <p>The producer ends the queue with {@link #finish()}, or with {@link #fail(RuntimeException)}
+ * to pass its failure on to the consumer.
+ */
+final class BudgetedQueue<T> {
+
+  private final MemoryBudget budget;
+  private final BlockingQueue<Entry<T>> entries = new LinkedBlockingQueue<>();
+
+  BudgetedQueue(MemoryBudget budget) {
+    this.budget = budget;
+  }
+
+  /** Adds the item, waiting until its estimated size fits in the budget. */
+  void put(T item, long estimatedBytes) throws InterruptedException {
+    entries.put(new Entry<>(item, budget.acquire(estimatedBytes), null));
+  }
+
+  void finish() {
+    entries.add(new Entry<>(null, 0, null));
+  }
+
+  void fail(RuntimeException failure) {
+    entries.add(new Entry<>(null, 0, failure));
+  }
+
+  /**
+   * Removes the next item, returning its bytes to the budget, or returns empty if the queue is
+   * finished.
+   *
+   * @throws RuntimeException the failure the producer ended the queue with.
+   */
+  Optional<T> take() throws InterruptedException {
+    Entry<T> entry = entries.take();
+    if (entry.item == null) {
+      // Keeps the queue ended for any further takes.
+      entries.add(entry);
+      if (entry.failure != null) {
+        throw entry.failure;
+      }
+      return Optional.empty();
+    }
+    budget.release(entry.acquiredBytes);
+    return Optional.of(entry.item);
+  }
+
+  private static final class Entry<T> {
+    private final T item;
+    private final long acquiredBytes;
+    private final RuntimeException failure;
+
+    private Entry(T item, long acquiredBytes, RuntimeException failure) {
+      this.item = item;
+      this.acquiredBytes = acquiredBytes;
+      this.failure = failure;
+    }
+  }
+}
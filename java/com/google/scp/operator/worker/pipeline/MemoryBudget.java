@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.pipeline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Number of bytes that data held between pipeline stages may take up. Producers block until enough
+ * of the budget is free for their data.
+ *
+ * <p>Data larger than the whole budget is admitted once the budget is entirely free, so that it
+ * cannot block forever.
+ */
+public final class MemoryBudget {
+
+  private final long totalBytes;
+  private long usedBytes = 0;
+  private long peakUsedBytes = 0;
+  private long throttledNanos = 0;
+
+  public MemoryBudget(long totalBytes) {
+    checkArgument(totalBytes > 0, "The memory budget must be positive, got %s.", totalBytes);
+    this.totalBytes = totalBytes;
+  }
+
+  /**
+   * Waits until the bytes fit in the budget and takes them out of it.
+   *
+   * @return the number of bytes taken, to be passed to {@link #release(long)} once the data is no
+   *     longer held.
+   */
+  public synchronized long acquire(long bytes) throws InterruptedException {
+    long acquiredBytes = Math.min(bytes, totalBytes);
+    if (usedBytes + acquiredBytes > totalBytes) {
+      long waitStart = System.nanoTime();
+      while (usedBytes + acquiredBytes > totalBytes) {
+        wait();
+      }
+      throttledNanos += System.nanoTime() - waitStart;
+    }
+    usedBytes += acquiredBytes;
+    peakUsedBytes = Math.max(peakUsedBytes, usedBytes);
+    return acquiredBytes;
+  }
+
+  /** Returns bytes taken with {@link #acquire(long)} to the budget. */
+  public synchronized void release(long acquiredBytes) {
+    usedBytes -= acquiredBytes;
+    notifyAll();
+  }
+
+  public long totalBytes() {
+    return totalBytes;
+  }
+
+  /** Returns the largest number of bytes that were taken out of the budget at the same time. */
+  public synchronized long peakUsedBytes() {
+    return peakUsedBytes;
+  }
+
+  /** Returns how long producers waited in total for the budget to free up, in milliseconds. */
+  public synchronized long throttledMillis() {
+    return throttledNanos / 1_000_000;
+  }
+}
@@ -26,6 +26,15 @@ public interface RecordReader extends AutoCloseable {
   Stream<EncryptedReport> readEncryptedReports(DataLocation dataLocation)
       throws RecordReadException;
 
+  /**
+   * Reads the encrypted records after skipping the given number of them. Readers that can pass
+   * over records without decoding them override this.
+   */
+  default Stream<EncryptedReport> readEncryptedReports(DataLocation dataLocation, long skipRecords)
+      throws RecordReadException {
+    return readEncryptedReports(dataLocation).skip(skipRecords);
+  }
+
   @Override
   void close() throws RecordReadException;
 
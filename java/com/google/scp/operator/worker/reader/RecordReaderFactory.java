@@ -16,6 +16,7 @@
 
 package com.google.scp.operator.worker.reader;
 
+import com.google.common.collect.ImmutableList;
 import com.google.scp.operator.cpio.blobstorageclient.model.DataLocation;
 import com.google.scp.operator.worker.reader.RecordReader.RecordReadException;
 import java.util.Optional;
@@ -27,4 +28,13 @@ public interface RecordReaderFactory {
 
   RecordReader of(DataLocation dataLocation, Optional<String> accountIdentity)
       throws RecordReadException;
+
+  /**
+   * Returns the input shards at the data location, in the order in which their records are read.
+   * A location of a single input is its only shard.
+   */
+  default ImmutableList<DataLocation> listShards(DataLocation dataLocation)
+      throws RecordReadException {
+    return ImmutableList.of(dataLocation);
+  }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.reader;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Streams;
+import com.google.scp.operator.cpio.blobstorageclient.model.DataLocation;
+import com.google.scp.operator.worker.model.EncryptedReport;
+import com.google.scp.operator.worker.reader.RecordReader.RecordReadException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Reads the records of the input shards one after another, opening each shard only once the
+ * previous one is read. Reading starts at a given shard and record within it, so that a resumed
+ * job neither opens the shards nor decodes the records it already processed.
+ */
+public final class ShardedRecordReader implements AutoCloseable {
+
+  private final RecordReaderFactory recordReaderFactory;
+  private final ImmutableList<DataLocation> shards;
+  private final Position start;
+  // Index of each opened shard, keyed by the number of records read before it. Written by the
+  // thread reading the records and read by the one checkpointing them.
+  private final ConcurrentSkipListMap<Long, Integer> shardStarts = new ConcurrentSkipListMap<>();
+  private RecordReader shardReader;
+
+  public ShardedRecordReader(
+      RecordReaderFactory recordReaderFactory, ImmutableList<DataLocation> shards, Position start) {
+    this.recordReaderFactory = recordReaderFactory;
+    this.shards = shards;
+    this.start = start;
+  }
+
+  /**
+   * Streams the records from the start position on. The first shard is opened right away, so that
+   * failures to open it are thrown here; failures to open later shards are thrown unchecked.
+   */
+  public Stream<EncryptedReport> readEncryptedReports() throws RecordReadException {
+    shardStarts.put(0L, start.shardIndex());
+    if (start.shardIndex() >= shards.size()) {
+      return Stream.empty();
+    }
+    Iterator<EncryptedReport> firstShardReports =
+        openShard(start.shardIndex(), start.shardRecords());
+    return Streams.stream(
+        new AbstractIterator<EncryptedReport>() {
+          private int shardIndex = start.shardIndex();
+          private Iterator<EncryptedReport> shardReports = firstShardReports;
+          private long recordsRead = 0;
+
+          @Override
+          protected EncryptedReport computeNext() {
+            while (!shardReports.hasNext()) {
+              if (shardIndex + 1 >= shards.size()) {
+                return endOfData();
+              }
+              shardIndex++;
+              try {
+                shardReports = openShard(shardIndex, 0);
+              } catch (RecordReadException e) {
+                throw new IllegalStateException("Failed to open input shard " + shardIndex, e);
+              }
+              shardStarts.put(recordsRead, shardIndex);
+            }
+            recordsRead++;
+            return shardReports.next();
+          }
+        });
+  }
+
+  /** Returns the position following the given number of records read from the start position. */
+  public Position positionAfter(long recordsRead) {
+    Map.Entry<Long, Integer> shardStart = shardStarts.floorEntry(recordsRead);
+    long shardRecords = recordsRead - shardStart.getKey();
+    if (shardStart.getValue() == start.shardIndex()) {
+      shardRecords += start.shardRecords();
+    }
+    return Position.create(shardStart.getValue(), shardRecords);
+  }
+
+  private Iterator<EncryptedReport> openShard(int shardIndex, long skipRecords)
+      throws RecordReadException {
+    close();
+    shardReader = recordReaderFactory.of(shards.get(shardIndex));
+    return shardReader.readEncryptedReports(shards.get(shardIndex), skipRecords).iterator();
+  }
+
+  @Override
+  public void close() throws RecordReadException {
+    if (shardReader != null) {
+      RecordReader openReader = shardReader;
+      shardReader = null;
+      openReader.close();
+    }
+  }
+
+  /** A position in the input, as a shard and the number of its records before the position. */
+  @AutoValue
+  public abstract static class Position {
+
+    /** Returns the position at the start of the input. */
+    public static Position initial() {
+      return create(0, 0);
+    }
+
+    /** Returns a new position. */
+    public static Position create(int shardIndex, long shardRecords) {
+      return new AutoValue_ShardedRecordReader_Position(shardIndex, shardRecords);
+    }
+
+    /** Index of the shard, in the order of the shards. */
+    public abstract int shardIndex();
+
+    /** Number of records of the shard before the position. */
+    public abstract long shardRecords();
+  }
+}
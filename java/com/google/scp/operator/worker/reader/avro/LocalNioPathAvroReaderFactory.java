@@ -16,10 +16,14 @@
 
 package com.google.scp.operator.worker.reader.avro;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
 import com.google.scp.operator.cpio.blobstorageclient.BlobStorageClient;
 import com.google.scp.operator.cpio.blobstorageclient.BlobStorageClient.BlobStorageClientException;
 import com.google.scp.operator.cpio.blobstorageclient.model.DataLocation;
+import com.google.scp.operator.cpio.blobstorageclient.model.DataLocation.BlobStoreDataLocation;
 import com.google.scp.operator.worker.reader.RecordReader.RecordReadException;
 import com.google.scp.operator.worker.reader.RecordReaderFactory;
 import com.google.scp.protocol.avro.AvroReportsReaderFactory;
@@ -88,6 +92,31 @@ public class LocalNioPathAvroReaderFactory implements RecordReaderFactory {
     }
   }
 
+  /**
+   * Lists the blobs under the prefix of a blob store location as its shards, in name order. A
+   * location naming a blob, or one without blobs, is read as a single shard.
+   */
+  @Override
+  public ImmutableList<DataLocation> listShards(DataLocation dataLocation)
+      throws RecordReadException {
+    if (dataLocation.getKind() != DataLocation.Kind.BLOB_STORE_DATA_LOCATION) {
+      return ImmutableList.of(dataLocation);
+    }
+    BlobStoreDataLocation blobLocation = dataLocation.blobStoreDataLocation();
+    try {
+      ImmutableList<String> blobNames = blobStorageClient.listBlobs(dataLocation);
+      if (blobNames.isEmpty() || blobNames.contains(blobLocation.key())) {
+        return ImmutableList.of(dataLocation);
+      }
+      return blobNames.stream()
+          .sorted()
+          .map(blobName -> BlobStorageClient.getDataLocation(blobLocation.bucket(), blobName))
+          .collect(toImmutableList());
+    } catch (BlobStorageClientException e) {
+      throw new RecordReadException(e);
+    }
+  }
+
   private LocalNioPathAvroRecordReader makeLocalNioReader(Path nioPath) throws IOException {
     return new LocalNioPathAvroRecordReader(
         reportsReaderFactory.create(Files.newInputStream(nioPath)));
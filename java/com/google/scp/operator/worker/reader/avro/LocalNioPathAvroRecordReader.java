@@ -46,6 +46,18 @@ public class LocalNioPathAvroRecordReader implements RecordReader {
     }
   }
 
+  @Override
+  public Stream<EncryptedReport> readEncryptedReports(DataLocation dataLocation, long skipRecords)
+      throws RecordReadException {
+    try {
+      return avroReportsReader
+          .streamRecords(skipRecords)
+          .map(AVRO_RECORD_ENCRYPTED_REPORT_CONVERTER::convert);
+    } catch (InvalidAvroSchemaException | IOException e) {
+      throw new RecordReadException(e);
+    }
+  }
+
   @Override
   public void close() throws RecordReadException {
     try {
@@ -19,11 +19,13 @@ package com.google.scp.operator.worker.selector;
 import com.google.scp.operator.worker.logger.ResultLoggerModule;
 import com.google.scp.operator.worker.logger.inmemory.InMemoryResultLoggerModule;
 import com.google.scp.operator.worker.logger.localtocloud.LocalToCloudLoggerModule;
+import com.google.scp.operator.worker.logger.localtocloud.ShardedLocalToCloudLoggerModule;
 
 /** CLI enum to select a {@code ResultLoggerModule} to use */
 public enum ResultLoggerModuleSelector {
   IN_MEMORY(new InMemoryResultLoggerModule()),
-  LOCAL_TO_CLOUD(new LocalToCloudLoggerModule());
+  LOCAL_TO_CLOUD(new LocalToCloudLoggerModule()),
+  LOCAL_TO_CLOUD_SHARDED(new ShardedLocalToCloudLoggerModule());
 
   private final ResultLoggerModule resultLoggerModule;
 
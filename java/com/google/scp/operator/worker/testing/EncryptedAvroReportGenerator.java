@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.testing;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteSource;
+import com.google.crypto.tink.HybridEncrypt;
+import com.google.scp.operator.worker.model.Fact;
+import com.google.scp.operator.worker.model.Report;
+import com.google.scp.operator.worker.model.serdes.ReportSerdes;
+import com.google.scp.protocol.avro.AvroReportRecord;
+import com.google.scp.protocol.avro.AvroReportWriter;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Generates Avro report files of fake reports encrypted with a hybrid public key, as inputs of
+ * throughput tests.
+ *
+ * <p>Reports are serialized and encrypted in batches on a pool of threads, while the calling
+ * thread appends the finished batches to the writer in order. The output does not depend on the
+ * number of threads, and only a few batches per thread are held in memory at any time.
+ */
+public final class EncryptedAvroReportGenerator {
+
+  private static final int BATCH_SIZE = 1000;
+  // The worker decrypts reports without context info.
+  private static final byte[] CONTEXT_INFO = new byte[] {};
+
+  private final HybridEncrypt hybridEncrypt;
+  private final String decryptionKeyId;
+  private final ReportSerdes reportSerdes;
+  private final int factsPerReport;
+  private final int distinctFactKeys;
+
+  /**
+   * @param factsPerReport number of facts of each report, all with value 1.
+   * @param distinctFactKeys number of distinct keys the facts of all reports cycle through.
+   */
+  public EncryptedAvroReportGenerator(
+      HybridEncrypt hybridEncrypt,
+      String decryptionKeyId,
+      ReportSerdes reportSerdes,
+      int factsPerReport,
+      int distinctFactKeys) {
+    this.hybridEncrypt = hybridEncrypt;
+    this.decryptionKeyId = decryptionKeyId;
+    this.reportSerdes = reportSerdes;
+    this.factsPerReport = factsPerReport;
+    this.distinctFactKeys = distinctFactKeys;
+  }
+
+  /**
+   * Writes the given number of encrypted reports to a file with the writer, which is closed
+   * afterwards.
+   */
+  public void generate(AvroReportWriter writer, long numReports, int threads)
+      throws IOException, InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try (writer) {
+      writer.open(ImmutableList.of());
+      Deque<Future<ImmutableList<AvroReportRecord>>> batches = new ArrayDeque<>();
+      long nextReportId = 0;
+      while (nextReportId < numReports || !batches.isEmpty()) {
+        while (nextReportId < numReports && batches.size() < 2 * threads) {
+          long firstReportId = nextReportId;
+          int batchSize = (int) Math.min(BATCH_SIZE, numReports - firstReportId);
+          batches.add(executor.submit(() -> encryptBatch(firstReportId, batchSize)));
+          nextReportId += batchSize;
+        }
+        for (AvroReportRecord record : getBatch(batches.remove())) {
+          writer.append(record);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private ImmutableList<AvroReportRecord> encryptBatch(long firstReportId, int batchSize)
+      throws GeneralSecurityException {
+    ImmutableList.Builder<AvroReportRecord> records = ImmutableList.builder();
+    for (long reportId = firstReportId; reportId < firstReportId + batchSize; reportId++) {
+      ByteSource serializedReport = reportSerdes.reverse().convert(Optional.of(report(reportId)));
+      byte[] encryptedShare;
+      try {
+        encryptedShare = hybridEncrypt.encrypt(serializedReport.read(), CONTEXT_INFO);
+      } catch (IOException e) {
+        // Serialized reports are held in memory, so reading them does not fail.
+        throw new IllegalStateException(e);
+      }
+      records.add(AvroReportRecord.create(ByteSource.wrap(encryptedShare), decryptionKeyId));
+    }
+    return records.build();
+  }
+
+  private Report report(long reportId) {
+    ImmutableList<Fact> facts =
+        IntStream.range(0, factsPerReport)
+            .mapToObj(
+                i ->
+                    Fact.builder()
+                        .setKey(String.valueOf((reportId * factsPerReport + i) % distinctFactKeys))
+                        .setValue(1)
+                        .build())
+            .collect(toImmutableList());
+    return FakeReportGenerator.generate(facts);
+  }
+
+  private static ImmutableList<AvroReportRecord> getBatch(
+      Future<ImmutableList<AvroReportRecord>> batch) throws InterruptedException {
+    try {
+      return batch.get();
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException("Failed to encrypt reports.", e.getCause());
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.testing;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.google.common.base.Stopwatch;
+import com.google.crypto.tink.HybridEncrypt;
+import com.google.crypto.tink.hybrid.HybridConfig;
+import com.google.scp.operator.cpio.cryptoclient.local.LocalFileHybridEncryptionKeyService;
+import com.google.scp.operator.worker.model.serdes.proto.ProtoReportSerdes;
+import com.google.scp.protocol.avro.AvroReportWriter;
+import com.google.scp.protocol.avro.AvroReportWriterFactory;
+import com.google.scp.protocol.avro.AvroReportsSchemaSupplier;
+import com.google.scp.protocol.avro.AvroWriterOptions;
+import com.google.scp.protocol.avro.AvroWriterOptions.Codec;
+import java.io.BufferedOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.apache.avro.file.DataFileConstants;
+
+/**
+ * Writes an Avro reports file of encrypted fake reports, which the worker can decrypt with the
+ * local file decryption key service and the same key.
+ */
+public final class EncryptedAvroReportGeneratorRunner {
+
+  @Parameter(names = "--output_path", description = "Path of the reports file to write")
+  private String outputPath = "reports.avro";
+
+  @Parameter(
+      names = "--key_path",
+      description = "Path to the binary Tink keyset whose public key encrypts the reports",
+      required = true)
+  private String keyPath;
+
+  @Parameter(names = "--decryption_key_id", description = "Decryption key ID of the reports")
+  private String decryptionKeyId = "00000000-0000-0000-0000-000000000000";
+
+  @Parameter(names = "--num_reports", description = "Number of reports to generate")
+  private long numReports = 1_000_000;
+
+  @Parameter(names = "--facts_per_report", description = "Number of facts of each report")
+  private int factsPerReport = 1;
+
+  @Parameter(
+      names = "--distinct_fact_keys",
+      description = "Number of distinct keys the facts of all reports cycle through")
+  private int distinctFactKeys = 10_000;
+
+  @Parameter(names = "--threads", description = "Number of threads encrypting reports")
+  private int threads = Runtime.getRuntime().availableProcessors();
+
+  @Parameter(
+      names = "--codec",
+      description = "Compression codec of the reports file: NULL or DEFLATE")
+  private Codec codec = Codec.NULL;
+
+  @Parameter(
+      names = "--sync_interval",
+      description = "Approximate size in bytes of the blocks of the reports file")
+  private int syncInterval = DataFileConstants.DEFAULT_SYNC_INTERVAL;
+
+  public static void main(String[] args) throws Exception {
+    HybridConfig.register();
+    EncryptedAvroReportGeneratorRunner runner = new EncryptedAvroReportGeneratorRunner();
+    JCommander.newBuilder().addObject(runner).build().parse(args);
+    runner.run();
+  }
+
+  private void run() throws Exception {
+    HybridEncrypt hybridEncrypt =
+        new LocalFileHybridEncryptionKeyService(Paths.get(keyPath)).getEncrypter(decryptionKeyId);
+    EncryptedAvroReportGenerator generator =
+        new EncryptedAvroReportGenerator(
+            hybridEncrypt,
+            decryptionKeyId,
+            new ProtoReportSerdes(),
+            factsPerReport,
+            distinctFactKeys);
+    AvroWriterOptions options =
+        AvroWriterOptions.builder().setCodec(codec).setSyncInterval(syncInterval).build();
+    Path output = Paths.get(outputPath);
+    AvroReportWriter writer =
+        new AvroReportWriterFactory(new AvroReportsSchemaSupplier())
+            .create(new BufferedOutputStream(Files.newOutputStream(output)), options);
+
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    generator.generate(writer, numReports, threads);
+    System.out.printf(
+        "Wrote %d reports, %d bytes, to %s in %s%n",
+        numReports, Files.size(output), output, stopwatch);
+  }
+}
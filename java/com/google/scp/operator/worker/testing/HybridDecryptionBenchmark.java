@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.testing;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteSource;
+import com.google.crypto.tink.HybridDecrypt;
+import com.google.crypto.tink.HybridEncrypt;
+import com.google.crypto.tink.KeysetHandle;
+import com.google.crypto.tink.hybrid.EciesAeadHkdfPrivateKeyManager;
+import com.google.crypto.tink.hybrid.HybridConfig;
+import com.google.scp.operator.cpio.cryptoclient.HybridEncryptionKeyService;
+import com.google.scp.operator.cpio.cryptoclient.model.ErrorReason;
+import com.google.scp.operator.worker.decryption.hybrid.HybridDecrypterPool;
+import com.google.scp.operator.worker.decryption.hybrid.HybridDecryptionCipher;
+import com.google.scp.operator.worker.model.serdes.proto.ProtoReportSerdes;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Microbenchmark of report decryption with a single key ID on 1 to 32 threads, comparing the
+ * throughput of a primitive shared by all threads, a primitive created per report, and the
+ * per-thread primitives and buffers of {@link HybridDecrypterPool}.
+ *
+ * <p>Run with {@code bazel run
+ * //java/com/google/scp/operator/worker/testing:HybridDecryptionBenchmark}.
+ */
+public final class HybridDecryptionBenchmark {
+
+  private static final int WARMUP_ITERATIONS = 2;
+  private static final int MEASURED_ITERATIONS = 5;
+  private static final int OPERATIONS_PER_THREAD = 2_000;
+  private static final ImmutableList<Integer> THREAD_COUNTS = ImmutableList.of(1, 2, 4, 8, 16, 32);
+  private static final String KEY_ID = "00000000-0000-0000-0000-000000000000";
+  private static final byte[] CONTEXT_INFO = new byte[] {};
+
+  private HybridDecryptionBenchmark() {}
+
+  public static void main(String[] args) throws Exception {
+    HybridConfig.register();
+    KeysetHandle keysetHandle =
+        KeysetHandle.generateNew(
+            EciesAeadHkdfPrivateKeyManager.rawEciesP256HkdfHmacSha256Aes128GcmCompressedTemplate());
+    ByteSource serializedReport =
+        new ProtoReportSerdes()
+            .reverse()
+            .convert(Optional.of(FakeReportGenerator.generate(1)));
+    ByteSource payload =
+        ByteSource.wrap(
+            keysetHandle
+                .getPublicKeysetHandle()
+                .getPrimitive(HybridEncrypt.class)
+                .encrypt(serializedReport.read(), CONTEXT_INFO));
+
+    HybridDecrypt sharedDecrypt = keysetHandle.getPrimitive(HybridDecrypt.class);
+    HybridEncryptionKeyService perCallKeyService = new PerCallKeyService(keysetHandle);
+    for (int threads : THREAD_COUNTS) {
+      run("shared", threads, () -> HybridDecryptionCipher.of(sharedDecrypt).decrypt(payload));
+      run(
+          "per call",
+          threads,
+          () -> HybridDecryptionCipher.of(perCallKeyService.getDecrypter(KEY_ID)).decrypt(payload));
+      // A new pool per run, so threads of earlier runs do not hold its ciphers.
+      HybridDecrypterPool pool = new HybridDecrypterPool(perCallKeyService);
+      run("pooled", threads, () -> pool.cipherFor(KEY_ID).decrypt(payload));
+    }
+  }
+
+  private static void run(String name, int threads, Decrypt decrypt) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+        iterate(executor, threads, decrypt);
+      }
+      long totalNanos = 0;
+      for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+        long start = System.nanoTime();
+        iterate(executor, threads, decrypt);
+        totalNanos += System.nanoTime() - start;
+      }
+      double reportsPerSecond =
+          (double) MEASURED_ITERATIONS * threads * OPERATIONS_PER_THREAD / totalNanos * 1e9;
+      System.out.printf("%-10s %3d threads %12.0f reports/s%n", name, threads, reportsPerSecond);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void iterate(ExecutorService executor, int threads, Decrypt decrypt)
+      throws Exception {
+    List<Future<?>> tasks = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      tasks.add(
+          executor.submit(
+              () -> {
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                  decrypt.decrypt();
+                }
+                return null;
+              }));
+    }
+    for (Future<?> task : tasks) {
+      task.get();
+    }
+  }
+
+  private interface Decrypt {
+    ByteSource decrypt() throws Exception;
+  }
+
+  /** Creates a primitive from the cached keyset on every call, as the multi-party service does. */
+  private static final class PerCallKeyService implements HybridEncryptionKeyService {
+    private final KeysetHandle keysetHandle;
+
+    private PerCallKeyService(KeysetHandle keysetHandle) {
+      this.keysetHandle = keysetHandle;
+    }
+
+    @Override
+    public HybridDecrypt getDecrypter(String keyId) throws KeyFetchException {
+      try {
+        return keysetHandle.getPrimitive(HybridDecrypt.class);
+      } catch (GeneralSecurityException e) {
+        throw new KeyFetchException(e, ErrorReason.UNKNOWN_ERROR);
+      }
+    }
+
+    @Override
+    public HybridEncrypt getEncrypter(String keyId) throws KeyFetchException {
+      try {
+        return keysetHandle.getPublicKeysetHandle().getPrimitive(HybridEncrypt.class);
+      } catch (GeneralSecurityException e) {
+        throw new KeyFetchException(e, ErrorReason.UNKNOWN_ERROR);
+      }
+    }
+  }
+}
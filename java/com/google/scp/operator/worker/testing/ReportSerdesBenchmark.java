@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.testing;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteSource;
+import com.google.scp.operator.worker.model.Fact;
+import com.google.scp.operator.worker.model.serdes.ReportSerdes;
+import com.google.scp.operator.worker.model.serdes.proto.ProtoReportSerdes;
+import com.google.scp.operator.worker.testing.FakeReportGenerator.FakeFactGenerator;
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Microbenchmark of report deserialization, comparing the time and heap allocation per report of
+ * converting a serialized report against reading only its facts into a sink.
+ *
+ * <p>Run with {@code bazel run
+ * //java/com/google/scp/operator/worker/testing:ReportSerdesBenchmark}.
+ */
+public final class ReportSerdesBenchmark {
+
+  private static final int WARMUP_ITERATIONS = 5;
+  private static final int MEASURED_ITERATIONS = 10;
+  private static final int OPERATIONS_PER_ITERATION = 10_000;
+  private static final int FACTS_PER_REPORT = 20;
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private ReportSerdesBenchmark() {}
+
+  public static void main(String[] args) {
+    ReportSerdes reportSerdes = new ProtoReportSerdes();
+    ImmutableList<Fact> facts =
+        IntStream.range(0, FACTS_PER_REPORT)
+            .mapToObj(i -> FakeFactGenerator.generate(String.format("%016x", i * 7919L), i))
+            .collect(ImmutableList.toImmutableList());
+    ByteSource serializedReport =
+        reportSerdes.reverse().convert(Optional.of(FakeReportGenerator.generate(facts)));
+    System.out.printf("%d facts per report%n", FACTS_PER_REPORT);
+
+    run("convert", () -> reportSerdes.convert(serializedReport).get().facts().size());
+    long[] factCount = new long[1];
+    run(
+        "readFacts",
+        () -> {
+          factCount[0] = 0;
+          reportSerdes.readFacts(serializedReport, fact -> factCount[0]++);
+          return factCount[0];
+        });
+  }
+
+  private static void run(String name, Deserialize deserialize) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      iterate(deserialize);
+    }
+    long threadId = Thread.currentThread().getId();
+    long totalNanos = 0;
+    long totalBytes = 0;
+    long facts = 0;
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      long startBytes = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+      long start = System.nanoTime();
+      facts += iterate(deserialize);
+      totalNanos += System.nanoTime() - start;
+      totalBytes += THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - startBytes;
+    }
+    long operations = (long) MEASURED_ITERATIONS * OPERATIONS_PER_ITERATION;
+    System.out.printf(
+        "%-10s %10.1f ns/op %10.1f bytes/op (%d facts)%n",
+        name, (double) totalNanos / operations, (double) totalBytes / operations, facts);
+  }
+
+  private static long iterate(Deserialize deserialize) {
+    long facts = 0;
+    for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+      facts += deserialize.deserialize();
+    }
+    return facts;
+  }
+
+  private interface Deserialize {
+    long deserialize();
+  }
+}
@@ -18,6 +18,7 @@ package com.google.scp.operator.worker.writer;
 
 import com.google.scp.operator.worker.model.Fact;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.stream.Stream;
 
 /** Writes a stream of Facts to a result file on the local filesystem. */
@@ -26,9 +27,44 @@ public interface LocalResultFileWriter {
   /** Write the file to the local filesystem */
   void writeLocalFile(Stream<Fact> results, Path resultFile) throws FileWriteException;
 
+  /**
+   * Write the file to the local filesystem, with the file options selected by the parameters of
+   * the job. Writers without such options ignore the job parameters.
+   */
+  default void writeLocalFile(
+      Stream<Fact> results, Path resultFile, Map<String, String> jobParameters)
+      throws FileWriteException {
+    writeLocalFile(results, resultFile);
+  }
+
+  /**
+   * Opens a file on the local filesystem to append results to one at a time, with the file options
+   * selected by the parameters of the job.
+   */
+  ResultFileAppender openLocalFile(Path resultFile, Map<String, String> jobParameters)
+      throws FileWriteException;
+
   /** Returns the file extension for the file type written */
   String getFileExtension();
 
+  /** Result file open for appending, which is complete once closed. */
+  interface ResultFileAppender extends AutoCloseable {
+
+    void append(Fact result) throws FileWriteException;
+
+    /** Returns the number of results appended so far. */
+    long recordCount();
+
+    /**
+     * Returns the number of bytes written to the file so far, which does not include results the
+     * writer still buffers.
+     */
+    long byteCount();
+
+    @Override
+    void close() throws FileWriteException;
+  }
+
   final class FileWriteException extends Exception {
 
     public FileWriteException(String message, Throwable cause) {
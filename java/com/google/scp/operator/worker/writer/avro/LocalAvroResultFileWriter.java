@@ -19,30 +19,64 @@ package com.google.scp.operator.worker.writer.avro;
 import static java.nio.file.StandardOpenOption.APPEND;
 import static java.nio.file.StandardOpenOption.CREATE;
 
+import com.google.common.base.Stopwatch;
 import com.google.scp.operator.worker.model.Fact;
+import com.google.scp.operator.worker.perf.JobProfiler;
+import com.google.scp.operator.worker.perf.JobProfiler.Count;
+import com.google.scp.operator.worker.perf.JobProfiler.Stage;
+import com.google.scp.operator.worker.perf.StopwatchRegistry;
 import com.google.scp.operator.worker.writer.LocalResultFileWriter;
 import com.google.scp.protocol.avro.AvroResultsSchemaSupplier;
+import com.google.scp.protocol.avro.AvroWriterOptions;
+import com.google.scp.protocol.avro.AvroWriterOptions.Codec;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Stream;
 import javax.inject.Inject;
-import org.apache.avro.Schema;
+import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.file.DataFileWriter;
-import org.apache.avro.generic.GenericData;
-import org.apache.avro.generic.GenericDatumWriter;
-import org.apache.avro.generic.GenericRecord;
-import org.apache.avro.io.DatumWriter;
 
-/** Writes a local results file using the Avro format. */
+/**
+ * Writes a local results file using the Avro format.
+ *
+ * <p>The compression codec and block size of the file can be selected with the job parameters
+ * {@value #CODEC_JOB_PARAMETER} and {@value #SYNC_INTERVAL_JOB_PARAMETER}. The time taken, the
+ * bytes written and the write throughput are recorded in the stopwatch registry. The job profile
+ * gets the time spent serializing results and writing them to the file, and the counts of results
+ * and bytes written.
+ */
 public final class LocalAvroResultFileWriter implements LocalResultFileWriter {
 
-  private AvroResultsSchemaSupplier schemaSupplier;
+  /** Job parameter naming the codec: null (the default) or deflate. */
+  public static final String CODEC_JOB_PARAMETER = "outputAvroCodec";
+
+  /** Job parameter with the approximate size in bytes of the uncompressed blocks of the file. */
+  public static final String SYNC_INTERVAL_JOB_PARAMETER = "outputAvroSyncInterval";
+
+  static final String WRITE_STOPWATCH_NAME = "result-file-write";
+  static final String BYTES_VALUE_NAME = "result-file-bytes";
+  static final String RECORDS_VALUE_NAME = "result-file-records";
+  static final String THROUGHPUT_VALUE_NAME = "result-file-write-bytes-per-second";
+
+  private final AvroResultsSchemaSupplier schemaSupplier;
+  private final StopwatchRegistry stopwatchRegistry;
+  private final JobProfiler jobProfiler;
 
   @Inject
-  LocalAvroResultFileWriter(AvroResultsSchemaSupplier schemaSupplier) {
+  LocalAvroResultFileWriter(
+      AvroResultsSchemaSupplier schemaSupplier,
+      StopwatchRegistry stopwatchRegistry,
+      JobProfiler jobProfiler) {
     this.schemaSupplier = schemaSupplier;
+    this.stopwatchRegistry = stopwatchRegistry;
+    this.jobProfiler = jobProfiler;
   }
 
   /**
@@ -57,37 +91,162 @@ public final class LocalAvroResultFileWriter implements LocalResultFileWriter {
    */
   @Override
   public void writeLocalFile(Stream<Fact> results, Path resultFilePath) throws FileWriteException {
-    Schema schema = schemaSupplier.get();
+    writeLocalFile(results, resultFilePath, AvroWriterOptions.defaults());
+  }
 
-    DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>(schema);
-    DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
-    try {
-      dataFileWriter.create(schema, Files.newOutputStream(resultFilePath, CREATE, APPEND));
+  /**
+   * Write the results to an Avro file at the {@code Path} given, with the codec and block size
+   * selected by the job parameters.
+   */
+  @Override
+  public void writeLocalFile(
+      Stream<Fact> results, Path resultFilePath, Map<String, String> jobParameters)
+      throws FileWriteException {
+    writeLocalFile(results, resultFilePath, writerOptions(jobParameters));
+  }
+
+  @Override
+  public ResultFileAppender openLocalFile(Path resultFilePath, Map<String, String> jobParameters)
+      throws FileWriteException {
+    return new AvroResultFileAppender(resultFilePath, writerOptions(jobParameters));
+  }
 
-      // Write all results to an Avro file. .append() call can throw IOExceptions so using an
+  @Override
+  public String getFileExtension() {
+    return ".avro";
+  }
+
+  private void writeLocalFile(Stream<Fact> results, Path resultFilePath, AvroWriterOptions options)
+      throws FileWriteException {
+    Stopwatch stopwatch = stopwatchRegistry.createStopwatch(WRITE_STOPWATCH_NAME).start();
+    AvroResultFileAppender appender = new AvroResultFileAppender(resultFilePath, options);
+    try (appender) {
+      // Write all results to an Avro file. .append() call can throw exceptions so using an
       // Iterator is cleaner for exception handling.
       Iterator<Fact> resultsIterator = results.iterator();
       while (resultsIterator.hasNext()) {
-        Fact Fact = resultsIterator.next();
-        GenericRecord FactRecord = factToGenericRecord(Fact);
-        dataFileWriter.append(FactRecord);
+        appender.append(resultsIterator.next());
       }
+    }
+    stopwatch.stop();
+    recordWriteStats(appender.recordCount(), appender.byteCount(), stopwatch.elapsed());
+  }
+
+  private void recordWriteStats(long records, long bytes, Duration elapsed) {
+    stopwatchRegistry.recordValue(RECORDS_VALUE_NAME, records);
+    stopwatchRegistry.recordValue(BYTES_VALUE_NAME, bytes);
+    stopwatchRegistry.recordValue(
+        THROUGHPUT_VALUE_NAME, bytes * 1000 / Math.max(elapsed.toMillis(), 1));
+  }
 
-      dataFileWriter.close();
-    } catch (IOException e) {
-      throw new FileWriteException("Failed to write local Avro file", e);
+  private static AvroWriterOptions writerOptions(Map<String, String> jobParameters)
+      throws FileWriteException {
+    AvroWriterOptions.Builder options = AvroWriterOptions.builder();
+    try {
+      if (jobParameters.containsKey(CODEC_JOB_PARAMETER)) {
+        options.setCodec(
+            Codec.valueOf(jobParameters.get(CODEC_JOB_PARAMETER).toUpperCase(Locale.ROOT)));
+      }
+      if (jobParameters.containsKey(SYNC_INTERVAL_JOB_PARAMETER)) {
+        options.setSyncInterval(Integer.parseInt(jobParameters.get(SYNC_INTERVAL_JOB_PARAMETER)));
+      }
+    } catch (IllegalArgumentException e) {
+      throw new FileWriteException("Invalid result file job parameters", e);
     }
+    return options.build();
   }
 
-  @Override
-  public String getFileExtension() {
-    return ".avro";
+  private final class AvroResultFileAppender implements ResultFileAppender {
+
+    private final DataFileWriter<Fact> dataFileWriter = new DataFileWriter<>(new FactDatumWriter());
+    private final ProfiledOutputStream outputStream;
+    private long recordCount = 0;
+    // Time spent in the Avro writer, including the writes to the file.
+    private long appendNanos = 0;
+
+    private AvroResultFileAppender(Path resultFilePath, AvroWriterOptions options)
+        throws FileWriteException {
+      try {
+        options.applyTo(dataFileWriter);
+        outputStream =
+            new ProfiledOutputStream(Files.newOutputStream(resultFilePath, CREATE, APPEND));
+        dataFileWriter.create(schemaSupplier.get(), outputStream);
+      } catch (IOException | AvroRuntimeException e) {
+        throw new FileWriteException("Failed to create local Avro file", e);
+      }
+    }
+
+    @Override
+    public void append(Fact result) throws FileWriteException {
+      long appendStart = jobProfiler.startTimer();
+      try {
+        dataFileWriter.append(result);
+      } catch (IOException | AvroRuntimeException e) {
+        throw new FileWriteException("Failed to write local Avro file", e);
+      } finally {
+        appendNanos += jobProfiler.elapsedNanos(appendStart);
+      }
+      recordCount++;
+    }
+
+    @Override
+    public long recordCount() {
+      return recordCount;
+    }
+
+    @Override
+    public long byteCount() {
+      return outputStream.byteCount;
+    }
+
+    @Override
+    public void close() throws FileWriteException {
+      long closeStart = jobProfiler.startTimer();
+      try {
+        dataFileWriter.close();
+      } catch (IOException e) {
+        throw new FileWriteException("Failed to write local Avro file", e);
+      } finally {
+        appendNanos += jobProfiler.elapsedNanos(closeStart);
+        jobProfiler.addTime(Stage.WRITE, outputStream.writeNanos);
+        jobProfiler.addTime(Stage.SERIALIZE, appendNanos - outputStream.writeNanos);
+        jobProfiler.add(Count.OUTPUT_RECORDS, recordCount);
+        jobProfiler.add(Count.OUTPUT_BYTES, outputStream.byteCount);
+      }
+    }
   }
 
-  private GenericRecord factToGenericRecord(Fact Fact) {
-    GenericRecord genericRecord = new GenericData.Record(schemaSupplier.get());
-    genericRecord.put("key", Fact.key());
-    genericRecord.put("value", Fact.value());
-    return genericRecord;
+  /** Counts the bytes written to the file and the time spent writing them. */
+  private final class ProfiledOutputStream extends FilterOutputStream {
+
+    private long byteCount = 0;
+    private long writeNanos = 0;
+
+    private ProfiledOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      long writeStart = jobProfiler.startTimer();
+      out.write(b);
+      writeNanos += jobProfiler.elapsedNanos(writeStart);
+      byteCount++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      long writeStart = jobProfiler.startTimer();
+      out.write(b, off, len);
+      writeNanos += jobProfiler.elapsedNanos(writeStart);
+      byteCount += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      long flushStart = jobProfiler.startTimer();
+      out.flush();
+      writeNanos += jobProfiler.elapsedNanos(flushStart);
+    }
   }
 }
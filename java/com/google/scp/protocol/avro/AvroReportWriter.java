@@ -1,12 +1,15 @@
 package com.google.scp.protocol.avro;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableList;
-import com.google.common.io.ByteStreams;
-import java.io.ByteArrayOutputStream;
+import com.google.common.io.ByteSource;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import org.apache.avro.Schema;
 import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.GenericData;
@@ -18,12 +21,21 @@ import org.apache.avro.generic.GenericRecord;
  * <p>The schema is provided by the schema supplier. For convenience, the writer object can be
  * created through the factory, which allows the supplier to be bound with dependency injection,
  * thus requiring only the input stream to be passed.
+ *
+ * <p>Records can be written all at once with {@link #writeRecords(ImmutableList, ImmutableList)},
+ * or streamed with {@link #open(ImmutableList)}, {@link #append(AvroReportRecord)} and {@link
+ * #close()}. The writer is not thread safe.
  */
 public final class AvroReportWriter implements AutoCloseable {
 
+  private static final int INITIAL_SHARE_BUFFER_SIZE = 1024;
+
   private final DataFileWriter<GenericRecord> avroWriter;
   private final OutputStream outStream;
   private final AvroReportsSchemaSupplier schemaSupplier;
+  private DataFileWriter<GenericRecord> streamWriter;
+  private GenericRecord record;
+  private byte[] shareBuffer = new byte[INITIAL_SHARE_BUFFER_SIZE];
 
   /**
    * Creates a writer based on the given Avro writer and schema supplier (where Avro writer should
@@ -38,33 +50,71 @@ public final class AvroReportWriter implements AutoCloseable {
     this.schemaSupplier = schemaSupplier;
   }
 
-  /** Writes out records with the given {@link AvroReportRecord} */
+  /**
+   * Writes out records with the given {@link AvroReportRecord}, then closes the writer and the
+   * output stream.
+   */
   public void writeRecords(
       ImmutableList<MetadataElement> metadata, ImmutableList<AvroReportRecord> avroReportRecords)
       throws IOException {
-    Schema schema = schemaSupplier.get();
+    try (AvroReportWriter writer = this) {
+      open(metadata);
+      for (AvroReportRecord avroReportRecord : avroReportRecords) {
+        append(avroReportRecord);
+      }
+    }
+  }
 
+  /**
+   * Writes the file header with the given metadata. Records are then written one at a time with
+   * {@link #append(AvroReportRecord)}, so inputs of any size can be written without holding them
+   * in memory.
+   */
+  public void open(ImmutableList<MetadataElement> metadata) throws IOException {
+    checkState(streamWriter == null, "The writer is already open.");
+    Schema schema = schemaSupplier.get();
     metadata.forEach(meta -> avroWriter.setMeta(meta.key(), meta.value()));
+    streamWriter = avroWriter.create(schema, outStream);
+    record = new GenericData.Record(schema);
+  }
 
-    try (DataFileWriter<GenericRecord> streamWriter = avroWriter.create(schema, outStream)) {
-      for (AvroReportRecord avroReportRecord : avroReportRecords) {
-        GenericRecord record = new GenericData.Record(schema);
-        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-        ByteStreams.copy(avroReportRecord.encryptedShare().openStream(), byteStream);
-        byteStream.close();
-        record.put("encryptedShare", ByteBuffer.wrap(byteStream.toByteArray()));
-        record.put("decryptionKeyId", avroReportRecord.decryptionKeyId());
-        streamWriter.append(record);
-      }
+  /** Appends a record to the file opened with {@link #open(ImmutableList)}. */
+  public void append(AvroReportRecord avroReportRecord) throws IOException {
+    checkState(streamWriter != null, "The writer must be opened before appending records.");
+    // The record and its share buffer are reused, since appending serializes them right away.
+    record.put("encryptedShare", readShare(avroReportRecord.encryptedShare()));
+    record.put("decryptionKeyId", avroReportRecord.decryptionKeyId());
+    streamWriter.append(record);
+  }
 
-      streamWriter.flush();
-      outStream.flush();
-    }
+  /** Writes out the current block and flushes the output stream. */
+  public void flush() throws IOException {
+    checkState(streamWriter != null, "The writer must be opened before flushing.");
+    streamWriter.flush();
   }
 
   @Override
   public void close() throws IOException {
+    // Closing the Avro writer writes out the last block and closes the output stream.
     avroWriter.close();
+    streamWriter = null;
+  }
+
+  /** Reads the share into the reused buffer, growing it as needed. */
+  private ByteBuffer readShare(ByteSource encryptedShare) throws IOException {
+    int length = 0;
+    try (InputStream shareStream = encryptedShare.openStream()) {
+      while (true) {
+        if (length == shareBuffer.length) {
+          shareBuffer = Arrays.copyOf(shareBuffer, Math.max(2 * length, INITIAL_SHARE_BUFFER_SIZE));
+        }
+        int read = shareStream.read(shareBuffer, length, shareBuffer.length - length);
+        if (read == -1) {
+          return ByteBuffer.wrap(shareBuffer, 0, length);
+        }
+        length += read;
+      }
+    }
   }
 
   /** One metadata element (key/value string pair) */
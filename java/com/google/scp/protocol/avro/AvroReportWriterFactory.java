@@ -17,8 +17,14 @@ public final class AvroReportWriterFactory {
   }
 
   public AvroReportWriter create(OutputStream outStream) {
+    return create(outStream, AvroWriterOptions.defaults());
+  }
+
+  /** Creates a writer compressing the file with the codec and block size of the options. */
+  public AvroReportWriter create(OutputStream outStream, AvroWriterOptions options) {
     DataFileWriter<GenericRecord> avroWriter =
         new DataFileWriter<>(new GenericDatumWriter<>(schemaSupplier.get()));
+    options.applyTo(avroWriter);
     return new AvroReportWriter(avroWriter, outStream, schemaSupplier);
   }
 }
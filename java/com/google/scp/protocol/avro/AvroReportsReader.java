@@ -42,6 +42,32 @@ public final class AvroReportsReader implements AutoCloseable {
         .map(Optional::get);
   }
 
+  /**
+   * Streams the records after skipping the given number of them. Blocks of the file made up of
+   * skipped records only are passed over without decoding their records.
+   */
+  public Stream<AvroReportRecord> streamRecords(long skipRecords)
+      throws InvalidAvroSchemaException, IOException {
+    long remainingSkip = skipRecords;
+    while (remainingSkip > 0 && streamReader.hasNext()) {
+      // Once hasNext() loaded a block, the reader is at its start until a record is read.
+      if (streamReader.getBlockCount() <= remainingSkip) {
+        remainingSkip -= streamReader.getBlockCount();
+        streamReader.nextBlock();
+      } else {
+        for (; remainingSkip > 0; remainingSkip--) {
+          try {
+            streamReader.next();
+          } catch (AvroTypeException e) {
+            throw new InvalidAvroSchemaException(
+                "Error reading AVRO record due to schema mismatch.", e);
+          }
+        }
+      }
+    }
+    return streamRecords();
+  }
+
   /** Reads metadata string specified by the key (returns empty optional if not available) */
   public Optional<String> getMeta(String key) {
     return Optional.ofNullable(streamReader.getMetaString(key));
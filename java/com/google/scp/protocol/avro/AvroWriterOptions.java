@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.protocol.avro;
+
+import com.google.auto.value.AutoValue;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileWriter;
+
+/**
+ * Compression codec and block size of written Avro files.
+ *
+ * <p>Avro compresses each block of the file separately, and a block is ended once its serialized
+ * records reach the sync interval. Larger blocks compress better, while readers have to buffer
+ * a whole block at a time.
+ */
+@AutoValue
+public abstract class AvroWriterOptions {
+
+  /** Options writing uncompressed files with Avro's default block size. */
+  public static AvroWriterOptions defaults() {
+    return builder().build();
+  }
+
+  public static Builder builder() {
+    return new AutoValue_AvroWriterOptions.Builder()
+        .setCodec(Codec.NULL)
+        .setSyncInterval(DataFileConstants.DEFAULT_SYNC_INTERVAL);
+  }
+
+  public abstract Codec codec();
+
+  /** Approximate size in bytes of the uncompressed blocks of the file. */
+  public abstract int syncInterval();
+
+  /** Sets the codec and sync interval on a writer that is not yet open. */
+  public void applyTo(DataFileWriter<?> avroWriter) {
+    avroWriter.setCodec(codec().codecFactory()).setSyncInterval(syncInterval());
+  }
+
+  /**
+   * Codecs of the Avro library that need no other library at runtime. Snappy and Zstandard are left
+   * out, since snappy-java and zstd-jni are not dependencies of this repository.
+   */
+  public enum Codec {
+    NULL(DataFileConstants.NULL_CODEC),
+    DEFLATE(DataFileConstants.DEFLATE_CODEC);
+
+    private final String avroName;
+
+    Codec(String avroName) {
+      this.avroName = avroName;
+    }
+
+    CodecFactory codecFactory() {
+      return CodecFactory.fromString(avroName);
+    }
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    public abstract Builder setCodec(Codec codec);
+
+    /** Sets the block size, which Avro limits to between 32 bytes and 1 GiB. */
+    public abstract Builder setSyncInterval(int syncInterval);
+
+    public abstract AvroWriterOptions build();
+  }
+}
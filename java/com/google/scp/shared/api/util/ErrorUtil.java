@@ -28,6 +28,8 @@ import java.util.stream.Collectors;
 /** Defines helper methods related to errors and exceptions */
 public final class ErrorUtil {
 
+  private static final JsonFormat.Parser JSON_PARSER = JsonFormat.parser();
+
   private ErrorUtil() {}
 
   /**
@@ -68,7 +70,7 @@ public final class ErrorUtil {
   public static ErrorResponse parseErrorResponse(String responseBody) {
     try {
       ErrorResponse.Builder builder = ErrorResponse.newBuilder();
-      JsonFormat.parser().merge(responseBody, builder);
+      JSON_PARSER.merge(responseBody, builder);
       ErrorResponse errorResponse = builder.build();
 
       if (errorResponse.getCode() != 0 && !errorResponse.getMessage().isEmpty()) {
@@ -15,34 +15,90 @@
  */
 package com.google.scp.shared.api.util;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
 import io.github.resilience4j.core.IntervalFunction;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpRequestInterceptor;
 import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.util.EntityUtils;
 
-/** Wrapper class to create HttpClient with interceptor, supporting exponential retry strategy. */
+/**
+ * Wrapper class to create HttpClient with interceptor, supporting exponential retry strategy.
+ *
+ * <p>Requests are executed on a connection pool whose size, connection lifetime, idle eviction and
+ * keep-alive are configurable through the {@link Builder}. The pool is backed by the classic
+ * Apache HttpClient 4, or optionally by the asynchronous Apache HttpClient 5, which negotiates
+ * HTTP/2 with TLS servers so that concurrent requests to a host share one connection.
+ *
+ * <p>Requests can also be executed asynchronously, in which case they never block a thread: they
+ * are sent with the asynchronous client and their retries are scheduled after the backoff
+ * interval instead of sleeping.
+ */
 public class HttpClientWrapper {
 
   private static final int DEFAULT_INTERVAL_MILLIS = 2000;
 
   private static final int DEFAULT_MAX_ATTEMPTS = 6;
 
+  private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+
+  private static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 100;
+
+  private static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofSeconds(30);
+
+  private static final Duration DEFAULT_KEEP_ALIVE = Duration.ofSeconds(30);
+
   private static final IntervalFunction DEFAULT_INTERVAL_FUNCTION =
       numOfAttempts -> (long) DEFAULT_INTERVAL_MILLIS;
 
@@ -59,7 +115,32 @@ public class HttpClientWrapper {
           HttpStatus.SC_GATEWAY_TIMEOUT // 504
           );
 
-  private final CloseableHttpClient httpClient;
+  /** Headers set by the HTTP/2 client itself, which must not be copied from the request. */
+  private static final ImmutableSet<String> CONNECTION_HEADERS =
+      ImmutableSet.of(
+          HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+          HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+          HttpHeaders.HOST.toLowerCase(),
+          HttpHeaders.CONNECTION.toLowerCase());
+
+  private static final JsonFormat.Parser JSON_PARSER = JsonFormat.parser().ignoringUnknownFields();
+
+  /** Content type of protobuf wire format bodies. */
+  private static final String PROTOBUF_CONTENT_TYPE = "application/x-protobuf";
+
+  /** Accept header of requests parsing their body, preferring the protobuf wire format. */
+  private static final String PROTOBUF_OR_JSON =
+      PROTOBUF_CONTENT_TYPE + ", " + ContentType.APPLICATION_JSON.getMimeType() + ";q=0.9";
+
+  /** Schedules the retries of asynchronous requests, which do not run on this thread. */
+  private static final ScheduledExecutorService RETRY_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("http-client-retry-%d")
+              .build());
+
+  private final Transport transport;
 
   private final Retry retryConfig;
 
@@ -73,8 +154,8 @@ public class HttpClientWrapper {
     return new HttpClientWrapper.Builder().build();
   }
 
-  private HttpClientWrapper(CloseableHttpClient httpClient, Retry retryConfig) {
-    this.httpClient = httpClient;
+  private HttpClientWrapper(Transport transport, Retry retryConfig) {
+    this.transport = transport;
     this.retryConfig = retryConfig;
   }
 
@@ -85,28 +166,131 @@ public class HttpClientWrapper {
    * @throws IOException
    */
   public <T extends HttpRequestBase> HttpClientResponse execute(T request) throws IOException {
+    return executeWithRetries(request, Optional.empty());
+  }
+
+  /**
+   * Executes the request like {@link #execute(HttpRequestBase)}, parsing the body of a successful
+   * (200) response into the builder as it is read, without buffering it as a string. Unless the
+   * request sets its own Accept header, the protobuf wire format is requested, and JSON bodies are
+   * parsed from servers that do not support it. The builder is cleared before each attempt. The
+   * returned response has no body if it was successful; other responses keep their body, e.g. for
+   * error parsing.
+   *
+   * @throws IOException if the request failed, or with an {@link InvalidProtocolBufferException}
+   *     cause if the body could not be parsed.
+   */
+  public <T extends HttpRequestBase> HttpClientResponse execute(
+      T request, Message.Builder successBodyBuilder) throws IOException {
+    return executeWithRetries(request, Optional.of(successBodyBuilder));
+  }
+
+  /**
+   * Executes the request asynchronously, applying the interceptor and the specified retry
+   * strategy. Neither the request nor its retries block the calling thread.
+   *
+   * @return a future completed with the response, or failed with an {@link IOException}.
+   */
+  public <T extends HttpRequestBase> CompletableFuture<HttpClientResponse> executeAsync(
+      T request) {
+    return executeAsyncWithRetries(request, Optional.empty());
+  }
+
+  /**
+   * Executes the request asynchronously like {@link #executeAsync(HttpRequestBase)}, parsing the
+   * JSON body of a successful response into the builder like {@link #execute(HttpRequestBase,
+   * Message.Builder)}.
+   */
+  public <T extends HttpRequestBase> CompletableFuture<HttpClientResponse> executeAsync(
+      T request, Message.Builder successBodyBuilder) {
+    return executeAsyncWithRetries(request, Optional.of(successBodyBuilder));
+  }
+
+  private CompletableFuture<HttpClientResponse> executeAsyncWithRetries(
+      HttpRequestBase request, Optional<Message.Builder> successBodyBuilder) {
+    acceptProtobuf(request, successBodyBuilder);
+    CompletableFuture<HttpClientResponse> result = new CompletableFuture<>();
+    retryConfig
+        .executeCompletionStage(
+            RETRY_SCHEDULER, () -> transport.executeAsync(request, successBodyBuilder))
+        .whenComplete(
+            (response, throwable) -> {
+              if (throwable == null) {
+                result.complete(response);
+                return;
+              }
+              // Fails like the synchronous execute() throws.
+              Throwable cause = unwrap(throwable);
+              result.completeExceptionally(
+                  cause instanceof MalformedResponseException
+                      ? new IOException(cause.getCause())
+                      : new IOException(cause));
+            });
+    return result;
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+        && throwable.getCause() != null) {
+      throwable = throwable.getCause();
+    }
+    return throwable;
+  }
+
+  private HttpClientResponse executeWithRetries(
+      HttpRequestBase request, Optional<Message.Builder> successBodyBuilder) throws IOException {
+    acceptProtobuf(request, successBodyBuilder);
     try {
-      return Retry.decorateCheckedSupplier(retryConfig, () -> executeRequest(request)).apply();
+      return Retry.decorateCheckedSupplier(
+              retryConfig, () -> transport.execute(request, successBodyBuilder))
+          .apply();
+    } catch (MalformedResponseException e) {
+      throw new IOException(e.getCause());
     } catch (Throwable throwable) {
       throw new IOException(throwable);
     }
   }
 
+  /** Requests the protobuf wire format for bodies parsed into a builder. */
+  private static void acceptProtobuf(
+      HttpRequestBase request, Optional<Message.Builder> successBodyBuilder) {
+    if (successBodyBuilder.isPresent() && !request.containsHeader(HttpHeaders.ACCEPT)) {
+      request.setHeader(HttpHeaders.ACCEPT, PROTOBUF_OR_JSON);
+    }
+  }
+
   /**
-   * Executes the request and reads the response into HttpClientResponse. Reading the response is
-   * necessary before retrying to prevent connection leak.
+   * Reads the response body. Reading the response is necessary before retrying to prevent
+   * connection leak.
    *
-   * @param request Http request
-   * @throws IOException
+   * @param mimeType the content type of the body, without parameters, if any.
+   * @return the body, or null if the body was parsed into the builder.
    */
-  private <T extends HttpRequestBase> HttpClientResponse executeRequest(T request)
+  private static String readBody(
+      int statusCode,
+      InputStream content,
+      Optional<String> mimeType,
+      Charset charset,
+      Optional<Message.Builder> successBodyBuilder)
       throws IOException {
-    CloseableHttpResponse response = httpClient.execute(request);
-    return HttpClientResponse.create(
-        response.getStatusLine().getStatusCode(),
-        EntityUtils.toString(response.getEntity()),
-        Stream.of(response.getAllHeaders())
-            .collect(ImmutableMap.toImmutableMap(Header::getName, Header::getValue)));
+    try (Reader reader = new InputStreamReader(content, charset)) {
+      if (statusCode != HttpStatus.SC_OK || successBodyBuilder.isEmpty()) {
+        return CharStreams.toString(reader);
+      }
+      Message.Builder builder = successBodyBuilder.get();
+      builder.clear();
+      try {
+        if (mimeType.filter(PROTOBUF_CONTENT_TYPE::equalsIgnoreCase).isPresent()) {
+          builder.mergeFrom(content);
+        } else {
+          JSON_PARSER.merge(reader, builder);
+        }
+      } catch (InvalidProtocolBufferException e) {
+        // Unlike I/O errors, malformed bodies are not retried.
+        throw new MalformedResponseException(e);
+      }
+      return null;
+    }
   }
 
   private static HttpClientWrapper createHttpClient(
@@ -114,16 +298,17 @@ public class HttpClientWrapper {
       Optional<IntervalFunction> intervalFunction,
       Optional<Integer> maxAttempts,
       Optional<ImmutableSet<Class<? extends Throwable>>> retryOnExceptions,
-      Optional<Set<Integer>> retryOnStatusCodes) {
-    HttpClientBuilder httpClientBuilder =
-        HttpClients.custom().disableAutomaticRetries(); // Retries are handled separately.
-    interceptor.ifPresent(
-        httpInterceptor -> httpClientBuilder.addInterceptorFirst(httpInterceptor));
+      Optional<Set<Integer>> retryOnStatusCodes,
+      PoolConfig poolConfig,
+      boolean useHttp2) {
     RetryConfig retryConfig =
         buildRetryConfig(intervalFunction, maxAttempts, retryOnExceptions, retryOnStatusCodes);
+    Transport transport =
+        useHttp2
+            ? new AsyncTransport(interceptor, poolConfig, HttpVersionPolicy.NEGOTIATE)
+            : new ClassicTransport(interceptor, poolConfig);
 
-    return new HttpClientWrapper(
-        httpClientBuilder.build(), RetryRegistry.of(retryConfig).retry("httpClient"));
+    return new HttpClientWrapper(transport, RetryRegistry.of(retryConfig).retry("httpClient"));
   }
 
   private static RetryConfig buildRetryConfig(
@@ -144,6 +329,284 @@ public class HttpClientWrapper {
     return retryConfigBuilder.build();
   }
 
+  /** Executes a single attempt of a request. */
+  private interface Transport {
+    HttpClientResponse execute(
+        HttpRequestBase request, Optional<Message.Builder> successBodyBuilder) throws IOException;
+
+    CompletableFuture<HttpClientResponse> executeAsync(
+        HttpRequestBase request, Optional<Message.Builder> successBodyBuilder);
+  }
+
+  /** Connection pool settings shared by both transports. */
+  private record PoolConfig(
+      int maxConnectionsPerRoute,
+      int maxConnectionsTotal,
+      Optional<Duration> connectionTimeToLive,
+      Duration maxIdleTime,
+      Duration keepAlive) {}
+
+  /**
+   * Executes requests with the blocking Apache HttpClient 4. Asynchronous requests are executed
+   * with an HTTP/1.1 asynchronous client, created on first use.
+   */
+  private static final class ClassicTransport implements Transport {
+    private final CloseableHttpClient httpClient;
+    private final Supplier<AsyncTransport> asyncTransport;
+
+    private ClassicTransport(Optional<HttpRequestInterceptor> interceptor, PoolConfig poolConfig) {
+      this.asyncTransport =
+          Suppliers.memoize(
+              () -> new AsyncTransport(interceptor, poolConfig, HttpVersionPolicy.FORCE_HTTP_1));
+      HttpClientBuilder httpClientBuilder =
+          HttpClients.custom()
+              .disableAutomaticRetries() // Retries are handled separately.
+              .setMaxConnPerRoute(poolConfig.maxConnectionsPerRoute())
+              .setMaxConnTotal(poolConfig.maxConnectionsTotal())
+              .evictExpiredConnections()
+              .evictIdleConnections(poolConfig.maxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+              .setKeepAliveStrategy(
+                  (response, context) -> {
+                    long keepAlive =
+                        DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(
+                            response, context);
+                    // Servers not announcing a keep-alive timeout get the configured one.
+                    return keepAlive > 0 ? keepAlive : poolConfig.keepAlive().toMillis();
+                  });
+      poolConfig
+          .connectionTimeToLive()
+          .ifPresent(
+              ttl ->
+                  httpClientBuilder.setConnectionTimeToLive(
+                      ttl.toMillis(), TimeUnit.MILLISECONDS));
+      interceptor.ifPresent(httpClientBuilder::addInterceptorFirst);
+      this.httpClient = httpClientBuilder.build();
+    }
+
+    @Override
+    public HttpClientResponse execute(
+        HttpRequestBase request, Optional<Message.Builder> successBodyBuilder) throws IOException {
+      try (CloseableHttpResponse response = httpClient.execute(request)) {
+        int statusCode = response.getStatusLine().getStatusCode();
+        HttpEntity entity = response.getEntity();
+        try {
+          String body =
+              entity == null
+                  ? null
+                  : readBody(
+                      statusCode,
+                      entity.getContent(),
+                      Optional.ofNullable(ContentType.get(entity)).map(ContentType::getMimeType),
+                      charset(entity),
+                      successBodyBuilder);
+          return HttpClientResponse.create(
+              statusCode,
+              body,
+              Stream.of(response.getAllHeaders())
+                  .collect(ImmutableMap.toImmutableMap(Header::getName, Header::getValue)));
+        } finally {
+          // Releases the connection back to the pool, even if parsing stopped early.
+          EntityUtils.consumeQuietly(entity);
+        }
+      }
+    }
+
+    @Override
+    public CompletableFuture<HttpClientResponse> executeAsync(
+        HttpRequestBase request, Optional<Message.Builder> successBodyBuilder) {
+      return asyncTransport.get().executeAsync(request, successBodyBuilder);
+    }
+
+    private static Charset charset(HttpEntity entity) {
+      ContentType contentType = ContentType.get(entity);
+      return contentType == null || contentType.getCharset() == null
+          ? StandardCharsets.UTF_8
+          : contentType.getCharset();
+    }
+  }
+
+  /**
+   * Executes requests with the asynchronous Apache HttpClient 5, using HTTP/2 with servers that
+   * support it. Requests are converted from their HttpClient 4 form after applying the interceptor.
+   */
+  private static final class AsyncTransport implements Transport {
+    private final Optional<HttpRequestInterceptor> interceptor;
+    private final CloseableHttpAsyncClient httpClient;
+
+    private AsyncTransport(
+        Optional<HttpRequestInterceptor> interceptor,
+        PoolConfig poolConfig,
+        HttpVersionPolicy versionPolicy) {
+      this.interceptor = interceptor;
+      PoolingAsyncClientConnectionManagerBuilder connectionManagerBuilder =
+          PoolingAsyncClientConnectionManagerBuilder.create()
+              .setMaxConnPerRoute(poolConfig.maxConnectionsPerRoute())
+              .setMaxConnTotal(poolConfig.maxConnectionsTotal());
+      poolConfig
+          .connectionTimeToLive()
+          .ifPresent(
+              ttl ->
+                  connectionManagerBuilder.setConnectionTimeToLive(
+                      TimeValue.ofMilliseconds(ttl.toMillis())));
+      this.httpClient =
+          HttpAsyncClients.custom()
+              .setVersionPolicy(versionPolicy)
+              .setConnectionManager(connectionManagerBuilder.build())
+              .disableAutomaticRetries() // Retries are handled separately.
+              .evictExpiredConnections()
+              .evictIdleConnections(TimeValue.ofMilliseconds(poolConfig.maxIdleTime().toMillis()))
+              .setDefaultRequestConfig(
+                  org.apache.hc.client5.http.config.RequestConfig.custom()
+                      .setConnectionKeepAlive(
+                          TimeValue.ofMilliseconds(poolConfig.keepAlive().toMillis()))
+                      .build())
+              .build();
+      httpClient.start();
+    }
+
+    @Override
+    public HttpClientResponse execute(
+        HttpRequestBase request, Optional<Message.Builder> successBodyBuilder) throws IOException {
+      try {
+        return executeAsync(request, successBodyBuilder).get();
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof MalformedResponseException) {
+          throw (MalformedResponseException) e.getCause();
+        }
+        throw e.getCause() instanceof IOException
+            ? (IOException) e.getCause()
+            : new IOException(e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while executing request");
+      }
+    }
+
+    @Override
+    public CompletableFuture<HttpClientResponse> executeAsync(
+        HttpRequestBase request, Optional<Message.Builder> successBodyBuilder) {
+      CompletableFuture<HttpClientResponse> result = new CompletableFuture<>();
+      SimpleHttpRequest asyncRequest;
+      try {
+        asyncRequest = toAsyncRequest(request);
+      } catch (IOException e) {
+        result.completeExceptionally(e);
+        return result;
+      }
+      httpClient.execute(
+          asyncRequest,
+          new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+              try {
+                result.complete(toResponse(response, successBodyBuilder));
+              } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+              }
+            }
+
+            @Override
+            public void failed(Exception e) {
+              result.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+              result.completeExceptionally(new IOException("Request was cancelled"));
+            }
+          });
+      return result;
+    }
+
+    private static HttpClientResponse toResponse(
+        SimpleHttpResponse response, Optional<Message.Builder> successBodyBuilder)
+        throws IOException {
+      byte[] bodyBytes = response.getBodyBytes();
+      String body =
+          bodyBytes == null
+              ? null
+              : readBody(
+                  response.getCode(),
+                  new ByteArrayInputStream(bodyBytes),
+                  Optional.ofNullable(response.getContentType())
+                      .map(org.apache.hc.core5.http.ContentType::getMimeType),
+                  charset(response),
+                  successBodyBuilder);
+      return HttpClientResponse.create(
+          response.getCode(),
+          body,
+          Stream.of(response.getHeaders())
+              .collect(
+                  ImmutableMap.toImmutableMap(
+                      org.apache.hc.core5.http.Header::getName,
+                      org.apache.hc.core5.http.Header::getValue)));
+    }
+
+    private SimpleHttpRequest toAsyncRequest(HttpRequestBase request) throws IOException {
+      // The interceptor is applied to a copy, so retries do not accumulate its headers.
+      HttpRequestWrapper intercepted = HttpRequestWrapper.wrap(request);
+      if (interceptor.isPresent()) {
+        try {
+          interceptor.get().process(intercepted, new BasicHttpContext());
+        } catch (org.apache.http.HttpException e) {
+          throw new IOException(e);
+        }
+      }
+      SimpleHttpRequest asyncRequest =
+          SimpleHttpRequest.create(request.getMethod(), request.getURI());
+      for (Header header : intercepted.getAllHeaders()) {
+        if (!CONNECTION_HEADERS.contains(header.getName().toLowerCase())) {
+          asyncRequest.addHeader(header.getName(), header.getValue());
+        }
+      }
+      if (request instanceof HttpEntityEnclosingRequest enclosingRequest
+          && enclosingRequest.getEntity() != null) {
+        HttpEntity entity = enclosingRequest.getEntity();
+        ContentType contentType = ContentType.get(entity);
+        asyncRequest.setBody(
+            EntityUtils.toByteArray(entity),
+            contentType == null
+                ? null
+                : org.apache.hc.core5.http.ContentType.parse(contentType.toString()));
+      }
+      RequestConfig config = request.getConfig();
+      if (config != null) {
+        asyncRequest.setConfig(toAsyncRequestConfig(config));
+      }
+      return asyncRequest;
+    }
+
+    private static org.apache.hc.client5.http.config.RequestConfig toAsyncRequestConfig(
+        RequestConfig config) {
+      var builder = org.apache.hc.client5.http.config.RequestConfig.custom();
+      if (config.getConnectionRequestTimeout() > 0) {
+        builder.setConnectionRequestTimeout(
+            Timeout.ofMilliseconds(config.getConnectionRequestTimeout()));
+      }
+      if (config.getConnectTimeout() > 0) {
+        builder.setConnectTimeout(Timeout.ofMilliseconds(config.getConnectTimeout()));
+      }
+      if (config.getSocketTimeout() > 0) {
+        builder.setResponseTimeout(Timeout.ofMilliseconds(config.getSocketTimeout()));
+      }
+      return builder.build();
+    }
+
+    private static Charset charset(SimpleHttpResponse response) {
+      org.apache.hc.core5.http.ContentType contentType = response.getContentType();
+      return contentType == null || contentType.getCharset() == null
+          ? StandardCharsets.UTF_8
+          : contentType.getCharset();
+    }
+  }
+
+  /** Thrown when a successful response body cannot be parsed. Not retried. */
+  private static final class MalformedResponseException extends RuntimeException {
+    private MalformedResponseException(InvalidProtocolBufferException cause) {
+      super(cause);
+    }
+  }
+
   /** Builder class for {@link HttpClientWrapper} */
   public static class Builder {
 
@@ -157,6 +620,18 @@ public class HttpClientWrapper {
 
     private ImmutableSet<Integer> retryStatusCodes;
 
+    private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+    private int maxConnectionsTotal = DEFAULT_MAX_CONNECTIONS_TOTAL;
+
+    private Duration connectionTimeToLive;
+
+    private Duration maxIdleTime = DEFAULT_MAX_IDLE_TIME;
+
+    private Duration keepAlive = DEFAULT_KEEP_ALIVE;
+
+    private boolean useHttp2 = false;
+
     /** Sets the interceptor that should be called before every request. */
     public Builder setInterceptor(HttpRequestInterceptor interceptor) {
       this.interceptor = interceptor;
@@ -204,13 +679,62 @@ public class HttpClientWrapper {
       return this;
     }
 
+    /** Sets the maximum number of pooled connections to a single host. Default of 20. */
+    public Builder setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+      this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+      return this;
+    }
+
+    /** Sets the maximum number of pooled connections across all hosts. Default of 100. */
+    public Builder setMaxConnectionsTotal(int maxConnectionsTotal) {
+      this.maxConnectionsTotal = maxConnectionsTotal;
+      return this;
+    }
+
+    /** Sets the time after which connections are closed, however active. Unlimited by default. */
+    public Builder setConnectionTimeToLive(Duration connectionTimeToLive) {
+      this.connectionTimeToLive = connectionTimeToLive;
+      return this;
+    }
+
+    /** Sets the time after which idle connections are evicted from the pool. Default of 30s. */
+    public Builder setMaxIdleTime(Duration maxIdleTime) {
+      this.maxIdleTime = maxIdleTime;
+      return this;
+    }
+
+    /**
+     * Sets how long connections are kept alive when the server does not announce a keep-alive
+     * timeout. Default of 30s.
+     */
+    public Builder setKeepAlive(Duration keepAlive) {
+      this.keepAlive = keepAlive;
+      return this;
+    }
+
+    /**
+     * Sets whether to execute requests with the asynchronous Apache HttpClient 5, which negotiates
+     * HTTP/2 with TLS servers, instead of the classic HttpClient 4. Default of false.
+     */
+    public Builder setUseHttp2(boolean useHttp2) {
+      this.useHttp2 = useHttp2;
+      return this;
+    }
+
     public HttpClientWrapper build() {
       return HttpClientWrapper.createHttpClient(
           Optional.ofNullable(interceptor),
           Optional.ofNullable(intervalFunction),
           Optional.of(maxAttempts),
           Optional.ofNullable(retryExceptions),
-          Optional.ofNullable(retryStatusCodes));
+          Optional.ofNullable(retryStatusCodes),
+          new PoolConfig(
+              maxConnectionsPerRoute,
+              maxConnectionsTotal,
+              Optional.ofNullable(connectionTimeToLive),
+              maxIdleTime,
+              keepAlive),
+          useHttp2);
     }
   }
 }
@@ -46,6 +46,7 @@ public enum WorkerParameter {
   JOB_SPANNER_INSTANCE_ID,
   JOB_SPANNER_DB_NAME,
   WORKER_MANAGED_INSTANCE_GROUP_NAME,
+  LIFECYCLE_STATE_POLL_INTERVAL_SECONDS,
   ENABLE_REMOTE_METRIC_AGGREGATION,
   ENABLE_LEGACY_METRICS,
   METRIC_EXPORTER_INTERVAL_IN_MILLIS,
@@ -17,18 +17,16 @@
 package com.google.scp.shared.gcp.util;
 
 import com.google.auth.oauth2.GoogleCredentials;
-import com.google.auth.oauth2.IdTokenCredentials;
-import com.google.auth.oauth2.IdTokenProvider;
-import com.google.auth.oauth2.IdTokenProvider.Option;
-import com.google.auth.oauth2.ImpersonatedCredentials;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
 
 /** Provide gcp http interceptors */
 public final class GcpHttpInterceptorUtil {
 
+  /** Identity tokens shared by all interceptors, so they are not fetched for every request. */
+  private static final IdTokenCache ID_TOKEN_CACHE =
+      new IdTokenCache(GoogleCredentials::getApplicationDefault);
+
   /** Create http interceptor for gcp http clients with url as audience */
   public static org.apache.http.HttpRequestInterceptor createHttpInterceptor(String url) {
     return (request, context) -> {
@@ -65,49 +63,14 @@ public final class GcpHttpInterceptorUtil {
     };
   }
 
-  private static IdTokenCredentials getIdTokenCredentials(String url) throws IOException {
-    GoogleCredentials googleCredentials = GoogleCredentials.getApplicationDefault();
-
-    return buildIdTokenCredentials((IdTokenProvider) googleCredentials, url, false);
-  }
-
-  private static IdTokenCredentials getImpersonatedIdTokenCredentials(
-      String targetAudienceUrl, String serviceAccountToImpersonate, ImmutableList<String> scopes)
-      throws IOException {
-    ImpersonatedCredentials impersonatedCredentials =
-        ImpersonatedCredentials.newBuilder()
-            .setSourceCredentials(GoogleCredentials.getApplicationDefault())
-            .setTargetPrincipal(serviceAccountToImpersonate)
-            .setScopes(scopes)
-            .build();
-
-    return buildIdTokenCredentials(impersonatedCredentials, targetAudienceUrl, true);
-  }
-
-  private static IdTokenCredentials buildIdTokenCredentials(
-      IdTokenProvider idTokenProvider, String targetAudienceUrl, boolean includeEmail) {
-    var options = new ArrayList<>(Arrays.asList(Option.FORMAT_FULL, Option.LICENSES_TRUE));
-    if (includeEmail) {
-      options.add(Option.INCLUDE_EMAIL);
-    }
-    return IdTokenCredentials.newBuilder()
-        .setIdTokenProvider(idTokenProvider)
-        .setTargetAudience(targetAudienceUrl)
-        // Setting the ID token options.
-        .setOptions(options)
-        .build();
-  }
-
   private static String getIdTokenFromMetadataServer(String url) throws IOException {
-    IdTokenCredentials idTokenCredentials = getIdTokenCredentials(url);
-    return idTokenCredentials.refreshAccessToken().getTokenValue();
+    return ID_TOKEN_CACHE.getIdToken(url);
   }
 
   private static String getImpersonatedIdToken(
       String targetAudienceUrl, String serviceAccountToImpersonate, ImmutableList<String> scopes)
       throws IOException {
-    return getImpersonatedIdTokenCredentials(targetAudienceUrl, serviceAccountToImpersonate, scopes)
-        .refreshAccessToken()
-        .getTokenValue();
+    return ID_TOKEN_CACHE.getImpersonatedIdToken(
+        targetAudienceUrl, serviceAccountToImpersonate, scopes);
   }
 }
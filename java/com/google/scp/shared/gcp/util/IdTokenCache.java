@@ -0,0 +1,258 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.shared.gcp.util;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.auth.oauth2.IdTokenCredentials;
+import com.google.auth.oauth2.IdTokenProvider;
+import com.google.auth.oauth2.IdTokenProvider.Option;
+import com.google.auth.oauth2.ImpersonatedCredentials;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of GCP identity tokens, keyed by target audience and impersonated service account.
+ *
+ * <p>A token is fetched on first use and then refreshed in the background ahead of its expiry, as
+ * long as it keeps being used, so requests do not wait on the metadata server or IAM. Requests only
+ * fetch a token themselves if none is cached or the cached one is about to expire, e.g. after
+ * failed background refreshes.
+ */
+public final class IdTokenCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(IdTokenCache.class);
+
+  /** How long before their expiry tokens are refreshed in the background. */
+  private static final Duration DEFAULT_REFRESH_MARGIN = Duration.ofMinutes(5);
+  /** Cached tokens closer than this to their expiry are not handed out. */
+  private static final Duration MIN_REMAINING_LIFETIME = Duration.ofSeconds(30);
+  /** Lifetime assumed for tokens without an expiration time. */
+  private static final Duration DEFAULT_TOKEN_LIFETIME = Duration.ofHours(1);
+  private static final Duration REFRESH_RETRY_DELAY = Duration.ofSeconds(30);
+
+  private final SourceCredentialsProvider sourceCredentialsProvider;
+  private final Clock clock;
+  private final Duration refreshMargin;
+  private final ScheduledExecutorService refreshExecutor;
+  private final ConcurrentMap<TokenKey, CachedToken> tokens = new ConcurrentHashMap<>();
+
+  /** Creates a cache issuing tokens for the given source credentials. */
+  public IdTokenCache(SourceCredentialsProvider sourceCredentialsProvider) {
+    this(
+        sourceCredentialsProvider,
+        Clock.systemUTC(),
+        DEFAULT_REFRESH_MARGIN,
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("id-token-refresh-%d")
+                .build()));
+  }
+
+  @VisibleForTesting
+  IdTokenCache(
+      SourceCredentialsProvider sourceCredentialsProvider,
+      Clock clock,
+      Duration refreshMargin,
+      ScheduledExecutorService refreshExecutor) {
+    this.sourceCredentialsProvider = sourceCredentialsProvider;
+    this.clock = clock;
+    this.refreshMargin = refreshMargin;
+    this.refreshExecutor = refreshExecutor;
+  }
+
+  /** Returns an identity token of the source credentials for the audience. */
+  public String getIdToken(String targetAudience) throws IOException {
+    return getToken(new TokenKey(targetAudience, Optional.empty(), ImmutableList.of()));
+  }
+
+  /**
+   * Returns an identity token for the audience, issued for the service account to impersonate
+   * with the requested scopes.
+   */
+  public String getImpersonatedIdToken(
+      String targetAudience, String serviceAccountToImpersonate, ImmutableList<String> scopes)
+      throws IOException {
+    return getToken(
+        new TokenKey(targetAudience, Optional.of(serviceAccountToImpersonate), scopes));
+  }
+
+  private String getToken(TokenKey key) throws IOException {
+    return tokens.computeIfAbsent(key, CachedToken::new).get();
+  }
+
+  private IdTokenCredentials buildCredentials(TokenKey key) throws IOException {
+    GoogleCredentials sourceCredentials = sourceCredentialsProvider.getCredentials();
+    if (key.serviceAccountToImpersonate().isEmpty()) {
+      return buildIdTokenCredentials(
+          (IdTokenProvider) sourceCredentials, key.targetAudience(), false);
+    }
+    ImpersonatedCredentials impersonatedCredentials =
+        ImpersonatedCredentials.newBuilder()
+            .setSourceCredentials(sourceCredentials)
+            .setTargetPrincipal(key.serviceAccountToImpersonate().get())
+            .setScopes(key.scopes())
+            .build();
+    return buildIdTokenCredentials(impersonatedCredentials, key.targetAudience(), true);
+  }
+
+  private static IdTokenCredentials buildIdTokenCredentials(
+      IdTokenProvider idTokenProvider, String targetAudienceUrl, boolean includeEmail) {
+    var options = new ArrayList<>(Arrays.asList(Option.FORMAT_FULL, Option.LICENSES_TRUE));
+    if (includeEmail) {
+      options.add(Option.INCLUDE_EMAIL);
+    }
+    return IdTokenCredentials.newBuilder()
+        .setIdTokenProvider(idTokenProvider)
+        .setTargetAudience(targetAudienceUrl)
+        // Setting the ID token options.
+        .setOptions(options)
+        .build();
+  }
+
+  /** Provides the credentials tokens are issued for, or used to impersonate service accounts. */
+  @FunctionalInterface
+  public interface SourceCredentialsProvider {
+    GoogleCredentials getCredentials() throws IOException;
+  }
+
+  private record TokenKey(
+      String targetAudience,
+      Optional<String> serviceAccountToImpersonate,
+      ImmutableList<String> scopes) {
+
+    @Override
+    public String toString() {
+      return serviceAccountToImpersonate
+          .map(account -> String.format("%s as %s", targetAudience, account))
+          .orElse(targetAudience);
+    }
+  }
+
+  private final class CachedToken {
+    private final TokenKey key;
+    private IdTokenCredentials credentials;
+    private AccessToken token;
+    private Instant fetchTime;
+    private Instant expiry;
+    private boolean usedSinceFetch;
+    private ScheduledFuture<?> scheduledRefresh;
+
+    private CachedToken(TokenKey key) {
+      this.key = key;
+    }
+
+    /** Returns the cached token, fetching a new one if it is missing or about to expire. */
+    synchronized String get() throws IOException {
+      if (token == null || !clock.instant().isBefore(expiry.minus(MIN_REMAINING_LIFETIME))) {
+        update(fetch());
+      }
+      usedSinceFetch = true;
+      return token.getTokenValue();
+    }
+
+    synchronized Optional<Duration> age() {
+      return Optional.ofNullable(fetchTime).map(time -> Duration.between(time, clock.instant()));
+    }
+
+    /**
+     * Fetches a new token. Requests fetch while holding the lock, so concurrent requests wait for a
+     * single fetch; background refreshes fetch without it, so requests keep using the current token.
+     */
+    private AccessToken fetch() throws IOException {
+      try {
+        return credentials().refreshAccessToken();
+      } catch (IOException | RuntimeException e) {
+        logger.warn("Failed to fetch identity token for {}", key, e);
+        throw e;
+      }
+    }
+
+    private synchronized IdTokenCredentials credentials() throws IOException {
+      if (credentials == null) {
+        credentials = buildCredentials(key);
+      }
+      return credentials;
+    }
+
+    private synchronized void update(AccessToken newToken) {
+      Instant now = clock.instant();
+      Instant newExpiry =
+          Optional.ofNullable(newToken.getExpirationTime())
+              .map(date -> date.toInstant())
+              .orElse(now.plus(DEFAULT_TOKEN_LIFETIME));
+      logger.info(
+          "Fetched identity token for {}, expiring in {}s, replacing token of age {}s",
+          key,
+          Duration.between(now, newExpiry).toSeconds(),
+          age().map(Duration::toSeconds).map(String::valueOf).orElse("-"));
+      token = newToken;
+      fetchTime = now;
+      expiry = newExpiry;
+      usedSinceFetch = false;
+      Duration lifetime = Duration.between(now, newExpiry);
+      scheduleRefresh(
+          lifetime.compareTo(refreshMargin) > 0
+              ? lifetime.minus(refreshMargin)
+              : lifetime.dividedBy(2));
+    }
+
+    private synchronized void scheduleRefresh(Duration delay) {
+      if (scheduledRefresh != null) {
+        scheduledRefresh.cancel(false);
+      }
+      scheduledRefresh =
+          refreshExecutor.schedule(
+              this::refreshInBackground, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void refreshInBackground() {
+      synchronized (this) {
+        // Tokens no longer in use are left to expire, and fetched again on their next use.
+        if (!usedSinceFetch) {
+          return;
+        }
+      }
+      try {
+        update(fetch());
+      } catch (IOException | RuntimeException e) {
+        synchronized (this) {
+          if (clock.instant().plus(REFRESH_RETRY_DELAY).isBefore(expiry)) {
+            scheduleRefresh(REFRESH_RETRY_DELAY);
+          }
+        }
+      }
+    }
+  }
+}
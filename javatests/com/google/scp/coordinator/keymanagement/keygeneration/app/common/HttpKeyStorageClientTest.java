@@ -23,12 +23,16 @@ import static com.google.scp.shared.api.model.Code.PERMISSION_DENIED;
 import static com.google.scp.shared.api.model.Code.UNKNOWN;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.util.JsonFormat;
+import com.google.scp.coordinator.keymanagement.keygeneration.app.common.KeyStorageClient.KeySplitRequest;
 import com.google.scp.coordinator.keymanagement.keygeneration.app.common.KeyStorageClient.KeyStorageServiceException;
 import com.google.scp.coordinator.keymanagement.keystorage.converters.EncryptionKeyConverter;
+import com.google.scp.coordinator.protos.keymanagement.keystorage.api.v1.BatchCreateKeysResponseProto.BatchCreateKeysResponse;
 import com.google.scp.coordinator.protos.keymanagement.shared.backend.EncryptionKeyProto.EncryptionKey;
 import com.google.scp.shared.api.exception.ServiceException;
 import java.io.IOException;
@@ -45,6 +49,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
@@ -52,7 +57,7 @@ import org.mockito.junit.MockitoRule;
 
 /**
  * Tests the logic (exception handling, parsing, and response validation) in the {@link
- * HttpKeyStorageClient#createKey}.
+ * HttpKeyStorageClient#createKey} and {@link HttpKeyStorageClient#batchCreateKeys}.
  */
 @RunWith(JUnit4.class)
 public final class HttpKeyStorageClientTest {
@@ -131,6 +136,55 @@ public final class HttpKeyStorageClientTest {
     assertThat(e.getErrorReason()).contains("");
   }
 
+  /** Test that a batch is sent in a single request and its keys are decoded in order */
+  @Test
+  public void batchCreateKeys_decodeJson() throws Exception {
+    EncryptionKey first = getRequest().toBuilder().setKeyId("first").build();
+    EncryptionKey second = getRequest().toBuilder().setKeyId("second").build();
+    String successResponse =
+        JsonFormat.printer()
+            .print(
+                BatchCreateKeysResponse.newBuilder()
+                    .addKeys(EncryptionKeyConverter.toApiEncryptionKey(first))
+                    .addKeys(EncryptionKeyConverter.toApiEncryptionKey(second)));
+    var response = buildCustomResponse(successResponse, OK.getHttpStatusCode());
+    when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+
+    ImmutableList<EncryptionKey> result =
+        keyStorageClient.batchCreateKeys(
+            ImmutableList.of(
+                new KeySplitRequest(first, "abc", Optional.empty()),
+                new KeySplitRequest(second, "def", Optional.empty())));
+
+    ArgumentCaptor<HttpUriRequest> request = ArgumentCaptor.forClass(HttpUriRequest.class);
+    verify(httpClient).execute(request.capture());
+    assertThat(request.getValue().getURI().toString())
+        .isEqualTo("http://example.com/v1/encryptionKeys:batchCreate");
+    // The top-level URI doesn't exist on the API model, so ignore it.
+    assertThat(result)
+        .containsExactly(
+            first.toBuilder().clearKeyEncryptionKeyUri().build(),
+            second.toBuilder().clearKeyEncryptionKeyUri().build())
+        .inOrder();
+  }
+
+  /** Test that a response missing some of the keys throws an error as expected */
+  @Test
+  public void batchCreateKeys_missingKeys() throws Exception {
+    String successResponse = "{}";
+    var response = buildCustomResponse(successResponse, OK.getHttpStatusCode());
+    when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+
+    var exception =
+        assertThrows(
+            KeyStorageServiceException.class,
+            () ->
+                keyStorageClient.batchCreateKeys(
+                    ImmutableList.of(new KeySplitRequest(getRequest(), "abc", Optional.empty()))));
+
+    assertThat(exception).hasMessageThat().contains("Expected 1 keys");
+  }
+
   private HttpResponse buildCustomResponse(String response, int statusCode) throws IOException {
     HttpResponse httpResponse = Mockito.mock(HttpResponse.class);
     HttpEntity httpEntity = new StringEntity(response);
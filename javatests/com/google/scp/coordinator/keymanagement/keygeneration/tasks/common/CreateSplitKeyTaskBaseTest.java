@@ -192,6 +192,7 @@ public abstract class CreateSplitKeyTaskBaseTest {
                     SET_NAME, DEFAULT_TINK_TEMPLATE, keysToCreate, 10, 20, 0, now()));
 
     assertThat(ex).hasCauseThat().isInstanceOf(KeyStorageServiceException.class);
+    assertThat(keyDb.getActiveKeys(SET_NAME, MAX_VALUE)).hasSize(2);
     ImmutableList<EncryptionKey> keys = keyDb.listAllKeysForSetName(SET_NAME);
     assertThat(keys).hasSize(3);
   }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.coordinator.keymanagement.keygeneration.tasks.gcp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.scp.shared.util.KeyParams.DEFAULT_TINK_TEMPLATE;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.scp.coordinator.keymanagement.keygeneration.app.common.KeyStorageClient.KeyStorageServiceException;
+import com.google.scp.coordinator.keymanagement.keygeneration.app.common.testing.FakeKeyStorageClient;
+import com.google.scp.coordinator.keymanagement.shared.dao.testing.InMemoryKeyDb;
+import com.google.scp.coordinator.keymanagement.shared.util.LogMetricHelper;
+import com.google.scp.coordinator.keymanagement.testutils.FakeKmsClient;
+import com.google.scp.coordinator.protos.keymanagement.shared.backend.EncryptionKeyProto.EncryptionKey;
+import com.google.scp.shared.api.exception.ServiceException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+
+/** Tests GcpCreateSplitKeyTask generating several keys at the same time. */
+@RunWith(JUnit4.class)
+public final class GcpCreateSplitKeyTaskParallelismTest {
+
+  private static final String SET_NAME = "test-set";
+  private static final int PARALLELISM = 4;
+
+  private InMemoryKeyDb keyDb;
+  private FakeKeyStorageClient keyStorageClient;
+  private GcpCreateSplitKeyTask task;
+
+  @Before
+  public void setUp() {
+    keyDb = spy(new InMemoryKeyDb());
+    keyStorageClient = spy(new FakeKeyStorageClient());
+    task =
+        new GcpCreateSplitKeyTask(
+            "fake-kms://$setName$-fake-id-a",
+            "",
+            "fake-kms://$setName$-fake-id-b",
+            "",
+            new FakeKmsClient(),
+            new FakeKmsClient(),
+            new FakeKmsClient(),
+            new FakeKmsClient(),
+            () -> false,
+            PARALLELISM,
+            keyDb,
+            keyStorageClient,
+            new LogMetricHelper("key_service/key_generation"));
+  }
+
+  @Test
+  public void createSplitKey_parallel_storesAllKeysInOneWrite() throws Exception {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    doAnswer(
+            invocation -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              try {
+                // Longer than the generation jitter, so that concurrent generations overlap here.
+                Thread.sleep(300);
+                return invocation.callRealMethod();
+              } finally {
+                inFlight.decrementAndGet();
+              }
+            })
+        .when(keyStorageClient)
+        .createKey(any(), any(), any());
+
+    task.createSplitKey(SET_NAME, DEFAULT_TINK_TEMPLATE, 8, 10, 20, 0, Instant.now());
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<ImmutableList<EncryptionKey>> keysCaptor =
+        ArgumentCaptor.forClass(ImmutableList.class);
+    verify(keyDb, times(1)).createKeys(keysCaptor.capture());
+    assertThat(keysCaptor.getValue()).hasSize(8);
+    assertThat(keysCaptor.getValue().stream().map(EncryptionKey::getKeyId).distinct().count())
+        .isEqualTo(8);
+    assertThat(keyDb.listAllKeysForSetName(SET_NAME)).hasSize(8);
+    assertThat(maxInFlight.get()).isGreaterThan(1);
+  }
+
+  @Test
+  public void createSplitKey_parallelFailure_storesNoKeysAndSkipsPendingGenerations()
+      throws Exception {
+    doThrow(new KeyStorageServiceException("Key storage unavailable"))
+        .when(keyStorageClient)
+        .createKey(any(), any(), any());
+
+    assertThrows(
+        ServiceException.class,
+        () -> task.createSplitKey(SET_NAME, DEFAULT_TINK_TEMPLATE, 20, 10, 20, 0, Instant.now()));
+
+    verify(keyDb, never()).createKeys(any());
+    // Each thread sends at most the split of the generation it had running when the first one
+    // failed; the other generations are skipped or cancelled before reaching Coordinator B.
+    verify(keyStorageClient, atMost(PARALLELISM)).createKey(any(), any(), any());
+    verify(keyDb, atMost(PARALLELISM)).createKey(any(), eq(false));
+    assertThat(keyDb.getActiveKeys(SET_NAME, Integer.MAX_VALUE)).isEmpty();
+  }
+}
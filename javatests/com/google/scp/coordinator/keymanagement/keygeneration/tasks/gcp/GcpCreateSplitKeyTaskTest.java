@@ -23,6 +23,7 @@ import com.google.acai.TestScoped;
 import com.google.crypto.tink.KmsClient;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
+import com.google.scp.coordinator.keymanagement.keygeneration.app.common.Annotations.KeyGenerationParallelism;
 import com.google.scp.coordinator.keymanagement.keygeneration.app.common.Annotations.PopulateMigrationKeyData;
 import com.google.scp.coordinator.keymanagement.keygeneration.tasks.common.Annotations.KeyEncryptionKeyBaseUri;
 import com.google.scp.coordinator.keymanagement.keygeneration.tasks.common.Annotations.MigrationKeyEncryptionKeyBaseUri;
@@ -89,6 +90,9 @@ public final class GcpCreateSplitKeyTaskTest extends GcpCreateSplitKeyTaskTestBa
           .annotatedWith(KeyEncryptionKeyBaseUri.class)
           .toInstance("fake-kms://$setName$-fake-id-a");
       bind(Boolean.class).annotatedWith(PopulateMigrationKeyData.class).toInstance(false);
+      // Generates keys one at a time, so tests failing a generation see a deterministic number of
+      // reserved keys.
+      bind(Integer.class).annotatedWith(KeyGenerationParallelism.class).toInstance(1);
     }
   }
 }
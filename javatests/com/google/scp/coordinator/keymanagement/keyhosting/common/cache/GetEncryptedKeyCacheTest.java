@@ -16,6 +16,7 @@
 
 package com.google.scp.coordinator.keymanagement.keyhosting.common.cache;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -23,10 +24,19 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.testing.FakeTicker;
 import com.google.scp.coordinator.keymanagement.shared.dao.common.KeyDb;
 import com.google.scp.coordinator.protos.keymanagement.shared.backend.EncryptionKeyProto.EncryptionKey;
 import com.google.scp.shared.api.exception.ServiceException;
 import com.google.scp.shared.api.model.Code;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -39,6 +49,7 @@ import org.mockito.junit.MockitoRule;
 public class GetEncryptedKeyCacheTest {
 
   private static final String KEY = "key";
+  private static final String CALLER = "caller@example.com";
   private static final EncryptionKey ENCRYPTION_KEY =
       EncryptionKey.newBuilder().setKeyId("keyId").setKeyType("keyType").build();
   private static final ServiceException SERVICE_EXCEPTION =
@@ -50,19 +61,36 @@ public class GetEncryptedKeyCacheTest {
 
   @Mock KeyDb mockKeyDb;
 
+  private final FakeTicker ticker = new FakeTicker();
+
   @Test
   public void readDbThrows_dbCalledOnceTest() throws Exception {
     readDbThrowsCheck(SERVICE_EXCEPTION, 1);
   }
 
   @Test
-  public void readDbThrowsUnknown_dbCalledTwiceTest() throws Exception {
-    readDbThrowsCheck(UNKNOWN_SERVICE_EXCEPTION, 3);
+  public void readDbThrowsUnknown_dbCalledOnceTest() throws Exception {
+    readDbThrowsCheck(UNKNOWN_SERVICE_EXCEPTION, 1);
+  }
+
+  @Test
+  public void readDbThrowsUnknown_errorExpires_dbCalledAgainTest() throws Exception {
+    when(mockKeyDb.getKey(anyString())).thenThrow(UNKNOWN_SERVICE_EXCEPTION);
+    var cache = new GetEncryptedKeyCache(mockKeyDb, 0, ticker);
+
+    var first = assertThrows(ServiceException.class, () -> cache.get(KEY));
+    var second = assertThrows(ServiceException.class, () -> cache.get(KEY));
+    ticker.advance(Duration.ofSeconds(3));
+    assertThrows(ServiceException.class, () -> cache.get(KEY));
+
+    assertThat(first.getErrorCode()).isEqualTo(Code.UNKNOWN);
+    assertThat(second.getErrorCode()).isEqualTo(Code.UNKNOWN);
+    verify(mockKeyDb, times(2)).getKey(anyString());
   }
 
   private void readDbThrowsCheck(ServiceException exception, int times) throws Exception {
     when(mockKeyDb.getKey(anyString())).thenThrow(exception);
-    var cache = new GetEncryptedKeyCache(mockKeyDb);
+    var cache = new GetEncryptedKeyCache(mockKeyDb, 0, ticker);
     assertThrows(ServiceException.class, () -> cache.get(KEY));
     assertThrows(ServiceException.class, () -> cache.get(KEY));
     assertThrows(ServiceException.class, () -> cache.get(KEY));
@@ -72,10 +100,63 @@ public class GetEncryptedKeyCacheTest {
   @Test
   public void readDbSucceeds_dbCalledOnceTest() throws Exception {
     when(mockKeyDb.getKey(anyString())).thenReturn(ENCRYPTION_KEY);
-    var cache = new GetEncryptedKeyCache(mockKeyDb);
+    var cache = new GetEncryptedKeyCache(mockKeyDb, 0, ticker);
     assertThat(cache.get(KEY)).isEqualTo(ENCRYPTION_KEY);
     assertThat(cache.get(KEY)).isEqualTo(ENCRYPTION_KEY);
     assertThat(cache.get(KEY)).isEqualTo(ENCRYPTION_KEY);
     verify(mockKeyDb).getKey(anyString());
   }
+
+  @Test
+  public void concurrentMisses_dbCalledOnceTest() throws Exception {
+    var readStarted = new CountDownLatch(1);
+    var releaseRead = new CountDownLatch(1);
+    when(mockKeyDb.getKey(anyString()))
+        .thenAnswer(
+            invocation -> {
+              readStarted.countDown();
+              releaseRead.await();
+              throw SERVICE_EXCEPTION;
+            });
+    var cache = new GetEncryptedKeyCache(mockKeyDb, 0, ticker);
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      var leader = executor.submit(() -> cache.get(KEY, CALLER));
+      readStarted.await();
+      var followers =
+          IntStream.range(0, 3)
+              .mapToObj(unused -> executor.submit(() -> cache.get(KEY, CALLER)))
+              .collect(toImmutableList());
+      while (cache.collapsedRequestCount() < followers.size()) {
+        Thread.sleep(1);
+      }
+      releaseRead.countDown();
+
+      for (Future<EncryptionKey> lookup : Iterables.concat(ImmutableList.of(leader), followers)) {
+        var exception = assertThrows(ExecutionException.class, lookup::get);
+        assertThat(exception).hasCauseThat().isInstanceOf(ServiceException.class);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(mockKeyDb).getKey(anyString());
+  }
+
+  @Test
+  public void callerOverReadLimit_throwsResourceExhaustedTest() throws Exception {
+    when(mockKeyDb.getKey(anyString())).thenReturn(ENCRYPTION_KEY);
+    var cache = new GetEncryptedKeyCache(mockKeyDb, 2, ticker);
+
+    cache.get("key1", CALLER);
+    cache.get("key2", CALLER);
+    var exception = assertThrows(ServiceException.class, () -> cache.get("key3", CALLER));
+
+    assertThat(exception.getErrorCode()).isEqualTo(Code.RESOURCE_EXHAUSTED);
+    // Cached keys and other callers are not limited.
+    assertThat(cache.get("key1", CALLER)).isEqualTo(ENCRYPTION_KEY);
+    assertThat(cache.get("key3", "other@example.com")).isEqualTo(ENCRYPTION_KEY);
+    // The limit resets in the next window.
+    ticker.advance(Duration.ofMinutes(1));
+    assertThat(cache.get("key4", CALLER)).isEqualTo(ENCRYPTION_KEY);
+  }
 }
@@ -143,7 +143,7 @@ public class GetEncryptedPrivateKeyTaskTest extends ApiTaskTestBase {
     var taskWithMigrators =
         new GetEncryptedPrivateKeyTask(
             spyKeyDb,
-            new GetEncryptedKeyCache(spyKeyDb),
+            new GetEncryptedKeyCache(spyKeyDb, 0),
             enabled,
             new LogMetricHelper("test"),
             ImmutableSet.of(),
@@ -215,7 +215,7 @@ public class GetEncryptedPrivateKeyTaskTest extends ApiTaskTestBase {
     var taskWithMigrators =
         new GetEncryptedPrivateKeyTask(
             keyDb,
-            new GetEncryptedKeyCache(keyDb),
+            new GetEncryptedKeyCache(keyDb, 0),
             true,
             new LogMetricHelper("test"),
             allowedMigrators,
@@ -42,12 +42,14 @@ public final class KeyStorageServiceHttpFunctionTest {
   @Mock private HttpRequest httpRequest;
   @Mock private HttpResponse httpResponse;
   @Mock CreateKeyRequestHandler createKeyRequestHandler;
+  @Mock BatchCreateKeysRequestHandler batchCreateKeysRequestHandler;
 
   private KeyStorageServiceHttpFunction cloudFunction;
 
   @Before
   public void setUp() throws IOException, NoSuchFieldException, IllegalAccessException {
-    cloudFunction = new KeyStorageServiceHttpFunction(createKeyRequestHandler);
+    cloudFunction =
+        new KeyStorageServiceHttpFunction(createKeyRequestHandler, batchCreateKeysRequestHandler);
     StringWriter httpResponseOut = new StringWriter();
     BufferedWriter writerOut = new BufferedWriter(httpResponseOut);
     lenient().when(httpResponse.getWriter()).thenReturn(writerOut);
@@ -62,4 +64,14 @@ public final class KeyStorageServiceHttpFunctionTest {
 
     verify(createKeyRequestHandler).handleRequest(httpRequest, httpResponse);
   }
+
+  @Test
+  public void service_batchCreateKeysApiSupported() throws Exception {
+    when(httpRequest.getMethod()).thenReturn(HttpMethod.POST.name());
+    when(httpRequest.getPath()).thenReturn("/v1alpha/encryptionKeys:batchCreate");
+
+    cloudFunction.service(httpRequest, httpResponse);
+
+    verify(batchCreateKeysRequestHandler).handleRequest(httpRequest, httpResponse);
+  }
 }
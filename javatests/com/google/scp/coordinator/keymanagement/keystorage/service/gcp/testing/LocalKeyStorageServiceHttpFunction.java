@@ -18,6 +18,8 @@ package com.google.scp.coordinator.keymanagement.keystorage.service.gcp.testing;
 
 import com.google.crypto.tink.aead.AeadConfig;
 import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.scp.coordinator.keymanagement.keystorage.service.gcp.BatchCreateKeysRequestHandler;
 import com.google.scp.coordinator.keymanagement.keystorage.service.gcp.CreateKeyRequestHandler;
 import com.google.scp.coordinator.keymanagement.keystorage.service.gcp.KeyStorageServiceHttpFunctionBase;
 import java.security.GeneralSecurityException;
@@ -39,8 +41,14 @@ public class LocalKeyStorageServiceHttpFunction extends KeyStorageServiceHttpFun
   }
 
   public LocalKeyStorageServiceHttpFunction() {
+    this(
+        Guice.createInjector(
+            new KeyStorageHttpFunctionModule(KEYSET_HANDLE_ENCODE_STRING_ENV_NAME)));
+  }
+
+  private LocalKeyStorageServiceHttpFunction(Injector injector) {
     super(
-        Guice.createInjector(new KeyStorageHttpFunctionModule(KEYSET_HANDLE_ENCODE_STRING_ENV_NAME))
-            .getInstance(CreateKeyRequestHandler.class));
+        injector.getInstance(CreateKeyRequestHandler.class),
+        injector.getInstance(BatchCreateKeysRequestHandler.class));
   }
 }
@@ -24,6 +24,7 @@ import static com.google.scp.shared.api.model.Code.INTERNAL;
 import static org.junit.Assert.assertThrows;
 
 import com.google.acai.Acai;
+import com.google.common.collect.ImmutableList;
 import com.google.crypto.tink.Aead;
 import com.google.crypto.tink.KeyTemplates;
 import com.google.crypto.tink.KeysetHandle;
@@ -31,6 +32,7 @@ import com.google.crypto.tink.KmsClient;
 import com.google.crypto.tink.aead.AeadConfig;
 import com.google.inject.Inject;
 import com.google.scp.coordinator.keymanagement.keystorage.tasks.common.CreateKeyTask;
+import com.google.scp.coordinator.keymanagement.keystorage.tasks.common.CreateKeyTask.KeySplitRequest;
 import com.google.scp.coordinator.keymanagement.shared.dao.testing.InMemoryKeyDb;
 import com.google.scp.coordinator.keymanagement.testutils.FakeEncryptionKey;
 import com.google.scp.coordinator.keymanagement.testutils.FakeKmsClient;
@@ -449,6 +451,76 @@ public class GcpCreateKeyTaskTest {
     assertThat(exception).hasMessageThat().contains("Key-split validation failed");
   }
 
+  @Test
+  public void createKeys_success() throws Exception {
+    String keyEncryptionKeyUri = KEK_BASE_URI.replace("$setName$", SET_NAME);
+    var task =
+        new GcpCreateKeyTask(
+            keyDb,
+            kmsClient,
+            KEK_BASE_URI,
+            migrationKmsClient,
+            migrationKeyEncryptionKeyUri,
+            false);
+    ImmutableList.Builder<KeySplitRequest> requests = ImmutableList.builder();
+    for (int i = 0; i < 10; i++) {
+      var key =
+          createEncryptionKey(SET_NAME).toBuilder()
+              .setKeyId(KEY_ID + i)
+              .setPublicKeyMaterial(toBase64(TEST_PUBLIC_KEY + i))
+              .build();
+      var keySplit =
+          toBase64AndEncodeWithAead(
+              TEST_PRIVATE_KEY + i, kmsClient.getAead(keyEncryptionKeyUri), TEST_PUBLIC_KEY + i);
+      requests.add(new KeySplitRequest(key, keySplit, ""));
+    }
+
+    var createdKeys = task.createKeys(requests.build());
+
+    assertThat(createdKeys).hasSize(10);
+    for (int i = 0; i < 10; i++) {
+      assertThat(createdKeys.get(i).getKeyId()).isEqualTo(KEY_ID + i);
+      var storedKey = keyDb.getKey(KEY_ID + i);
+      assertThat(storedKey).isEqualTo(createdKeys.get(i));
+      assertThat(decodeAndDecryptWithAead(storedKey.getJsonEncodedKeyset(), keyEncryptionKeyUri))
+          .isEqualTo((TEST_PRIVATE_KEY + i).getBytes());
+    }
+  }
+
+  @Test
+  public void createKeys_validationException_createsNoKey() throws Exception {
+    String keyEncryptionKeyUri = KEK_BASE_URI.replace("$setName$", SET_NAME);
+    var task =
+        new GcpCreateKeyTask(
+            keyDb,
+            kmsClient,
+            KEK_BASE_URI,
+            migrationKmsClient,
+            migrationKeyEncryptionKeyUri,
+            false);
+    var validKey =
+        createEncryptionKey(SET_NAME).toBuilder()
+            .setKeyId("valid")
+            .setPublicKeyMaterial(toBase64(TEST_PUBLIC_KEY))
+            .build();
+    var invalidKey = validKey.toBuilder().setKeyId("invalid").build();
+    var validKeySplit =
+        toBase64AndEncodeWithAead(
+            TEST_PRIVATE_KEY, kmsClient.getAead(keyEncryptionKeyUri), TEST_PUBLIC_KEY);
+
+    ServiceException ex =
+        assertThrows(
+            ServiceException.class,
+            () ->
+                task.createKeys(
+                    ImmutableList.of(
+                        new KeySplitRequest(validKey, validKeySplit, ""),
+                        new KeySplitRequest(invalidKey, toBase64("456"), ""))));
+
+    assertThat(ex.getErrorCode()).isEqualTo(Code.INVALID_ARGUMENT);
+    assertThat(keyDb.listAllKeysForSetName(SET_NAME)).isEmpty();
+  }
+
   /** Small helper function for generating valid base64 from a string literal. */
   private static String toBase64(String input) {
     return Base64.getEncoder().encodeToString(input.getBytes());
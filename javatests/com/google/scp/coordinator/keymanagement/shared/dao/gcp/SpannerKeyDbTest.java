@@ -18,6 +18,7 @@ package com.google.scp.coordinator.keymanagement.shared.dao.gcp;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.scp.coordinator.keymanagement.shared.dao.common.KeyDbUtil.getActiveKeysComparator;
+import static com.google.scp.coordinator.keymanagement.shared.dao.gcp.SpannerKeyDbTestModule.TEST_DB_CONFIG;
 import static com.google.scp.coordinator.keymanagement.testutils.FakeEncryptionKey.withAllTimesSet;
 import static com.google.scp.coordinator.keymanagement.testutils.gcp.SpannerKeyDbTestUtil.SPANNER_KEY_TABLE_NAME;
 import static com.google.scp.coordinator.keymanagement.testutils.gcp.SpannerKeyDbTestUtil.putItem;
@@ -51,6 +52,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
@@ -311,6 +313,30 @@ public final class SpannerKeyDbTest extends KeyDbBaseTest {
         .isEqualTo(expectedKey.toBuilder().setCreationTime(receivedKey.getCreationTime()).build());
   }
 
+  @Test
+  public void getKey_staleRead_retriesWithStrongReadForNewKey() throws ServiceException {
+    SpannerKeyDb staleKeyDb =
+        new SpannerKeyDb(
+            dbClient,
+            SpannerKeyDbConfig.builder()
+                .setGcpProjectId(TEST_DB_CONFIG.gcpProjectId())
+                .setSpannerInstanceId(TEST_DB_CONFIG.spannerInstanceId())
+                .setSpannerDbName(TEST_DB_CONFIG.spannerDbName())
+                .setReadStalenessSeconds(1)
+                .setActiveKeysMaxStalenessSeconds(Optional.of(1))
+                .build());
+    EncryptionKey expectedKey =
+        FakeEncryptionKey.createEncryptionKeyBuilder(SET_NAME)
+            .setExpirationTime(Instant.now().plus(7, DAYS).toEpochMilli())
+            .setActivationTime(Instant.now().toEpochMilli())
+            .build();
+    putItem(keyDb, expectedKey);
+
+    EncryptionKey receivedKey = staleKeyDb.getKey(expectedKey.getKeyId());
+
+    assertThat(receivedKey.getKeyId()).isEqualTo(expectedKey.getKeyId());
+  }
+
   @Test
   public void getKey_returnsNotFound() {
     ServiceException exception =
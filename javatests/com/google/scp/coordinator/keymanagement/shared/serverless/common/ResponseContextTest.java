@@ -16,6 +16,10 @@
 package com.google.scp.coordinator.keymanagement.shared.serverless.common;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import com.google.scp.coordinator.keymanagement.shared.serverless.common.CommonProto.TestMessage;
@@ -55,6 +59,52 @@ public class ResponseContextTest {
     assertThat(body.getValue()).isEqualTo("{\"value\":\"test-value\"}");
   }
 
+  @Test
+  public void testSetBody_acceptsProtobuf_setsWireFormatBody() throws Exception {
+    // Given
+    doReturn(true).when(response).acceptsProtobuf();
+    TestMessage message = TestMessage.newBuilder().setValue("test-value").build();
+
+    // When
+    response.setBody(message);
+
+    // Then
+    verify(response).addHeader("Content-Type", "application/x-protobuf");
+    verify(response, never()).setBody(anyString());
+
+    ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+    verify(response).setBody(body.capture());
+    assertThat(TestMessage.parseFrom(body.getValue())).isEqualTo(message);
+  }
+
+  @Test
+  public void testSetBody_acceptsProtobufWithBuilder_setsWireFormatBody() throws Exception {
+    // Given
+    doReturn(true).when(response).acceptsProtobuf();
+    TestMessage.Builder message = TestMessage.newBuilder().setValue("test-value");
+
+    // When
+    response.setBody(message);
+
+    // Then
+    ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+    verify(response).setBody(body.capture());
+    assertThat(TestMessage.parseFrom(body.getValue())).isEqualTo(message.build());
+  }
+
+  @Test
+  public void testSetError_acceptsProtobuf_setsJsonError() {
+    // Given
+    doReturn(true).when(response).acceptsProtobuf();
+
+    // When
+    response.setError(new ServiceException(Code.NOT_FOUND, "test-error", "test-message"));
+
+    // Then
+    verify(response).addHeader("Content-Type", "application/json");
+    verify(response, never()).setBody(any(byte[].class));
+  }
+
   @Test
   public void testSetError_ServiceException_setsExpectedStatusAndError() {
     // Given
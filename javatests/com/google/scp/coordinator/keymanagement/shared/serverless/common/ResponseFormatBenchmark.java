@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.coordinator.keymanagement.shared.serverless.common;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.EncryptionKeyProto.EncryptionKey;
+import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.KeyDataProto.KeyData;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * Microbenchmark of the key vending response formats, comparing the size and client side parse
+ * time of the JSON representation of an encryption key against its protobuf wire format.
+ *
+ * <p>Run with {@code bazel run
+ * //javatests/com/google/scp/coordinator/keymanagement/shared/serverless/common:ResponseFormatBenchmark}.
+ */
+public final class ResponseFormatBenchmark {
+
+  private static final int WARMUP_ITERATIONS = 5;
+  private static final int MEASURED_ITERATIONS = 10;
+  private static final int OPERATIONS_PER_ITERATION = 10_000;
+
+  private ResponseFormatBenchmark() {}
+
+  public static void main(String[] args) throws InvalidProtocolBufferException {
+    EncryptionKey key = createKey();
+    String json =
+        JsonFormat.printer()
+            .omittingInsignificantWhitespace()
+            .alwaysPrintFieldsWithNoPresence()
+            .print(key);
+    byte[] wireFormat = key.toByteArray();
+    System.out.printf(
+        "json %d bytes, wire format %d bytes%n",
+        json.getBytes(StandardCharsets.UTF_8).length, wireFormat.length);
+
+    JsonFormat.Parser parser = JsonFormat.parser().ignoringUnknownFields();
+    run(
+        "json",
+        () -> {
+          EncryptionKey.Builder builder = EncryptionKey.newBuilder();
+          parser.merge(json, builder);
+          return builder.getKeyDataCount();
+        });
+    run("wire format", () -> EncryptionKey.parseFrom(wireFormat).getKeyDataCount());
+  }
+
+  /** Returns a private key split with key material of the size of a wrapped HPKE keyset. */
+  private static EncryptionKey createKey() {
+    Random random = new Random(0);
+    byte[] keyMaterial = new byte[1024];
+    random.nextBytes(keyMaterial);
+    byte[] signature = new byte[72];
+    random.nextBytes(signature);
+    KeyData keyData =
+        KeyData.newBuilder()
+            .setKeyEncryptionKeyUri("gcp-kms://projects/p/locations/l/keyRings/r/cryptoKeys/k")
+            .setKeyMaterial(Base64.getEncoder().encodeToString(keyMaterial))
+            .setPublicKeySignature(Base64.getEncoder().encodeToString(signature))
+            .build();
+    return EncryptionKey.newBuilder()
+        .setName("encryptionKeys/0b9c4e2a-5e0f-4d3b-9f51-8a3c0d6c1f27")
+        .setPublicKeysetHandle("0b9c4e2a-5e0f-4d3b-9f51-8a3c0d6c1f27")
+        .setPublicKeyMaterial(Base64.getEncoder().encodeToString(signature))
+        .setCreationTime(1_700_000_000_000L)
+        .setActivationTime(1_700_000_000_000L)
+        .setExpirationTime(1_707_776_000_000L)
+        .addKeyData(keyData)
+        .addKeyData(keyData.toBuilder().setKeyMaterial(""))
+        .build();
+  }
+
+  private static void run(String name, Parse parse) throws InvalidProtocolBufferException {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      iterate(parse);
+    }
+    long totalNanos = 0;
+    long keyData = 0;
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      long start = System.nanoTime();
+      keyData += iterate(parse);
+      totalNanos += System.nanoTime() - start;
+    }
+    double nanosPerOperation =
+        (double) totalNanos / ((long) MEASURED_ITERATIONS * OPERATIONS_PER_ITERATION);
+    System.out.printf("%-12s %10.1f ns/op (%d key data)%n", name, nanosPerOperation, keyData);
+  }
+
+  private static long iterate(Parse parse) throws InvalidProtocolBufferException {
+    long keyData = 0;
+    for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+      keyData += parse.parse();
+    }
+    return keyData;
+  }
+
+  private interface Parse {
+    int parse() throws InvalidProtocolBufferException;
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.scp.coordinator.keymanagement.shared.serverless.common;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.scp.coordinator.keymanagement.shared.util.LogMetricHelper;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Microbenchmark of request routing over the key hosting task set, comparing the {@link
+ * RoutingTable} against the linear scan of every base path and task it replaces.
+ *
+ * <p>Run with {@code bazel run
+ * //javatests/com/google/scp/coordinator/keymanagement/shared/serverless/common:RoutingTableBenchmark}.
+ */
+public final class RoutingTableBenchmark {
+
+  private static final int WARMUP_ITERATIONS = 5;
+  private static final int MEASURED_ITERATIONS = 10;
+  private static final int OPERATIONS_PER_ITERATION = 1_000_000;
+
+  // Routes of the private and public key hosting services (see PrivateKeyServiceModule and
+  // PublicKeyServiceModule).
+  private static final ImmutableMap<String, List<ApiTask>> KEY_HOSTING_TASKS =
+      ImmutableMap.of(
+          "/v1beta",
+          ImmutableList.of(
+              new NoOpApiTask("GET", "/encryptionKeys/(?<id>[a-zA-Z0-9\\-]+)"),
+              new NoOpApiTask("GET", "/sets/(?<name>[a-zA-Z0-9\\-]*)/activeKeys"),
+              new NoOpApiTask("GET", "/sets/(?<name>[a-zA-Z0-9\\-]*)/keysetMetadata"),
+              new NoOpApiTask("GET", "/sets/(?<name>[a-zA-Z0-9\\-]*)/publicKeys(?<raw>:raw)?")));
+
+  private static final ImmutableList<String> REQUEST_PATHS =
+      ImmutableList.of(
+          "/v1beta/encryptionKeys/0b9c4e2a-5e0f-4d3b-9f51-8a3c0d6c1f27",
+          "/v1beta/sets/test-set/activeKeys",
+          "/v1beta/sets/test-set/keysetMetadata",
+          "/v1beta/sets/test-set/publicKeys",
+          "/v1beta/sets/test-set/publicKeys:raw",
+          "/v1beta/no-such-path");
+
+  private RoutingTableBenchmark() {}
+
+  public static void main(String[] args) {
+    RoutingTable routingTable = RoutingTable.create(KEY_HOSTING_TASKS);
+    run("linear scan", path -> linearScan(KEY_HOSTING_TASKS, path));
+    run("routing table", path -> routingTable.find("GET", path).isPresent());
+  }
+
+  private static void run(String name, Router router) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      iterate(router);
+    }
+    long totalNanos = 0;
+    int matches = 0;
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      long start = System.nanoTime();
+      matches += iterate(router);
+      totalNanos += System.nanoTime() - start;
+    }
+    double nanosPerOperation =
+        (double) totalNanos / ((long) MEASURED_ITERATIONS * OPERATIONS_PER_ITERATION);
+    System.out.printf("%-14s %8.1f ns/op (%d matches)%n", name, nanosPerOperation, matches);
+  }
+
+  private static int iterate(Router router) {
+    int matches = 0;
+    for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+      if (router.route(REQUEST_PATHS.get(i % REQUEST_PATHS.size()))) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  /** The routing previously done by {@code ServerlessFunction.dispatch}. */
+  private static boolean linearScan(Map<String, List<ApiTask>> tasks, String path) {
+    for (String basePath : tasks.keySet()) {
+      for (ApiTask task : tasks.get(basePath)) {
+        if (!"GET".equals(task.getMethod()) || !path.startsWith(basePath)) {
+          continue;
+        }
+        if (task.getPath().matcher(path.substring(basePath.length())).matches()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private interface Router {
+    boolean route(String path);
+  }
+
+  private static final class NoOpApiTask extends ApiTask {
+    NoOpApiTask(String method, String pattern) {
+      super(method, Pattern.compile(pattern), "benchmark", "v1Beta", new LogMetricHelper(""));
+    }
+
+    @Override
+    protected void execute(Matcher matcher, RequestContext request, ResponseContext response) {}
+  }
+}
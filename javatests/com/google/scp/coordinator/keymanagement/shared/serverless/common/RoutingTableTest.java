@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.scp.coordinator.keymanagement.shared.serverless.common;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.scp.coordinator.keymanagement.shared.util.LogMetricHelper;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class RoutingTableTest {
+
+  private static final ApiTask GET_KEY =
+      new TestApiTask("GET", Pattern.compile("/encryptionKeys/(?<id>[a-zA-Z0-9\\-]+)"));
+  private static final ApiTask GET_ACTIVE_KEYS =
+      new TestApiTask("GET", Pattern.compile("/sets/(?<name>[a-zA-Z0-9\\-]*)/activeKeys"));
+  private static final ApiTask GET_METADATA =
+      new TestApiTask("GET", Pattern.compile("/sets/(?<name>[a-zA-Z0-9\\-]*)/keysetMetadata"));
+  private static final ApiTask CREATE_KEY =
+      new TestApiTask("POST", Pattern.compile("/encryptionKeys"));
+
+  private static final RoutingTable ROUTING_TABLE =
+      RoutingTable.create(
+          ImmutableMap.of(
+              "/v1beta",
+              ImmutableList.of(GET_KEY, GET_ACTIVE_KEYS, GET_METADATA),
+              "/v1alpha",
+              ImmutableList.of(CREATE_KEY)));
+
+  @Test
+  public void testFind_matchingPath_returnsTaskAndMatcher() {
+    var match = ROUTING_TABLE.find("GET", "/v1beta/encryptionKeys/abc-123");
+
+    assertThat(match).isPresent();
+    assertThat(match.get().task).isSameInstanceAs(GET_KEY);
+    assertThat(match.get().matcher.group("id")).isEqualTo("abc-123");
+  }
+
+  @Test
+  public void testFind_sharedPrefix_returnsMatchingTask() {
+    var match = ROUTING_TABLE.find("GET", "/v1beta/sets/test-set/keysetMetadata");
+
+    assertThat(match).isPresent();
+    assertThat(match.get().task).isSameInstanceAs(GET_METADATA);
+    assertThat(match.get().matcher.group("name")).isEqualTo("test-set");
+  }
+
+  @Test
+  public void testFind_mismatchingMethod_returnsEmpty() {
+    assertThat(ROUTING_TABLE.find("POST", "/v1beta/encryptionKeys/abc-123")).isEmpty();
+  }
+
+  @Test
+  public void testFind_mismatchingBasePath_returnsEmpty() {
+    assertThat(ROUTING_TABLE.find("GET", "/v1alpha/encryptionKeys/abc-123")).isEmpty();
+    assertThat(ROUTING_TABLE.find("POST", "/v1beta/encryptionKeys")).isEmpty();
+  }
+
+  @Test
+  public void testFind_mismatchingPath_returnsEmpty() {
+    assertThat(ROUTING_TABLE.find("GET", "/v1beta/encryptionKeys/")).isEmpty();
+    assertThat(ROUTING_TABLE.find("GET", "/v1beta/sets/test-set/unknown")).isEmpty();
+  }
+
+  @Test
+  public void testLiteralPrefix_stopsAtFirstMetaCharacter() {
+    assertThat(RoutingTable.literalPrefix(Pattern.compile("/sets/(?<name>.*)/activeKeys")))
+        .isEqualTo("/sets/");
+    assertThat(RoutingTable.literalPrefix(Pattern.compile("/encryptionKeys")))
+        .isEqualTo("/encryptionKeys");
+  }
+
+  @Test
+  public void testLiteralPrefix_quantifier_excludesQuantifiedCharacter() {
+    assertThat(RoutingTable.literalPrefix(Pattern.compile("/keys?"))).isEqualTo("/key");
+    assertThat(RoutingTable.literalPrefix(Pattern.compile("/a{2}"))).isEqualTo("/");
+  }
+
+  @Test
+  public void testLiteralPrefix_topLevelAlternation_returnsEmpty() {
+    assertThat(RoutingTable.literalPrefix(Pattern.compile("/keys|/sets"))).isEmpty();
+    assertThat(RoutingTable.literalPrefix(Pattern.compile("/a(b)|/c"))).isEmpty();
+  }
+
+  @Test
+  public void testLiteralPrefix_nestedOrEscapedAlternation_keepsPrefix() {
+    assertThat(RoutingTable.literalPrefix(Pattern.compile("/keys/(a|b)"))).isEqualTo("/keys/");
+    assertThat(RoutingTable.literalPrefix(Pattern.compile("/keys/[|]"))).isEqualTo("/keys/");
+    assertThat(RoutingTable.literalPrefix(Pattern.compile("/keys/\\|"))).isEqualTo("/keys/");
+    assertThat(RoutingTable.literalPrefix(Pattern.compile("/keys/\\Q|\\E"))).isEqualTo("/keys/");
+  }
+
+  @Test
+  public void testLiteralPrefix_patternFlags_returnsEmpty() {
+    assertThat(
+            RoutingTable.literalPrefix(
+                Pattern.compile("/encryptionKeys", Pattern.CASE_INSENSITIVE)))
+        .isEmpty();
+  }
+
+  private static class TestApiTask extends ApiTask {
+    public TestApiTask(String method, Pattern pattern) {
+      super(method, pattern, "test", "v1Beta", new LogMetricHelper("test"));
+    }
+
+    @Override
+    protected void execute(Matcher matcher, RequestContext request, ResponseContext response) {}
+  }
+}
@@ -19,13 +19,17 @@ import static org.mockito.Answers.CALLS_REAL_METHODS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.ImmutableList;
 import com.google.inject.multibindings.ProvidesIntoMap;
 import com.google.inject.multibindings.StringMapKey;
+import com.google.scp.coordinator.keymanagement.shared.util.LogMetricHelper;
 import com.google.scp.shared.api.model.Code;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -41,8 +45,6 @@ public final class ServerlessFunctionTest {
   @Rule public final MockitoRule mockito = MockitoJUnit.rule();
 
   @Mock RequestContext testRequest;
-  @Mock ApiTask testTask0;
-  @Mock ApiTask testTask1;
 
   @Mock(answer = CALLS_REAL_METHODS)
   ResponseContext testResponse;
@@ -50,12 +52,14 @@ public final class ServerlessFunctionTest {
   @Before
   public void setUp() {
     ServerlessFunction.clearInjector();
+    doReturn("GET").when(testRequest).getMethod();
+    doReturn("/v123/test-path").when(testRequest).getPath();
   }
 
   @Test
   public void testInvoke_matchingApiTask_noNotFoundResponse() throws Exception {
     // Given
-    doReturn(true).when(testTask0).tryService(any(), any(), any());
+    ApiTask testTask0 = createTask("/test-path");
     ServerlessFunction serverless = createServerlessFunction(testTask0);
 
     // When
@@ -63,13 +67,14 @@ public final class ServerlessFunctionTest {
 
     // Then
     verify(testResponse, never()).setError(any());
+    verify(testTask0).execute(any(), any(), any());
   }
 
   @Test
   public void testInvoke_atLeastOneMatchingTaskInMany_noNotFoundResponse() throws Exception {
     // Given
-    doReturn(false).when(testTask0).tryService(any(), any(), any());
-    doReturn(true).when(testTask1).tryService(any(), any(), any());
+    ApiTask testTask0 = createTask("/other-path");
+    ApiTask testTask1 = createTask("/test-path");
     ServerlessFunction serverless = createServerlessFunction(testTask0, testTask1);
 
     // When
@@ -77,20 +82,38 @@ public final class ServerlessFunctionTest {
 
     // Then
     verify(testResponse, never()).setError(any());
+    verify(testTask0, never()).execute(any(), any(), any());
+    verify(testTask1).execute(any(), any(), any());
   }
 
   @Test
   public void testInvoke_multipleMatchingApiTasks_subsequentOneNeverTried() throws Exception {
     // Given
-    doReturn(true).when(testTask0).tryService(any(), any(), any());
-    doReturn(true).when(testTask1).tryService(any(), any(), any());
+    ApiTask testTask0 = createTask("/test-path");
+    ApiTask testTask1 = createTask("/test-path");
     ServerlessFunction serverless = createServerlessFunction(testTask0, testTask1);
 
     // When
     serverless.invoke(testRequest, testResponse);
 
     // Then
-    verify(testTask1, never()).tryService(any(), any(), any());
+    verify(testTask0).execute(any(), any(), any());
+    verify(testTask1, never()).execute(any(), any(), any());
+  }
+
+  @Test
+  public void testInvoke_mismatchingMethod_notFoundResponse() throws Exception {
+    // Given
+    doReturn("POST").when(testRequest).getMethod();
+    ApiTask testTask0 = createTask("/test-path");
+    ServerlessFunction serverless = createServerlessFunction(testTask0);
+
+    // When
+    serverless.invoke(testRequest, testResponse);
+
+    // Then
+    verify(testResponse).setStatusCode(Code.NOT_FOUND.getHttpStatusCode());
+    verify(testTask0, never()).execute(any(), any(), any());
   }
 
   @Test
@@ -108,8 +131,8 @@ public final class ServerlessFunctionTest {
   @Test
   public void testInvoke_noMatchingTask_notFoundResponse() throws Exception {
     // Given
-    doReturn(false).when(testTask0).tryService(any(), any(), any());
-    doReturn(false).when(testTask1).tryService(any(), any(), any());
+    ApiTask testTask0 = createTask("/other-path");
+    ApiTask testTask1 = createTask("/test-path/(?<id>.+)");
     ServerlessFunction serverless = createServerlessFunction(testTask0, testTask1);
 
     // When
@@ -119,6 +142,10 @@ public final class ServerlessFunctionTest {
     verify(testResponse).setStatusCode(Code.NOT_FOUND.getHttpStatusCode());
   }
 
+  private static ApiTask createTask(String pattern) {
+    return spy(new TestApiTask("GET", Pattern.compile(pattern)));
+  }
+
   private static ServerlessFunction createServerlessFunction(ApiTask... apiTasks) {
     return new ServerlessFunction() {
       @ProvidesIntoMap
@@ -128,4 +155,13 @@ public final class ServerlessFunctionTest {
       }
     };
   }
+
+  private static class TestApiTask extends ApiTask {
+    public TestApiTask(String method, Pattern pattern) {
+      super(method, pattern, "test", "v1Beta", new LogMetricHelper("test"));
+    }
+
+    @Override
+    protected void execute(Matcher matcher, RequestContext request, ResponseContext response) {}
+  }
 }
@@ -22,6 +22,7 @@ import com.google.cloud.functions.invoker.runner.Invoker;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.multibindings.ProvidesIntoMap;
 import com.google.inject.multibindings.StringMapKey;
+import com.google.protobuf.StringValue;
 import com.google.scp.coordinator.keymanagement.shared.serverless.common.ApiTask;
 import com.google.scp.coordinator.keymanagement.shared.serverless.common.RequestContext;
 import com.google.scp.coordinator.keymanagement.shared.serverless.common.ResponseContext;
@@ -88,6 +89,73 @@ public class GcpServerlessFunctionTest {
     assertThat(body).isEqualTo(TEST_RESPONSE);
   }
 
+  @Test
+  public void testService_protoWithoutAccept_returnsJson() throws Exception {
+    // Given
+    HttpGet request =
+        new HttpGet(String.format("http://localhost:%d/test-base/proto", testPort));
+
+    // When
+    String contentType;
+    String vary;
+    String body;
+    try (CloseableHttpClient client = HttpClients.createDefault()) {
+      HttpResponse response = client.execute(request);
+      contentType = response.getFirstHeader("Content-Type").getValue();
+      vary = response.getFirstHeader("Vary").getValue();
+      body = EntityUtils.toString(response.getEntity());
+    }
+
+    // Then
+    assertThat(contentType).startsWith("application/json");
+    assertThat(vary).isEqualTo("Accept");
+    assertThat(body).isEqualTo("\"" + TEST_RESPONSE + "\"");
+  }
+
+  @Test
+  public void testService_protoAcceptingProtobuf_returnsWireFormat() throws Exception {
+    // Given
+    HttpGet request =
+        new HttpGet(String.format("http://localhost:%d/test-base/proto", testPort));
+    request.addHeader("Accept", "application/x-protobuf, application/json;q=0.9");
+
+    // When
+    String contentType;
+    String vary;
+    byte[] body;
+    try (CloseableHttpClient client = HttpClients.createDefault()) {
+      HttpResponse response = client.execute(request);
+      contentType = response.getFirstHeader("Content-Type").getValue();
+      vary = response.getFirstHeader("Vary").getValue();
+      body = EntityUtils.toByteArray(response.getEntity());
+    }
+
+    // Then
+    assertThat(contentType).isEqualTo(ResponseContext.PROTOBUF_CONTENT_TYPE);
+    assertThat(vary).isEqualTo("Accept");
+    assertThat(StringValue.parseFrom(body)).isEqualTo(StringValue.of(TEST_RESPONSE));
+  }
+
+  @Test
+  public void testPrefersProtobuf() {
+    assertThat(GcpResponseContext.prefersProtobuf(List.of())).isFalse();
+    assertThat(GcpResponseContext.prefersProtobuf(List.of("*/*"))).isFalse();
+    assertThat(GcpResponseContext.prefersProtobuf(List.of("application/json"))).isFalse();
+    assertThat(GcpResponseContext.prefersProtobuf(List.of("application/x-protobuf"))).isTrue();
+    assertThat(
+            GcpResponseContext.prefersProtobuf(
+                List.of("application/json", "application/x-protobuf;q=0.5")))
+        .isFalse();
+    assertThat(
+            GcpResponseContext.prefersProtobuf(
+                List.of("Application/X-Protobuf, application/json;q=0.9")))
+        .isTrue();
+    assertThat(GcpResponseContext.prefersProtobuf(List.of("application/x-protobuf;q=0")))
+        .isFalse();
+    assertThat(GcpResponseContext.prefersProtobuf(List.of("application/x-protobuf;q=bad")))
+        .isFalse();
+  }
+
   @Test
   public void testService_nonExistingEndpoint_returnsNotFound() throws Exception {
     // Given
@@ -136,6 +204,14 @@ public class GcpServerlessFunctionTest {
               response.setBody(TEST_RESPONSE);
             }
           },
+          new ApiTask(
+              "GET", Pattern.compile("/proto"), "test", "v1Test", new LogMetricHelper("test")) {
+            @Override
+            protected void execute(
+                Matcher matcher, RequestContext request, ResponseContext response) {
+              response.setBody(StringValue.of(TEST_RESPONSE));
+            }
+          },
           new ApiTask(
               "GET",
               Pattern.compile("/path-with-header"),
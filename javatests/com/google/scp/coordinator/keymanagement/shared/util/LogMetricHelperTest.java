@@ -49,6 +49,22 @@ public final class LogMetricHelperTest {
     assertThat(test).isEqualTo(expected);
   }
 
+  @Test
+  public void formatPrefix_completedWithValue_equalsFormat() {
+    LogMetricHelper logMetricHelper = new LogMetricHelper("test-namespace");
+
+    String line =
+        logMetricHelper.formatPrefix(
+                "test/metric1", ImmutableMap.of("testField1", "testValue1"), "field2")
+            + "value2"
+            + LogMetricHelper.FORMAT_SUFFIX;
+
+    assertThat(line)
+        .isEqualTo(
+            logMetricHelper.format(
+                "test/metric1", ImmutableMap.of("testField1", "testValue1", "field2", "value2")));
+  }
+
   @Test
   public void verifyLogIsCorrectWithEmptyNameSpace() {
     LogMetricHelper logMetricHelper = new LogMetricHelper("");
@@ -26,20 +26,20 @@ import com.google.scp.shared.util.KeysetHandleSerializerUtil;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FakeKmsClient implements KmsClient {
-  HashMap<String, Aead> aeadMap;
+  ConcurrentHashMap<String, Aead> aeadMap;
   Optional<String> encodedKeySetHandle;
 
   public FakeKmsClient() {
-    aeadMap = new HashMap<>();
+    aeadMap = new ConcurrentHashMap<>();
     this.encodedKeySetHandle = Optional.empty();
   }
 
   public FakeKmsClient(String encodedKeySetHandle) {
-    aeadMap = new HashMap<>();
+    aeadMap = new ConcurrentHashMap<>();
     this.encodedKeySetHandle = Optional.of(encodedKeySetHandle);
   }
 
@@ -32,6 +32,7 @@ import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.Ca
 import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.DisableActivationTime;
 import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.EnableCache;
 import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.Environment;
+import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.KeyDbReadsPerCallerPerMinute;
 import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.KeyLimit;
 import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.KeySetConfigMap;
 import com.google.scp.coordinator.keymanagement.keyhosting.common.Annotations.KeySetsVendingConfigAllowedMigrators;
@@ -88,6 +89,7 @@ public final class InMemoryTestEnv extends AbstractModule {
     bind(Integer.class).annotatedWith(KeyLimit.class).toInstance(KEY_LIMIT);
     bind(Boolean.class).annotatedWith(EnableCache.class).toInstance(true);
     bind(Integer.class).annotatedWith(CacheRefreshInMinutes.class).toInstance(90);
+    bind(Integer.class).annotatedWith(KeyDbReadsPerCallerPerMinute.class).toInstance(0);
     bind(Long.class).annotatedWith(CacheControlMaximum.class).toInstance(CACHE_CONTROL_MAX);
     bind(Boolean.class).annotatedWith(DisableActivationTime.class).toInstance(false);
     bind(new TypeLiteral<ImmutableSet<String>>() {})
@@ -17,6 +17,7 @@
 package com.google.scp.operator.autoscaling.app.gcp;
 
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -25,12 +26,14 @@ import static org.mockito.Mockito.when;
 import com.google.cloud.functions.HttpRequest;
 import com.google.cloud.functions.HttpResponse;
 import com.google.scp.operator.autoscaling.tasks.gcp.ManageTerminatingWaitInstancesTask;
+import com.google.scp.operator.autoscaling.tasks.gcp.QueueDepthScalingTask;
 import com.google.scp.operator.autoscaling.tasks.gcp.RequestScaleInTask;
 import com.google.scp.operator.autoscaling.tasks.gcp.RequestUpdateTask;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.HashMap;
+import java.util.Optional;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -49,6 +52,7 @@ public final class WorkerScaleInRequestHandlerTest {
   @Mock private ManageTerminatingWaitInstancesTask manageInstancesTask;
   @Mock private RequestScaleInTask requestScaleInTask;
   @Mock private RequestUpdateTask requestUpdateTask;
+  @Mock private QueueDepthScalingTask queueDepthScalingTask;
 
   private StringWriter httpResponseOut;
   private BufferedWriter writerOut;
@@ -67,10 +71,27 @@ public final class WorkerScaleInRequestHandlerTest {
   public void handleRequest_success() throws Exception {
     when(manageInstancesTask.manageInstances()).thenReturn(new HashMap<>());
     when(requestUpdateTask.requestUpdate(anyMap())).thenReturn(new HashMap<>());
-    doNothing().when(requestScaleInTask).requestScaleIn(anyMap());
+    doNothing().when(requestScaleInTask).requestScaleIn(anyMap(), eq(Optional.empty()));
 
     workerScaleInRequestHandler.handleRequest(httpRequest, httpResponse);
     verify(requestUpdateTask, times(1)).requestUpdate(anyMap());
-    verify(requestScaleInTask, times(1)).requestScaleIn(anyMap());
+    verify(requestScaleInTask, times(1)).requestScaleIn(anyMap(), eq(Optional.empty()));
+  }
+
+  @Test
+  public void handleRequest_queueDepthScaling_passesBacklogSizeToScaleIn() throws Exception {
+    workerScaleInRequestHandler =
+        new WorkerScaleInRequestHandler(
+            manageInstancesTask,
+            requestScaleInTask,
+            requestUpdateTask,
+            Optional.of(queueDepthScalingTask));
+    when(manageInstancesTask.manageInstances()).thenReturn(new HashMap<>());
+    when(requestUpdateTask.requestUpdate(anyMap())).thenReturn(new HashMap<>());
+    when(queueDepthScalingTask.requestScaling(anyMap())).thenReturn(Optional.of(3));
+
+    workerScaleInRequestHandler.handleRequest(httpRequest, httpResponse);
+    verify(queueDepthScalingTask, times(1)).requestScaling(anyMap());
+    verify(requestScaleInTask, times(1)).requestScaleIn(anyMap(), eq(Optional.of(3)));
   }
 }
@@ -112,6 +112,7 @@ public final class ManageTerminatingWaitInstancesTaskTest {
     manageTerminatingWaitInstancesTask.manageInstances();
     verify(instanceManagementClient, times(1)).deleteInstances(anySet());
     assertEquals(TERMINATED, fakeAsgInstancesDao.getLastInstanceUpdated().getStatus());
+    assertEquals(1, fakeAsgInstancesDao.getUpdateBatchCount());
   }
 
   @Test
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.autoscaling.tasks.gcp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class QueueDepthScalingPolicyTest {
+
+  private static final QueueDepthScalingConfig CONFIG =
+      QueueDepthScalingConfig.builder()
+          .setJobsPerInstance(1)
+          .setEstimatedJobDuration(Duration.ofMinutes(10))
+          .setTargetDrainTime(Duration.ofMinutes(30))
+          .setMinInstances(1)
+          .setMaxInstances(50)
+          .build();
+
+  private final QueueDepthScalingPolicy policy = new QueueDepthScalingPolicy(CONFIG);
+
+  @Test
+  public void desiredInstances_emptyQueue_returnsMinInstances() {
+    assertThat(policy.desiredInstances(backlog(0, 0))).isEqualTo(1);
+  }
+
+  @Test
+  public void desiredInstances_onlyInFlightJobs_keepsBusyInstances() {
+    assertThat(policy.desiredInstances(backlog(4, 4))).isEqualTo(4);
+  }
+
+  @Test
+  public void desiredInstances_queuedJobs_drainsWithinTargetTime() {
+    // 30 queued jobs of 10 minutes take 10 instances 30 minutes, plus 2 busy instances.
+    assertThat(policy.desiredInstances(backlog(32, 2))).isEqualTo(12);
+  }
+
+  @Test
+  public void desiredInstances_jobDurationAboveDrainTime_startsAllQueuedJobs() {
+    QueueDepthScalingPolicy slowJobsPolicy =
+        new QueueDepthScalingPolicy(
+            CONFIG.toBuilder().setEstimatedJobDuration(Duration.ofHours(1)).build());
+
+    assertThat(slowJobsPolicy.desiredInstances(backlog(7, 0))).isEqualTo(7);
+  }
+
+  @Test
+  public void desiredInstances_multipleJobsPerInstance_sharesInstances() {
+    QueueDepthScalingPolicy sharedPolicy =
+        new QueueDepthScalingPolicy(CONFIG.toBuilder().setJobsPerInstance(4).build());
+
+    // 5 in flight need 2 instances, 30 queued need 3 instances running 4 jobs for 3 rounds.
+    assertThat(sharedPolicy.desiredInstances(backlog(35, 5))).isEqualTo(5);
+  }
+
+  @Test
+  public void desiredInstances_largeBacklog_cappedAtMaxInstances() {
+    assertThat(policy.desiredInstances(backlog(10_000, 0))).isEqualTo(50);
+  }
+
+  @Test
+  public void simulatedBurst_startsAllJobsWithinTargetTimeAndScalesBackIn() {
+    SimulatedQueue queue = new SimulatedQueue(/* jobDurationMinutes= */ 10);
+    queue.enqueue(90);
+    int instances = 1;
+    int lastMinuteWithQueuedJobs = 0;
+    int peakInstances = 0;
+
+    for (int minute = 0; minute < 120; minute++) {
+      instances = policy.desiredInstances(queue.backlog());
+      peakInstances = Math.max(peakInstances, instances);
+      queue.step(instances);
+      if (queue.queued() > 0) {
+        lastMinuteWithQueuedJobs = minute;
+      }
+    }
+
+    assertThat(lastMinuteWithQueuedJobs).isLessThan(30);
+    assertThat(peakInstances).isAtMost(CONFIG.maxInstances());
+    assertThat(queue.completed()).isEqualTo(90);
+    assertThat(instances).isEqualTo(CONFIG.minInstances());
+  }
+
+  private static JobBacklog backlog(long undeliveredMessages, long inFlightJobs) {
+    return JobBacklog.builder()
+        .setUndeliveredMessages(undeliveredMessages)
+        .setInFlightJobs(inFlightJobs)
+        .build();
+  }
+
+  /**
+   * Job queue advancing in steps of a minute, where each instance processes one job at a time and
+   * acknowledges its message once done.
+   */
+  private static final class SimulatedQueue {
+    private final int jobDurationMinutes;
+    private final List<Integer> queuedEnqueueMinutes = new ArrayList<>();
+    private final List<Integer> inFlightRemainingMinutes = new ArrayList<>();
+    private int minute;
+    private int completed;
+
+    SimulatedQueue(int jobDurationMinutes) {
+      this.jobDurationMinutes = jobDurationMinutes;
+    }
+
+    void enqueue(int jobs) {
+      for (int i = 0; i < jobs; i++) {
+        queuedEnqueueMinutes.add(minute);
+      }
+    }
+
+    JobBacklog backlog() {
+      return QueueDepthScalingPolicyTest.backlog(
+          queuedEnqueueMinutes.size() + inFlightRemainingMinutes.size(),
+          inFlightRemainingMinutes.size());
+    }
+
+    void step(int instances) {
+      while (inFlightRemainingMinutes.size() < instances && !queuedEnqueueMinutes.isEmpty()) {
+        queuedEnqueueMinutes.remove(0);
+        inFlightRemainingMinutes.add(jobDurationMinutes);
+      }
+      List<Integer> stillInFlight = new ArrayList<>();
+      for (int remaining : inFlightRemainingMinutes) {
+        if (remaining > 1) {
+          stillInFlight.add(remaining - 1);
+        } else {
+          completed++;
+        }
+      }
+      inFlightRemainingMinutes.clear();
+      inFlightRemainingMinutes.addAll(stillInFlight);
+      minute++;
+    }
+
+    int queued() {
+      return queuedEnqueueMinutes.size();
+    }
+
+    int completed() {
+      return completed;
+    }
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.scp.operator.autoscaling.tasks.gcp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.compute.v1.Autoscaler;
+import com.google.cloud.compute.v1.AutoscalingPolicy;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.scp.operator.cpio.metricclient.MetricClient;
+import com.google.scp.operator.cpio.metricclient.MetricClient.MetricClientException;
+import com.google.scp.operator.cpio.metricclient.model.CustomMetric;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+@RunWith(JUnit4.class)
+public final class QueueDepthScalingTaskTest {
+
+  private static final QueueDepthScalingConfig CONFIG =
+      QueueDepthScalingConfig.builder()
+          .setJobsPerInstance(1)
+          .setEstimatedJobDuration(Duration.ofMinutes(10))
+          .setTargetDrainTime(Duration.ofMinutes(30))
+          .setMinInstances(1)
+          .setMaxInstances(50)
+          .build();
+
+  private static final Map<String, List<GcpComputeInstance>> REMAINING_INSTANCES =
+      ImmutableMap.of(
+          "us-central1-a",
+          ImmutableList.of(
+              GcpComputeInstance.builder()
+                  .setInstanceId("instance-1")
+                  .setInstanceTemplate("template")
+                  .build()));
+
+  @Rule public final MockitoRule mockito = MockitoJUnit.rule();
+
+  @Mock private GcpInstanceManagementClient instanceManagementClient;
+  @Mock private GcpJobBacklogClient jobBacklogClient;
+  @Mock private MetricClient metricClient;
+
+  @Test
+  public void requestScaling_disabled_doesNothing() {
+    Optional<Integer> desiredNumInstances = task(false).requestScaling(REMAINING_INSTANCES);
+
+    assertThat(desiredNumInstances).isEmpty();
+    verifyNoInteractions(instanceManagementClient, jobBacklogClient, metricClient);
+  }
+
+  @Test
+  public void requestScaling_backlog_raisesAutoscalerMinimum() throws Exception {
+    // 30 queued jobs of 10 minutes take 10 instances 30 minutes, plus 2 busy instances.
+    when(jobBacklogClient.getJobBacklog()).thenReturn(backlog(32, 2));
+    Autoscaler autoscaler = autoscaler(/* minReplicas= */ 1, /* maxReplicas= */ 50);
+    when(instanceManagementClient.getAutoscaler()).thenReturn(Optional.of(autoscaler));
+
+    Optional<Integer> desiredNumInstances = task(true).requestScaling(REMAINING_INSTANCES);
+
+    assertThat(desiredNumInstances).hasValue(12);
+    verify(instanceManagementClient, times(1)).setAutoscalerMinReplicas(autoscaler, 12);
+  }
+
+  @Test
+  public void requestScaling_desiredAboveAutoscalerMaximum_cappedAtMaximum() throws Exception {
+    when(jobBacklogClient.getJobBacklog()).thenReturn(backlog(32, 2));
+    Autoscaler autoscaler = autoscaler(/* minReplicas= */ 1, /* maxReplicas= */ 8);
+    when(instanceManagementClient.getAutoscaler()).thenReturn(Optional.of(autoscaler));
+
+    task(true).requestScaling(REMAINING_INSTANCES);
+
+    verify(instanceManagementClient, times(1)).setAutoscalerMinReplicas(autoscaler, 8);
+  }
+
+  @Test
+  public void requestScaling_backlogDrained_lowersAutoscalerMinimum() throws Exception {
+    when(jobBacklogClient.getJobBacklog()).thenReturn(backlog(0, 0));
+    Autoscaler autoscaler = autoscaler(/* minReplicas= */ 12, /* maxReplicas= */ 50);
+    when(instanceManagementClient.getAutoscaler()).thenReturn(Optional.of(autoscaler));
+
+    Optional<Integer> desiredNumInstances = task(true).requestScaling(REMAINING_INSTANCES);
+
+    assertThat(desiredNumInstances).hasValue(CONFIG.minInstances());
+    verify(instanceManagementClient, times(1))
+        .setAutoscalerMinReplicas(autoscaler, CONFIG.minInstances());
+  }
+
+  @Test
+  public void requestScaling_minimumUnchanged_doesNotPatchAutoscaler() throws Exception {
+    when(jobBacklogClient.getJobBacklog()).thenReturn(backlog(4, 4));
+    when(instanceManagementClient.getAutoscaler())
+        .thenReturn(Optional.of(autoscaler(/* minReplicas= */ 4, /* maxReplicas= */ 50)));
+
+    task(true).requestScaling(REMAINING_INSTANCES);
+
+    verify(instanceManagementClient, never()).setAutoscalerMinReplicas(any(), anyInt());
+  }
+
+  @Test
+  public void requestScaling_publishesJobBacklogGauges() throws Exception {
+    when(jobBacklogClient.getJobBacklog())
+        .thenReturn(
+            JobBacklog.builder()
+                .setUndeliveredMessages(32)
+                .setInFlightJobs(2)
+                .setOldestUnackedMessageAge(Duration.ofMinutes(3))
+                .build());
+
+    task(true).requestScaling(REMAINING_INSTANCES);
+
+    ArgumentCaptor<CustomMetric> metrics = ArgumentCaptor.forClass(CustomMetric.class);
+    verify(metricClient, times(3)).recordMetric(metrics.capture());
+    assertThat(
+            metrics.getAllValues().stream()
+                .collect(ImmutableMap.toImmutableMap(CustomMetric::name, CustomMetric::value)))
+        .containsExactly(
+            "UndeliveredJobs", 32.0, "InFlightJobs", 2.0, "OldestUnackedJobAge", 180.0);
+    assertThat(metrics.getAllValues().get(0).nameSpace())
+        .isEqualTo(QueueDepthScalingTask.METRIC_NAMESPACE);
+  }
+
+  @Test
+  public void requestScaling_metricFailure_stillScales() throws Exception {
+    when(jobBacklogClient.getJobBacklog()).thenReturn(backlog(32, 2));
+    Autoscaler autoscaler = autoscaler(/* minReplicas= */ 1, /* maxReplicas= */ 50);
+    when(instanceManagementClient.getAutoscaler()).thenReturn(Optional.of(autoscaler));
+    doThrow(new MetricClientException("unavailable")).when(metricClient).recordMetric(any());
+
+    Optional<Integer> desiredNumInstances = task(true).requestScaling(REMAINING_INSTANCES);
+
+    assertThat(desiredNumInstances).hasValue(12);
+    verify(instanceManagementClient, times(1)).setAutoscalerMinReplicas(autoscaler, 12);
+  }
+
+  @Test
+  public void requestScaling_backlogReadFailure_returnsEmpty() throws Exception {
+    when(jobBacklogClient.getJobBacklog()).thenThrow(new IllegalStateException("unavailable"));
+
+    Optional<Integer> desiredNumInstances = task(true).requestScaling(REMAINING_INSTANCES);
+
+    assertThat(desiredNumInstances).isEmpty();
+    verify(instanceManagementClient, never()).setAutoscalerMinReplicas(any(), anyInt());
+    verifyNoInteractions(metricClient);
+  }
+
+  private QueueDepthScalingTask task(boolean enabled) {
+    return new QueueDepthScalingTask(
+        instanceManagementClient,
+        () -> jobBacklogClient,
+        () -> metricClient,
+        new QueueDepthScalingPolicy(CONFIG),
+        enabled);
+  }
+
+  private static JobBacklog backlog(long undeliveredMessages, long inFlightJobs) {
+    return JobBacklog.builder()
+        .setUndeliveredMessages(undeliveredMessages)
+        .setInFlightJobs(inFlightJobs)
+        .build();
+  }
+
+  private static Autoscaler autoscaler(int minReplicas, int maxReplicas) {
+    return Autoscaler.newBuilder()
+        .setAutoscalingPolicy(
+            AutoscalingPolicy.newBuilder()
+                .setMinNumReplicas(minReplicas)
+                .setMaxNumReplicas(maxReplicas))
+        .build();
+  }
+}
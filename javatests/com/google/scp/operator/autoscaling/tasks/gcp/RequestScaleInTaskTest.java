@@ -20,6 +20,7 @@ import static com.google.scp.operator.protos.shared.backend.asginstance.Instance
 import static com.google.scp.operator.protos.shared.backend.asginstance.InstanceTerminationReasonProto.InstanceTerminationReason.SCALE_IN;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.when;
 
@@ -31,6 +32,7 @@ import com.google.inject.Singleton;
 import com.google.scp.operator.shared.dao.metadatadb.testing.FakeAsgInstancesDao;
 import com.google.scp.operator.shared.testing.FakeClock;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -144,6 +146,7 @@ public final class RequestScaleInTaskTest {
 
     assertEquals(terminationZoneToInstance.get(zoneA), Integer.valueOf(1));
     assertEquals(terminationZoneToInstance.get(zoneB), Integer.valueOf(1));
+    assertEquals(1, fakeAsgInstancesDao.getUpsertBatchCount());
   }
 
   @Test
@@ -170,6 +173,69 @@ public final class RequestScaleInTaskTest {
     assertFalse(terminationZoneToInstance.containsKey(zoneB));
   }
 
+  @Test
+  public void testRequestScaleIn_prefersIdleInstances() throws Exception {
+    Autoscaler autoscaler = Autoscaler.newBuilder().setRecommendedSize(2).build();
+    when(instanceManagementClient.getAutoscaler()).thenReturn(Optional.of(autoscaler));
+    requestScaleInTask =
+        new RequestScaleInTask(instanceManagementClient, fakeAsgInstancesDao, clock, ttlDays);
+    GcpComputeInstance idleInstance = createZonalGcpComputeInstance(zoneA);
+    GcpComputeInstance busyInstance = createZonalGcpComputeInstance(zoneB);
+    remainingInstances.put(zoneA, Arrays.asList(idleInstance));
+    remainingInstances.put(
+        zoneB, Arrays.asList(createZonalGcpComputeInstance(zoneB), busyInstance));
+    fakeAsgInstancesDao.updateJobHeartbeat(
+        busyInstance.getInstanceId(),
+        Optional.of(clock.instant().minus(Duration.ofMinutes(30))),
+        clock.instant().minus(Duration.ofMinutes(1)));
+
+    requestScaleInTask.requestScaleIn(remainingInstances);
+
+    // The zone with the most instances keeps its busy instance and gives up its idle one.
+    assertEquals(Integer.valueOf(1), fakeAsgInstancesDao.getZoneToInstanceCountMap().get(zoneB));
+    assertNotEquals(
+        busyInstance.getInstanceId(),
+        fakeAsgInstancesDao.getLastInstanceInserted().getInstanceName());
+  }
+
+  @Test
+  public void testRequestScaleIn_staleHeartbeat_treatedAsIdle() throws Exception {
+    Autoscaler autoscaler = Autoscaler.newBuilder().setRecommendedSize(1).build();
+    when(instanceManagementClient.getAutoscaler()).thenReturn(Optional.of(autoscaler));
+    requestScaleInTask =
+        new RequestScaleInTask(instanceManagementClient, fakeAsgInstancesDao, clock, ttlDays);
+    remainingInstances.put(zoneA, Arrays.asList(createZonalGcpComputeInstance(zoneA)));
+    GcpComputeInstance staleInstance = createZonalGcpComputeInstance(zoneB);
+    remainingInstances.put(
+        zoneB, Arrays.asList(createZonalGcpComputeInstance(zoneB), staleInstance));
+    fakeAsgInstancesDao.updateJobHeartbeat(
+        staleInstance.getInstanceId(),
+        Optional.of(clock.instant().minus(Duration.ofHours(1))),
+        clock.instant().minus(RequestScaleInTask.JOB_HEARTBEAT_TIMEOUT));
+
+    requestScaleInTask.requestScaleIn(remainingInstances);
+
+    assertEquals(
+        staleInstance.getInstanceId(),
+        fakeAsgInstancesDao.getLastInstanceInserted().getInstanceName());
+  }
+
+  @Test
+  public void testRequestScaleIn_onlyBusyInstances_stillScalesIn() throws Exception {
+    Autoscaler autoscaler = Autoscaler.newBuilder().setRecommendedSize(0).build();
+    when(instanceManagementClient.getAutoscaler()).thenReturn(Optional.of(autoscaler));
+    requestScaleInTask =
+        new RequestScaleInTask(instanceManagementClient, fakeAsgInstancesDao, clock, ttlDays);
+    remainingInstances.put(instanceZone, Arrays.asList(instance));
+    fakeAsgInstancesDao.updateJobHeartbeat(
+        instance.getInstanceId(), Optional.of(clock.instant()), clock.instant());
+
+    requestScaleInTask.requestScaleIn(remainingInstances);
+
+    assertEquals(
+        instance.getInstanceId(), fakeAsgInstancesDao.getLastInstanceInserted().getInstanceName());
+  }
+
   static class TestEnv extends AbstractModule {
 
     @Override
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.cpio.cryptoclient;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.crypto.tink.Aead;
+import com.google.scp.operator.cpio.cryptoclient.model.MetricUtils;
+import com.google.scp.operator.cpio.metricclient.MetricClient;
+import com.google.scp.operator.cpio.metricclient.model.CustomMetric;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+@RunWith(JUnit4.class)
+public final class CachingCloudAeadSelectorTest {
+
+  private static final String KEY_URI = "gcp-kms://projects/p/locations/l/keyRings/r/cryptoKeys/a";
+  private static final String OTHER_KEY_URI =
+      "gcp-kms://projects/p/locations/l/keyRings/r/cryptoKeys/b";
+  private static final byte[] CIPHERTEXT = new byte[] {1, 2, 3};
+  private static final byte[] PLAINTEXT = new byte[] {4, 5, 6};
+
+  @Rule public final MockitoRule mockito = MockitoJUnit.rule();
+
+  @Mock private Aead aead;
+  @Mock private MetricClient metricClient;
+
+  private final AtomicInteger createdAeads = new AtomicInteger();
+
+  @Test
+  public void getAead_sameKey_createsAeadOnce() throws Exception {
+    var selector = new CachingCloudAeadSelector("A", this::createAead, metricClient, false);
+
+    Aead first = selector.getAead(KEY_URI);
+    Aead second = selector.getAead(KEY_URI);
+
+    assertThat(second).isSameInstanceAs(first);
+    assertThat(createdAeads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void getAead_differentKeys_createsAeadPerKey() throws Exception {
+    var selector = new CachingCloudAeadSelector("A", this::createAead, metricClient, false);
+
+    Aead first = selector.getAead(KEY_URI);
+    Aead second = selector.getAead(OTHER_KEY_URI);
+
+    assertThat(second).isNotSameInstanceAs(first);
+    assertThat(createdAeads.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void getAead_creationFails_isRetried() throws Exception {
+    var selector =
+        new CachingCloudAeadSelector(
+            "A",
+            uri -> {
+              if (createdAeads.incrementAndGet() == 1) {
+                throw new GeneralSecurityException("unavailable");
+              }
+              return aead;
+            },
+            metricClient,
+            false);
+
+    assertThrows(GeneralSecurityException.class, () -> selector.getAead(KEY_URI));
+    selector.getAead(KEY_URI);
+
+    assertThat(createdAeads.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void decrypt_remoteMetricsEnabled_recordsLatency() throws Exception {
+    when(aead.decrypt(CIPHERTEXT, null)).thenReturn(PLAINTEXT);
+    var selector = new CachingCloudAeadSelector("B", this::createAead, metricClient, true);
+
+    byte[] plaintext = selector.getAead(KEY_URI).decrypt(CIPHERTEXT, null);
+
+    assertThat(plaintext).isEqualTo(PLAINTEXT);
+    ArgumentCaptor<CustomMetric> metric = ArgumentCaptor.forClass(CustomMetric.class);
+    verify(metricClient).recordMetric(metric.capture());
+    assertThat(metric.getValue().name()).isEqualTo(MetricUtils.KMS_DECRYPT_LATENCY_METRIC_NAME);
+    assertThat(metric.getValue().labels()).containsEntry("Coordinator", "B");
+  }
+
+  @Test
+  public void decrypt_remoteMetricsDisabled_doesNotRecordMetric() throws Exception {
+    when(aead.decrypt(CIPHERTEXT, null)).thenReturn(PLAINTEXT);
+    var selector = new CachingCloudAeadSelector("A", this::createAead, metricClient, false);
+
+    selector.getAead(KEY_URI).decrypt(CIPHERTEXT, null);
+
+    verify(metricClient, never()).recordMetric(any());
+  }
+
+  private Aead createAead(String kmsKeyUri) {
+    createdAeads.incrementAndGet();
+    // Distinct instances per key, each delegating to the mock.
+    return new Aead() {
+      @Override
+      public byte[] encrypt(byte[] plaintext, byte[] associatedData)
+          throws GeneralSecurityException {
+        return aead.encrypt(plaintext, associatedData);
+      }
+
+      @Override
+      public byte[] decrypt(byte[] ciphertext, byte[] associatedData)
+          throws GeneralSecurityException {
+        return aead.decrypt(ciphertext, associatedData);
+      }
+    };
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.cpio.cryptoclient;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.EncryptionKeyProto.EncryptionKey;
+import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.KeyDataProto.KeyData;
+import com.google.scp.operator.cpio.cryptoclient.EncryptionKeyFetchingService.EncryptionKeyFetchingServiceException;
+import com.google.scp.operator.shared.testing.FakeClock;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class DiskCachingEncryptionKeyFetchingServiceTest {
+
+  private static final Duration TTL = Duration.ofHours(1);
+  private static final long MAX_SIZE_BYTES = 1024;
+
+  private final FakeClock clock = new FakeClock();
+  private final CountingFetchingService delegate = new CountingFetchingService();
+  private Path directory;
+
+  @Before
+  public void setUp() {
+    FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix());
+    directory = fileSystem.getPath("/cache/coordinator-a");
+    clock.setTime(Instant.parse("2025-01-01T00:00:00Z"));
+  }
+
+  @Test
+  public void fetchEncryptionKey_cachedKey_isNotFetchedAgain() throws Exception {
+    EncryptionKey first = createService().fetchEncryptionKey("key-1");
+    // A new instance, like after a worker restart.
+    EncryptionKey second = createService().fetchEncryptionKey("key-1");
+
+    assertThat(second).isEqualTo(first);
+    assertThat(delegate.fetchCount("key-1")).isEqualTo(1);
+  }
+
+  @Test
+  public void fetchEncryptionKey_createsOwnerOnlyDirectory() throws Exception {
+    createService().fetchEncryptionKey("key-1");
+
+    assertThat(Files.getPosixFilePermissions(directory))
+        .containsExactly(
+            PosixFilePermission.OWNER_READ,
+            PosixFilePermission.OWNER_WRITE,
+            PosixFilePermission.OWNER_EXECUTE);
+  }
+
+  @Test
+  public void fetchEncryptionKey_afterTtl_fetchesAgain() throws Exception {
+    var service = createService();
+    service.fetchEncryptionKey("key-1");
+
+    clock.setTime(clock.instant().plus(TTL));
+    service.fetchEncryptionKey("key-1");
+
+    assertThat(delegate.fetchCount("key-1")).isEqualTo(2);
+  }
+
+  @Test
+  public void fetchEncryptionKey_expiredKey_fetchesAgain() throws Exception {
+    delegate.expirationTime = clock.instant().plus(Duration.ofMinutes(10));
+    var service = createService();
+    service.fetchEncryptionKey("key-1");
+
+    clock.setTime(clock.instant().plus(Duration.ofMinutes(10)));
+    service.fetchEncryptionKey("key-1");
+
+    assertThat(delegate.fetchCount("key-1")).isEqualTo(2);
+    assertThat(cachedFileCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void fetchEncryptionKey_overSizeLimit_evictsOldestKeys() throws Exception {
+    var service = createService();
+    for (int i = 0; i < 10; i++) {
+      service.fetchEncryptionKey("key-" + i);
+      clock.setTime(clock.instant().plusSeconds(1));
+    }
+
+    service.fetchEncryptionKey("key-9");
+    service.fetchEncryptionKey("key-0");
+
+    assertThat(delegate.fetchCount("key-9")).isEqualTo(1);
+    assertThat(delegate.fetchCount("key-0")).isEqualTo(2);
+    assertThat(cachedSize()).isAtMost(MAX_SIZE_BYTES);
+  }
+
+  @Test
+  public void fetchEncryptionKey_corruptFile_fetchesAgain() throws Exception {
+    var service = createService();
+    service.fetchEncryptionKey("key-1");
+    try (Stream<Path> files = Files.list(directory)) {
+      Files.write(files.findFirst().get(), new byte[] {(byte) 0xff, 0x01});
+    }
+
+    EncryptionKey key = service.fetchEncryptionKey("key-1");
+
+    assertThat(key.getName()).isEqualTo("encryptionKeys/key-1");
+    assertThat(delegate.fetchCount("key-1")).isEqualTo(2);
+  }
+
+  @Test
+  public void fetchEncryptionKey_fetchFails_isNotCached() throws Exception {
+    delegate.failure = new EncryptionKeyFetchingServiceException("unavailable");
+    var service = createService();
+
+    assertThrows(
+        EncryptionKeyFetchingServiceException.class, () -> service.fetchEncryptionKey("key-1"));
+
+    assertThat(Files.exists(directory)).isFalse();
+  }
+
+  @Test
+  public void fetchEncryptionKeyAsync_cachedKey_isNotFetchedAgain() throws Exception {
+    EncryptionKey first = createService().fetchEncryptionKeyAsync("key-1").get();
+    EncryptionKey second = createService().fetchEncryptionKeyAsync("key-1").get();
+
+    assertThat(second).isEqualTo(first);
+    assertThat(delegate.fetchCount("key-1")).isEqualTo(1);
+  }
+
+  private DiskCachingEncryptionKeyFetchingService createService() {
+    return new DiskCachingEncryptionKeyFetchingService(
+        delegate, directory, MAX_SIZE_BYTES, TTL, clock);
+  }
+
+  private long cachedFileCount() throws Exception {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.count();
+    }
+  }
+
+  private long cachedSize() throws Exception {
+    long size = 0;
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        size += Files.size(file);
+      }
+    }
+    return size;
+  }
+
+  /** Returns keys of about 200 bytes, counting the fetches of each key. */
+  private static final class CountingFetchingService implements EncryptionKeyFetchingService {
+    private final Map<String, Integer> fetchCounts = new HashMap<>();
+    private Instant expirationTime;
+    private EncryptionKeyFetchingServiceException failure;
+
+    @Override
+    public EncryptionKey fetchEncryptionKey(String keyId)
+        throws EncryptionKeyFetchingServiceException {
+      fetchCounts.merge(keyId, 1, Integer::sum);
+      if (failure != null) {
+        throw failure;
+      }
+      EncryptionKey.Builder key =
+          EncryptionKey.newBuilder()
+              .setName("encryptionKeys/" + keyId)
+              .addKeyData(
+                  KeyData.newBuilder()
+                      .setKeyEncryptionKeyUri("gcp-kms://projects/p/locations/l/keyRings/r")
+                      .setKeyMaterial("a".repeat(150)));
+      if (expirationTime != null) {
+        key.setExpirationTime(expirationTime.toEpochMilli());
+      }
+      return key.build();
+    }
+
+    int fetchCount(String keyId) {
+      return fetchCounts.getOrDefault(keyId, 0);
+    }
+  }
+}
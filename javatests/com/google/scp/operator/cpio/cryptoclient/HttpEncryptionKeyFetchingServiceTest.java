@@ -26,11 +26,18 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import com.google.scp.coordinator.protos.keymanagement.shared.api.v1.EncryptionKeyProto.EncryptionKey;
 import com.google.scp.operator.cpio.cryptoclient.EncryptionKeyFetchingService.EncryptionKeyFetchingServiceException;
 import com.google.scp.shared.api.exception.ServiceException;
 import com.google.scp.shared.api.util.HttpClientResponse;
 import com.google.scp.shared.api.util.HttpClientWrapper;
+import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.junit.Rule;
@@ -58,7 +65,8 @@ public final class HttpEncryptionKeyFetchingServiceTest {
   public void fetchEncryptionKey_notFound() throws Exception {
     HttpClientResponse response =
         HttpClientResponse.create(404, getNotFoundResponse(), ImmutableMap.of());
-    when(httpClient.execute(any(HttpRequestBase.class))).thenReturn(response);
+    when(httpClient.execute(any(HttpRequestBase.class), any(Message.Builder.class)))
+        .thenReturn(response);
 
     var service = new HttpEncryptionKeyFetchingService(httpClient, "https://example.com");
     EncryptionKeyFetchingServiceException exception =
@@ -77,7 +85,8 @@ public final class HttpEncryptionKeyFetchingServiceTest {
     HttpClientResponse response =
         HttpClientResponse.create(
             PERMISSION_DENIED.getHttpStatusCode(), getForbiddenResponse(), ImmutableMap.of());
-    when(httpClient.execute(any(HttpRequestBase.class))).thenReturn(response);
+    when(httpClient.execute(any(HttpRequestBase.class), any(Message.Builder.class)))
+        .thenReturn(response);
 
     var service = new HttpEncryptionKeyFetchingService(httpClient, "https://example.com");
     EncryptionKeyFetchingServiceException exception =
@@ -95,9 +104,9 @@ public final class HttpEncryptionKeyFetchingServiceTest {
   @Test
   @SuppressWarnings("unchecked") // Ignore Http{Request,Response,Client} casting warnings.
   public void fetchEncryptionKey_success() throws Exception {
-    HttpClientResponse response =
-        HttpClientResponse.create(200, getSingleKeyResponse(), ImmutableMap.of());
-    when(httpClient.execute(any(HttpRequestBase.class))).thenReturn(response);
+    when(httpClient.execute(any(HttpRequestBase.class), any(Message.Builder.class)))
+        .thenAnswer(
+            invocation -> parseSuccessResponse(getSingleKeyResponse(), invocation.getArgument(1)));
     var expectedUri = URI.create("https://example.com/v1beta/encryptionKeys/12345");
     var argument = ArgumentCaptor.forClass(HttpRequestBase.class);
 
@@ -105,16 +114,16 @@ public final class HttpEncryptionKeyFetchingServiceTest {
     // Assume response is valid if deserialization was successful.
     service.fetchEncryptionKey("12345");
 
-    verify(httpClient).execute(argument.capture());
+    verify(httpClient).execute(argument.capture(), any(Message.Builder.class));
     assertThat(argument.getValue().getURI()).isEqualTo(expectedUri);
   }
 
   @Test
   @SuppressWarnings("unchecked") // Ignore Http{Request,Response,Client} casting warnings.
   public void fetchEncryptionKey_success_withEndpointContainsVersionSuffix() throws Exception {
-    HttpClientResponse response =
-        HttpClientResponse.create(200, getSingleKeyResponse(), ImmutableMap.of());
-    when(httpClient.execute(any(HttpRequestBase.class))).thenReturn(response);
+    when(httpClient.execute(any(HttpRequestBase.class), any(Message.Builder.class)))
+        .thenAnswer(
+            invocation -> parseSuccessResponse(getSingleKeyResponse(), invocation.getArgument(1)));
     var expectedUri = URI.create("https://example.com/v1beta/encryptionKeys/12345");
     var argument = ArgumentCaptor.forClass(HttpRequestBase.class);
 
@@ -122,10 +131,67 @@ public final class HttpEncryptionKeyFetchingServiceTest {
     // Assume response is valid if deserialization was successful.
     service.fetchEncryptionKey("12345");
 
-    verify(httpClient).execute(argument.capture());
+    verify(httpClient).execute(argument.capture(), any(Message.Builder.class));
     assertThat(argument.getValue().getURI()).isEqualTo(expectedUri);
   }
 
+  @Test
+  public void fetchEncryptionKeyAsync_success() throws Exception {
+    when(httpClient.executeAsync(any(HttpRequestBase.class), any(Message.Builder.class)))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(
+                    parseSuccessResponse(getSingleKeyResponse(), invocation.getArgument(1))));
+    var argument = ArgumentCaptor.forClass(HttpRequestBase.class);
+
+    var service = new HttpEncryptionKeyFetchingService(httpClient, "https://example.com");
+    EncryptionKey encryptionKey = service.fetchEncryptionKeyAsync("12345").get();
+
+    assertThat(encryptionKey.getName()).isEqualTo("encryptionKeys/12345");
+    verify(httpClient).executeAsync(argument.capture(), any(Message.Builder.class));
+    assertThat(argument.getValue().getURI())
+        .isEqualTo(URI.create("https://example.com/v1beta/encryptionKeys/12345"));
+  }
+
+  @Test
+  public void fetchEncryptionKeyAsync_notFound() throws Exception {
+    HttpClientResponse response =
+        HttpClientResponse.create(404, getNotFoundResponse(), ImmutableMap.of());
+    when(httpClient.executeAsync(any(HttpRequestBase.class), any(Message.Builder.class)))
+        .thenReturn(CompletableFuture.completedFuture(response));
+
+    var service = new HttpEncryptionKeyFetchingService(httpClient, "https://example.com");
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class,
+            () -> service.fetchEncryptionKeyAsync("03a0c66b-e8ff-42db-a750-31009c5894f9").get());
+
+    assertThat(exception).hasCauseThat().isInstanceOf(EncryptionKeyFetchingServiceException.class);
+    ServiceException e = (ServiceException) exception.getCause().getCause();
+    assertThat(e.getErrorCode()).isEqualTo(NOT_FOUND);
+  }
+
+  @Test
+  public void fetchEncryptionKeyAsync_requestFails() {
+    when(httpClient.executeAsync(any(HttpRequestBase.class), any(Message.Builder.class)))
+        .thenReturn(CompletableFuture.failedFuture(new IOException("unreachable")));
+
+    var service = new HttpEncryptionKeyFetchingService(httpClient, "https://example.com");
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class, () -> service.fetchEncryptionKeyAsync("12345").get());
+
+    assertThat(exception).hasCauseThat().isInstanceOf(EncryptionKeyFetchingServiceException.class);
+    assertThat(exception.getCause()).hasCauseThat().isInstanceOf(IOException.class);
+  }
+
+  /** Parses the body into the builder, as the client does for successful responses. */
+  private static HttpClientResponse parseSuccessResponse(String body, Message.Builder builder)
+      throws InvalidProtocolBufferException {
+    JsonFormat.parser().ignoringUnknownFields().merge(body, builder);
+    return HttpClientResponse.create(200, null, ImmutableMap.of());
+  }
+
   private static String getForbiddenResponse() {
     return "{\"message\":\"Forbidden\"}";
   }
@@ -26,6 +26,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
 import com.google.scp.operator.cpio.cryptoclient.PrivateKeyFetchingService.PrivateKeyFetchingServiceException;
 import com.google.scp.shared.api.exception.ServiceException;
 import com.google.scp.shared.api.util.HttpClientResponse;
@@ -61,7 +64,8 @@ public final class HttpPrivateKeyFetchingServiceTest {
   public void fetchKeyCiphertext_notFound() throws Exception {
     HttpClientResponse response =
         HttpClientResponse.create(404, getNotFoundResponse(), ImmutableMap.of());
-    when(httpClient.execute(any(HttpRequestBase.class))).thenReturn(response);
+    when(httpClient.execute(any(HttpRequestBase.class), any(Message.Builder.class)))
+        .thenReturn(response);
 
     var service = new HttpPrivateKeyFetchingService("https://example.com/v1", httpClient);
     PrivateKeyFetchingServiceException exception =
@@ -80,7 +84,8 @@ public final class HttpPrivateKeyFetchingServiceTest {
     HttpClientResponse response =
         HttpClientResponse.create(
             PERMISSION_DENIED.getHttpStatusCode(), getForbiddenResponse(), ImmutableMap.of());
-    when(httpClient.execute(any(HttpRequestBase.class))).thenReturn(response);
+    when(httpClient.execute(any(HttpRequestBase.class), any(Message.Builder.class)))
+        .thenReturn(response);
 
     var service = new HttpPrivateKeyFetchingService("https://example.com/v1", httpClient);
     PrivateKeyFetchingServiceException exception =
@@ -98,9 +103,9 @@ public final class HttpPrivateKeyFetchingServiceTest {
   @Test
   @SuppressWarnings("unchecked") // Ignore Http{Request,Response,Client} casting warnings.
   public void fetchKeyCiphertext_success() throws Exception {
-    HttpClientResponse response =
-        HttpClientResponse.create(200, getSuccessResponse(), ImmutableMap.of());
-    when(httpClient.execute(any(HttpRequestBase.class))).thenReturn(response);
+    when(httpClient.execute(any(HttpRequestBase.class), any(Message.Builder.class)))
+        .thenAnswer(
+            invocation -> parseSuccessResponse(getSuccessResponse(), invocation.getArgument(1)));
     var expectedUri = URI.create("https://example.com/v2alpha/privateKeys/abc");
     var argument = ArgumentCaptor.forClass(HttpRequestBase.class);
 
@@ -108,10 +113,17 @@ public final class HttpPrivateKeyFetchingServiceTest {
     // Assume response is valid if deserialization was successful.
     service.fetchKeyCiphertext("abc");
 
-    verify(httpClient).execute(argument.capture());
+    verify(httpClient).execute(argument.capture(), any(Message.Builder.class));
     assertThat(argument.getValue().getURI()).isEqualTo(expectedUri);
   }
 
+  /** Parses the body into the builder, as the client does for successful responses. */
+  private static HttpClientResponse parseSuccessResponse(String body, Message.Builder builder)
+      throws InvalidProtocolBufferException {
+    JsonFormat.parser().ignoringUnknownFields().merge(body, builder);
+    return HttpClientResponse.create(200, null, ImmutableMap.of());
+  }
+
   private static String getForbiddenResponse() {
     return "{\"message\":\"Forbidden\"}";
   }
@@ -19,6 +19,7 @@ package com.google.scp.operator.cpio.cryptoclient;
 import static com.google.api.client.http.HttpStatusCodes.STATUS_CODE_SERVER_ERROR;
 import static com.google.api.client.http.HttpStatusCodes.STATUS_CODE_SERVICE_UNAVAILABLE;
 import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -59,6 +60,9 @@ import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.security.GeneralSecurityException;
 import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -88,6 +92,9 @@ public class MultiPartyHybridEncryptionKeyServiceImplTest {
   @Before
   public void setup() throws Exception {
     mockTinkUtils = new MockTinkUtils();
+    // Keys are fetched with the asynchronous API, which defaults to the stubbed synchronous one.
+    when(coordinatorAKeyFetchingService.fetchEncryptionKeyAsync(anyString())).thenCallRealMethod();
+    when(coordinatorBKeyFetchingService.fetchEncryptionKeyAsync(anyString())).thenCallRealMethod();
 
     MultiPartyHybridEncryptionKeyServiceParams params =
         MultiPartyHybridEncryptionKeyServiceParams.builder()
@@ -517,6 +524,118 @@ public class MultiPartyHybridEncryptionKeyServiceImplTest {
     verify(coordinatorBKeyFetchingService, times(1)).fetchEncryptionKey(any());
   }
 
+  @Test
+  public void getDecrypterAsync_splitKey_decryptsBothSplits() throws Exception {
+    setUpDummyKeySplits();
+    KeysetHandle keysetHandle =
+        CleartextKeysetHandle.read(BinaryKeysetReader.withBytes(mockTinkUtils.getDecryptedKey()));
+    ImmutableList<ByteString> keySplits = KeySplitUtil.xorSplit(keysetHandle, 2);
+    when(aeadPrimary.decrypt(any(byte[].class), any(byte[].class)))
+        .thenReturn(keySplits.get(0).toByteArray());
+    when(aeadSecondary.decrypt(any(byte[].class), any(byte[].class)))
+        .thenReturn(keySplits.get(1).toByteArray());
+
+    String plaintext = "test_plaintext";
+    byte[] cipheredText = mockTinkUtils.getCiphertext(plaintext);
+    HybridDecrypt actualHybridDecrypt =
+        multiPartyHybridEncryptionKeyServiceImpl.getDecrypterAsync("123").get();
+
+    assertThat(actualHybridDecrypt.decrypt(cipheredText, null)).isEqualTo(plaintext.getBytes());
+    // The decrypter is cached for synchronous calls too.
+    multiPartyHybridEncryptionKeyServiceImpl.getDecrypter("123");
+    verify(coordinatorAKeyFetchingService, times(1)).fetchEncryptionKey(any());
+    verify(coordinatorBKeyFetchingService, times(1)).fetchEncryptionKey(any());
+  }
+
+  @Test
+  public void getDecrypter_splitKey_decryptsFirstSplitWhileFetchingSecond() throws Exception {
+    setUpDummyKeySplits();
+    KeysetHandle keysetHandle =
+        CleartextKeysetHandle.read(BinaryKeysetReader.withBytes(mockTinkUtils.getDecryptedKey()));
+    ImmutableList<ByteString> keySplits = KeySplitUtil.xorSplit(keysetHandle, 2);
+    EncryptionKey partyBKey = coordinatorBKeyFetchingService.fetchEncryptionKey("123");
+    CountDownLatch secondSplitFetched = new CountDownLatch(1);
+    when(coordinatorBKeyFetchingService.fetchEncryptionKey(eq("123")))
+        .thenAnswer(
+            invocation -> {
+              secondSplitFetched.countDown();
+              return partyBKey;
+            });
+    // Only completes if the second split is fetched while the first one is being decrypted.
+    when(aeadPrimary.decrypt(any(byte[].class), any(byte[].class)))
+        .thenAnswer(
+            invocation -> {
+              assertThat(secondSplitFetched.await(10, SECONDS)).isTrue();
+              return keySplits.get(0).toByteArray();
+            });
+    when(aeadSecondary.decrypt(any(byte[].class), any(byte[].class)))
+        .thenReturn(keySplits.get(1).toByteArray());
+
+    String plaintext = "test_plaintext";
+    byte[] cipheredText = mockTinkUtils.getCiphertext(plaintext);
+    HybridDecrypt actualHybridDecrypt =
+        multiPartyHybridEncryptionKeyServiceImpl.getDecrypter("123");
+
+    assertThat(actualHybridDecrypt.decrypt(cipheredText, null)).isEqualTo(plaintext.getBytes());
+  }
+
+  @Test
+  public void getDecrypterAsync_concurrentLookups_shareOneLoad() throws Exception {
+    when(coordinatorAKeyFetchingService.fetchEncryptionKey(eq("123"))).thenReturn(encryptionKey);
+    when(aeadServicePrimary.getAead("abc")).thenReturn(aeadPrimary);
+    CountDownLatch lookupsStarted = new CountDownLatch(1);
+    // Holds the KMS decryption until every lookup is pending.
+    when(aeadPrimary.decrypt(any(byte[].class), any(byte[].class)))
+        .thenAnswer(
+            invocation -> {
+              assertThat(lookupsStarted.await(10, SECONDS)).isTrue();
+              return mockTinkUtils.getDecryptedKey();
+            });
+
+    CompletableFuture<HybridDecrypt> first =
+        multiPartyHybridEncryptionKeyServiceImpl.getDecrypterAsync("123");
+    CompletableFuture<HybridDecrypt> second =
+        multiPartyHybridEncryptionKeyServiceImpl.getDecrypterAsync("123");
+    CompletableFuture<HybridDecrypt> synchronous =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return multiPartyHybridEncryptionKeyServiceImpl.getDecrypter("123");
+              } catch (KeyFetchException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    lookupsStarted.countDown();
+
+    String plaintext = "test_plaintext";
+    byte[] cipheredText = mockTinkUtils.getCiphertext(plaintext);
+    assertThat(first.get().decrypt(cipheredText, null)).isEqualTo(plaintext.getBytes());
+    assertThat(second.get().decrypt(cipheredText, null)).isEqualTo(plaintext.getBytes());
+    assertThat(synchronous.get().decrypt(cipheredText, null)).isEqualTo(plaintext.getBytes());
+    verify(coordinatorAKeyFetchingService, times(1)).fetchEncryptionKey(any());
+    verify(aeadPrimary, times(1)).decrypt(any(), any());
+  }
+
+  @Test
+  public void getDecrypterAsync_errorWithCode() throws Exception {
+    when(coordinatorAKeyFetchingService.fetchEncryptionKeyAsync(anyString()))
+        .thenReturn(
+            CompletableFuture.failedFuture(
+                new EncryptionKeyFetchingServiceException(
+                    new ServiceException(Code.UNAVAILABLE, "test", "test"))));
+
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class,
+            () -> multiPartyHybridEncryptionKeyServiceImpl.getDecrypterAsync("123").get());
+
+    assertThat(exception).hasCauseThat().isInstanceOf(KeyFetchException.class);
+    assertEquals(
+        ErrorReason.KEY_SERVICE_UNAVAILABLE,
+        ((KeyFetchException) exception.getCause()).getReason());
+    verify(metricClient, times(1)).recordMetric(any());
+  }
+
   @Test
   public void newInstance_createInstanceWithParams() throws Exception {
     MultiPartyHybridEncryptionKeyServiceParams params =
@@ -831,6 +831,30 @@ public final class JobClientImplTest {
     }
   }
 
+  @Test
+  public void recordCheckpoint_throwsNotInProgress() throws JobClientException {
+    JobMetadata metadata = baseJobMetadata.toBuilder().setJobStatus(JobStatus.FINISHED).build();
+    jobMetadataDb.setJobMetadataToReturn(Optional.of(metadata));
+
+    ThrowingRunnable methodToTest =
+        () -> jobClient.recordCheckpoint(metadata.getJobKey(), "gs://bucket/checkpoint");
+
+    assertThrows(JobClientException.class, methodToTest);
+  }
+
+  @Test
+  public void recordCheckpoint_success() throws JobClientException {
+    JobMetadata metadata = baseJobMetadata.toBuilder().setJobStatus(JobStatus.IN_PROGRESS).build();
+    jobMetadataDb.setJobMetadataToReturn(Optional.of(metadata));
+
+    jobClient.recordCheckpoint(metadata.getJobKey(), "gs://bucket/checkpoint");
+    Job job = jobClient.buildJob(baseJobQueueItem, jobMetadataDb.getLastJobMetadataUpdated());
+
+    assertThat(jobMetadataDb.getLastJobMetadataUpdated().getCheckpointLocation())
+        .isEqualTo("gs://bucket/checkpoint");
+    assertThat(job.checkpointLocation()).hasValue("gs://bucket/checkpoint");
+  }
+
   @Test
   public void returnJobForRetry_throwsNotInProgress() throws JobClientException {
     JobRetryRequest jobRetryRequest = JobRetryRequest.builder().setJobKey(baseJob.jobKey()).build();
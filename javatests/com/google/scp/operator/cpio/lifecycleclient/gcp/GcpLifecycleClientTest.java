@@ -20,6 +20,7 @@ import static com.google.common.truth.Truth.assertThat;
 import static com.google.scp.operator.protos.shared.backend.asginstance.InstanceStatusProto.InstanceStatus.TERMINATING_WAIT;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -27,6 +28,9 @@ import com.google.protobuf.Timestamp;
 import com.google.scp.operator.cpio.lifecycleclient.LifecycleClient.LifecycleClientException;
 import com.google.scp.operator.protos.shared.backend.asginstance.AsgInstanceProto.AsgInstance;
 import com.google.scp.operator.shared.dao.metadatadb.testing.FakeAsgInstancesDao;
+import com.google.scp.operator.shared.testing.FakeClock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.Before;
@@ -46,7 +50,10 @@ public final class GcpLifecycleClientTest {
 
   @Mock private GcpInstanceGroupClient instanceGroupClient;
 
+  private static final Duration POLL_INTERVAL = Duration.ofSeconds(30);
+
   private FakeAsgInstancesDao fakeAsgInstancesDao;
+  private FakeClock clock;
 
   private String instanceUrl;
   private GcpLifecycleClient lifecycleClient;
@@ -55,6 +62,7 @@ public final class GcpLifecycleClientTest {
   public void setup() {
     instanceUrl = "worker-" + UUID.randomUUID();
     fakeAsgInstancesDao = new FakeAsgInstancesDao();
+    clock = new FakeClock();
   }
 
   @Test
@@ -114,4 +122,105 @@ public final class GcpLifecycleClientTest {
     verify(instanceGroupClient, times(0)).deleteInstance();
     assertThat(handledScaleIn).isFalse();
   }
+
+  @Test
+  public void handleScaleInLifecycleAction_withinPollInterval_reusesLifecycleState()
+      throws Exception {
+    lifecycleClient =
+        new GcpLifecycleClient(
+            fakeAsgInstancesDao, instanceGroupClient, instanceUrl, POLL_INTERVAL, clock);
+
+    boolean firstHandledScaleIn = lifecycleClient.handleScaleInLifecycleAction();
+    fakeAsgInstancesDao.setAsgInstanceToReturn(Optional.of(terminatingWaitInstance()));
+    boolean secondHandledScaleIn = lifecycleClient.handleScaleInLifecycleAction();
+
+    assertThat(firstHandledScaleIn).isFalse();
+    assertThat(secondHandledScaleIn).isFalse();
+    assertThat(fakeAsgInstancesDao.getLookupCount()).isEqualTo(1);
+    verify(instanceGroupClient, never()).deleteInstance();
+  }
+
+  @Test
+  public void handleScaleInLifecycleAction_cachedTerminatingWait_readsAgainBeforeDeleting()
+      throws Exception {
+    fakeAsgInstancesDao.setAsgInstanceToReturn(Optional.of(terminatingWaitInstance()));
+    lifecycleClient =
+        new GcpLifecycleClient(
+            fakeAsgInstancesDao, instanceGroupClient, instanceUrl, POLL_INTERVAL, clock);
+
+    lifecycleClient.getLifecycleState();
+    boolean handledScaleIn = lifecycleClient.handleScaleInLifecycleAction();
+
+    assertThat(handledScaleIn).isTrue();
+    assertThat(fakeAsgInstancesDao.getLookupCount()).isEqualTo(2);
+    verify(instanceGroupClient, times(1)).deleteInstance();
+  }
+
+  @Test
+  public void handleScaleInLifecycleAction_cachedTerminatingWaitNoLongerStored_doesNotDelete()
+      throws Exception {
+    fakeAsgInstancesDao.setAsgInstanceToReturn(Optional.of(terminatingWaitInstance()));
+    lifecycleClient =
+        new GcpLifecycleClient(
+            fakeAsgInstancesDao, instanceGroupClient, instanceUrl, POLL_INTERVAL, clock);
+
+    lifecycleClient.getLifecycleState();
+    fakeAsgInstancesDao.setAsgInstanceToReturn(Optional.empty());
+    boolean handledScaleIn = lifecycleClient.handleScaleInLifecycleAction();
+
+    assertThat(handledScaleIn).isFalse();
+    verify(instanceGroupClient, never()).deleteInstance();
+  }
+
+  @Test
+  public void handleScaleInLifecycleActionBeforeJobStart_withinPollInterval_readsStateAgain()
+      throws Exception {
+    lifecycleClient =
+        new GcpLifecycleClient(
+            fakeAsgInstancesDao, instanceGroupClient, instanceUrl, POLL_INTERVAL, clock);
+
+    boolean handledScaleInOnPull = lifecycleClient.handleScaleInLifecycleAction();
+    fakeAsgInstancesDao.setAsgInstanceToReturn(Optional.of(terminatingWaitInstance()));
+    boolean handledScaleInBeforeJobStart =
+        lifecycleClient.handleScaleInLifecycleActionBeforeJobStart();
+
+    assertThat(handledScaleInOnPull).isFalse();
+    assertThat(handledScaleInBeforeJobStart).isTrue();
+    assertThat(fakeAsgInstancesDao.getLookupCount()).isEqualTo(2);
+    verify(instanceGroupClient, times(1)).deleteInstance();
+  }
+
+  @Test
+  public void getLifecycleState_withinPollInterval_reusesLifecycleState() throws Exception {
+    lifecycleClient =
+        new GcpLifecycleClient(
+            fakeAsgInstancesDao, instanceGroupClient, instanceUrl, POLL_INTERVAL, clock);
+
+    lifecycleClient.getLifecycleState();
+    clock.setTime(clock.instant().plus(POLL_INTERVAL.minusSeconds(1)));
+    lifecycleClient.getLifecycleState();
+
+    assertThat(fakeAsgInstancesDao.getLookupCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void getLifecycleState_afterPollInterval_readsLifecycleStateAgain() throws Exception {
+    lifecycleClient =
+        new GcpLifecycleClient(
+            fakeAsgInstancesDao, instanceGroupClient, instanceUrl, POLL_INTERVAL, clock);
+
+    lifecycleClient.getLifecycleState();
+    clock.setTime(clock.instant().plus(POLL_INTERVAL));
+    lifecycleClient.getLifecycleState();
+
+    assertThat(fakeAsgInstancesDao.getLookupCount()).isEqualTo(2);
+  }
+
+  private AsgInstance terminatingWaitInstance() {
+    return AsgInstance.newBuilder()
+        .setRequestTime(Timestamp.newBuilder().setSeconds(0).build())
+        .setInstanceName(instanceUrl)
+        .setStatus(TERMINATING_WAIT)
+        .build();
+  }
 }
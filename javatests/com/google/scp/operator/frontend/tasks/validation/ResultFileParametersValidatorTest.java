@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.frontend.tasks.validation;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.scp.operator.protos.shared.backend.RequestInfoProto.RequestInfo;
+import com.google.scp.operator.shared.dao.metadatadb.testing.JobGenerator;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ResultFileParametersValidatorTest {
+
+  // Under test
+  ResultFileParametersValidator validator;
+
+  RequestInfo.Builder requestInfoBuilder;
+
+  @Before
+  public void setUp() {
+    validator = new ResultFileParametersValidator();
+    requestInfoBuilder = JobGenerator.createFakeRequestInfo("foo").toBuilder();
+  }
+
+  @Test
+  public void validationPassesWithoutParameters() {
+    Optional<String> errorMessage = validator.validate(requestInfoBuilder.build());
+
+    assertThat(errorMessage).isEmpty();
+  }
+
+  @Test
+  public void validationPassesForSupportedCodecAndSyncInterval() {
+    RequestInfo requestInfo =
+        requestInfoBuilder
+            .putJobParameters(ResultFileParametersValidator.CODEC_JOB_PARAMETER, "Deflate")
+            .putJobParameters(ResultFileParametersValidator.SYNC_INTERVAL_JOB_PARAMETER, "1048576")
+            .build();
+
+    Optional<String> errorMessage = validator.validate(requestInfo);
+
+    assertThat(errorMessage).isEmpty();
+  }
+
+  /** Codecs needing libraries missing from the worker would fail only once results are written. */
+  @Test
+  public void validationFailsForCodecsWithoutRuntimeLibrary() {
+    for (String codec : new String[] {"snappy", "zstandard", "bzip2", "xz"}) {
+      RequestInfo requestInfo =
+          requestInfoBuilder
+              .putJobParameters(ResultFileParametersValidator.CODEC_JOB_PARAMETER, codec)
+              .build();
+
+      Optional<String> errorMessage = validator.validate(requestInfo);
+
+      assertThat(errorMessage).isPresent();
+      assertThat(errorMessage.get()).contains(codec);
+    }
+  }
+
+  @Test
+  public void validationFailsForInvalidSyncInterval() {
+    for (String syncInterval : new String[] {"abc", "16", "2147483647", "-1"}) {
+      RequestInfo requestInfo =
+          requestInfoBuilder
+              .putJobParameters(
+                  ResultFileParametersValidator.SYNC_INTERVAL_JOB_PARAMETER, syncInterval)
+              .build();
+
+      Optional<String> errorMessage = validator.validate(requestInfo);
+
+      assertThat(errorMessage).isPresent();
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.loadtest;
+
+import static com.google.scp.shared.gcp.Constants.GCP_TEST_PROJECT_ID;
+import static com.google.scp.shared.gcp.Constants.SPANNER_TEST_DB_NAME;
+import static com.google.scp.shared.gcp.Constants.SPANNER_TEST_INSTANCE_ID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.pubsub.v1.stub.PublisherStub;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.multibindings.Multibinder;
+import com.google.pubsub.v1.ProjectSubscriptionName;
+import com.google.pubsub.v1.TopicName;
+import com.google.scp.operator.frontend.tasks.CreateJobTask;
+import com.google.scp.operator.frontend.tasks.gcp.GcpCreateJobTask;
+import com.google.scp.operator.frontend.tasks.validation.JobRequestIdCharactersValidator;
+import com.google.scp.operator.frontend.tasks.validation.JobRequestIdLengthValidator;
+import com.google.scp.operator.frontend.tasks.validation.RequestInfoValidator;
+import com.google.scp.operator.shared.dao.jobqueue.common.JobQueue;
+import com.google.scp.operator.shared.dao.jobqueue.common.JobQueue.JobQueueMessageLeaseSeconds;
+import com.google.scp.operator.shared.dao.jobqueue.gcp.PubSubJobQueue;
+import com.google.scp.operator.shared.dao.jobqueue.gcp.PubSubJobQueue.JobQueuePubSubSubscriptionName;
+import com.google.scp.operator.shared.dao.jobqueue.gcp.PubSubJobQueue.JobQueuePubSubTopicName;
+import com.google.scp.operator.shared.dao.jobqueue.gcp.PubSubJobQueue.JobQueuePublisherStub;
+import com.google.scp.operator.shared.dao.metadatadb.common.JobMetadataDb;
+import com.google.scp.operator.shared.dao.metadatadb.common.JobMetadataDb.JobMetadataDbClient;
+import com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerMetadataDb;
+import com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerMetadataDb.MetadataDbSpannerTtlDays;
+import com.google.scp.operator.shared.dao.metadatadb.gcp.SpannerMetadataDbTestModule;
+import com.google.scp.shared.clients.configclient.ParameterClient;
+import com.google.scp.shared.clients.configclient.local.LocalParameterClient;
+import com.google.scp.shared.mapper.TimeObjectMapper;
+import com.google.scp.shared.testutils.gcp.PubSubEmulatorContainerTestModule;
+import com.google.scp.shared.testutils.gcp.SpannerEmulatorContainerTestModule;
+
+/**
+ * Environment of the operator load test: the Pub/Sub and Spanner emulators, and the frontend side
+ * of the job path, i.e. {@link GcpCreateJobTask} writing to {@link PubSubJobQueue} and {@link
+ * SpannerMetadataDb}.
+ *
+ * <p>Both emulators use the same project, so in-process workers can reach the job queue and the
+ * metadata DB with a single {@code --gcp_project_id}. The emulator containers are not started by
+ * the module; start them before asking for anything that talks to them.
+ */
+public final class LoadTestEnvModule extends AbstractModule {
+
+  public static final String PROJECT_ID = GCP_TEST_PROJECT_ID;
+  public static final String SPANNER_INSTANCE_ID = SPANNER_TEST_INSTANCE_ID;
+  public static final String SPANNER_DB_NAME = SPANNER_TEST_DB_NAME;
+  public static final String TOPIC_ID = "loadTestJobs";
+  public static final String SUBSCRIPTION_ID = "loadTestJobsSubscription";
+
+  @Override
+  protected void configure() {
+    install(new PubSubEmulatorContainerTestModule(PROJECT_ID, TOPIC_ID, SUBSCRIPTION_ID));
+    install(
+        new SpannerEmulatorContainerTestModule(
+            PROJECT_ID,
+            SPANNER_INSTANCE_ID,
+            SPANNER_DB_NAME,
+            SpannerMetadataDbTestModule.CREATE_TABLE_STATEMENTS));
+
+    bind(PublisherStub.class).annotatedWith(JobQueuePublisherStub.class).to(PublisherStub.class);
+    bind(String.class)
+        .annotatedWith(JobQueuePubSubTopicName.class)
+        .toInstance(TopicName.format(PROJECT_ID, TOPIC_ID));
+    bind(String.class)
+        .annotatedWith(JobQueuePubSubSubscriptionName.class)
+        .toInstance(ProjectSubscriptionName.format(PROJECT_ID, SUBSCRIPTION_ID));
+    bind(int.class).annotatedWith(JobQueueMessageLeaseSeconds.class).toInstance(600);
+    bind(ParameterClient.class).toInstance(new LocalParameterClient(ImmutableMap.of()));
+    bind(JobQueue.class).to(PubSubJobQueue.class);
+
+    bind(ObjectMapper.class).toInstance(new TimeObjectMapper());
+    bind(JobMetadataDb.class).to(SpannerMetadataDb.class);
+    bind(int.class).annotatedWith(MetadataDbSpannerTtlDays.class).toInstance(1);
+
+    bind(CreateJobTask.class).to(GcpCreateJobTask.class);
+    Multibinder<RequestInfoValidator> requestInfoValidators =
+        Multibinder.newSetBinder(binder(), RequestInfoValidator.class);
+    requestInfoValidators.addBinding().to(JobRequestIdCharactersValidator.class);
+    requestInfoValidators.addBinding().to(JobRequestIdLengthValidator.class);
+  }
+
+  @Provides
+  @Singleton
+  @JobMetadataDbClient
+  DatabaseClient provideJobMetadataDbClient(DatabaseClient client) {
+    return client;
+  }
+}
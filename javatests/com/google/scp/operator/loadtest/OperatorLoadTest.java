@@ -0,0 +1,329 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.loadtest;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.scp.operator.loadtest.LoadTestEnvModule.PROJECT_ID;
+import static com.google.scp.operator.loadtest.LoadTestEnvModule.SPANNER_DB_NAME;
+import static com.google.scp.operator.loadtest.LoadTestEnvModule.SPANNER_INSTANCE_ID;
+import static com.google.scp.operator.loadtest.LoadTestEnvModule.SUBSCRIPTION_ID;
+import static com.google.scp.operator.loadtest.LoadTestEnvModule.TOPIC_ID;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.crypto.tink.HybridEncrypt;
+import com.google.crypto.tink.hybrid.HybridConfig;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.scp.operator.cpio.blobstorageclient.testing.FSBlobStorageClient;
+import com.google.scp.operator.cpio.cryptoclient.local.HybridKeyFileGenerator;
+import com.google.scp.operator.cpio.cryptoclient.local.LocalFileHybridEncryptionKeyService;
+import com.google.scp.operator.frontend.tasks.CreateJobTask;
+import com.google.scp.operator.frontend.tasks.gcp.GcpCreateJobTask;
+import com.google.scp.operator.protos.shared.backend.JobStatusProto.JobStatus;
+import com.google.scp.operator.protos.shared.backend.RequestInfoProto.RequestInfo;
+import com.google.scp.operator.protos.shared.backend.metadatadb.JobMetadataProto.JobMetadata;
+import com.google.scp.operator.shared.dao.metadatadb.common.JobMetadataDb;
+import com.google.scp.operator.worker.SimpleWorkerArgs;
+import com.google.scp.operator.worker.model.serdes.proto.ProtoReportSerdes;
+import com.google.scp.operator.worker.testing.EncryptedAvroReportGenerator;
+import com.google.scp.operator.worker.testing.SimpleWorkerStarter;
+import com.google.scp.protocol.avro.AvroReportWriterFactory;
+import com.google.scp.protocol.avro.AvroReportsSchemaSupplier;
+import com.google.scp.shared.testutils.gcp.PubSubEmulatorContainer;
+import com.google.scp.shared.testutils.gcp.SpannerEmulatorContainer;
+import java.io.BufferedOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * End-to-end throughput test of the operator job path against local stand-ins of the cloud
+ * services. Jobs are created with {@link GcpCreateJobTask} in the Pub/Sub and Spanner emulators,
+ * processed by in-process workers that read inputs and write results through {@link
+ * FSBlobStorageClient}, and followed in the metadata DB until they finish.
+ *
+ * <p>Jobs are drawn from a weighted mix of input sizes. The input of each size is generated once,
+ * encrypted with a local key, and shared by all jobs of that size. The test prints the jobs per
+ * minute, reports per second and latency percentiles, overall and per input size.
+ *
+ * <p>Run with {@code bazel run //javatests/com/google/scp/operator/loadtest:OperatorLoadTest --
+ * --workers 4 --jobs 100 --job_mix 1000:9,100000:1}. Docker is needed to run the emulators.
+ */
+public final class OperatorLoadTest {
+
+  private static final String DECRYPTION_KEY_ID = "00000000-0000-0000-0000-000000000000";
+  private static final int DISTINCT_FACT_KEYS = 10_000;
+  private static final Duration POLL_INTERVAL = Duration.ofSeconds(1);
+
+  @Parameter(names = "--workers", description = "Number of in-process workers")
+  private int workers = 2;
+
+  @Parameter(names = "--jobs", description = "Number of jobs to submit")
+  private int jobs = 20;
+
+  @Parameter(
+      names = "--job_mix",
+      description =
+          "Comma separated reports_per_job:weight entries, the jobs are drawn from with the given"
+              + " weights")
+  private List<String> jobMix = ImmutableList.of("1000:1");
+
+  @Parameter(names = "--facts_per_report", description = "Number of facts of each report")
+  private int factsPerReport = 1;
+
+  @Parameter(
+      names = "--submit_jobs_per_second",
+      description = "Rate at which jobs are submitted, all at once if 0")
+  private double submitJobsPerSecond = 0;
+
+  @Parameter(names = "--seed", description = "Seed of the draw of jobs from the mix")
+  private long seed = 0;
+
+  @Parameter(
+      names = "--timeout_minutes",
+      description = "How long to wait for all jobs to finish, after submitting them")
+  private long timeoutMinutes = 30;
+
+  @Parameter(
+      names = "--working_directory",
+      description =
+          "Directory of the inputs, results and worker files, a new temporary one if empty")
+  private String workingDirectory = "";
+
+  public static void main(String[] args) throws Exception {
+    HybridConfig.register();
+    OperatorLoadTest loadTest = new OperatorLoadTest();
+    JCommander.newBuilder().addObject(loadTest).build().parse(args);
+    loadTest.run();
+    // Stopped workers keep listening to the job queue, see SimpleWorkerStarter.
+    System.exit(0);
+  }
+
+  private void run() throws Exception {
+    ImmutableList<JobType> jobTypes = parseJobMix(jobMix);
+    Path root =
+        workingDirectory.isEmpty()
+            ? Files.createTempDirectory("operator-load-test")
+            : Files.createDirectories(Paths.get(workingDirectory));
+
+    Injector injector = Guice.createInjector(new LoadTestEnvModule());
+    PubSubEmulatorContainer pubSubEmulator = injector.getInstance(PubSubEmulatorContainer.class);
+    SpannerEmulatorContainer spannerEmulator =
+        injector.getInstance(SpannerEmulatorContainer.class);
+    pubSubEmulator.start();
+    spannerEmulator.start();
+    try {
+      // Creates the job topic, subscription and metadata table before any worker starts.
+      CreateJobTask createJobTask = injector.getInstance(CreateJobTask.class);
+      JobMetadataDb jobMetadataDb = injector.getInstance(JobMetadataDb.class);
+
+      Path keyPath = root.resolve("hybrid.key");
+      HybridKeyFileGenerator.generateKeysetHandle(keyPath);
+      generateInputs(Files.createDirectories(inputBucket(root)), keyPath, jobTypes);
+
+      ImmutableList.Builder<SimpleWorkerStarter> workerStarters = ImmutableList.builder();
+      try {
+        for (int i = 0; i < workers; i++) {
+          SimpleWorkerArgs args =
+              workerArgs(root.resolve("worker-" + i), keyPath, pubSubEmulator, spannerEmulator);
+          SimpleWorkerStarter workerStarter = new SimpleWorkerStarter(args);
+          workerStarters.add(workerStarter);
+          workerStarter.start();
+        }
+        System.out.printf("Started %d workers in %s%n", workers, root);
+
+        submitAndAwait(createJobTask, jobMetadataDb, root, jobTypes).print(System.out);
+      } finally {
+        workerStarters.build().forEach(SimpleWorkerStarter::stop);
+      }
+    } finally {
+      pubSubEmulator.stop();
+      spannerEmulator.stop();
+    }
+  }
+
+  /** Generates the input of each job type, once. */
+  private void generateInputs(Path inputBucket, Path keyPath, ImmutableList<JobType> jobTypes)
+      throws Exception {
+    HybridEncrypt hybridEncrypt =
+        new LocalFileHybridEncryptionKeyService(keyPath).getEncrypter(DECRYPTION_KEY_ID);
+    EncryptedAvroReportGenerator generator =
+        new EncryptedAvroReportGenerator(
+            hybridEncrypt,
+            DECRYPTION_KEY_ID,
+            new ProtoReportSerdes(),
+            factsPerReport,
+            DISTINCT_FACT_KEYS);
+    AvroReportWriterFactory writerFactory =
+        new AvroReportWriterFactory(new AvroReportsSchemaSupplier());
+    for (JobType jobType : jobTypes) {
+      Path input = inputBucket.resolve(jobType.inputBlobName());
+      Stopwatch stopwatch = Stopwatch.createStarted();
+      generator.generate(
+          writerFactory.create(new BufferedOutputStream(Files.newOutputStream(input))),
+          jobType.reportsPerJob(),
+          Runtime.getRuntime().availableProcessors());
+      System.out.printf(
+          "Generated %d reports, %d bytes, in %s%n",
+          jobType.reportsPerJob(), Files.size(input), stopwatch);
+    }
+  }
+
+  private SimpleWorkerArgs workerArgs(
+      Path workerDirectory,
+      Path keyPath,
+      PubSubEmulatorContainer pubSubEmulator,
+      SpannerEmulatorContainer spannerEmulator)
+      throws Exception {
+    SimpleWorkerArgs args = new SimpleWorkerArgs();
+    JCommander.newBuilder()
+        .addObject(args)
+        .build()
+        .parse(
+            "--job_client",
+            "GCP",
+            "--gcp_project_id",
+            PROJECT_ID,
+            "--pubsub_topic_id",
+            TOPIC_ID,
+            "--pubsub_subscription_id",
+            SUBSCRIPTION_ID,
+            "--pubsub_endpoint",
+            pubSubEmulator.getEmulatorEndpoint(),
+            "--spanner_instance_id",
+            SPANNER_INSTANCE_ID,
+            "--spanner_db_name",
+            SPANNER_DB_NAME,
+            "--spanner_endpoint",
+            spannerEmulator.getEmulatorGrpcEndpoint(),
+            "--blob_storage_client",
+            "LOCAL_FS_CLIENT",
+            "--lifecycle_client",
+            "LOCAL",
+            "--result_logger",
+            "LOCAL_TO_CLOUD",
+            "--decryption_key_service",
+            "LOCAL_FILE_DECRYPTION_KEY_SERVICE",
+            "--local_file_decryption_key_path",
+            keyPath.toAbsolutePath().toString(),
+            "--result_working_directory_path",
+            Files.createDirectories(workerDirectory).toAbsolutePath().toString());
+    return args;
+  }
+
+  private ThroughputReport submitAndAwait(
+      CreateJobTask createJobTask,
+      JobMetadataDb jobMetadataDb,
+      Path root,
+      ImmutableList<JobType> jobTypes)
+      throws Exception {
+    Random random = new Random(seed);
+    Optional<RateLimiter> rateLimiter =
+        submitJobsPerSecond > 0
+            ? Optional.of(RateLimiter.create(submitJobsPerSecond))
+            : Optional.empty();
+    Map<String, JobType> pendingJobs = new LinkedHashMap<>();
+    for (int i = 0; i < jobs; i++) {
+      rateLimiter.ifPresent(RateLimiter::acquire);
+      JobType jobType = drawJobType(jobTypes, random);
+      String jobRequestId = String.format("load-test-%06d", i);
+      createJobTask.createJob(
+          RequestInfo.newBuilder()
+              .setJobRequestId(jobRequestId)
+              .setInputDataBucketName(inputBucket(root).toString())
+              .setInputDataBlobPrefix(jobType.inputBlobName())
+              .setOutputDataBucketName(root.resolve("output").toAbsolutePath().toString())
+              .setOutputDataBlobPrefix(jobRequestId + ".avro")
+              .build());
+      pendingJobs.put(jobRequestId, jobType);
+    }
+    System.out.printf("Submitted %d jobs%n", jobs);
+
+    ThroughputReport report = new ThroughputReport(jobs);
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    while (!pendingJobs.isEmpty()
+        && stopwatch.elapsed().compareTo(Duration.ofMinutes(timeoutMinutes)) < 0) {
+      Iterator<Map.Entry<String, JobType>> pendingJobIterator = pendingJobs.entrySet().iterator();
+      while (pendingJobIterator.hasNext()) {
+        Map.Entry<String, JobType> pendingJob = pendingJobIterator.next();
+        Optional<JobMetadata> jobMetadata = jobMetadataDb.getJobMetadata(pendingJob.getKey());
+        if (jobMetadata.isPresent() && jobMetadata.get().getJobStatus() == JobStatus.FINISHED) {
+          report.addFinishedJob(pendingJob.getValue().name(), jobMetadata.get());
+          pendingJobIterator.remove();
+        }
+      }
+      if (!pendingJobs.isEmpty()) {
+        Thread.sleep(POLL_INTERVAL.toMillis());
+      }
+    }
+    report.setUnfinishedJobs(pendingJobs.size());
+    return report;
+  }
+
+  private static Path inputBucket(Path root) {
+    return root.resolve("input").toAbsolutePath();
+  }
+
+  private static JobType drawJobType(ImmutableList<JobType> jobTypes, Random random) {
+    int totalWeight = jobTypes.stream().mapToInt(JobType::weight).sum();
+    int draw = random.nextInt(totalWeight);
+    for (JobType jobType : jobTypes) {
+      draw -= jobType.weight();
+      if (draw < 0) {
+        return jobType;
+      }
+    }
+    throw new AssertionError("Draw exceeds the total weight");
+  }
+
+  private static ImmutableList<JobType> parseJobMix(List<String> jobMix) {
+    return jobMix.stream()
+        .map(
+            entry -> {
+              String[] parts = entry.split(":");
+              if (parts.length != 2) {
+                throw new IllegalArgumentException(
+                    "Job mix entries must be reports_per_job:weight, got " + entry);
+              }
+              return new JobType(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+            })
+        .collect(toImmutableList());
+  }
+
+  /** Jobs over an input with the given number of reports, drawn with the given weight. */
+  private record JobType(long reportsPerJob, int weight) {
+
+    String name() {
+      return reportsPerJob + " reports";
+    }
+
+    String inputBlobName() {
+      return "reports-" + reportsPerJob + ".avro";
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.loadtest;
+
+import static com.google.scp.operator.protos.shared.backend.ReturnCodeProto.ReturnCode.SUCCESS;
+import static com.google.scp.shared.proto.ProtoUtil.toJavaDuration;
+import static com.google.scp.shared.proto.ProtoUtil.toJavaInstant;
+
+import com.google.common.collect.ImmutableList;
+import com.google.scp.operator.protos.shared.backend.JobPerfProfileProto.JobPerfProfile;
+import com.google.scp.operator.protos.shared.backend.ResultInfoProto.ResultInfo;
+import com.google.scp.operator.protos.shared.backend.metadatadb.JobMetadataProto.JobMetadata;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Throughput and latency of the jobs of a load test, computed from their metadata once they
+ * finished.
+ *
+ * <p>Latencies use the timestamps recorded by the frontend and the workers, so they do not depend
+ * on how often the test polls for finished jobs. Queue wait and processing time come from the perf
+ * profile workers attach to each job's result.
+ */
+final class ThroughputReport {
+
+  private final List<JobOutcome> outcomes = new ArrayList<>();
+  private final int submittedJobs;
+  private int unfinishedJobs;
+
+  ThroughputReport(int submittedJobs) {
+    this.submittedJobs = submittedJobs;
+  }
+
+  /** Records a finished job, of the given job type. */
+  void addFinishedJob(String jobType, JobMetadata jobMetadata) {
+    ResultInfo resultInfo = jobMetadata.getResultInfo();
+    JobPerfProfile perfProfile = resultInfo.getPerfProfile();
+    Instant receivedAt = toJavaInstant(jobMetadata.getRequestReceivedAt());
+    Instant finishedAt = toJavaInstant(resultInfo.getFinishedAt());
+    outcomes.add(
+        new JobOutcome(
+            jobType,
+            resultInfo.getReturnCode().equals(SUCCESS.name()),
+            receivedAt,
+            finishedAt,
+            Duration.between(receivedAt, finishedAt),
+            toJavaDuration(perfProfile.getQueueWait()),
+            toJavaDuration(perfProfile.getProcessing()),
+            perfProfile.getReportCount()));
+  }
+
+  void setUnfinishedJobs(int unfinishedJobs) {
+    this.unfinishedJobs = unfinishedJobs;
+  }
+
+  void print(PrintStream out) {
+    long succeeded = outcomes.stream().filter(JobOutcome::succeeded).count();
+    out.printf(
+        "jobs: %d submitted, %d succeeded, %d failed, %d unfinished%n",
+        submittedJobs, succeeded, outcomes.size() - succeeded, unfinishedJobs);
+    if (outcomes.isEmpty()) {
+      return;
+    }
+
+    Instant start = outcomes.stream().map(JobOutcome::receivedAt).min(Instant::compareTo).get();
+    Instant end = outcomes.stream().map(JobOutcome::finishedAt).max(Instant::compareTo).get();
+    double seconds = Math.max(Duration.between(start, end).toMillis(), 1) / 1000.0;
+    long reports =
+        outcomes.stream().filter(JobOutcome::succeeded).mapToLong(JobOutcome::reports).sum();
+    out.printf(
+        "wall time %.1f s, %.1f jobs/min, %.1f reports/s%n",
+        seconds, succeeded * 60 / seconds, reports / seconds);
+
+    out.printf(
+        "%-16s %-12s %6s %10s %10s %10s %10s%n",
+        "job type", "latency", "jobs", "p50 ms", "p90 ms", "p99 ms", "max ms");
+    printLatencies(out, "all", outcomes);
+    outcomes.stream()
+        .map(JobOutcome::jobType)
+        .distinct()
+        .sorted()
+        .forEach(
+            jobType ->
+                printLatencies(
+                    out,
+                    jobType,
+                    outcomes.stream()
+                        .filter(outcome -> outcome.jobType().equals(jobType))
+                        .collect(ImmutableList.toImmutableList())));
+  }
+
+  private static void printLatencies(PrintStream out, String jobType, List<JobOutcome> jobs) {
+    printLatency(out, jobType, "end to end", jobs, JobOutcome::endToEnd);
+    printLatency(out, jobType, "queue wait", jobs, JobOutcome::queueWait);
+    printLatency(out, jobType, "processing", jobs, JobOutcome::processing);
+  }
+
+  private static void printLatency(
+      PrintStream out,
+      String jobType,
+      String latency,
+      List<JobOutcome> jobs,
+      Function<JobOutcome, Duration> duration) {
+    long[] millis = jobs.stream().map(duration).mapToLong(Duration::toMillis).sorted().toArray();
+    out.printf(
+        "%-16s %-12s %6d %10d %10d %10d %10d%n",
+        jobType,
+        latency,
+        millis.length,
+        percentile(millis, 50),
+        percentile(millis, 90),
+        percentile(millis, 99),
+        millis[millis.length - 1]);
+  }
+
+  /** Returns the nearest-rank percentile of the sorted values. */
+  private static long percentile(long[] sortedValues, int percentile) {
+    int rank = (int) Math.ceil(percentile / 100.0 * sortedValues.length);
+    return sortedValues[Math.max(rank, 1) - 1];
+  }
+
+  private record JobOutcome(
+      String jobType,
+      boolean succeeded,
+      Instant receivedAt,
+      Instant finishedAt,
+      Duration endToEnd,
+      Duration queueWait,
+      Duration processing,
+      long reports) {}
+}
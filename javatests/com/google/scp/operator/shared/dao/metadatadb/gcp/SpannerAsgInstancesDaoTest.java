@@ -21,6 +21,7 @@ import static com.google.scp.operator.protos.shared.backend.asginstance.Instance
 import static org.junit.Assert.assertThrows;
 
 import com.google.acai.Acai;
+import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
 import com.google.protobuf.Timestamp;
 import com.google.scp.operator.protos.shared.backend.asginstance.AsgInstanceProto.AsgInstance;
@@ -177,10 +178,108 @@ public final class SpannerAsgInstancesDaoTest {
     assertThat(InstanceStatus.TERMINATED).isEqualTo(lookedUpModifiedAsgInstance.getStatus());
   }
 
+  /** Test that multiple asg instances can be inserted at once and read back. */
+  @Test
+  public void upsertAsgInstances_insertsAll() throws Exception {
+    AsgInstance otherAsgInstance =
+        asgInstance.toBuilder().setInstanceName(instanceName + "-other").build();
+
+    spannerAsgInstancesDao.upsertAsgInstances(ImmutableList.of(asgInstance, otherAsgInstance));
+
+    assertThat(spannerAsgInstancesDao.getAsgInstance(instanceName)).hasValue(asgInstance);
+    assertThat(spannerAsgInstancesDao.getAsgInstance(otherAsgInstance.getInstanceName()))
+        .hasValue(otherAsgInstance);
+  }
+
+  /** Test updating the status of multiple asg instances at once. */
+  @Test
+  public void updateAsgInstances_updatesAll() throws Exception {
+    AsgInstance otherAsgInstance =
+        asgInstance.toBuilder().setInstanceName(instanceName + "-other").build();
+    spannerAsgInstancesDao.upsertAsgInstances(ImmutableList.of(asgInstance, otherAsgInstance));
+
+    spannerAsgInstancesDao.updateAsgInstances(
+        ImmutableList.of(
+            asgInstance.toBuilder().setStatus(InstanceStatus.TERMINATED).build(),
+            otherAsgInstance.toBuilder().setStatus(InstanceStatus.TERMINATED).build()));
+
+    assertThat(spannerAsgInstancesDao.getAsgInstance(instanceName).get().getStatus())
+        .isEqualTo(InstanceStatus.TERMINATED);
+    assertThat(
+            spannerAsgInstancesDao
+                .getAsgInstance(otherAsgInstance.getInstanceName())
+                .get()
+                .getStatus())
+        .isEqualTo(InstanceStatus.TERMINATED);
+  }
+
+  /** Test that a batch update with a non-existent entry updates none of the entries. */
+  @Test
+  public void updateAsgInstances_updateNonexistentThrowsAndUpdatesNone() throws Exception {
+    spannerAsgInstancesDao.upsertAsgInstance(asgInstance);
+    AsgInstance nonexistentAsgInstance =
+        asgInstance.toBuilder().setInstanceName(instanceName + "-nonexistent").build();
+
+    assertThrows(
+        AsgInstanceDaoException.class,
+        () ->
+            spannerAsgInstancesDao.updateAsgInstances(
+                ImmutableList.of(
+                    asgInstance.toBuilder().setStatus(InstanceStatus.TERMINATED).build(),
+                    nonexistentAsgInstance)));
+
+    assertThat(spannerAsgInstancesDao.getAsgInstance(instanceName).get().getStatus())
+        .isEqualTo(InstanceStatus.TERMINATING_WAIT);
+  }
+
   /** Test updating a non-existent asg instance entry throws exception. */
   @Test
   public void updateAsgInstance_updateNonexistentThrows() throws Exception {
     assertThrows(
         AsgInstanceDaoException.class, () -> spannerAsgInstancesDao.updateAsgInstance(asgInstance));
   }
+
+  /** Test that a job heartbeat of an instance without a record inserts an active record. */
+  @Test
+  public void updateJobHeartbeat_noRecord_insertsActiveRecord() throws Exception {
+    Instant jobStartTime = Instant.parse("2020-01-01T00:00:00Z");
+    Instant heartbeatTime = Instant.parse("2020-01-01T00:05:00Z");
+
+    spannerAsgInstancesDao.updateJobHeartbeat(
+        instanceName, Optional.of(jobStartTime), heartbeatTime);
+
+    AsgInstance lookedUpAsgInstance = spannerAsgInstancesDao.getAsgInstance(instanceName).get();
+    assertThat(lookedUpAsgInstance.getStatus()).isEqualTo(InstanceStatus.ACTIVE);
+    assertThat(lookedUpAsgInstance.getJobStartTime())
+        .isEqualTo(ProtoUtil.toProtoTimestamp(jobStartTime));
+    assertThat(lookedUpAsgInstance.getJobHeartbeatTime())
+        .isEqualTo(ProtoUtil.toProtoTimestamp(heartbeatTime));
+    assertThat(lookedUpAsgInstance.getTtl())
+        .isEqualTo(heartbeatTime.plus(SpannerAsgInstancesDao.ACTIVE_INSTANCE_TTL).getEpochSecond());
+  }
+
+  /** Test that an idle heartbeat of an instance without a record writes nothing. */
+  @Test
+  public void updateJobHeartbeat_idleWithoutRecord_writesNothing() throws Exception {
+    spannerAsgInstancesDao.updateJobHeartbeat(
+        instanceName, Optional.empty(), Instant.parse("2020-01-01T00:05:00Z"));
+
+    assertThat(spannerAsgInstancesDao.getAsgInstance(instanceName)).isEmpty();
+  }
+
+  /** Test that a job heartbeat keeps the status and TTL of an instance marked for termination. */
+  @Test
+  public void updateJobHeartbeat_terminatingInstance_keepsStatus() throws Exception {
+    spannerAsgInstancesDao.upsertAsgInstance(asgInstance);
+
+    spannerAsgInstancesDao.updateJobHeartbeat(
+        instanceName,
+        Optional.of(Instant.parse("2020-01-01T00:00:00Z")),
+        Instant.parse("2020-01-01T00:05:00Z"));
+    spannerAsgInstancesDao.updateJobHeartbeat(
+        instanceName, Optional.empty(), Instant.parse("2020-01-01T00:06:00Z"));
+
+    AsgInstance lookedUpAsgInstance = spannerAsgInstancesDao.getAsgInstance(instanceName).get();
+    assertThat(lookedUpAsgInstance).isEqualTo(asgInstance);
+  }
 }
@@ -73,7 +73,12 @@ public final class SpannerMetadataDbTestModule extends AbstractModule {
           "ALTER TABLE JobMetadata ADD COLUMN TargetWorkgroup STRING(256)",
           "ALTER TABLE "
               + SpannerAsgInstancesDao.TABLE_NAME
-              + " ADD COLUMN InstanceGroupName STRING(256)");
+              + " ADD COLUMN InstanceGroupName STRING(256)",
+          "ALTER TABLE " + SpannerAsgInstancesDao.TABLE_NAME + " ADD COLUMN JobStartTime TIMESTAMP",
+          "ALTER TABLE "
+              + SpannerAsgInstancesDao.TABLE_NAME
+              + " ADD COLUMN JobHeartbeatTime TIMESTAMP",
+          "ALTER TABLE JobMetadata ADD COLUMN CheckpointLocation STRING(MAX)");
 
   @Provides
   @Singleton
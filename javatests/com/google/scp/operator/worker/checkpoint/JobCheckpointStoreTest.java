@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.checkpoint;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.google.scp.operator.cpio.blobstorageclient.model.DataLocation;
+import com.google.scp.operator.cpio.blobstorageclient.testing.FSBlobStorageClient;
+import com.google.scp.operator.cpio.jobclient.model.Job;
+import com.google.scp.operator.cpio.jobclient.testing.FakeJobGenerator;
+import com.google.scp.operator.worker.checkpoint.JobCheckpoint.OutputPart;
+import com.google.scp.operator.worker.checkpoint.JobCheckpointStore.CheckpointException;
+import java.io.InputStream;
+import java.nio.file.FileSystem;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class JobCheckpointStoreTest {
+
+  private static final String OUTPUT_BUCKET = "output-bucket";
+  private static final String OUTPUT_PREFIX = "results/job";
+
+  private FSBlobStorageClient blobStorageClient;
+  private JobCheckpointStore checkpointStore;
+  private Job job;
+
+  @Before
+  public void setUp() {
+    FileSystem fileSystem =
+        Jimfs.newFileSystem(Configuration.unix().toBuilder().setWorkingDirectory("/").build());
+    blobStorageClient = new FSBlobStorageClient(fileSystem);
+    checkpointStore = new JobCheckpointStore(blobStorageClient);
+    Job fakeJob = FakeJobGenerator.generate("job-1");
+    job =
+        fakeJob.toBuilder()
+            .setRequestInfo(
+                fakeJob.requestInfo().toBuilder()
+                    .setOutputDataBucketName(OUTPUT_BUCKET)
+                    .setOutputDataBlobPrefix(OUTPUT_PREFIX)
+                    .build())
+            .build();
+  }
+
+  @Test
+  public void read_noCheckpointLocation_returnsEmpty() throws Exception {
+    assertThat(checkpointStore.read(job)).isEmpty();
+  }
+
+  @Test
+  public void read_retriedJob_resumesFromWrittenCheckpoint() throws Exception {
+    JobCheckpoint checkpoint =
+        JobCheckpoint.builder()
+            .setReportsProcessed(1_000)
+            .setInputShardIndex(1)
+            .setShardReportsProcessed(400)
+            .setOutputParts(
+                ImmutableList.of(
+                    OutputPart.create(JobCheckpointStore.partBlobPrefix(job, 0), 998)))
+            .setErrorCounts(ImmutableMap.of("DECRYPTION_ERROR", 2L))
+            .build();
+
+    String checkpointLocation = checkpointStore.write(job, checkpoint);
+    Job retriedJob =
+        job.toBuilder().setNumAttempts(1).setCheckpointLocation(checkpointLocation).build();
+    Optional<JobCheckpoint> resumed = checkpointStore.read(retriedJob);
+
+    assertThat(checkpointLocation).isEqualTo("results/job-checkpoint.json");
+    assertThat(resumed).hasValue(checkpoint);
+  }
+
+  @Test
+  public void write_replacesPreviousCheckpoint() throws Exception {
+    JobCheckpoint first = JobCheckpoint.initial().toBuilder().setReportsProcessed(500).build();
+    JobCheckpoint second = JobCheckpoint.initial().toBuilder().setReportsProcessed(1_000).build();
+
+    checkpointStore.write(job, first);
+    String checkpointLocation = checkpointStore.write(job, second);
+    Job retriedJob = job.toBuilder().setCheckpointLocation(checkpointLocation).build();
+
+    assertThat(checkpointStore.read(retriedJob)).hasValue(second);
+  }
+
+  @Test
+  public void writeManifest_listsPartsInOrder() throws Exception {
+    JobCheckpoint checkpoint =
+        JobCheckpoint.initial().toBuilder()
+            .setReportsProcessed(2_000)
+            .setOutputParts(
+                ImmutableList.of(
+                    OutputPart.create(JobCheckpointStore.partBlobPrefix(job, 0), 990),
+                    OutputPart.create(JobCheckpointStore.partBlobPrefix(job, 1), 1_000)))
+            .build();
+
+    DataLocation manifestLocation = checkpointStore.writeManifest(job, checkpoint);
+    JsonNode manifest;
+    try (InputStream manifestStream = blobStorageClient.getBlob(manifestLocation)) {
+      manifest = new ObjectMapper().readTree(manifestStream);
+    }
+
+    assertThat(manifestLocation.blobStoreDataLocation().key())
+        .isEqualTo("results/job-manifest.json");
+    assertThat(manifest.get("recordCount").asLong()).isEqualTo(1_990);
+    assertThat(manifest.get("parts").get(0).get("blobName").asText())
+        .isEqualTo("results/job-part-00000");
+    assertThat(manifest.get("parts").get(1).get("blobName").asText())
+        .isEqualTo("results/job-part-00001");
+    assertThat(manifest.get("parts").get(1).get("recordCount").asLong()).isEqualTo(1_000);
+  }
+
+  @Test
+  public void delete_removesCheckpoint() throws Exception {
+    String checkpointLocation = checkpointStore.write(job, JobCheckpoint.initial());
+    Job retriedJob = job.toBuilder().setCheckpointLocation(checkpointLocation).build();
+
+    checkpointStore.delete(job);
+
+    assertThrows(CheckpointException.class, () -> checkpointStore.read(retriedJob));
+  }
+}
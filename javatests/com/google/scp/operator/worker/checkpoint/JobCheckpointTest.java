@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.checkpoint;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.scp.operator.worker.checkpoint.JobCheckpoint.OutputPart;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class JobCheckpointTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void json_roundTrip_returnsEqualCheckpoint() throws Exception {
+    JobCheckpoint checkpoint =
+        JobCheckpoint.builder()
+            .setReportsProcessed(2_000)
+            .setInputShardIndex(2)
+            .setShardReportsProcessed(250)
+            .setOutputParts(
+                ImmutableList.of(
+                    OutputPart.create("results/job-part-00000", 990),
+                    OutputPart.create("results/job-part-00001", 995)))
+            .setErrorCounts(ImmutableMap.of("DECRYPTION_ERROR", 15L))
+            .build();
+
+    String json = objectMapper.writeValueAsString(checkpoint);
+    JobCheckpoint parsed = objectMapper.readValue(json, JobCheckpoint.class);
+
+    assertThat(parsed).isEqualTo(checkpoint);
+  }
+
+  @Test
+  public void json_roundTrip_initialCheckpoint() throws Exception {
+    String json = objectMapper.writeValueAsString(JobCheckpoint.initial());
+    JobCheckpoint parsed = objectMapper.readValue(json, JobCheckpoint.class);
+
+    assertThat(parsed).isEqualTo(JobCheckpoint.initial());
+  }
+
+  @Test
+  public void json_usesSnakeCaseFieldNames() throws Exception {
+    JobCheckpoint checkpoint =
+        JobCheckpoint.initial().toBuilder()
+            .setReportsProcessed(10)
+            .setInputShardIndex(1)
+            .setShardReportsProcessed(4)
+            .setOutputParts(ImmutableList.of(OutputPart.create("results/job-part-00000", 10)))
+            .build();
+
+    JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(checkpoint));
+
+    assertThat(json.get("reports_processed").asLong()).isEqualTo(10);
+    assertThat(json.get("input_shard_index").asInt()).isEqualTo(1);
+    assertThat(json.get("shard_reports_processed").asLong()).isEqualTo(4);
+    assertThat(json.get("output_parts").get(0).get("blob_name").asText())
+        .isEqualTo("results/job-part-00000");
+    assertThat(json.get("output_parts").get(0).get("record_count").asLong()).isEqualTo(10);
+    assertThat(json.get("error_counts").size()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.decryption.hybrid;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.testing.FakeTicker;
+import com.google.crypto.tink.HybridDecrypt;
+import com.google.scp.operator.cpio.cryptoclient.HybridEncryptionKeyService;
+import com.google.scp.operator.cpio.cryptoclient.HybridEncryptionKeyService.KeyFetchException;
+import com.google.scp.operator.cpio.cryptoclient.model.ErrorReason;
+import java.time.Duration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+@RunWith(JUnit4.class)
+public final class HybridDecrypterPoolTest {
+
+  private static final String KEY_ID = "key-1";
+  private static final String MISSING_KEY_ID = "key-2";
+
+  @Rule public final MockitoRule mockito = MockitoJUnit.rule();
+
+  @Mock HybridEncryptionKeyService keyService;
+  @Mock HybridDecrypt hybridDecrypt;
+
+  private final FakeTicker ticker = new FakeTicker();
+  private HybridDecrypterPool pool;
+
+  @Before
+  public void setUp() throws Exception {
+    when(keyService.getDecrypter(KEY_ID)).thenReturn(hybridDecrypt);
+    when(keyService.getDecrypter(MISSING_KEY_ID))
+        .thenThrow(new KeyFetchException("Key not found", ErrorReason.KEY_NOT_FOUND));
+    pool = new HybridDecrypterPool(keyService, ticker);
+  }
+
+  @Test
+  public void cipherFor_withinTtl_reusesCipher() throws Exception {
+    HybridDecryptionCipher first = pool.cipherFor(KEY_ID);
+    ticker.advance(Duration.ofMinutes(59));
+    HybridDecryptionCipher second = pool.cipherFor(KEY_ID);
+
+    assertThat(second).isSameInstanceAs(first);
+    verify(keyService, times(1)).getDecrypter(KEY_ID);
+  }
+
+  @Test
+  public void cipherFor_afterTtl_fetchesKeyAgain() throws Exception {
+    HybridDecryptionCipher first = pool.cipherFor(KEY_ID);
+    ticker.advance(Duration.ofHours(1));
+    HybridDecryptionCipher second = pool.cipherFor(KEY_ID);
+    HybridDecryptionCipher third = pool.cipherFor(KEY_ID);
+
+    assertThat(second).isNotSameInstanceAs(first);
+    assertThat(third).isSameInstanceAs(second);
+    verify(keyService, times(2)).getDecrypter(KEY_ID);
+  }
+
+  @Test
+  public void isKeyNotFound_singleMiss_returnsFalse() {
+    assertThrows(KeyFetchException.class, () -> pool.cipherFor(MISSING_KEY_ID));
+
+    assertThat(pool.isKeyNotFound(MISSING_KEY_ID)).isFalse();
+  }
+
+  @Test
+  public void isKeyNotFound_repeatedMisses_returnsTrue() {
+    missThreeTimes();
+
+    assertThat(pool.isKeyNotFound(MISSING_KEY_ID)).isTrue();
+    assertThat(pool.isKeyNotFound(KEY_ID)).isFalse();
+  }
+
+  @Test
+  public void isKeyNotFound_minuteAfterLastMiss_returnsFalse() {
+    missThreeTimes();
+    ticker.advance(Duration.ofMinutes(1));
+
+    assertThat(pool.isKeyNotFound(MISSING_KEY_ID)).isFalse();
+  }
+
+  @Test
+  public void isKeyNotFound_missesFurtherApartThanExpiry_returnsFalse() {
+    for (int i = 0; i < 3; i++) {
+      assertThrows(KeyFetchException.class, () -> pool.cipherFor(MISSING_KEY_ID));
+      ticker.advance(Duration.ofMinutes(2));
+    }
+
+    assertThat(pool.isKeyNotFound(MISSING_KEY_ID)).isFalse();
+  }
+
+  @Test
+  public void isKeyNotFound_keyFoundAfterMisses_returnsFalse() throws Exception {
+    missThreeTimes();
+    doReturn(hybridDecrypt).when(keyService).getDecrypter(MISSING_KEY_ID);
+
+    pool.cipherFor(MISSING_KEY_ID);
+
+    assertThat(pool.isKeyNotFound(MISSING_KEY_ID)).isFalse();
+  }
+
+  private void missThreeTimes() {
+    for (int i = 0; i < 3; i++) {
+      assertThrows(KeyFetchException.class, () -> pool.cipherFor(MISSING_KEY_ID));
+      ticker.advance(Duration.ofSeconds(10));
+    }
+  }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.scp.operator.worker.logger.localtocloud;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.scp.operator.cpio.blobstorageclient.BlobStorageClient;
+import com.google.scp.operator.cpio.blobstorageclient.BlobStorageClient.BlobStorageClientException;
+import com.google.scp.operator.cpio.blobstorageclient.model.BlobMetadata;
+import com.google.scp.operator.cpio.blobstorageclient.model.DataLocation;
+import com.google.scp.operator.cpio.blobstorageclient.model.DataLocation.BlobStoreDataLocation;
+import com.google.scp.operator.cpio.jobclient.model.Job;
+import com.google.scp.operator.cpio.jobclient.testing.FakeJobGenerator;
+import com.google.scp.operator.worker.logger.ResultLogger.ResultLogException;
+import com.google.scp.operator.worker.model.Fact;
+import com.google.scp.operator.worker.perf.JobProfiler;
+import com.google.scp.operator.worker.writer.LocalResultFileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ShardedLocalFileToCloudStorageLoggerTest {
+
+  // Each fact is written as a line of this many bytes by the fake file writer.
+  private static final int RECORD_BYTES = "key-00,0\n".length();
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private FileSystem fileSystem;
+  private Path workingDirectory;
+  private InMemoryBlobStorageClient blobStorageClient;
+  private Job job;
+  private String bucket;
+  private String blobPrefix;
+
+  @Before
+  public void setUp() {
+    fileSystem = Jimfs.newFileSystem(Configuration.unix());
+    workingDirectory = fileSystem.getPath("/results");
+    blobStorageClient = new InMemoryBlobStorageClient();
+    job = FakeJobGenerator.generate("job-1");
+    bucket = job.requestInfo().getOutputDataBucketName();
+    blobPrefix = job.requestInfo().getOutputDataBlobPrefix();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    fileSystem.close();
+  }
+
+  @Test
+  public void logResults_rollsShardsByRecordCount() throws Exception {
+    ShardedLocalFileToCloudStorageLogger logger =
+        logger(config(/* maxShardRecords= */ 2, /* maxShardBytes= */ Long.MAX_VALUE, 2));
+
+    DataLocation manifestLocation = logger.logResults(facts(5), job);
+
+    assertThat(manifestLocation.blobStoreDataLocation())
+        .isEqualTo(BlobStoreDataLocation.create(bucket, blobPrefix + "-manifest.json"));
+    JsonNode manifest = readManifest();
+    assertThat(manifest.get("recordCount").asLong()).isEqualTo(5);
+    assertThat(shardBlobNames(manifest))
+        .containsExactly(
+            blobPrefix + "-shard-00000", blobPrefix + "-shard-00001", blobPrefix + "-shard-00002")
+        .inOrder();
+    assertThat(shardRecordCounts(manifest)).containsExactly(2L, 2L, 1L).inOrder();
+    assertThat(blobStorageClient.readBlob(blobPrefix + "-shard-00000"))
+        .isEqualTo("key-00,0\nkey-01,1\n");
+    assertThat(blobStorageClient.readBlob(blobPrefix + "-shard-00002")).isEqualTo("key-04,4\n");
+    assertThat(listWorkingDirectory()).isEmpty();
+  }
+
+  @Test
+  public void logResults_rollsShardsByByteCount() throws Exception {
+    ShardedLocalFileToCloudStorageLogger logger =
+        logger(config(/* maxShardRecords= */ 1000, /* maxShardBytes= */ 3 * RECORD_BYTES, 1));
+
+    logger.logResults(facts(7), job);
+
+    JsonNode manifest = readManifest();
+    assertThat(shardRecordCounts(manifest)).containsExactly(3L, 3L, 1L).inOrder();
+    assertThat(blobStorageClient.readBlob(blobPrefix + "-shard-00001"))
+        .isEqualTo("key-03,3\nkey-04,4\nkey-05,5\n");
+  }
+
+  @Test
+  public void logResults_retry_writesSameBlobNamesAndManifest() throws Exception {
+    ShardedLocalFileToCloudStorageLogger logger =
+        logger(config(/* maxShardRecords= */ 2, /* maxShardBytes= */ Long.MAX_VALUE, 2));
+
+    logger.logResults(facts(3), job);
+    ImmutableList<String> firstBlobNames = blobStorageClient.blobNames();
+    String firstManifest = blobStorageClient.readBlob(blobPrefix + "-manifest.json");
+    blobStorageClient.blobs.clear();
+    logger.logResults(facts(3), job);
+
+    assertThat(blobStorageClient.blobNames()).containsExactlyElementsIn(firstBlobNames);
+    assertThat(blobStorageClient.readBlob(blobPrefix + "-manifest.json"))
+        .isEqualTo(firstManifest);
+  }
+
+  @Test
+  public void logResults_emptyInput_writesOneEmptyShard() throws Exception {
+    ShardedLocalFileToCloudStorageLogger logger =
+        logger(config(/* maxShardRecords= */ 2, /* maxShardBytes= */ Long.MAX_VALUE, 2));
+
+    logger.logResults(Stream.empty(), job);
+
+    JsonNode manifest = readManifest();
+    assertThat(manifest.get("recordCount").asLong()).isEqualTo(0);
+    assertThat(shardBlobNames(manifest)).containsExactly(blobPrefix + "-shard-00000");
+    assertThat(shardRecordCounts(manifest)).containsExactly(0L);
+    assertThat(blobStorageClient.readBlob(blobPrefix + "-shard-00000")).isEmpty();
+  }
+
+  @Test
+  public void logResults_uploadError_propagatesAndDeletesLocalFiles() throws Exception {
+    blobStorageClient.failUpload = name -> name.equals(blobPrefix + "-shard-00001");
+    ShardedLocalFileToCloudStorageLogger logger =
+        logger(config(/* maxShardRecords= */ 1, /* maxShardBytes= */ Long.MAX_VALUE, 1));
+
+    ResultLogException exception =
+        assertThrows(ResultLogException.class, () -> logger.logResults(facts(4), job));
+
+    assertThat(exception).hasCauseThat().isInstanceOf(BlobStorageClientException.class);
+    assertThat(blobStorageClient.blobNames()).doesNotContain(blobPrefix + "-manifest.json");
+    assertThat(listWorkingDirectory()).isEmpty();
+  }
+
+  @Test
+  public void logResults_uploadError_deletesLocalFilesAfterInFlightUploadsStop() throws Exception {
+    String failingShard = blobPrefix + "-shard-00000";
+    String slowShard = blobPrefix + "-shard-00001";
+    CountDownLatch slowUploadStarted = new CountDownLatch(1);
+    CountDownLatch releaseSlowUpload = new CountDownLatch(1);
+    blobStorageClient.failUpload = failingShard::equals;
+    blobStorageClient.beforeUpload =
+        name -> {
+          if (name.equals(failingShard)) {
+            // Fails once the other upload is in flight.
+            Uninterruptibles.awaitUninterruptibly(slowUploadStarted);
+          } else if (name.equals(slowShard)) {
+            slowUploadStarted.countDown();
+            // An upload reading its file doesn't stop when interrupted.
+            Uninterruptibles.awaitUninterruptibly(releaseSlowUpload);
+            Thread.interrupted();
+          }
+        };
+    ShardedLocalFileToCloudStorageLogger logger =
+        logger(config(/* maxShardRecords= */ 1, /* maxShardBytes= */ Long.MAX_VALUE, 2));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      Future<?> logResults = executor.submit(() -> logger.logResults(facts(4), job));
+      slowUploadStarted.await();
+      // The results logging has failed, but waits for the upload still reading its shard.
+      Thread.sleep(200);
+      assertThat(logResults.isDone()).isFalse();
+      assertThat(listWorkingDirectory()).isNotEmpty();
+      releaseSlowUpload.countDown();
+
+      ExecutionException exception = assertThrows(ExecutionException.class, logResults::get);
+      assertThat(exception).hasCauseThat().isInstanceOf(ResultLogException.class);
+    } finally {
+      releaseSlowUpload.countDown();
+      executor.shutdownNow();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    assertThat(blobStorageClient.readBlob(slowShard)).isEqualTo("key-01,1\n");
+    assertThat(listWorkingDirectory()).isEmpty();
+  }
+
+  private ShardedLocalFileToCloudStorageLogger logger(ResultShardingConfig config) {
+    return new ShardedLocalFileToCloudStorageLogger(
+        new LineResultFileWriter(),
+        blobStorageClient,
+        workingDirectory,
+        config,
+        new JobProfiler(Ticker.systemTicker()));
+  }
+
+  private static ResultShardingConfig config(
+      long maxShardRecords, long maxShardBytes, int uploadThreads) {
+    return ResultShardingConfig.builder()
+        .setMaxShardRecords(maxShardRecords)
+        .setMaxShardBytes(maxShardBytes)
+        .setUploadThreads(uploadThreads)
+        .build();
+  }
+
+  private static Stream<Fact> facts(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> Fact.create(String.format("key-%02d", i), (long) i));
+  }
+
+  private JsonNode readManifest() throws IOException {
+    return objectMapper.readTree(blobStorageClient.readBlob(blobPrefix + "-manifest.json"));
+  }
+
+  private static ImmutableList<String> shardBlobNames(JsonNode manifest) {
+    return ImmutableList.copyOf(manifest.get("shards")).stream()
+        .map(shard -> shard.get("blobName").asText())
+        .collect(toImmutableList());
+  }
+
+  private static ImmutableList<Long> shardRecordCounts(JsonNode manifest) {
+    return ImmutableList.copyOf(manifest.get("shards")).stream()
+        .map(shard -> shard.get("recordCount").asLong())
+        .collect(toImmutableList());
+  }
+
+  private ImmutableList<Path> listWorkingDirectory() throws IOException {
+    try (Stream<Path> files = Files.list(workingDirectory)) {
+      return files.collect(toImmutableList());
+    }
+  }
+
+  /** Writes each fact as a {@code key,value} line, counting the bytes written. */
+  private static final class LineResultFileWriter implements LocalResultFileWriter {
+
+    @Override
+    public void writeLocalFile(Stream<Fact> results, Path resultFile) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ResultFileAppender openLocalFile(Path resultFile, Map<String, String> jobParameters)
+        throws FileWriteException {
+      OutputStream outputStream;
+      try {
+        outputStream = Files.newOutputStream(resultFile);
+      } catch (IOException e) {
+        throw new FileWriteException("Failed to open the result file.", e);
+      }
+      return new ResultFileAppender() {
+        private long recordCount;
+        private long byteCount;
+
+        @Override
+        public void append(Fact result) throws FileWriteException {
+          byte[] line = (result.key() + "," + result.value() + "\n").getBytes(UTF_8);
+          try {
+            outputStream.write(line);
+          } catch (IOException e) {
+            throw new FileWriteException("Failed to write the result.", e);
+          }
+          recordCount++;
+          byteCount += line.length;
+        }
+
+        @Override
+        public long recordCount() {
+          return recordCount;
+        }
+
+        @Override
+        public long byteCount() {
+          return byteCount;
+        }
+
+        @Override
+        public void close() throws FileWriteException {
+          try {
+            outputStream.close();
+          } catch (IOException e) {
+            throw new FileWriteException("Failed to close the result file.", e);
+          }
+        }
+      };
+    }
+
+    @Override
+    public String getFileExtension() {
+      return ".txt";
+    }
+  }
+
+  /** Keeps uploaded blobs in memory by key, optionally delaying or failing uploads. */
+  private static final class InMemoryBlobStorageClient implements BlobStorageClient {
+
+    private final Map<String, byte[]> blobs = new ConcurrentHashMap<>();
+    private volatile Predicate<String> failUpload = name -> false;
+    private volatile BeforeUpload beforeUpload = name -> {};
+
+    @Override
+    public void putBlob(DataLocation location, Path filePath) throws BlobStorageClientException {
+      String name = location.blobStoreDataLocation().key();
+      beforeUpload.run(name);
+      if (failUpload.test(name)) {
+        throw new BlobStorageClientException("Upload failed: " + name);
+      }
+      try (InputStream inputStream = Files.newInputStream(filePath)) {
+        blobs.put(name, inputStream.readAllBytes());
+      } catch (IOException e) {
+        throw new BlobStorageClientException(e);
+      }
+    }
+
+    @Override
+    public void putBlob(DataLocation location, Path filePath, Optional<String> accountIdentity)
+        throws BlobStorageClientException {
+      putBlob(location, filePath);
+    }
+
+    String readBlob(String name) {
+      assertThat(blobs).containsKey(name);
+      return new String(blobs.get(name), UTF_8);
+    }
+
+    ImmutableList<String> blobNames() {
+      return ImmutableList.copyOf(blobs.keySet());
+    }
+
+    @Override
+    public InputStream getBlob(DataLocation location) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public InputStream getBlob(DataLocation location, Optional<String> accountIdentity) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteBlob(DataLocation location) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteBlob(DataLocation location, Optional<String> accountIdentity) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ImmutableList<String> listBlobs(DataLocation location) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ImmutableList<String> listBlobs(
+        DataLocation location, Optional<String> accountIdentity) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BlobMetadata getBlobMetadata(DataLocation location) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BlobMetadata getBlobMetadata(DataLocation location, Optional<String> accountIdentity) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ImmutableList<BlobMetadata> listBlobMetadata(DataLocation location) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ImmutableList<BlobMetadata> listBlobMetadata(
+        DataLocation location, Optional<String> accountIdentity) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /** Runs before an upload reads its file. */
+  private interface BeforeUpload {
+    void run(String blobName);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.model.serdes.proto;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteSource;
+import com.google.protobuf.WireFormat;
+import com.google.scp.operator.worker.model.Fact;
+import com.google.scp.operator.worker.model.Report;
+import com.google.scp.operator.worker.testing.FakeReportGenerator;
+import com.google.scp.operator.worker.testing.FakeReportGenerator.FakeFactGenerator;
+import com.google.scp.simulation.ReportProto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ProtoReportSerdesTest {
+
+  private final ProtoReportSerdes reportSerdes = new ProtoReportSerdes();
+
+  @Test
+  public void readFacts_report_matchesConvert() {
+    ByteSource serializedReport =
+        serialize(
+            IntStream.range(0, 20)
+                .mapToObj(i -> FakeFactGenerator.generate(String.format("%016x", i * 7919L), i))
+                .collect(ImmutableList.toImmutableList()));
+
+    assertReadFactsMatchesConvert(serializedReport);
+    assertThat(readFacts(serializedReport)).hasSize(20);
+  }
+
+  @Test
+  public void readFacts_defaultFactValues_matchesConvert() {
+    ByteSource serializedReport =
+        serialize(
+            ImmutableList.of(
+                Fact.builder().setKey("").setValue(0).build(),
+                Fact.builder().setKey("key").setValue(0).build(),
+                Fact.builder().setKey("").setValue(Long.MAX_VALUE).build()));
+
+    assertReadFactsMatchesConvert(serializedReport);
+  }
+
+  @Test
+  public void readFacts_reportWithoutFacts_matchesConvert() {
+    ByteSource serializedReport = serialize(ImmutableList.of());
+
+    assertReadFactsMatchesConvert(serializedReport);
+    assertThat(reportSerdes.readFacts(serializedReport, fact -> {})).isTrue();
+  }
+
+  @Test
+  public void readFacts_emptyPayload_rejectedLikeConvert() {
+    assertRejectedLikeConvert(ByteSource.empty());
+  }
+
+  @Test
+  public void readFacts_truncatedPayload_rejectedLikeConvert() throws Exception {
+    byte[] bytes = serialize(ImmutableList.of(FakeFactGenerator.generate("key", 1))).read();
+
+    assertRejectedLikeConvert(ByteSource.wrap(Arrays.copyOf(bytes, bytes.length - 1)));
+  }
+
+  @Test
+  public void readFacts_malformedAfterFacts_passesNoFacts() throws Exception {
+    byte[] bytes = serialize(ImmutableList.of(FakeFactGenerator.generate("key", 1))).read();
+    // A length-delimited records field claiming more bytes than the payload has left.
+    byte[] truncatedRecord = {
+      (byte)
+          WireFormat.makeTag(
+              ReportProto.Report.RECORDS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED),
+      100,
+      1
+    };
+    byte[] malformed = Arrays.copyOf(bytes, bytes.length + truncatedRecord.length);
+    System.arraycopy(truncatedRecord, 0, malformed, bytes.length, truncatedRecord.length);
+
+    assertRejectedLikeConvert(ByteSource.wrap(malformed));
+  }
+
+  @Test
+  public void readFacts_garbagePayload_rejectedLikeConvert() {
+    assertRejectedLikeConvert(ByteSource.wrap(new byte[] {(byte) 0xff, (byte) 0xff, (byte) 0xff}));
+  }
+
+  private ByteSource serialize(ImmutableList<Fact> facts) {
+    return reportSerdes.reverse().convert(Optional.of(FakeReportGenerator.generate(facts)));
+  }
+
+  private List<Fact> readFacts(ByteSource serializedReport) {
+    List<Fact> facts = new ArrayList<>();
+    assertThat(reportSerdes.readFacts(serializedReport, facts::add)).isTrue();
+    return facts;
+  }
+
+  private void assertReadFactsMatchesConvert(ByteSource serializedReport) {
+    Optional<Report> report = reportSerdes.convert(serializedReport);
+
+    assertThat(report).isPresent();
+    assertThat(readFacts(serializedReport))
+        .containsExactlyElementsIn(report.get().facts())
+        .inOrder();
+  }
+
+  private void assertRejectedLikeConvert(ByteSource serializedReport) {
+    List<Fact> facts = new ArrayList<>();
+
+    boolean read = reportSerdes.readFacts(serializedReport, facts::add);
+
+    assertThat(reportSerdes.convert(serializedReport)).isEmpty();
+    assertThat(read).isFalse();
+    assertThat(facts).isEmpty();
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.pipeline;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class BudgetedPipelineTest {
+
+  private static final long ITEM_BYTES = 100;
+
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void run_transformsAllItemsInOrder() {
+    BudgetedPipeline<Integer, String> pipeline = new BudgetedPipeline<>(4 * ITEM_BYTES);
+
+    ImmutableList<String> results;
+    try (Stream<String> output =
+        pipeline.run(
+            IntStream.range(0, 100).boxed(),
+            item -> ITEM_BYTES,
+            item -> "item-" + item,
+            item -> ITEM_BYTES,
+            executor)) {
+      results = output.collect(toImmutableList());
+    }
+
+    assertThat(results).hasSize(100);
+    assertThat(results.get(0)).isEqualTo("item-0");
+    assertThat(results.get(99)).isEqualTo("item-99");
+    assertThat(pipeline.peakUsedBytes()).isAtMost(4 * ITEM_BYTES);
+  }
+
+  @Test
+  public void run_slowConsumer_throttlesReader() throws Exception {
+    AtomicInteger readItems = new AtomicInteger();
+    BudgetedPipeline<Integer, Integer> pipeline = new BudgetedPipeline<>(4 * ITEM_BYTES);
+
+    try (Stream<Integer> output =
+        pipeline.run(
+            IntStream.range(0, 1_000).boxed().peek(item -> readItems.incrementAndGet()),
+            item -> ITEM_BYTES,
+            item -> item,
+            item -> ITEM_BYTES,
+            executor)) {
+      Iterator<Integer> results = output.iterator();
+      assertThat(results.next()).isEqualTo(0);
+      Thread.sleep(200);
+
+      // One consumed, two in each queue, and one held by each stage waiting for budget.
+      assertThat(readItems.get()).isAtMost(7);
+      int consumed = 1;
+      while (results.hasNext()) {
+        results.next();
+        consumed++;
+      }
+      assertThat(consumed).isEqualTo(1_000);
+    }
+    assertThat(pipeline.readerThrottledMillis()).isAtLeast(100);
+    assertThat(pipeline.peakUsedBytes()).isAtMost(4 * ITEM_BYTES);
+  }
+
+  @Test
+  public void run_transformFails_passesFailureToConsumer() {
+    BudgetedPipeline<Integer, Integer> pipeline = new BudgetedPipeline<>(4 * ITEM_BYTES);
+
+    try (Stream<Integer> output =
+        pipeline.run(
+            IntStream.range(0, 100).boxed(),
+            item -> ITEM_BYTES,
+            item -> {
+              if (item == 10) {
+                throw new IllegalStateException("transform failed");
+              }
+              return item;
+            },
+            item -> ITEM_BYTES,
+            executor)) {
+      IllegalStateException e =
+          assertThrows(IllegalStateException.class, () -> output.forEach(item -> {}));
+      assertThat(e).hasMessageThat().isEqualTo("transform failed");
+    }
+  }
+
+  @Test
+  public void run_readFails_passesFailureToConsumer() {
+    BudgetedPipeline<Integer, Integer> pipeline = new BudgetedPipeline<>(4 * ITEM_BYTES);
+    Stream<Integer> input =
+        IntStream.range(0, 100)
+            .boxed()
+            .peek(
+                item -> {
+                  if (item == 10) {
+                    throw new IllegalStateException("read failed");
+                  }
+                });
+
+    try (Stream<Integer> output =
+        pipeline.run(input, item -> ITEM_BYTES, item -> item, item -> ITEM_BYTES, executor)) {
+      IllegalStateException e =
+          assertThrows(IllegalStateException.class, () -> output.forEach(item -> {}));
+      assertThat(e).hasMessageThat().isEqualTo("read failed");
+    }
+  }
+
+  @Test
+  public void close_midStream_stopsStagesWithoutLeakingThreads() throws Exception {
+    BudgetedPipeline<Integer, Integer> pipeline = new BudgetedPipeline<>(4 * ITEM_BYTES);
+
+    try (Stream<Integer> output =
+        pipeline.run(
+            Stream.iterate(0, item -> item + 1),
+            item -> ITEM_BYTES,
+            item -> item,
+            item -> ITEM_BYTES,
+            executor)) {
+      assertThat(output.iterator().next()).isEqualTo(0);
+    }
+
+    // Both stages were blocked on the full budget, and exit once the stream is closed.
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.pipeline;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class BudgetedQueueTest {
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void take_returnsItemsInOrderAndReleasesBudget() throws Exception {
+    MemoryBudget budget = new MemoryBudget(100);
+    BudgetedQueue<String> queue = new BudgetedQueue<>(budget);
+
+    queue.put("a", 40);
+    queue.put("b", 60);
+    String first = queue.take().get();
+    String second = queue.take().get();
+
+    assertThat(first).isEqualTo("a");
+    assertThat(second).isEqualTo("b");
+    assertThat(budget.peakUsedBytes()).isEqualTo(100);
+    // The whole budget is free again, so this does not block.
+    assertThat(budget.acquire(100)).isEqualTo(100);
+  }
+
+  @Test
+  public void put_budgetExhausted_waitsForTake() throws Exception {
+    BudgetedQueue<String> queue = new BudgetedQueue<>(new MemoryBudget(100));
+    queue.put("a", 70);
+
+    CompletableFuture<Void> blocked =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                queue.put("b", 70);
+              } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+              }
+            },
+            executor);
+    Thread.sleep(100);
+    assertThat(blocked.isDone()).isFalse();
+    assertThat(queue.take()).hasValue("a");
+
+    blocked.get(10, TimeUnit.SECONDS);
+    assertThat(queue.take()).hasValue("b");
+  }
+
+  @Test
+  public void take_finished_returnsEmptyOnEveryTake() throws Exception {
+    BudgetedQueue<String> queue = new BudgetedQueue<>(new MemoryBudget(100));
+    queue.put("a", 10);
+    queue.finish();
+
+    assertThat(queue.take()).hasValue("a");
+    assertThat(queue.take()).isEmpty();
+    assertThat(queue.take()).isEmpty();
+  }
+
+  @Test
+  public void take_failed_throwsFailureOnEveryTake() throws Exception {
+    BudgetedQueue<String> queue = new BudgetedQueue<>(new MemoryBudget(100));
+    IllegalStateException failure = new IllegalStateException("read failed");
+    queue.put("a", 10);
+    queue.fail(failure);
+
+    assertThat(queue.take()).hasValue("a");
+    assertThat(assertThrows(IllegalStateException.class, queue::take)).isSameInstanceAs(failure);
+    assertThat(assertThrows(IllegalStateException.class, queue::take)).isSameInstanceAs(failure);
+  }
+}
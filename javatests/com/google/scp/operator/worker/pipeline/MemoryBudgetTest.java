@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.operator.worker.pipeline;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class MemoryBudgetTest {
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void acquire_withinBudget_tracksPeakUsage() throws Exception {
+    MemoryBudget budget = new MemoryBudget(100);
+
+    long first = budget.acquire(30);
+    long second = budget.acquire(50);
+    budget.release(first);
+    budget.acquire(20);
+
+    assertThat(first).isEqualTo(30);
+    assertThat(second).isEqualTo(50);
+    assertThat(budget.peakUsedBytes()).isEqualTo(80);
+    assertThat(budget.throttledMillis()).isEqualTo(0);
+  }
+
+  @Test
+  public void acquire_moreThanBudget_takesWholeBudget() throws Exception {
+    MemoryBudget budget = new MemoryBudget(100);
+
+    long acquired = budget.acquire(1_000);
+
+    assertThat(acquired).isEqualTo(100);
+    assertThat(budget.peakUsedBytes()).isEqualTo(100);
+  }
+
+  @Test
+  public void acquire_budgetExhausted_waitsForRelease() throws Exception {
+    MemoryBudget budget = new MemoryBudget(100);
+    long held = budget.acquire(80);
+
+    CompletableFuture<Long> blocked =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return budget.acquire(40);
+              } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+              }
+            },
+            executor);
+    Thread.sleep(100);
+    assertThat(blocked.isDone()).isFalse();
+    budget.release(held);
+
+    assertThat(blocked.get(10, TimeUnit.SECONDS)).isEqualTo(40);
+    assertThat(budget.peakUsedBytes()).isEqualTo(80);
+    assertThat(budget.throttledMillis()).isAtLeast(50);
+  }
+
+  @Test
+  public void create_nonPositiveBudget_throws() {
+    assertThrows(IllegalArgumentException.class, () -> new MemoryBudget(0));
+  }
+}
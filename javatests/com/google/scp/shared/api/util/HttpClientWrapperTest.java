@@ -16,9 +16,14 @@
 package com.google.scp.shared.api.util;
 
 import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
@@ -27,6 +32,8 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import org.apache.http.HttpException;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpRequestInterceptor;
@@ -39,6 +46,11 @@ import org.junit.runners.JUnit4;
 
 @RunWith(JUnit4.class)
 public class HttpClientWrapperTest {
+  private static final Struct PROTOBUF_BODY =
+      Struct.newBuilder()
+          .putFields("key", Value.newBuilder().setStringValue("value").build())
+          .build();
+
   @Test
   public void execute_succeeds() throws Exception {
     HttpClientWrapper httpClient = HttpClientWrapper.builder().build();
@@ -191,9 +203,251 @@ public class HttpClientWrapperTest {
     assertThat(testHandler.calledCount).isEqualTo(6);
   }
 
-  private HttpClientResponse callServer(HttpClientWrapper client, TestHandler testHandler)
+  @Test
+  public void execute_withBodyBuilder_parsesSuccessBody() throws Exception {
+    HttpClientWrapper httpClient = HttpClientWrapper.createDefault();
+    Struct.Builder body = Struct.newBuilder();
+
+    HttpClientResponse response =
+        callServer(httpClient, new BodyHandler(200, "{\"key\":\"value\"}"), Optional.of(body));
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.responseBody()).isNull();
+    assertThat(body.getFieldsOrThrow("key").getStringValue()).isEqualTo("value");
+  }
+
+  @Test
+  public void execute_withBodyBuilder_acceptsProtobuf() throws Exception {
+    HttpClientWrapper httpClient = HttpClientWrapper.createDefault();
+    BodyHandler handler = new BodyHandler(200, "{}");
+
+    callServer(httpClient, handler, Optional.of(Struct.newBuilder()));
+
+    assertThat(handler.acceptHeader).startsWith("application/x-protobuf");
+  }
+
+  @Test
+  public void execute_withBodyBuilder_parsesProtobufBody() throws Exception {
+    HttpClientWrapper httpClient = HttpClientWrapper.createDefault();
+    Struct.Builder body = Struct.newBuilder();
+
+    HttpClientResponse response =
+        callServer(httpClient, new BodyHandler(200, PROTOBUF_BODY), Optional.of(body));
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.responseBody()).isNull();
+    assertThat(body.build()).isEqualTo(PROTOBUF_BODY);
+  }
+
+  @Test
+  public void execute_withoutBodyBuilder_doesNotSetAccept() throws Exception {
+    HttpClientWrapper httpClient = HttpClientWrapper.createDefault();
+    BodyHandler handler = new BodyHandler(200, "{}");
+
+    callServer(httpClient, handler);
+
+    assertThat(handler.acceptHeader).isNull();
+  }
+
+  @Test
+  public void execute_withBodyBuilder_errorResponse_keepsBody() throws Exception {
+    HttpClientWrapper httpClient = HttpClientWrapper.createDefault();
+    Struct.Builder body = Struct.newBuilder();
+
+    BodyHandler handler = new BodyHandler(404, "{\"message\":\"missing\"}");
+
+    HttpClientResponse response = callServer(httpClient, handler, Optional.of(body));
+
+    assertThat(response.statusCode()).isEqualTo(404);
+    assertThat(response.responseBody()).isEqualTo("{\"message\":\"missing\"}");
+    assertThat(body.getFieldsCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void execute_withBodyBuilder_malformedBody_noRetries() {
+    HttpClientWrapper httpClient = HttpClientWrapper.builder().setMaxAttempt(3).build();
+    BodyHandler handler = new BodyHandler(200, "not json");
+
+    IOException exception =
+        assertThrows(
+            IOException.class,
+            () -> callServer(httpClient, handler, Optional.of(Struct.newBuilder())));
+
+    assertThat(exception).hasCauseThat().isInstanceOf(InvalidProtocolBufferException.class);
+    assertThat(handler.calledCount).isEqualTo(1);
+  }
+
+  @Test
+  public void execute_withHttp2Client_succeeds() throws Exception {
+    HttpClientWrapper httpClient = HttpClientWrapper.builder().setUseHttp2(true).build();
+    Struct.Builder body = Struct.newBuilder();
+
+    HttpClientResponse response =
+        callServer(httpClient, new BodyHandler(200, "{\"key\":\"value\"}"), Optional.of(body));
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(body.getFieldsOrThrow("key").getStringValue()).isEqualTo("value");
+  }
+
+  @Test
+  public void execute_withHttp2Client_withInterceptor_withRetriableCode_retries()
+      throws Exception {
+    int returnCode = 503;
+    int maxAttempts = 3;
+    TestInterceptor interceptor = new TestInterceptor();
+    HttpClientWrapper httpClient =
+        HttpClientWrapper.builder()
+            .setUseHttp2(true)
+            .setInterceptor(interceptor)
+            .setMaxAttempt(maxAttempts)
+            .setInterval(Duration.ofMillis(10))
+            .setRetryOnStatusCodes(ImmutableSet.of(returnCode))
+            .build();
+    TestHandler testHandler = new TestHandler(returnCode);
+
+    HttpClientResponse response = callServer(httpClient, testHandler);
+
+    assertThat(response.statusCode()).isEqualTo(returnCode);
+    assertThat(testHandler.calledCount).isEqualTo(maxAttempts);
+    assertThat(interceptor.interceptorCallCount).isEqualTo(maxAttempts);
+  }
+
+  @Test
+  public void execute_withPoolSettings_succeeds() throws Exception {
+    HttpClientWrapper httpClient =
+        HttpClientWrapper.builder()
+            .setMaxConnectionsPerRoute(50)
+            .setMaxConnectionsTotal(200)
+            .setConnectionTimeToLive(Duration.ofMinutes(5))
+            .setMaxIdleTime(Duration.ofSeconds(10))
+            .setKeepAlive(Duration.ofSeconds(10))
+            .build();
+
+    HttpClientResponse response = callServer(httpClient, new TestHandler(200));
+
+    assertThat(response.statusCode()).isEqualTo(200);
+  }
+
+  @Test
+  public void executeAsync_withRetriableCode_retries() throws Exception {
+    int responseCode = 503;
+    int maxAttempts = 3;
+    HttpClientWrapper httpClient =
+        HttpClientWrapper.builder()
+            .setMaxAttempt(maxAttempts)
+            .setInterval(Duration.ofMillis(10))
+            .setRetryOnStatusCodes(ImmutableSet.of(responseCode))
+            .build();
+    TestHandler testHandler = new TestHandler(responseCode);
+
+    HttpClientResponse response =
+        callServer(httpClient, testHandler, Optional.empty(), /* async= */ true);
+
+    assertThat(testHandler.calledCount).isEqualTo(maxAttempts);
+    assertThat(response.statusCode()).isEqualTo(responseCode);
+  }
+
+  @Test
+  public void executeAsync_retriesUntilSuccess() throws Exception {
+    int statusCodeToRetry = 500;
+    HttpClientWrapper httpClient =
+        HttpClientWrapper.builder()
+            .setMaxAttempt(5)
+            .setInterval(Duration.ofMillis(10))
+            .setRetryOnExceptions(ImmutableSet.of(IOException.class))
+            .setRetryOnStatusCodes(ImmutableSet.of(statusCodeToRetry))
+            .build();
+    TestHandler testHandler = new TestHandler(statusCodeToRetry, -1, 200);
+    testHandler.setToThrowException(false, true, false);
+
+    HttpClientResponse response =
+        callServer(httpClient, testHandler, Optional.empty(), /* async= */ true);
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(testHandler.calledCount).isEqualTo(3);
+  }
+
+  @Test
+  public void executeAsync_withRetriableException_failsAfterRetries() {
+    int maxAttempts = 3;
+    HttpClientWrapper httpClient =
+        HttpClientWrapper.builder()
+            .setMaxAttempt(maxAttempts)
+            .setInterval(Duration.ofMillis(10))
+            .build();
+    TestHandler testHandler = new TestHandler();
+    testHandler.setToThrowException(true);
+
+    assertThrows(
+        IOException.class,
+        () -> callServer(httpClient, testHandler, Optional.empty(), /* async= */ true));
+    assertThat(testHandler.calledCount).isEqualTo(maxAttempts);
+  }
+
+  @Test
+  public void executeAsync_withBodyBuilder_parsesSuccessBody() throws Exception {
+    HttpClientWrapper httpClient = HttpClientWrapper.createDefault();
+    Struct.Builder body = Struct.newBuilder();
+
+    HttpClientResponse response =
+        callServer(
+            httpClient,
+            new BodyHandler(200, "{\"key\":\"value\"}"),
+            Optional.of(body),
+            /* async= */ true);
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(body.getFieldsOrThrow("key").getStringValue()).isEqualTo("value");
+  }
+
+  @Test
+  public void executeAsync_withBodyBuilder_parsesProtobufBody() throws Exception {
+    HttpClientWrapper httpClient = HttpClientWrapper.createDefault();
+    Struct.Builder body = Struct.newBuilder();
+    BodyHandler handler = new BodyHandler(200, PROTOBUF_BODY);
+
+    HttpClientResponse response =
+        callServer(httpClient, handler, Optional.of(body), /* async= */ true);
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(handler.acceptHeader).startsWith("application/x-protobuf");
+    assertThat(body.build()).isEqualTo(PROTOBUF_BODY);
+  }
+
+  @Test
+  public void executeAsync_withBodyBuilder_malformedBody_noRetries() {
+    HttpClientWrapper httpClient = HttpClientWrapper.builder().setMaxAttempt(3).build();
+    BodyHandler handler = new BodyHandler(200, "not json");
+
+    IOException exception =
+        assertThrows(
+            IOException.class,
+            () ->
+                callServer(
+                    httpClient, handler, Optional.of(Struct.newBuilder()), /* async= */ true));
+
+    assertThat(exception).hasCauseThat().isInstanceOf(InvalidProtocolBufferException.class);
+    assertThat(handler.calledCount).isEqualTo(1);
+  }
+
+  private HttpClientResponse callServer(HttpClientWrapper client, HttpHandler handler)
+      throws Exception {
+    return callServer(client, handler, Optional.empty());
+  }
+
+  private HttpClientResponse callServer(
+      HttpClientWrapper client, HttpHandler handler, Optional<Message.Builder> bodyBuilder)
       throws Exception {
-    HttpServer server = provideServer(testHandler);
+    return callServer(client, handler, bodyBuilder, /* async= */ false);
+  }
+
+  private HttpClientResponse callServer(
+      HttpClientWrapper client,
+      HttpHandler handler,
+      Optional<Message.Builder> bodyBuilder,
+      boolean async)
+      throws Exception {
+    HttpServer server = provideServer(handler);
     Thread thread = new Thread(server::start);
     thread.start();
     URI uri =
@@ -210,16 +464,33 @@ public class HttpClientWrapperTest {
             .setConnectTimeout(1000)
             .setSocketTimeout(1000)
             .build());
-    HttpClientResponse response = client.execute(request);
-    server.stop(0);
+    HttpClientResponse response;
+    try {
+      if (async) {
+        response =
+            (bodyBuilder.isPresent()
+                    ? client.executeAsync(request, bodyBuilder.get())
+                    : client.executeAsync(request))
+                .get();
+      } else {
+        response =
+            bodyBuilder.isPresent()
+                ? client.execute(request, bodyBuilder.get())
+                : client.execute(request);
+      }
+    } catch (ExecutionException e) {
+      throw (Exception) e.getCause();
+    } finally {
+      server.stop(0);
+    }
     thread.join();
     return response;
   }
 
-  private HttpServer provideServer(TestHandler testHandler) throws Exception {
+  private HttpServer provideServer(HttpHandler handler) throws Exception {
     // Picks a random available port.
     HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
-    server.createContext("/test", testHandler);
+    server.createContext("/test", handler);
     server.setExecutor(null); // creates a default executor
     return server;
   }
@@ -269,4 +540,36 @@ public class HttpClientWrapperTest {
       responseBody.close();
     }
   }
+
+  /** A test handler responding with the given status code and body. */
+  private static class BodyHandler implements HttpHandler {
+    private final int statusCode;
+    private final String contentType;
+    private final byte[] body;
+    private int calledCount = 0;
+    private String acceptHeader;
+
+    BodyHandler(int statusCode, String body) {
+      this.statusCode = statusCode;
+      this.contentType = "application/json; charset=utf-8";
+      this.body = body.getBytes(UTF_8);
+    }
+
+    BodyHandler(int statusCode, Message body) {
+      this.statusCode = statusCode;
+      this.contentType = "application/x-protobuf";
+      this.body = body.toByteArray();
+    }
+
+    @Override
+    public void handle(HttpExchange t) throws IOException {
+      calledCount++;
+      acceptHeader = t.getRequestHeaders().getFirst("Accept");
+      t.getResponseHeaders().add("Content-Type", contentType);
+      t.sendResponseHeaders(statusCode, body.length);
+      try (OutputStream responseBody = t.getResponseBody()) {
+        responseBody.write(body);
+      }
+    }
+  }
 }
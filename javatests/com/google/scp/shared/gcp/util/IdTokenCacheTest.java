@@ -0,0 +1,216 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.scp.shared.gcp.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.auth.oauth2.ComputeEngineCredentials;
+import com.google.scp.operator.shared.testing.FakeClock;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+@RunWith(JUnit4.class)
+public final class IdTokenCacheTest {
+
+  private static final String AUDIENCE = "https://keys.example.com";
+  private static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+  private static final Duration REFRESH_MARGIN = Duration.ofMinutes(5);
+
+  @Rule public final MockitoRule mockito = MockitoJUnit.rule();
+
+  @Mock private ScheduledExecutorService refreshExecutor;
+
+  private final FakeClock clock = new FakeClock();
+  private FakeMetadataServer metadataServer;
+  private IdTokenCache cache;
+
+  @Before
+  public void setUp() throws IOException {
+    clock.setTime(Instant.parse("2025-01-01T00:00:00Z"));
+    metadataServer = new FakeMetadataServer(clock);
+    cache =
+        new IdTokenCache(
+            () ->
+                ComputeEngineCredentials.newBuilder()
+                    .setHttpTransportFactory(metadataServer::transport)
+                    .build(),
+            clock,
+            REFRESH_MARGIN,
+            refreshExecutor);
+  }
+
+  @After
+  public void tearDown() {
+    metadataServer.stop();
+  }
+
+  @Test
+  public void getIdToken_repeatedRequests_fetchesOnce() throws Exception {
+    String first = cache.getIdToken(AUDIENCE);
+    clock.setTime(clock.instant().plus(Duration.ofMinutes(10)));
+    String second = cache.getIdToken(AUDIENCE);
+
+    assertThat(second).isEqualTo(first);
+    assertThat(metadataServer.requestCount.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void getIdToken_differentAudiences_fetchesEach() throws Exception {
+    String first = cache.getIdToken(AUDIENCE);
+    String second = cache.getIdToken("https://other.example.com");
+
+    assertThat(second).isNotEqualTo(first);
+    assertThat(metadataServer.requestCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void getIdToken_expiringToken_fetchesNewToken() throws Exception {
+    String first = cache.getIdToken(AUDIENCE);
+    clock.setTime(clock.instant().plus(TOKEN_LIFETIME).minusSeconds(10));
+    String second = cache.getIdToken(AUDIENCE);
+
+    assertThat(second).isNotEqualTo(first);
+    assertThat(metadataServer.requestCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void getIdToken_schedulesRefreshBeforeExpiry() throws Exception {
+    String first = cache.getIdToken(AUDIENCE);
+    ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+    verify(refreshExecutor)
+        .schedule(
+            refresh.capture(),
+            eq(TOKEN_LIFETIME.minus(REFRESH_MARGIN).toMillis()),
+            eq(TimeUnit.MILLISECONDS));
+
+    clock.setTime(clock.instant().plus(TOKEN_LIFETIME.minus(REFRESH_MARGIN)));
+    refresh.getValue().run();
+    String second = cache.getIdToken(AUDIENCE);
+
+    assertThat(second).isNotEqualTo(first);
+    assertThat(metadataServer.requestCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void backgroundRefresh_unusedToken_doesNotFetch() throws Exception {
+    cache.getIdToken(AUDIENCE);
+    ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+    verify(refreshExecutor).schedule(refresh.capture(), anyLong(), any());
+    refresh.getValue().run();
+
+    ArgumentCaptor<Runnable> nextRefresh = ArgumentCaptor.forClass(Runnable.class);
+    verify(refreshExecutor, times(2)).schedule(nextRefresh.capture(), anyLong(), any());
+    nextRefresh.getValue().run();
+
+    assertThat(metadataServer.requestCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void getIdToken_metadataServerFails_retriesOnNextRequest() throws Exception {
+    metadataServer.statusCode = 500;
+
+    assertThrows(IOException.class, () -> cache.getIdToken(AUDIENCE));
+    metadataServer.statusCode = 200;
+    cache.getIdToken(AUDIENCE);
+
+    assertThat(metadataServer.requestCount.get()).isEqualTo(2);
+  }
+
+  /**
+   * Serves identity tokens like the GCE metadata server. Credentials reach it as an HTTP proxy, so
+   * they can keep using the real metadata server address.
+   */
+  private static final class FakeMetadataServer {
+    private final FakeClock clock;
+    private final HttpServer server;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile int statusCode = 200;
+
+    FakeMetadataServer(FakeClock clock) throws IOException {
+      this.clock = clock;
+      server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+      server.createContext(
+          "/computeMetadata/v1/instance/service-accounts/default/identity", this::handle);
+      server.start();
+    }
+
+    NetHttpTransport transport() {
+      return new NetHttpTransport.Builder()
+          .setProxy(new Proxy(Proxy.Type.HTTP, server.getAddress()))
+          .build();
+    }
+
+    void stop() {
+      server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+      int request = requestCount.incrementAndGet();
+      String response = statusCode == 200 ? idToken(request) : "error";
+      byte[] body = response.getBytes(UTF_8);
+      exchange.getResponseHeaders().add("Metadata-Flavor", "Google");
+      exchange.sendResponseHeaders(statusCode, body.length);
+      try (OutputStream outputStream = exchange.getResponseBody()) {
+        outputStream.write(body);
+      }
+    }
+
+    /** Returns an unsigned JWT, unique per request, expiring after the token lifetime. */
+    private String idToken(int request) {
+      long now = clock.instant().getEpochSecond();
+      String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\"}";
+      String payload =
+          String.format(
+              "{\"iat\":%d,\"exp\":%d,\"jti\":\"%d\"}",
+              now, now + TOKEN_LIFETIME.toSeconds(), request);
+      Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+      return encoder.encodeToString(header.getBytes(UTF_8))
+          + "."
+          + encoder.encodeToString(payload.getBytes(UTF_8))
+          + "."
+          + encoder.encodeToString("signature".getBytes(UTF_8));
+    }
+  }
+}
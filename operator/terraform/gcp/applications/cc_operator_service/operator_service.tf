@@ -153,7 +153,9 @@ module "jobdatabase" {
     EOT
     ,
     "CREATE INDEX AsgInstanceStatusIdx ON AsgInstances(Status)",
-    "ALTER TABLE AsgInstances ADD COLUMN InstanceGroupName STRING(256)"
+    "ALTER TABLE AsgInstances ADD COLUMN InstanceGroupName STRING(256)",
+    "ALTER TABLE AsgInstances ADD COLUMN JobStartTime TIMESTAMP",
+    "ALTER TABLE AsgInstances ADD COLUMN JobHeartbeatTime TIMESTAMP"
   ]
 
   spanner_instance_config              = var.spanner_instance_config
@@ -67,3 +67,24 @@ resource "google_monitoring_alert_policy" "autoscaling_max_instances_alarm" {
     notification_prompts = ["OPENED"]
   }
 }
+
+resource "google_logging_metric" "scale_in_wasted_job_minutes_avoided" {
+  name        = var.workgroup == null ? "${var.environment}/scale-in-wasted-job-minutes-avoided" : "${var.environment}/${var.workgroup}/scale-in-wasted-job-minutes-avoided"
+  description = "Job-minutes that scale-in avoided discarding by terminating idle workers instead of workers with jobs in progress."
+  filter      = "resource.type=\"cloud_run_revision\" AND resource.labels.service_name=\"${google_cloudfunctions2_function.worker_scale_in_cloudfunction.name}\" AND textPayload=~\"scale-in-wasted-job-minutes-avoided:\""
+
+  metric_descriptor {
+    metric_kind = "DELTA"
+    value_type  = "DISTRIBUTION"
+  }
+
+  bucket_options {
+    exponential_buckets {
+      num_finite_buckets = 12
+      growth_factor      = 2
+      scale              = 1
+    }
+  }
+
+  value_extractor = "REGEXP_EXTRACT(textPayload,\"scale-in-wasted-job-minutes-avoided:(\\\\d+)\")"
+}
@@ -60,6 +60,7 @@ resource "google_cloudfunctions2_function" "worker_scale_in_cloudfunction" {
     vpc_connector_egress_settings = var.vpc_connector_id == null ? null : "ALL_TRAFFIC"
     environment_variables = {
       PROJECT_ID                  = var.project_id
+      ENVIRONMENT                 = var.environment
       REGION                      = var.region
       SPANNER_INSTANCE_ID         = var.metadatadb_instance_name
       SPANNER_DATABASE_ID         = var.metadatadb_name
@@ -67,6 +68,14 @@ resource "google_cloudfunctions2_function" "worker_scale_in_cloudfunction" {
       TERMINATION_WAIT_TIMEOUT    = var.termination_wait_timeout_sec
       ASG_INSTANCES_TTL           = var.asg_instances_table_ttl_days
       WORKGROUP_FEATURE_ENABLED   = var.workgroup != null ? "true" : "false"
+      QUEUE_DEPTH_SCALING_ENABLED = var.queue_depth_scaling_enabled ? "true" : "false"
+      JOB_QUEUE_SUBSCRIPTION_ID   = var.jobqueue_subscription_name
+      JOBS_IN_FLIGHT_METRIC_TYPE  = "custom.googleapis.com/scp/jobclient/${var.environment}/jobsinflight"
+      JOBS_PER_INSTANCE           = var.autoscaling_jobs_per_instance
+      ESTIMATED_JOB_DURATION_SEC  = var.estimated_job_duration_sec
+      TARGET_BACKLOG_DRAIN_SEC    = var.target_backlog_drain_sec
+      MIN_WORKER_INSTANCES        = var.min_worker_instances
+      MAX_WORKER_INSTANCES        = var.max_worker_instances
     }
   }
 
@@ -48,6 +48,24 @@ variable "autoscaling_jobs_per_instance" {
   type        = number
 }
 
+variable "queue_depth_scaling_enabled" {
+  description = "Whether the worker scale-in cloud function also scales the worker instance group out by the depth of the job queue, and publishes the job backlog as gauges."
+  type        = bool
+  default     = false
+}
+
+variable "estimated_job_duration_sec" {
+  description = "Estimated time (in seconds) a worker takes to process a job, used by queue depth scaling."
+  type        = number
+  default     = 600
+}
+
+variable "target_backlog_drain_sec" {
+  description = "Time (in seconds) within which queued jobs should all be picked up by a worker, used by queue depth scaling."
+  type        = number
+  default     = 600
+}
+
 variable "autoscaling_cloudfunction_memory_mb" {
   description = "Memory size in MB for autoscaling cloud function."
   type        = number
@@ -139,6 +139,9 @@ module "autoscaling" {
   worker_service_account              = module.worker.worker_service_account_email
   termination_wait_timeout_sec        = var.termination_wait_timeout_sec
   worker_scale_in_cron                = var.worker_scale_in_cron
+  queue_depth_scaling_enabled         = var.queue_depth_scaling_enabled
+  estimated_job_duration_sec          = var.estimated_job_duration_sec
+  target_backlog_drain_sec            = var.target_backlog_drain_sec
 
   operator_package_bucket_name = var.operator_package_bucket_name
   worker_scale_in_jar          = var.worker_scale_in_jar
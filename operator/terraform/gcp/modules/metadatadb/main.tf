@@ -65,7 +65,10 @@ resource "google_spanner_database" "metadatadb" {
     "ALTER TABLE JobMetadata ALTER COLUMN RequestProcessingStartedAt set OPTIONS (allow_commit_timestamp = false)",
     "ALTER TABLE AsgInstances ADD COLUMN TerminationReason STRING(64)",
     "ALTER TABLE JobMetadata ADD COLUMN TargetWorkgroup STRING(256)",
-    "ALTER TABLE AsgInstances ADD COLUMN InstanceGroupName STRING(256)"
+    "ALTER TABLE AsgInstances ADD COLUMN InstanceGroupName STRING(256)",
+    "ALTER TABLE AsgInstances ADD COLUMN JobStartTime TIMESTAMP",
+    "ALTER TABLE AsgInstances ADD COLUMN JobHeartbeatTime TIMESTAMP",
+    "ALTER TABLE JobMetadata ADD COLUMN CheckpointLocation STRING(MAX)"
   ]
 
   deletion_protection = var.spanner_database_deletion_protection